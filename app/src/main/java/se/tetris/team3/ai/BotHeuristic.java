@@ -0,0 +1,46 @@
+package se.tetris.team3.ai;
+
+import se.tetris.team3.engine.SurfaceMetrics;
+
+/**
+ * 봇이 착지 결과 보드를 평가하는 가중치 합 휴리스틱.
+ * 점수 = 줄 삭제 × linesWeight − (높이합, 구멍, 울퉁불퉁함, 우물합, 최대높이) × 각 가중치
+ */
+public class BotHeuristic {
+
+    // 기본값: 높이/구멍/울퉁불퉁함 위주의 널리 쓰이는 가중치에 우물/최대 높이를 약하게 추가
+    public static final BotHeuristic DEFAULT = new BotHeuristic(0.51, 0.76, 0.36, 0.18, 0.05, 0.10);
+
+    private final double heightWeight;
+    private final double linesWeight;
+    private final double holesWeight;
+    private final double bumpinessWeight;
+    private final double wellsWeight;
+    private final double maxHeightWeight;
+
+    public BotHeuristic(double heightWeight, double linesWeight, double holesWeight,
+                        double bumpinessWeight, double wellsWeight, double maxHeightWeight) {
+        this.heightWeight = heightWeight;
+        this.linesWeight = linesWeight;
+        this.holesWeight = holesWeight;
+        this.bumpinessWeight = bumpinessWeight;
+        this.wellsWeight = wellsWeight;
+        this.maxHeightWeight = maxHeightWeight;
+    }
+
+    public double evaluate(SurfaceMetrics m, int linesCleared) {
+        return linesWeight * linesCleared
+            - heightWeight * m.getAggregateHeight()
+            - holesWeight * m.getHoles()
+            - bumpinessWeight * m.getBumpiness()
+            - wellsWeight * m.getTotalWellDepth()
+            - maxHeightWeight * m.getMaxHeight();
+    }
+
+    public double getHeightWeight() { return heightWeight; }
+    public double getLinesWeight() { return linesWeight; }
+    public double getHolesWeight() { return holesWeight; }
+    public double getBumpinessWeight() { return bumpinessWeight; }
+    public double getWellsWeight() { return wellsWeight; }
+    public double getMaxHeightWeight() { return maxHeightWeight; }
+}
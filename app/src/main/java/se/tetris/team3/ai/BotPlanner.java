@@ -0,0 +1,179 @@
+package se.tetris.team3.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.SurfaceMetrics;
+
+/**
+ * 현재 블록 + 다음 블록 2수 탐색으로 최선의 착지 위치를 고르는 플래너.
+ * - 현재 블록의 착지 후보를 fork-join으로 나눠, 후보마다 다음 블록의 모든 착지를 평가한 최댓값을 점수로 사용
+ * - 마감 시각(deadline)이 지나면 다음 블록 평가를 멈추고 그때까지의 결과로 결정 (후보 자체 점수는 항상 계산)
+ * - 입력 보드는 읽기만 하므로 호출 쪽에서 스냅샷을 넘겨야 함
+ */
+public class BotPlanner {
+
+    // 이 개수 이하의 후보는 한 작업에서 순서대로 평가
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+    // 다음 블록을 둘 곳이 없으면(게임 오버) 주는 점수
+    private static final double DEAD = -1e9;
+
+    private final ForkJoinPool pool;
+    private final BotHeuristic heuristic;
+
+    public BotPlanner(ForkJoinPool pool, BotHeuristic heuristic) {
+        this.pool = pool;
+        this.heuristic = heuristic;
+    }
+
+    /** 탐색 결과: 목표 상태(PlacementSearch 인코딩, 없으면 -1)와 점수, 평가한 보드 수 */
+    public static final class Plan {
+        public final int target;
+        public final double score;
+        public final int evaluated;
+
+        Plan(int target, double score, int evaluated) {
+            this.target = target;
+            this.score = score;
+            this.evaluated = evaluated;
+        }
+    }
+
+    /**
+     * 최선의 착지 위치를 찾습니다. (호출한 스레드는 탐색이 끝날 때까지 기다림)
+     * @param board 현재 보드 스냅샷
+     * @param current 현재 블록 종류, rot/x/y는 현재 회전과 위치
+     * @param next 다음 블록 종류 (null이면 1수 탐색)
+     * @param deadlineNanos System.nanoTime() 기준 마감 시각
+     */
+    public Plan plan(BitBoard board, PieceType current, int rot, int x, int y, PieceType next, long deadlineNanos) {
+        return pool.invoke(new RootTask(board, current, rot, x, y, next, deadlineNanos));
+    }
+
+    /** plan()과 같지만 풀에 넘기고 바로 반환합니다. (게임 루프가 기다리지 않도록 isDone()으로 확인) */
+    public ForkJoinTask<Plan> submit(BitBoard board, PieceType current, int rot, int x, int y, PieceType next, long deadlineNanos) {
+        return pool.submit(new RootTask(board, current, rot, x, y, next, deadlineNanos));
+    }
+
+    // 다음 블록 등장 위치 (GameManager.spawnNewBlock과 동일)
+    static int spawnX(int boardWidth, PieceType type) {
+        return boardWidth / 2 - type.width(0) / 2;
+    }
+
+    // 현재 블록의 착지 후보를 모은 뒤 후보 작업으로 나눔
+    private final class RootTask extends RecursiveTask<Plan> {
+        private final BitBoard board;
+        private final PieceType current;
+        private final int rot, x, y;
+        private final PieceType next;
+        private final long deadline;
+
+        RootTask(BitBoard board, PieceType current, int rot, int x, int y, PieceType next, long deadline) {
+            this.board = board;
+            this.current = current;
+            this.rot = rot;
+            this.x = x;
+            this.y = y;
+            this.next = next;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Plan compute() {
+            PlacementSearch search = new PlacementSearch(board.width(), board.height());
+            int[] candidates = new int[search.maxStates()];
+            int n = search.enumerate(board, current, rot, x, y, candidates);
+            if (n == 0) return new Plan(-1, DEAD, 0);
+            return new CandidateTask(board, current, next, candidates, 0, n, deadline).compute();
+        }
+    }
+
+    private final class CandidateTask extends RecursiveTask<Plan> {
+        private final BitBoard board;
+        private final PieceType current;
+        private final PieceType next;
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        CandidateTask(BitBoard board, PieceType current, PieceType next, int[] candidates, int from, int to, long deadline) {
+            this.board = board;
+            this.current = current;
+            this.next = next;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Plan compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                CandidateTask left = new CandidateTask(board, current, next, candidates, from, mid, deadline);
+                CandidateTask right = new CandidateTask(board, current, next, candidates, mid, to, deadline);
+                left.fork();
+                Plan r = right.compute();
+                Plan l = left.join();
+                return better(l, r);
+            }
+            return evaluateRange();
+        }
+
+        private Plan evaluateRange() {
+            int w = board.width(), h = board.height();
+            PlacementSearch search = new PlacementSearch(w, h);
+            BitBoard afterFirst = new BitBoard(w, h);
+            BitBoard afterSecond = new BitBoard(w, h);
+            SurfaceMetrics firstMetrics = new SurfaceMetrics(afterFirst);
+            SurfaceMetrics secondMetrics = new SurfaceMetrics(afterSecond);
+            int[] rowsBuf = new int[h];
+            int[] nextCandidates = new int[search.maxStates()];
+
+            int bestTarget = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            int evaluated = 0;
+
+            for (int i = from; i < to; i++) {
+                int state = candidates[i];
+                afterFirst.copyFrom(board);
+                int lines = search.place(afterFirst, current, state, rowsBuf);
+
+                // 후보 자체 점수 (마감이 지나도 항상 계산)
+                double score = heuristic.evaluate(firstMetrics, lines);
+                evaluated++;
+
+                if (next != null && System.nanoTime() - deadline < 0) {
+                    int sx = spawnX(w, next);
+                    int m = search.enumerate(afterFirst, next, 0, sx, 0, nextCandidates);
+                    if (m == 0) {
+                        score = DEAD;
+                    } else {
+                        double bestNext = Double.NEGATIVE_INFINITY;
+                        for (int j = 0; j < m; j++) {
+                            afterSecond.copyFrom(afterFirst);
+                            int lines2 = search.place(afterSecond, next, nextCandidates[j], rowsBuf);
+                            bestNext = Math.max(bestNext, heuristic.evaluate(secondMetrics, lines + lines2));
+                            evaluated++;
+                        }
+                        score = bestNext;
+                    }
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestTarget = state;
+                }
+            }
+            return new Plan(bestTarget, bestScore, evaluated);
+        }
+    }
+
+    private static Plan better(Plan a, Plan b) {
+        Plan win = (b.target >= 0 && (a.target < 0 || b.score > a.score)) ? b : a;
+        return new Plan(win.target, win.score, a.evaluated + b.evaluated);
+    }
+}
@@ -0,0 +1,152 @@
+package se.tetris.team3.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.gameManager.GameManager;
+
+/**
+ * GameManager를 사람과 같은 이동/회전 API로 조작하는 컴퓨터 플레이어.
+ * - 새 블록이 나오면 보드 스냅샷으로 BotPlanner 탐색을 풀에 넘기고, update()는 결과를 기다리지 않고 바로 반환
+ * - 결과가 나오고 moveDelayMillis가 지나면 현재 위치에서 목표까지 경로를 다시 찾아 한 번에 이동 + 하드드롭
+ * - update()는 게임 루프 스레드(GameManager를 바꾸는 유일한 스레드)에서만 호출해야 함
+ */
+public class BotPlayer {
+
+    public static final long DEFAULT_THINK_MILLIS = 40;
+    public static final long DEFAULT_MOVE_DELAY_MILLIS = 200;
+
+    private final GameManager game;
+    private final BotPlanner planner;
+    private final long thinkNanos;
+    private final long moveDelayMillis;
+
+    // 실행 시 경로 탐색용 (루프 스레드 전용)
+    private final PlacementSearch pathSearch;
+    private final byte[] path;
+
+    private Block plannedFor;                    // 탐색을 시작한 블록
+    private ForkJoinTask<BotPlanner.Plan> pending;
+    private int target = -1;
+    private boolean planReady = false;
+    private long spawnSeenAt;
+
+    private int placedCount = 0;
+    private int lastEvaluated = 0;
+
+    public BotPlayer(GameManager game) {
+        this(game, BotHeuristic.DEFAULT, DEFAULT_THINK_MILLIS, DEFAULT_MOVE_DELAY_MILLIS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param thinkMillis 한 수당 탐색 시간 예산
+     * @param moveDelayMillis 블록이 나온 뒤 움직이기 전까지 기다리는 시간 (난이도 조절용)
+     */
+    public BotPlayer(GameManager game, BotHeuristic heuristic, long thinkMillis, long moveDelayMillis, ForkJoinPool pool) {
+        this.game = game;
+        this.planner = new BotPlanner(pool, heuristic);
+        this.thinkNanos = thinkMillis * 1_000_000L;
+        this.moveDelayMillis = moveDelayMillis;
+        BitBoard board = game.getBoard();
+        this.pathSearch = new PlacementSearch(board.width(), board.height());
+        this.path = new byte[pathSearch.maxStates()];
+    }
+
+    public GameManager getGame() { return game; }
+    public boolean isThinking() { return pending != null && !pending.isDone(); }
+    public int getPlacedCount() { return placedCount; }
+    public int getLastEvaluated() { return lastEvaluated; }
+
+    /** 한 step 진행 (루프 스레드). 탐색 중이면 바로 반환합니다. */
+    public void update() {
+        if (game.isGameOver()) {
+            cancel();
+            return;
+        }
+        Block cur = game.getCurrentBlock();
+        // 무게추 낙하/줄 삭제 연출 중에는 보드가 곧 바뀌므로 대기
+        if (cur == null || game.isAnvilFalling() || hasFlashingRows()) return;
+
+        long now = game.getClock().millis();
+        if (cur != plannedFor) {
+            startPlanning(cur, now);
+            return;
+        }
+
+        if (!planReady) {
+            if (pending == null || !pending.isDone()) return;
+            BotPlanner.Plan plan = pending.join();
+            pending = null;
+            target = plan.target;
+            lastEvaluated = plan.evaluated;
+            planReady = true;
+        }
+
+        if (now - spawnSeenAt < moveDelayMillis) return;
+        execute(cur);
+    }
+
+    /** 진행 중인 탐색을 버리고 다음 블록부터 다시 계획 (재시작 시) */
+    public void reset() {
+        cancel();
+        plannedFor = null;
+        placedCount = 0;
+    }
+
+    private void cancel() {
+        if (pending != null) pending.cancel(false);
+        pending = null;
+        planReady = false;
+        target = -1;
+    }
+
+    private void startPlanning(Block cur, long now) {
+        cancel();
+        plannedFor = cur;
+        spawnSeenAt = now;
+
+        BitBoard src = game.getBoard();
+        BitBoard snapshot = new BitBoard(src.width(), src.height());
+        snapshot.copyFrom(src);
+        Block next = game.getNextBlock();
+        PieceType nextType = (next != null) ? next.getType() : null;
+
+        pending = planner.submit(snapshot, cur.getType(), cur.getRotation(),
+            game.getBlockX(), game.getBlockY(), nextType, System.nanoTime() + thinkNanos);
+    }
+
+    // 현재 위치에서 목표까지 이동 후 하드드롭 (중력으로 위치가 바뀌었어도 경로를 다시 찾음)
+    private void execute(Block cur) {
+        PieceType type = cur.getType();
+        int n = (target >= 0)
+            ? pathSearch.findPath(game.getBoard(), type, cur.getRotation(), game.getBlockX(), game.getBlockY(), target, path)
+            : -1;
+
+        for (int i = 0; i < n; i++) {
+            switch (path[i]) {
+                case PlacementSearch.LEFT:   game.tryMove(game.getBlockX() - 1, game.getBlockY()); break;
+                case PlacementSearch.RIGHT:  game.tryMove(game.getBlockX() + 1, game.getBlockY()); break;
+                case PlacementSearch.DOWN:   game.tryMove(game.getBlockX(), game.getBlockY() + 1); break;
+                case PlacementSearch.ROTATE: game.rotateBlock(); break;
+                default: break;
+            }
+        }
+        // 목표에 못 가면(보드가 바뀜) 지금 자리에서 그냥 내려놓음
+        game.hardDrop();
+        game.resetFallTimer();
+        placedCount++;
+        planReady = false;
+        target = -1;
+    }
+
+    private boolean hasFlashingRows() {
+        int h = game.getBoard().height();
+        for (int r = 0; r < h; r++) {
+            if (game.isRowFlashing(r)) return true;
+        }
+        return false;
+    }
+}
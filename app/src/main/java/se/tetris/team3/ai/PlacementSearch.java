@@ -0,0 +1,137 @@
+package se.tetris.team3.ai;
+
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.engine.BitBoard;
+
+/**
+ * 블록이 도달할 수 있는 착지 위치를 찾는 탐색기 (좌/우/회전/한 칸 아래 이동 BFS).
+ * - GameManager와 같은 규칙: 회전은 시계방향, 블록 왼쪽 위 기준 제자리 회전(벽 차기 없음)
+ * - 상태 (회전, x, y)는 int 하나로 인코딩하고, 방문 표시는 세대 번호로 지워서 탐색마다 할당 없음
+ * - 스레드마다 하나씩 사용 (인스턴스는 스레드 안전하지 않음)
+ */
+public class PlacementSearch {
+
+    // 경로 이동 종류
+    public static final byte LEFT = 1;
+    public static final byte RIGHT = 2;
+    public static final byte ROTATE = 3;
+    public static final byte DOWN = 4;
+
+    private final int width;
+    private final int height;
+    private final int stateCount;
+
+    private final int[] visited;   // 방문 세대 번호
+    private final int[] parent;
+    private final byte[] moveTo;   // parent → 이 상태로 온 이동
+    private final int[] queue;
+    private int epoch = 0;
+
+    public PlacementSearch(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.stateCount = PieceType.ROTATIONS * width * height;
+        this.visited = new int[stateCount];
+        this.parent = new int[stateCount];
+        this.moveTo = new byte[stateCount];
+        this.queue = new int[stateCount];
+    }
+
+    // ────────── 상태 인코딩 ──────────
+
+    public int encode(int rot, int x, int y) { return ((rot & 3) * width + x) * height + y; }
+    public int rotOf(int state) { return state / (width * height); }
+    public int xOf(int state) { return (state / height) % width; }
+    public int yOf(int state) { return state % height; }
+
+    /** 착지 위치 최대 개수 (out 배열 크기) */
+    public int maxStates() { return stateCount; }
+
+    /**
+     * (rot, x, y)에서 출발해 도달 가능한 모든 착지 위치를 out에 채우고 개수를 반환합니다.
+     * 출발 위치부터 충돌이면 0.
+     */
+    public int enumerate(BitBoard board, PieceType type, int rot, int x, int y, int[] out) {
+        return bfs(board, type, rot, x, y, -1, out);
+    }
+
+    /**
+     * (rot, x, y)에서 target 상태까지의 이동 목록을 moves에 채우고 길이를 반환합니다. 도달할 수 없으면 -1.
+     */
+    public int findPath(BitBoard board, PieceType type, int rot, int x, int y, int target, byte[] moves) {
+        if (bfs(board, type, rot, x, y, target, null) < 0) return -1;
+        int start = encode(rot, x, y);
+        // target → start 역추적 후 뒤집기
+        int n = 0;
+        for (int s = target; s != start; s = parent[s]) {
+            if (n >= moves.length) return -1;
+            moves[n++] = moveTo[s];
+        }
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            byte t = moves[i]; moves[i] = moves[j]; moves[j] = t;
+        }
+        return n;
+    }
+
+    // target >= 0이면 찾는 즉시 0 반환(못 찾으면 -1), 아니면 착지 위치 수 반환
+    private int bfs(BitBoard board, PieceType type, int rot, int x, int y, int target, int[] out) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return target >= 0 ? -1 : 0;
+        if (board.collides(type.rowMasks(rot), x, y)) return target >= 0 ? -1 : 0;
+
+        if (++epoch == 0) {
+            java.util.Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        int head = 0, tail = 0, found = 0;
+        int start = encode(rot, x, y);
+        visited[start] = epoch;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int s = queue[head++];
+            if (s == target) return 0;
+            int r = rotOf(s), cx = xOf(s), cy = yOf(s);
+            int[] masks = type.rowMasks(r);
+
+            boolean landed = board.collides(masks, cx, cy + 1);
+            if (landed && out != null) out[found++] = s;
+
+            if (cx > 0) tail = visit(board, masks, r, cx - 1, cy, s, LEFT, tail);
+            if (cx + 1 < width) tail = visit(board, masks, r, cx + 1, cy, s, RIGHT, tail);
+            if (!landed) tail = visit(board, masks, r, cx, cy + 1, s, DOWN, tail);
+            if (type.isRotatable()) {
+                int nr = (r + 1) & 3;
+                tail = visit(board, type.rowMasks(nr), nr, cx, cy, s, ROTATE, tail);
+            }
+        }
+        return target >= 0 ? -1 : found;
+    }
+
+    private int visit(BitBoard board, int[] masks, int rot, int x, int y, int from, byte move, int tail) {
+        int s = encode(rot, x, y);
+        if (visited[s] == epoch) return tail;
+        if (board.collides(masks, x, y)) return tail;
+        visited[s] = epoch;
+        parent[s] = from;
+        moveTo[s] = move;
+        queue[tail++] = s;
+        return tail;
+    }
+
+    /**
+     * 착지 위치에 블록을 고정하고 가득 찬 줄을 지운 뒤 지운 줄 수를 반환합니다. (시뮬레이션용 보드)
+     * @param rowsBuf 가득 찬 줄 인덱스 임시 버퍼 (보드 높이 이상)
+     */
+    public int place(BitBoard board, PieceType type, int state, int[] rowsBuf) {
+        int[] masks = type.rowMasks(rotOf(state));
+        int x = xOf(state), y = yOf(state);
+        for (int i = 0; i < masks.length; i++) {
+            if (masks[i] == 0) continue;
+            board.setRowMask(y + i, board.getRowMask(y + i) | (masks[i] << x));
+        }
+        int n = board.collectFullRows(rowsBuf);
+        // 위에서부터 지우면 아래쪽 줄 인덱스는 바뀌지 않음
+        for (int k = 0; k < n; k++) board.removeRow(rowsBuf[k]);
+        return n;
+    }
+}
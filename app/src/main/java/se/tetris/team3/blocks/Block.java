@@ -1,14 +1,14 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 // itemType: 간단한 문자 기반 아이템 태깅('L','W', 0=없음)
 // item: 추후 실제 Item 객체를 붙여 세밀한 동작을 넣고 싶을 때 사용.
 // UI Rendering에서 블록/아이템 문자를 표시할 수 있으므로 getItemType()사용
 public abstract class Block {
 
+    // 회전 상태는 PieceType 테이블에서 공유 (shape는 현재 회전 상태의 공유 배열, 수정 금지)
+    protected final PieceType type;
+    protected int rotation = 0;
     protected int[][] shape;
-    protected Color color;
 
     // 아이템 태깅(줄삭제용)
     private char itemType = 0;   // 'L'만 사용(무게추는 타입으로 구분)
@@ -16,37 +16,67 @@ public abstract class Block {
     private int itemCol = -1;    // 블록 내부 열
 
     public Block() {
-        shape = new int[][]{{1,1},{1,1}};
-        color = Color.YELLOW;
+        this(PieceType.O);
+    }
+
+    protected Block(PieceType type) {
+        this.type = type;
+        this.shape = type.shape(0);
     }
 
+    public PieceType getType() { return type; }
+    public int getRotation() { return rotation; }
     public int[][] getShape() { return shape; }
-    public Color getColor() { return color; }
+    // 색은 팔레트 번호로만 보관 (화면용 Color는 렌더러가 BlockPalette로 조회, 게임 로직에서는 AWT를 쓰지 않음)
+    public int getPaletteIndex() { return type.paletteIndex(); }
 
-    // 회전 시 L 좌표도 같이 회전
-    public void rotate() {
-        int rows = shape.length;
-        int cols = shape[0].length;
-        int[][] rotated = new int[cols][rows];
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                rotated[c][rows - 1 - r] = shape[r][c];
-            }
-        }
-        shape = rotated;
+    // 다음(시계방향) 회전 상태의 모양 미리보기 (킥 판정용, 할당 없음)
+    public int[][] getRotatedShape() { return type.shape(rotation + 1); }
+    public int[] getRotatedRowMasks() { return type.rowMasks(rotation + 1); }
 
+    // 회전 시 L 좌표도 같이 회전 (인덱스만 변경, 할당 없음)
+    public void rotate() {
         // 아이템이 붙어 있으면 좌표를 같이 회전 (r,c) -> (c, rows-1-r)
         if (itemType != 0 && itemRow >= 0 && itemCol >= 0) {
-            int newRow = itemCol;
-            int newCol = rows - 1 - itemRow; // 주의: rows는 "회전 전" 높이
-            itemRow = newRow;
-            itemCol = newCol;
+            int rows = type.height(rotation);
+            if (itemRow < rows && itemCol < type.width(rotation)) {
+                int packed = type.rotatedCell(rotation, itemRow, itemCol);
+                int nextW = type.width(rotation + 1);
+                itemRow = packed / nextW;
+                itemCol = packed % nextW;
+            } else {
+                int newRow = itemCol;
+                int newCol = rows - 1 - itemRow; // 주의: rows는 "회전 전" 높이
+                itemRow = newRow;
+                itemCol = newCol;
+            }
         }
+        rotation = (rotation + 1) & 3;
+        shape = type.shape(rotation);
+    }
+
+    // 회전 상태를 바로 지정 (스냅샷 복원용, 아이템 좌표는 따로 setItemCell로 복원)
+    public void setRotation(int rotation) {
+        this.rotation = rotation & 3;
+        this.shape = type.shape(this.rotation);
     }
 
+    // 시계방향으로 세 번 돌린 것과 동일 (회전 실패 시 원위치용)
+    public void rotateBack() {
+        rotate(); rotate(); rotate();
+    }
+
+    // 각 행을 비트마스크로 변환한 값 (블록 내부 열 c → c번째 비트, 공유 배열)
+    public int[] getRowMasks() { return type.rowMasks(rotation); }
+
     public int height() { return shape.length; }
     public int width() { return shape.length > 0 ? shape[0].length : 0; }
 
+    // 채워진 칸 목록 (현재 회전 상태 기준, 아이템 칸 선택용)
+    public int cellCount() { return type.cellCount(); }
+    public int cellRow(int i) { return type.cellRow(rotation, i); }
+    public int cellCol(int i) { return type.cellCol(rotation, i); }
+
     // 줄삭제 아이템용 게터/세터
     public void setItemType(char t) { this.itemType = t; }
     public char getItemType() { return this.itemType; }
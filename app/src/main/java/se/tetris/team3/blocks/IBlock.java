@@ -1,13 +1,8 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 public class IBlock extends Block {
 	
 	public IBlock() {
-		shape = new int[][] { 
-			{1, 1, 1, 1}
-		};
-		color = Color.CYAN;
+		super(PieceType.I);
 	}
 }
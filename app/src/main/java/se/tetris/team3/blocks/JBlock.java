@@ -1,14 +1,8 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 public class JBlock extends Block {
 	
 	public JBlock() {
-		shape = new int[][] { 
-				{1, 1, 1},
-				{0, 0, 1}
-		};
-		color = Color.BLUE;
+		super(PieceType.J);
 	}
 }
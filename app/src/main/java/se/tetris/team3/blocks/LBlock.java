@@ -1,14 +1,8 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 public class LBlock extends Block {
 	
 	public LBlock() {
-		shape = new int[][] { 
-			{1, 1, 1},
-			{1, 0, 0}
-		};
-		color = Color.ORANGE;
+		super(PieceType.L);
 	}
 }
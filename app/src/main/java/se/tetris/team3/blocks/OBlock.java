@@ -1,14 +1,8 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 public class OBlock extends Block {
 
 	public OBlock() {
-		shape = new int[][] { 
-			{1, 1}, 
-			{1, 1}
-		};
-		color = Color.YELLOW;
+		super(PieceType.O);
 	}
 }
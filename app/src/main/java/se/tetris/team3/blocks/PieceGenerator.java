@@ -0,0 +1,116 @@
+package se.tetris.team3.blocks;
+
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameRandom;
+
+/**
+ * 난이도별 가중치에 따라 다음 블록 종류를 뽑는 생성기.
+ * - 가중치 테이블은 난이도별 alias table로 한 번만 계산 (O(1) 샘플링, 할당 없음)
+ * - 기본 가중치: 다른 블럭들은 10, I형 블럭은 난이도에 따라 +/-20%
+ *   EASY: I=12 (+20%), NORMAL: I=10, HARD: I=8 (-20%)
+ * - I-only 아이템 모드 동안에는 항상 I형 반환
+ */
+public class PieceGenerator {
+
+    private static final int BASE_WEIGHT = 10;
+
+    // Settings.Difficulty.ordinal() 순서
+    private static final AliasTable[] TABLES = new AliasTable[Settings.Difficulty.values().length];
+    static {
+        for (Settings.Difficulty d : Settings.Difficulty.values()) {
+            TABLES[d.ordinal()] = new AliasTable(weightsFor(d));
+        }
+    }
+
+    private final GameRandom random;
+
+    public PieceGenerator(GameRandom random) {
+        this.random = random;
+    }
+
+    // 난이도별 가중치 (PieceType.standard() 순서: I J L O S T Z)
+    static int[] weightsFor(Settings.Difficulty difficulty) {
+        int iWeight;
+        switch (difficulty) {
+            case EASY:
+                iWeight = (int) Math.round(BASE_WEIGHT * 1.2);
+                break;
+            case HARD:
+                iWeight = (int) Math.round(BASE_WEIGHT * 0.8);
+                break;
+            default:
+                iWeight = BASE_WEIGHT;
+                break;
+        }
+        int[] w = new int[PieceType.standardCount()];
+        for (int i = 0; i < w.length; i++) w[i] = BASE_WEIGHT;
+        w[PieceType.I.ordinal()] = iWeight;
+        return w;
+    }
+
+    /**
+     * 다음 블록 종류를 뽑습니다.
+     * @param difficulty 현재 난이도 (null이면 NORMAL)
+     * @param iOnly I-only 모드 활성화 여부
+     */
+    public PieceType next(Settings.Difficulty difficulty, boolean iOnly) {
+        if (iOnly) return PieceType.I;
+        Settings.Difficulty d = (difficulty != null ? difficulty : Settings.Difficulty.NORMAL);
+        return PieceType.standard(TABLES[d.ordinal()].sample(random));
+    }
+
+    // 블록 종류에 해당하는 새 블록 인스턴스 생성 (회전/아이템 상태는 블록마다 따로 필요)
+    public static Block create(PieceType type) {
+        switch (type) {
+            case I: return new IBlock();
+            case J: return new JBlock();
+            case L: return new LBlock();
+            case O: return new OBlock();
+            case S: return new SBlock();
+            case T: return new TBlock();
+            case Z: return new ZBlock();
+            default: return new AnvilItemBlock();
+        }
+    }
+
+    /**
+     * Vose alias method 테이블.
+     * 칸 하나를 균등하게 고른 뒤, prob 확률로 그 칸 / 아니면 alias 칸을 반환.
+     */
+    static final class AliasTable {
+        private final double[] prob;
+        private final int[] alias;
+
+        AliasTable(int[] weights) {
+            int n = weights.length;
+            prob = new double[n];
+            alias = new int[n];
+
+            double total = 0;
+            for (int w : weights) total += Math.max(0, w);
+            if (total <= 0) throw new IllegalArgumentException("weights must have a positive sum");
+
+            double[] scaled = new double[n];
+            int[] small = new int[n], large = new int[n];
+            int ns = 0, nl = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = Math.max(0, weights[i]) * n / total;
+                if (scaled[i] < 1.0) small[ns++] = i; else large[nl++] = i;
+            }
+            while (ns > 0 && nl > 0) {
+                int s = small[--ns], l = large[--nl];
+                prob[s] = scaled[s];
+                alias[s] = l;
+                scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+                if (scaled[l] < 1.0) small[ns++] = l; else large[nl++] = l;
+            }
+            while (nl > 0) { int l = large[--nl]; prob[l] = 1.0; alias[l] = l; }
+            while (ns > 0) { int s = small[--ns]; prob[s] = 1.0; alias[s] = s; }
+        }
+
+        int sample(GameRandom random) {
+            int i = random.nextInt(prob.length);
+            return random.nextDouble() < prob[i] ? i : alias[i];
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package se.tetris.team3.blocks;
+
+/**
+ * 블록 종류별 회전 상태 테이블 (플라이웨이트).
+ * - 4개 회전 상태의 shape/행 마스크/칸 좌표를 클래스 로딩 시 한 번만 계산하고 모든 인스턴스가 공유
+ * - 회전은 인덱스만 바꾸므로 할당이 없음
+ * - 공유 배열이므로 getShape() 등으로 받은 배열은 절대 수정하면 안 됨
+ * 회전 규칙은 기존 Block.rotate()와 동일: (r,c) -> (c, rows-1-r)
+ */
+public enum PieceType {
+    I(new int[][]{{1, 1, 1, 1}}, true),
+    J(new int[][]{{1, 1, 1}, {0, 0, 1}}, true),
+    L(new int[][]{{1, 1, 1}, {1, 0, 0}}, true),
+    O(new int[][]{{1, 1}, {1, 1}}, true),
+    S(new int[][]{{0, 1, 1}, {1, 1, 0}}, true),
+    T(new int[][]{{0, 1, 0}, {1, 1, 1}}, true),
+    Z(new int[][]{{1, 1, 0}, {0, 1, 1}}, true),
+    // 무게추는 회전 금지 → 4개 상태가 모두 기본 모양
+    ANVIL(new int[][]{{0, 1, 1, 0}, {1, 1, 1, 1}}, false);
+
+    public static final int ROTATIONS = 4;
+
+    // 칸 색상 팔레트 번호: 0 = 빈 칸, 1..8 = 블록 종류(ordinal + 1), 9 = 쓰레기 줄
+    public static final int PALETTE_EMPTY = 0;
+    public static final int PALETTE_GARBAGE = 9;
+    public static final int PALETTE_SIZE = 10;
+
+    // 일반 7종 (생성기/테이블 인덱스용, ANVIL 제외)
+    private static final PieceType[] STANDARD = {I, J, L, O, S, T, Z};
+    private static final PieceType[] ALL = values();
+
+    private final boolean rotatable;
+    private final int[][][] shapes = new int[ROTATIONS][][];
+    private final int[][] rowMasks = new int[ROTATIONS][];
+    // 회전 상태별 채워진 칸 좌표 (위→아래, 왼→오른쪽 순)
+    private final int[][] cellRows = new int[ROTATIONS][];
+    private final int[][] cellCols = new int[ROTATIONS][];
+    // 회전 상태 rot의 (r,c) 칸이 다음 상태에서 가는 위치: nextCell[rot][r * w + c] = r' * w' + c'
+    private final int[][] nextCell = new int[ROTATIONS][];
+
+    PieceType(int[][] base, boolean rotatable) {
+        this.rotatable = rotatable;
+        int[][] cur = base;
+        for (int rot = 0; rot < ROTATIONS; rot++) {
+            shapes[rot] = cur;
+            int rows = cur.length, cols = cur[0].length;
+
+            int[] masks = new int[rows];
+            int count = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    if (cur[r][c] != 0) { masks[r] |= (1 << c); count++; }
+                }
+            }
+            rowMasks[rot] = masks;
+
+            int[] cr = new int[count], cc = new int[count];
+            int k = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    if (cur[r][c] != 0) { cr[k] = r; cc[k] = c; k++; }
+                }
+            }
+            cellRows[rot] = cr;
+            cellCols[rot] = cc;
+
+            int[][] next = rotatable ? rotateCW(cur) : cur;
+            int nextCols = next[0].length;
+            int[] map = new int[rows * cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    map[r * cols + c] = rotatable ? (c * nextCols + (rows - 1 - r)) : (r * cols + c);
+                }
+            }
+            nextCell[rot] = map;
+            cur = next;
+        }
+    }
+
+    private static int[][] rotateCW(int[][] s) {
+        int rows = s.length, cols = s[0].length;
+        int[][] rotated = new int[cols][rows];
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                rotated[c][rows - 1 - r] = s[r][c];
+        return rotated;
+    }
+
+    public static PieceType standard(int index) { return STANDARD[index]; }
+    public static int standardCount() { return STANDARD.length; }
+
+    public boolean isRotatable() { return rotatable; }
+    public int paletteIndex() { return ordinal() + 1; }
+
+    /** 팔레트 번호 → 블록 종류 (빈 칸/쓰레기 줄이면 null) */
+    public static PieceType fromPalette(int paletteIndex) {
+        return (paletteIndex >= 1 && paletteIndex <= ALL.length) ? ALL[paletteIndex - 1] : null;
+    }
+
+    public int[][] shape(int rot) { return shapes[rot & 3]; }
+    public int[] rowMasks(int rot) { return rowMasks[rot & 3]; }
+    public int height(int rot) { return shapes[rot & 3].length; }
+    public int width(int rot) { return shapes[rot & 3][0].length; }
+    public int cellCount() { return cellRows[0].length; }
+    public int cellRow(int rot, int i) { return cellRows[rot & 3][i]; }
+    public int cellCol(int rot, int i) { return cellCols[rot & 3][i]; }
+
+    /**
+     * 회전 상태 rot의 블록 내부 칸 (r, c)가 시계방향 회전 후 위치하는 칸을 r' * width + c' 로 반환합니다.
+     */
+    public int rotatedCell(int rot, int r, int c) {
+        return nextCell[rot & 3][r * width(rot) + c];
+    }
+}
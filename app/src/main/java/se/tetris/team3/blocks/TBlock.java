@@ -1,14 +1,8 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 public class TBlock extends Block {
 	
 	public TBlock() {
-		shape = new int[][] { 
-			{0, 1, 0},
-			{1, 1, 1}
-		};
-		color = Color.MAGENTA;
+		super(PieceType.T);
 	}
 }
@@ -1,14 +1,8 @@
 package se.tetris.team3.blocks;
 
-import java.awt.Color;
-
 public class ZBlock extends Block {
 	
 	public ZBlock() {
-		shape = new int[][] { 
-			{1, 1, 0},
-			{0, 1, 1}
-		};
-		color = Color.RED;
+		super(PieceType.Z);
 	}
 }
@@ -0,0 +1,289 @@
+package se.tetris.team3.engine;
+
+/**
+ * 보드 점유 상태를 줄 단위 비트마스크로 관리하는 비트보드.
+ * - rows[y]의 x번째 비트가 1이면 (y, x) 칸이 차 있음
+ * - 가득 찬 줄 판정은 마스크 비교 한 번, 충돌 판정은 블록 줄 수만큼의 AND 연산
+ * - 블록 마스크는 Block.getRowMasks()처럼 "블록 내부 열 c → c번째 비트" 규칙을 따름
+ * - 마지막 확인 이후 바뀐 줄은 dirty 비트(y번째 비트)로 기록 → 줄 삭제 판정은 바뀐 줄만 검사
+ * - 열 단위 마스크(cols[x]의 y번째 비트)도 함께 유지 → 높이/구멍/낙하 위치를 열마다 비트 연산 몇 번으로 계산
+ */
+public class BitBoard {
+
+    public static final int DEFAULT_WIDTH = 10;
+    public static final int DEFAULT_HEIGHT = 20;
+
+    private final int width;
+    private final int height;
+    private final int fullMask;
+    private final int[] rows;
+    // 열 마스크 (cols[x]의 y번째 비트 = (y, x) 칸)
+    private final long[] cols;
+    // 바뀐 줄 집합 (y번째 비트 = y번 줄, 높이 최대 64)
+    private long dirtyRows;
+    // 바뀐 열 집합 (x번째 비트 = x번 열) — 줄 삭제 판정과 별개로 SurfaceMetrics가 소비
+    private int changedCols;
+
+    public BitBoard() {
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    public BitBoard(int width, int height) {
+        if (width <= 0 || width > 30) throw new IllegalArgumentException("width: " + width);
+        if (height <= 0 || height > 64) throw new IllegalArgumentException("height: " + height);
+        this.width = width;
+        this.height = height;
+        this.fullMask = (1 << width) - 1;
+        this.rows = new int[height];
+        this.cols = new long[width];
+    }
+
+    public int width() { return width; }
+    public int height() { return height; }
+    public int fullRowMask() { return fullMask; }
+
+    // 칸 조회 (범위 밖은 빈 칸으로 취급)
+    public boolean isOccupied(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return false;
+        return (rows[row] & (1 << col)) != 0;
+    }
+
+    // 기존 int[][] field 와 같은 0/1 값 반환
+    public int get(int row, int col) {
+        return isOccupied(row, col) ? 1 : 0;
+    }
+
+    public void set(int row, int col, boolean filled) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return;
+        int before = rows[row];
+        if (filled) rows[row] |= (1 << col);
+        else rows[row] &= ~(1 << col);
+        if (rows[row] != before) {
+            dirtyRows |= (1L << row);
+            cols[col] ^= (1L << row);
+            changedCols |= (1 << col);
+        }
+    }
+
+    public int getRowMask(int row) {
+        return rows[row];
+    }
+
+    public void setRowMask(int row, int mask) {
+        int before = rows[row];
+        rows[row] = mask & fullMask;
+        dirtyRows |= (1L << row);
+        // 바뀐 칸만 열 마스크에 반영
+        int diff = before ^ rows[row];
+        changedCols |= diff;
+        while (diff != 0) {
+            int x = Integer.numberOfTrailingZeros(diff);
+            diff &= diff - 1;
+            cols[x] ^= (1L << row);
+        }
+    }
+
+    // 열 마스크 (y번째 비트 = y번 줄이 차 있음)
+    public long getColumnMask(int col) {
+        return cols[col];
+    }
+
+    // 줄에 찬 칸 수
+    public int rowFillCount(int row) {
+        return Integer.bitCount(rows[row]);
+    }
+
+    public boolean isRowFull(int row) {
+        return rows[row] == fullMask;
+    }
+
+    public boolean isRowEmpty(int row) {
+        return rows[row] == 0;
+    }
+
+    /**
+     * 블록이 (x, y)에 놓였을 때 벽/바닥/천장 또는 기존 블록과 겹치는지 검사합니다.
+     * @param pieceMasks 블록 각 행의 비트마스크 (열 c → c번째 비트)
+     * @param x 블록 왼쪽 위 X
+     * @param y 블록 왼쪽 위 Y
+     * @return 충돌하면 true
+     */
+    public boolean collides(int[] pieceMasks, int x, int y) {
+        for (int i = 0; i < pieceMasks.length; i++) {
+            int m = pieceMasks[i];
+            if (m == 0) continue;
+
+            int fy = y + i;
+            if (fy < 0 || fy >= height) return true;
+
+            int shifted;
+            if (x >= 0) {
+                if (x >= width) return true;
+                shifted = m << x;
+                if ((shifted & ~fullMask) != 0 || (shifted >>> x) != m) return true; // 오른쪽 벽 밖
+            } else {
+                if (x <= -width) return true;
+                if ((m & ((1 << -x) - 1)) != 0) return true;                  // 왼쪽 벽 밖
+                shifted = m >>> -x;
+            }
+            if ((rows[fy] & shifted) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 블록을 (x, y)에서 바로 아래로 떨어뜨렸을 때 멈추는 Y 좌표 (고스트/하드드롭 위치).
+     * 시작 위치부터 충돌이면 y를 그대로 돌려줍니다.
+     * 한 줄씩 내려보지 않고, 블록 각 칸 아래의 첫 번째 찬 칸을 열 마스크에서 바로 찾습니다.
+     */
+    public int dropY(int[] pieceMasks, int x, int y) {
+        // 한 칸도 못 내려가는 경우(천장 위/벽 밖 포함)는 기존 판정 그대로
+        if (collides(pieceMasks, x, y + 1)) return y;
+
+        // 여기부터는 y + 1 위치의 모든 칸이 보드 안에 있음
+        int drop = Integer.MAX_VALUE;
+        for (int i = 0; i < pieceMasks.length; i++) {
+            int m = pieceMasks[i];
+            while (m != 0) {
+                int c = Integer.numberOfTrailingZeros(m);
+                m &= m - 1;
+                int fy = y + 1 + i;
+                // fy 아래(fy 포함) 첫 번째 찬 칸, 없으면 바닥
+                long below = cols[x + c] & ~lowBits(fy);
+                int stop = (below == 0) ? height : Long.numberOfTrailingZeros(below);
+                drop = Math.min(drop, stop - fy);
+            }
+        }
+        return (drop == Integer.MAX_VALUE) ? y : y + drop;
+    }
+
+    // 하위 n개 비트 (n = 64 포함)
+    private static long lowBits(int n) {
+        return (n >= 64) ? -1L : (1L << n) - 1;
+    }
+
+    /**
+     * 가득 찬 줄 인덱스를 위에서부터 out에 채우고 개수를 반환합니다.
+     * out은 최소 height 길이여야 합니다.
+     */
+    public int collectFullRows(int[] out) {
+        int n = 0;
+        for (int y = 0; y < height; y++) {
+            if (rows[y] == fullMask) out[n++] = y;
+        }
+        return n;
+    }
+
+    /** 마지막 clearDirtyRows() 이후 바뀐 줄이 있는지 */
+    public boolean hasDirtyRows() {
+        return dirtyRows != 0;
+    }
+
+    public long dirtyRowMask() {
+        return dirtyRows;
+    }
+
+    public void clearDirtyRows() {
+        dirtyRows = 0L;
+    }
+
+    // 직렬화한 스냅샷 복원용: dirty 줄 집합을 그대로 지정
+    public void setDirtyRowMask(long mask) {
+        dirtyRows = mask & lowBits(height);
+    }
+
+    /** 마지막 clearChangedColumns() 이후 칸이 바뀐 열 집합 (x번째 비트 = x번 열) */
+    public int changedColumnMask() {
+        return changedCols;
+    }
+
+    public void clearChangedColumns() {
+        changedCols = 0;
+    }
+
+    /**
+     * 바뀐 줄 중 가득 찬 줄만 위에서부터 out에 채우고 개수를 반환합니다. (dirty 상태는 그대로 둠)
+     * 가득 찬 줄은 반드시 어떤 변경으로 생기므로, 확인 후 clearDirtyRows()를 불렀다면 결과는 collectFullRows()와 같습니다.
+     */
+    public int collectDirtyFullRows(int[] out) {
+        int n = 0;
+        long d = dirtyRows;
+        while (d != 0) {
+            int y = Long.numberOfTrailingZeros(d);
+            d &= d - 1;
+            if (rows[y] == fullMask) out[n++] = y;
+        }
+        return n;
+    }
+
+    public int countFullRows() {
+        int n = 0;
+        for (int y = 0; y < height; y++) {
+            if (rows[y] == fullMask) n++;
+        }
+        return n;
+    }
+
+    // 한 줄 제거: 위쪽 줄을 한 칸씩 내리고 맨 윗줄은 비움
+    public void removeRow(int row) {
+        if (row < 0 || row >= height) return;
+        System.arraycopy(rows, 0, rows, 1, row);
+        rows[0] = 0;
+        // 위쪽 줄의 dirty 비트도 한 칸씩 내리고, 새로 비운 맨 윗줄은 바뀐 줄로 표시
+        long above = dirtyRows & ((1L << row) - 1);
+        long below = (row + 1 < 64) ? dirtyRows & -(1L << (row + 1)) : 0L;
+        dirtyRows = below | (above << 1) | 1L;
+
+        // 열 마스크: row 위쪽 비트만 한 칸 아래(y+1)로 이동
+        long aboveBits = lowBits(row);
+        long belowBits = ~lowBits(row + 1);
+        for (int x = 0; x < width; x++) {
+            long before = cols[x];
+            cols[x] = (before & belowBits) | ((before & aboveBits) << 1);
+            if (cols[x] != before) changedCols |= (1 << x);
+        }
+    }
+
+    // 맨 아래에 한 줄 추가: 전체를 한 칸 위로 밀고 맨 아래를 mask로 채움
+    public void pushRowFromBottom(int mask) {
+        System.arraycopy(rows, 1, rows, 0, height - 1);
+        rows[height - 1] = mask & fullMask;
+        dirtyRows = (dirtyRows >>> 1) | (1L << (height - 1));
+
+        // 열 마스크: 전체를 한 칸 위(y-1)로 올리고 맨 아래 비트에 새 줄 반영
+        long bottom = 1L << (height - 1);
+        for (int x = 0; x < width; x++) {
+            long before = cols[x];
+            cols[x] = (before >>> 1) | ((rows[height - 1] & (1 << x)) != 0 ? bottom : 0L);
+            if (cols[x] != before) changedCols |= (1 << x);
+        }
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(rows, 0);
+        java.util.Arrays.fill(cols, 0L);
+        dirtyRows = 0L; // 빈 보드에는 가득 찬 줄이 없음
+        changedCols = fullMask;
+    }
+
+    public void copyFrom(BitBoard other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("board size mismatch");
+        }
+        System.arraycopy(other.rows, 0, rows, 0, height);
+        System.arraycopy(other.cols, 0, cols, 0, width);
+        dirtyRows = lowBits(height);
+        changedCols = fullMask;
+    }
+
+    // copyFrom과 같지만 dirty 줄 집합까지 그대로 복사 (스냅샷 저장/복원용 — 줄 삭제 판정이 원본과 같아야 함)
+    public void copyStateFrom(BitBoard other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("board size mismatch");
+        }
+        System.arraycopy(other.rows, 0, rows, 0, height);
+        System.arraycopy(other.cols, 0, cols, 0, width);
+        dirtyRows = other.dirtyRows;
+        changedCols = fullMask; // 표면 지표는 다시 계산
+    }
+}
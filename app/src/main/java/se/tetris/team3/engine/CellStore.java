@@ -0,0 +1,103 @@
+package se.tetris.team3.engine;
+
+import java.util.Arrays;
+
+/**
+ * 보드 칸 정보를 칸당 int 하나로 묶어 저장하는 저장소.
+ * - 비트 구성: [0] 점유, [1] 공격(garbage) 줄, [4..7] 팔레트 번호, [16..31] 아이템 문자
+ * - 줄은 rowStart 인덱스 표로 찾아가므로, 줄 삭제/아래에서 줄 추가는 칸 데이터를 복사하지 않고 인덱스만 회전
+ * - 점유 여부의 기준은 BitBoard이고, 여기의 점유 비트는 칸 정보를 함께 옮기거나 내보낼 때 쓰는 사본
+ */
+public final class CellStore {
+
+    public static final int EMPTY = 0;
+    public static final int OCCUPIED = 1;
+    public static final int GARBAGE = 1 << 1;
+
+    private static final int PALETTE_SHIFT = 4;
+    private static final int PALETTE_MASK = 0xF;
+    private static final int ITEM_SHIFT = 16;
+
+    private final int width;
+    private final int height;
+    private final int[] cells;
+    // 논리 줄 번호 → cells 안의 시작 위치
+    private final int[] rowStart;
+
+    public CellStore(int width, int height) {
+        if (width <= 0) throw new IllegalArgumentException("width: " + width);
+        if (height <= 0) throw new IllegalArgumentException("height: " + height);
+        this.width = width;
+        this.height = height;
+        this.cells = new int[width * height];
+        this.rowStart = new int[height];
+        for (int y = 0; y < height; y++) rowStart[y] = y * width;
+    }
+
+    // ────────── 칸 값 묶기/풀기 ──────────
+
+    public static int pack(boolean occupied, int palette, char item, boolean garbage) {
+        int cell = ((palette & PALETTE_MASK) << PALETTE_SHIFT) | (item << ITEM_SHIFT);
+        if (occupied) cell |= OCCUPIED;
+        if (garbage) cell |= GARBAGE;
+        return cell;
+    }
+
+    public static boolean isOccupied(int cell) { return (cell & OCCUPIED) != 0; }
+    public static boolean isGarbage(int cell) { return (cell & GARBAGE) != 0; }
+    public static int palette(int cell) { return (cell >>> PALETTE_SHIFT) & PALETTE_MASK; }
+    public static char item(int cell) { return (char) (cell >>> ITEM_SHIFT); }
+
+    // ────────── 칸 접근 ──────────
+
+    public int width() { return width; }
+    public int height() { return height; }
+
+    // 범위 밖은 빈 칸
+    public int get(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return EMPTY;
+        return cells[rowStart[row] + col];
+    }
+
+    public void set(int row, int col, int cell) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return;
+        cells[rowStart[row] + col] = cell;
+    }
+
+    public char getItem(int row, int col) { return item(get(row, col)); }
+    public int getPalette(int row, int col) { return palette(get(row, col)); }
+    public boolean isGarbage(int row, int col) { return isGarbage(get(row, col)); }
+
+    // ────────── 줄 이동 (인덱스 회전) ──────────
+
+    // 한 줄 제거: 위쪽 줄들의 인덱스를 한 칸씩 내리고, 제거된 줄의 공간을 비워 맨 윗줄로 재사용
+    public void removeRow(int row) {
+        if (row < 0 || row >= height) return;
+        int freed = rowStart[row];
+        System.arraycopy(rowStart, 0, rowStart, 1, row);
+        rowStart[0] = freed;
+        Arrays.fill(cells, freed, freed + width, EMPTY);
+    }
+
+    // 맨 아래에 빈 줄 추가: 맨 윗줄 공간을 비워 맨 아래로 보내고 나머지는 한 칸씩 위로
+    public void pushRowFromBottom() {
+        int freed = rowStart[0];
+        System.arraycopy(rowStart, 1, rowStart, 0, height - 1);
+        rowStart[height - 1] = freed;
+        Arrays.fill(cells, freed, freed + width, EMPTY);
+    }
+
+    public void clear() {
+        Arrays.fill(cells, EMPTY);
+        for (int y = 0; y < height; y++) rowStart[y] = y * width;
+    }
+
+    // 스냅샷 저장/복원용 (줄 인덱스 표까지 그대로 복사)
+    public void copyFrom(CellStore other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("cell store size mismatch");
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.rowStart, 0, rowStart, 0, height);
+    }
+}
@@ -0,0 +1,13 @@
+package se.tetris.team3.engine;
+
+/**
+ * 게임 로직이 사용하는 시간 공급원 (밀리초).
+ * - 실제 게임은 SYSTEM (벽시계)
+ * - 시뮬레이션/테스트는 TickClock으로 시간을 직접 진행시켜 sleep 없이 검증
+ */
+public interface GameClock {
+
+    long millis();
+
+    GameClock SYSTEM = System::currentTimeMillis;
+}
@@ -0,0 +1,186 @@
+package se.tetris.team3.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 시간 간격(fixed timestep) 게임 루프.
+ * - 전용 스레드 하나에서 입력 명령 큐 처리 → 로직 step → 화면 갱신 요청 순으로 반복
+ * - 로직 step은 System.nanoTime() 기준으로 정확히 stepNanos마다 실행 (밀리면 최대 MAX_CATCH_UP_STEPS번 몰아서 실행)
+ * - GameManager 변경은 모두 이 스레드에서만 일어나므로 EDT/네트워크 스레드는 submit()으로 명령만 넣는다
+ * - 루프가 돌고 있지 않으면 submit()은 호출한 스레드에서 바로 실행 (테스트/화면 표시 전 입력 호환)
+ * - 명령과 step은 stateLock()을 잡고 실행하므로, 화면은 같은 락을 잡고 그리면 step 도중의 상태를 보지 않음
+ */
+public class GameLoop {
+
+    public static final int DEFAULT_TICKS_PER_SECOND = 60;
+
+    // 한 번에 따라잡을 최대 step 수 (이보다 밀리면 밀린 시간은 버려서 멈춤 현상 방지)
+    private static final int MAX_CATCH_UP_STEPS = 5;
+
+    private final String name;
+    private final long stepNanos;
+    private final Runnable step;   // 고정 간격 로직
+    private final Runnable frame;  // step/명령 처리 후 화면 갱신 요청 (null 가능)
+
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Object stateLock = new Object();
+
+    private volatile boolean running = false;
+    // start()마다 1씩 늘림: stop()이 기다리다 포기한 예전 스레드는 번호가 달라 곧 스스로 끝남
+    private volatile long generation = 0;
+    private volatile boolean paused = false;
+    private volatile Thread thread;
+    private volatile long stepCount = 0;
+
+    public GameLoop(String name, Runnable step, Runnable frame) {
+        this(name, DEFAULT_TICKS_PER_SECOND, step, frame);
+    }
+
+    public GameLoop(String name, int ticksPerSecond, Runnable step, Runnable frame) {
+        if (ticksPerSecond <= 0) throw new IllegalArgumentException("ticksPerSecond must be positive: " + ticksPerSecond);
+        this.name = name;
+        this.stepNanos = 1_000_000_000L / ticksPerSecond;
+        this.step = step;
+        this.frame = frame;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        long gen = ++generation;
+        Thread t = new Thread(() -> run(gen), name);
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    /** 루프 정지. 루프 스레드 밖에서 호출하면 종료될 때까지 기다린다. */
+    public void stop() {
+        Thread t;
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+            t = thread;
+        }
+        if (t == null) return;
+        LockSupport.unpark(t);
+        if (t != Thread.currentThread()) {
+            try {
+                t.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() { return running; }
+
+    // 일시정지 중에도 명령 큐는 처리하지만 로직 step은 건너뜀
+    public void setPaused(boolean paused) { this.paused = paused; }
+    public boolean isPaused() { return paused; }
+
+    public long getStepCount() { return stepCount; }
+    public long getStepNanos() { return stepNanos; }
+
+    public boolean isLoopThread() { return Thread.currentThread() == thread; }
+
+    /** 명령/step이 게임 상태를 바꾸는 동안 잡는 락 (EDT는 그리는 동안 이 락을 잡음) */
+    public Object stateLock() { return stateLock; }
+
+    /**
+     * 입력 등 게임 상태를 바꾸는 명령을 루프 스레드에 넘깁니다.
+     * 루프가 돌고 있지 않거나 이미 루프 스레드라면 즉시 실행합니다.
+     */
+    public void submit(Runnable command) {
+        if (command == null) return;
+        if (!running || isLoopThread()) {
+            synchronized (stateLock) {
+                command.run();
+            }
+            return;
+        }
+        commands.add(command);
+        // 다음 step까지 기다리지 않고 바로 처리되도록 깨움
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    /** 스레드 없이 명령 처리 + step 한 번 (테스트/시뮬레이션용) */
+    public void runOnce() {
+        drainCommands();
+        if (!paused) runStep();
+        if (frame != null) frame.run();
+    }
+
+    // 이 스레드가 아직 현재 실행분인지 (stop() 뒤 다시 start()되면 예전 스레드는 false)
+    private boolean isCurrent(long gen) {
+        return running && generation == gen;
+    }
+
+    private void run(long gen) {
+        long nextStep = System.nanoTime() + stepNanos;
+        while (isCurrent(gen)) {
+            boolean dirty = drainCommands();
+
+            long now = System.nanoTime();
+            int steps = 0;
+            while (now - nextStep >= 0 && steps < MAX_CATCH_UP_STEPS) {
+                if (!paused && isCurrent(gen)) runStep();
+                nextStep += stepNanos;
+                steps++;
+            }
+            // 너무 밀렸으면 남은 시간은 버리고 현재 시각 기준으로 다시 맞춤
+            if (now - nextStep >= 0) nextStep = now + stepNanos;
+
+            if ((dirty || steps > 0) && frame != null) {
+                try {
+                    frame.run();
+                } catch (RuntimeException e) {
+                    report("frame", e);
+                }
+            }
+
+            long wait = nextStep - System.nanoTime();
+            if (wait > 0 && commands.isEmpty()) LockSupport.parkNanos(this, wait);
+        }
+        synchronized (this) {
+            if (thread == Thread.currentThread()) thread = null;
+        }
+    }
+
+    private boolean drainCommands() {
+        boolean any = false;
+        Runnable cmd;
+        while ((cmd = commands.poll()) != null) {
+            any = true;
+            try {
+                synchronized (stateLock) {
+                    cmd.run();
+                }
+            } catch (RuntimeException e) {
+                report("command", e);
+            }
+        }
+        return any;
+    }
+
+    private void runStep() {
+        try {
+            if (step != null) {
+                synchronized (stateLock) {
+                    step.run();
+                }
+            }
+        } catch (RuntimeException e) {
+            report("step", e);
+        }
+        stepCount++;
+    }
+
+    // 한 번의 실패로 루프를 멈추지 않고 기록만 남김
+    private void report(String what, RuntimeException e) {
+        System.err.println("[GameLoop] " + name + " " + what + " failed: " + e);
+    }
+}
@@ -0,0 +1,66 @@
+package se.tetris.team3.engine;
+
+/**
+ * 시드 지정이 가능한 게임용 난수 생성기 (SplitMix64).
+ * - 같은 시드면 어느 JVM에서든 같은 수열 → 리플레이/대전 동기화에 사용
+ * - 상태가 long 하나라 스냅샷 저장/복원이 간단함
+ * - 스레드 안전하지 않음 (게임 로직 스레드에서만 사용)
+ */
+public final class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public GameRandom() {
+        this(System.nanoTime() ^ 0x5DEECE66DL);
+    }
+
+    public GameRandom(long seed) {
+        setSeed(seed);
+    }
+
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    // 스냅샷용 내부 상태 접근
+    public long getState() { return state; }
+    public void setState(long state) { this.state = state; }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /** 0 이상 bound 미만의 균등 분포 정수 */
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive: " + bound);
+        // 32비트 난수 * bound 의 상위 비트 사용, 편향 구간은 다시 뽑음
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /** [0, 1) 범위 실수 */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+}
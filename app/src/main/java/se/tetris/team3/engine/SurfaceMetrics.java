@@ -0,0 +1,182 @@
+package se.tetris.team3.engine;
+
+/**
+ * 보드 표면 지표(열 높이, 구멍, 우물 깊이, 울퉁불퉁함)를 바뀐 열만 다시 계산해 유지하는 분석기.
+ * - BitBoard의 열 마스크/바뀐 열 집합을 사용하므로 블록 고정·줄 삭제·공격 줄 추가 모두 자동 반영
+ * - 조회 메서드는 필요할 때만 바뀐 열을 반영(sync)하고, 배열 복사/객체 생성을 하지 않음
+ * - 봇 평가, 고스트 위치, 위험 표시에 사용
+ *
+ * 용어
+ * - 높이: 바닥부터 가장 위의 찬 칸까지 칸 수 (빈 열은 0)
+ * - 구멍: 위에 찬 칸이 있는 빈 칸
+ * - 우물 깊이: 양옆(벽은 보드 높이로 취급) 중 낮은 쪽 높이 - 자기 높이 (음수면 0)
+ * - 울퉁불퉁함: 이웃한 두 열의 높이 차 절댓값의 합
+ */
+public class SurfaceMetrics {
+
+    private final BitBoard board;
+    private final int width;
+    private final int height;
+
+    private final int[] heights;
+    private final int[] holes;
+    private final int[] wells;
+    // bumpPairs[x] = |heights[x] - heights[x-1]| (x >= 1)
+    private final int[] bumpPairs;
+
+    private int aggregateHeight;
+    private int totalHoles;
+    private int totalWellDepth;
+    private int bumpiness;
+    private int maxHeight;
+
+    public SurfaceMetrics(BitBoard board) {
+        this.board = board;
+        this.width = board.width();
+        this.height = board.height();
+        this.heights = new int[width];
+        this.holes = new int[width];
+        this.wells = new int[width];
+        this.bumpPairs = new int[width];
+        recomputeAll();
+    }
+
+    public BitBoard getBoard() { return board; }
+
+    // ────────── 조회 (할당 없음) ──────────
+
+    public int getColumnHeight(int col) { sync(); return heights[col]; }
+    public int getColumnHoles(int col) { sync(); return holes[col]; }
+    public int getWellDepth(int col) { sync(); return wells[col]; }
+
+    public int getAggregateHeight() { sync(); return aggregateHeight; }
+    public int getHoles() { sync(); return totalHoles; }
+    public int getTotalWellDepth() { sync(); return totalWellDepth; }
+    public int getBumpiness() { sync(); return bumpiness; }
+    public int getMaxHeight() { sync(); return maxHeight; }
+
+    // 가장 깊은 우물의 깊이
+    public int getDeepestWell() {
+        sync();
+        int best = 0;
+        for (int x = 0; x < width; x++) best = Math.max(best, wells[x]);
+        return best;
+    }
+
+    /** 가장 높은 열이 보드 높이의 ratio 이상이면 위험 상태 */
+    public boolean isDanger(double ratio) {
+        return getMaxHeight() >= height * ratio;
+    }
+
+    /**
+     * 블록의 낙하 위치(고스트 Y). 열 마스크에서 각 칸 아래의 첫 번째 찬 칸을 바로 찾습니다.
+     * @param pieceMasks 블록 각 행의 비트마스크 (Block.getRowMasks())
+     */
+    public int ghostY(int[] pieceMasks, int x, int y) {
+        return board.dropY(pieceMasks, x, y);
+    }
+
+    // ────────── 갱신 ──────────
+
+    /** 마지막 반영 이후 바뀐 열만 다시 계산합니다. 조회 메서드가 자동으로 호출합니다. */
+    public void sync() {
+        int changed = board.changedColumnMask();
+        if (changed == 0) return;
+        board.clearChangedColumns();
+
+        // 바뀐 열의 높이/구멍 갱신 → 높이가 바뀐 열과 그 이웃만 우물/울퉁불퉁함 갱신
+        int heightChanged = 0;
+        boolean maxDirty = false;
+        int m = changed;
+        while (m != 0) {
+            int x = Integer.numberOfTrailingZeros(m);
+            m &= m - 1;
+
+            int oldH = heights[x];
+            updateColumn(x);
+            if (heights[x] != oldH) {
+                heightChanged |= (1 << x);
+                if (heights[x] > maxHeight) maxHeight = heights[x];
+                else if (oldH == maxHeight) maxDirty = true;
+            }
+        }
+        if (heightChanged == 0) return;
+
+        // 영향 받는 이웃 쌍/우물 (변경 열 좌우 한 칸씩)
+        int fullMask = (1 << width) - 1;
+        int around = (heightChanged | (heightChanged << 1) | (heightChanged >>> 1)) & fullMask;
+
+        int w = around;
+        while (w != 0) {
+            int x = Integer.numberOfTrailingZeros(w);
+            w &= w - 1;
+            int nw = wellDepth(x);
+            totalWellDepth += nw - wells[x];
+            wells[x] = nw;
+        }
+
+        // 울퉁불퉁함: 한쪽 열 높이라도 바뀐 쌍 (x-1, x)만 차이를 다시 계산
+        int pairs = (heightChanged | (heightChanged << 1)) & fullMask & ~1;
+        while (pairs != 0) {
+            int x = Integer.numberOfTrailingZeros(pairs);
+            pairs &= pairs - 1;
+            int nb = Math.abs(heights[x] - heights[x - 1]);
+            bumpiness += nb - bumpPairs[x];
+            bumpPairs[x] = nb;
+        }
+
+        if (maxDirty) {
+            int mh = 0;
+            for (int x = 0; x < width; x++) mh = Math.max(mh, heights[x]);
+            maxHeight = mh;
+        }
+    }
+
+    private void updateColumn(int x) {
+        long col = board.getColumnMask(x);
+        int h;
+        int hole;
+        if (col == 0) {
+            h = 0;
+            hole = 0;
+        } else {
+            int top = Long.numberOfTrailingZeros(col); // 가장 위의 찬 칸
+            h = height - top;
+            hole = h - Long.bitCount(col);
+        }
+        aggregateHeight += h - heights[x];
+        totalHoles += hole - holes[x];
+        heights[x] = h;
+        holes[x] = hole;
+    }
+
+    private int wellDepth(int x) {
+        int left = (x == 0) ? height : heights[x - 1];
+        int right = (x == width - 1) ? height : heights[x + 1];
+        return Math.max(0, Math.min(left, right) - heights[x]);
+    }
+
+    /** 처음부터 전부 다시 계산 (생성 시 한 번) */
+    private void recomputeAll() {
+        board.clearChangedColumns();
+        aggregateHeight = 0;
+        totalHoles = 0;
+        for (int x = 0; x < width; x++) {
+            heights[x] = 0;
+            holes[x] = 0;
+            updateColumn(x);
+        }
+        totalWellDepth = 0;
+        bumpiness = 0;
+        maxHeight = 0;
+        for (int x = 0; x < width; x++) {
+            wells[x] = wellDepth(x);
+            totalWellDepth += wells[x];
+            if (x > 0) {
+                bumpPairs[x] = Math.abs(heights[x] - heights[x - 1]);
+                bumpiness += bumpPairs[x];
+            }
+            maxHeight = Math.max(maxHeight, heights[x]);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package se.tetris.team3.engine;
+
+/**
+ * 수동으로 진행시키는 시계.
+ * advance()를 호출해야만 시간이 흐르므로 같은 입력이면 항상 같은 결과가 나옴.
+ */
+public class TickClock implements GameClock {
+
+    private long now;
+
+    public TickClock() {
+        this(0L);
+    }
+
+    public TickClock(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public long millis() {
+        return now;
+    }
+
+    public void advance(long millis) {
+        if (millis < 0) throw new IllegalArgumentException("millis must not be negative: " + millis);
+        now += millis;
+    }
+
+    public void set(long millis) {
+        this.now = millis;
+    }
+}
@@ -1,5 +1,6 @@
 package se.tetris.team3.gameManager;
 
+import se.tetris.team3.ai.BotPlayer;
 import se.tetris.team3.core.GameMode;
 import se.tetris.team3.core.Settings;
 
@@ -8,6 +9,7 @@ import se.tetris.team3.core.Settings;
  * 2명의 플레이어(왼쪽/오른쪽)를 위한 GameManager를 관리하고,
  * 한 플레이어가 줄을 삭제하면 상대방 보드에 공격 줄을 추가합니다.
  * 시간제한 모드에서는 타이머를 관리하고, 시간 종료 시 점수로 승패를 결정합니다.
+ * Player 2를 컴퓨터(BotPlayer)로 지정하면 혼자서도 대전 연습을 할 수 있습니다.
  */
 public class BattleGameManager {
 
@@ -15,6 +17,9 @@ public class BattleGameManager {
     private final GameManager player1Manager;
     private final GameManager player2Manager;
 
+    // Player 2 컴퓨터 (null이면 사람)
+    private BotPlayer player2Bot;
+
     // 대전 모드 종류 (일반/아이템/시간제한)
     private final GameMode battleMode;
 
@@ -92,11 +97,12 @@ public class BattleGameManager {
     public void update() {
         if (gameOver) return;
 
-        // 슬로우 모드/파티클 업데이트
-        player1Manager.updateSlowMode();
-        player2Manager.updateSlowMode();
-        player1Manager.updateParticles();
-        player2Manager.updateParticles();
+        // 시간 기반 처리 (플래시 후 줄 삭제, 무게추 낙하, 슬로우 모드)
+        player1Manager.tick();
+        player2Manager.tick();
+
+        // 컴퓨터 플레이어: 탐색은 다른 스레드에서, 여기서는 결과 확인/조작만
+        if (player2Bot != null) player2Bot.update();
 
         // 게임 오버 체크
         boolean p1Over = player1Manager.isGameOver();
@@ -142,6 +148,22 @@ public class BattleGameManager {
         return player2Manager;
     }
 
+    /** Player 2를 컴퓨터로 지정 (null이면 사람 조작) */
+    public void setPlayer2Bot(BotPlayer bot) {
+        if (bot != null && bot.getGame() != player2Manager) {
+            throw new IllegalArgumentException("bot must drive player 2");
+        }
+        this.player2Bot = bot;
+    }
+
+    public BotPlayer getPlayer2Bot() {
+        return player2Bot;
+    }
+
+    public boolean isPlayer2Bot() {
+        return player2Bot != null;
+    }
+
     public GameMode getBattleMode() {
         return battleMode;
     }
@@ -177,6 +199,7 @@ public class BattleGameManager {
     public void restart() {
         player1Manager.resetGame();
         player2Manager.resetGame();
+        if (player2Bot != null) player2Bot.reset();
 
         startTime = System.currentTimeMillis();
         gameOver = false;
@@ -0,0 +1,9 @@
+package se.tetris.team3.gameManager;
+
+/**
+ * 블록 한 칸이 깨질 때(줄 삭제, 무게추) 호출되는 콜백.
+ * 파티클 등 화면 효과는 UI 쪽에서 이 이벤트를 받아 처리한다.
+ */
+public interface BlockBreakListener {
+    void onBlockBreak(int gridX, int gridY);
+}
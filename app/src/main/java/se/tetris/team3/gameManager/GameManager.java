@@ -1,41 +1,48 @@
 package se.tetris.team3.gameManager;
 
-import java.awt.Color;
-import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics2D;
-import java.util.Random;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 import se.tetris.team3.blocks.AnvilItemBlock;
 import se.tetris.team3.blocks.Block;
-import se.tetris.team3.blocks.IBlock;
-import se.tetris.team3.blocks.JBlock;
-import se.tetris.team3.blocks.LBlock;
-import se.tetris.team3.blocks.OBlock;
-import se.tetris.team3.blocks.SBlock;
-import se.tetris.team3.blocks.TBlock;
-import se.tetris.team3.blocks.ZBlock;
+import se.tetris.team3.blocks.PieceGenerator;
 import se.tetris.team3.core.GameMode;
 import se.tetris.team3.core.Settings;
-import se.tetris.team3.ui.render.PatternPainter;
-import se.tetris.team3.ui.screen.GameScreen;
-
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.CellStore;
+import se.tetris.team3.engine.GameClock;
+import se.tetris.team3.engine.GameRandom;
+import se.tetris.team3.engine.SurfaceMetrics;
+
+/**
+ * 게임 한 판의 상태와 규칙 (시뮬레이션 코어).
+ * - 시간은 주입된 GameClock, 난수는 시드 지정 가능한 GameRandom만 사용 → 같은 시드/입력이면 같은 결과
+ * - 화면 관련 처리(HUD, 파티클, 실제 색상)는 UI 쪽(HudRenderer, ParticleSystem, BlockPalette)에서 담당
+ * - 플래시 후 줄 삭제, 무게추 낙하처럼 시간이 필요한 처리는 별도 스레드 없이 tick()에서 진행
+ */
 public class GameManager {
     private static final int FIELD_WIDTH = 10;
     private static final int FIELD_HEIGHT = 20;
     private static final int ANVIL_WIDTH = 4;
 
-    // 공격(garbage) 블록 여부 표시
-    private boolean[][] garbageMark = new boolean[FIELD_HEIGHT][FIELD_WIDTH];
-
     //10줄 규칙
     private static final int MAX_GARBAGE_QUEUE = 10;
 
-    private final Random random = new Random();
-
-    private int[][] field = new int[FIELD_HEIGHT][FIELD_WIDTH];
-    private char[][] itemField = new char[FIELD_HEIGHT][FIELD_WIDTH]; // 아이템 타입 저장
-    private Color[][] colorField = new Color[FIELD_HEIGHT][FIELD_WIDTH]; // 블록 색상 저장
+    // 시간 공급원 + 시드 지정 가능한 난수 + 가중치 블록 생성기
+    private final GameClock clock;
+    private final GameRandom random;
+    private final PieceGenerator pieceGenerator;
+
+    // 점유 상태는 줄 단위 비트마스크로 관리 (충돌/줄 판정용)
+    private final BitBoard board = new BitBoard(FIELD_WIDTH, FIELD_HEIGHT);
+    // 표면 지표(높이/구멍/우물/울퉁불퉁함) — 보드가 바뀐 열만 갱신
+    private final SurfaceMetrics surface = new SurfaceMetrics(board);
+    // 가득 찬 줄 인덱스 수집용 재사용 버퍼
+    private final int[] fullRowBuffer = new int[FIELD_HEIGHT];
+    // 칸별 색상(팔레트 번호)/아이템/공격 줄 여부를 int 하나로 묶어 저장
+    private final CellStore cells = new CellStore(FIELD_WIDTH, FIELD_HEIGHT);
     private Block currentBlock;
     private Block nextBlock;
     private int blockX, blockY;
@@ -68,11 +75,24 @@ public class GameManager {
     private boolean iOnlyModeActive = false;
     private long iOnlyModeEndMillis = 0L;
 
-    // 블록 제거 시 발생하는 파티클 (스레드 안전하게 동기화)
-    private java.util.List<Particle> particles = java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+    // 블록 파괴 이벤트 (파티클 효과는 UI에서 처리)
+    private BlockBreakListener blockBreakListener;
+
+    // 라인 삭제 시 플래시 효과: 표시 후 FLASH_DURATION이 지나면 tick()에서 실제 삭제
+    private final java.util.Set<Integer> flashingRows = new java.util.HashSet<>();
+    private static final long FLASH_DURATION = 100; // 100ms 플래시
+    private final int[] pendingClearRows = new int[FIELD_HEIGHT]; // 아래 줄부터 저장
+    private int pendingClearCount = 0;
+    private long flashClearAt = 0L;
 
-    // 라인 삭제 시 플래시 효과
-    private java.util.Set<Integer> flashingRows = new java.util.HashSet<>();
+    // 무게추 낙하: 벽에 닿은 뒤 ANVIL_STEP_MILLIS마다 한 칸씩 내려감
+    private static final long ANVIL_STEP_MILLIS = 40;
+    private boolean anvilFalling = false;
+    private long anvilNextStepAt = 0L;
+
+    // 자동 낙하 (헤드리스 시뮬레이션용, 화면은 자체 타이머 사용)
+    private boolean gravityEnabled = false;
+    private long nextFallAt = 0L;
 
     // T 아이템 느린 모드 상태
     private boolean slowModeActive = false;
@@ -87,16 +107,26 @@ public class GameManager {
     // 생성자
     public GameManager() {
         this(GameMode.CLASSIC);
-        // 아이템 필드 초기화
-        for (int i = 0; i < FIELD_HEIGHT; i++) {
-            for (int j = 0; j < FIELD_WIDTH; j++) {
-                itemField[i][j] = 0; // 아이템 없음
-            }
-        }
     }
 
     public GameManager(GameMode mode) {
+        this(mode, GameClock.SYSTEM);
+    }
+
+    public GameManager(GameMode mode, GameClock clock) {
+        this(mode, clock, new GameRandom());
+    }
+
+    // 시드 고정 생성자: 같은 시드면 첫 블록부터 같은 순서
+    public GameManager(GameMode mode, GameClock clock, long seed) {
+        this(mode, clock, new GameRandom(seed));
+    }
+
+    private GameManager(GameMode mode, GameClock clock, GameRandom random) {
         this.mode = (mode != null ? mode : GameMode.CLASSIC);
+        this.clock = (clock != null ? clock : GameClock.SYSTEM);
+        this.random = random;
+        this.pieceGenerator = new PieceGenerator(random);
         nextBlock = makeRandomBlock();
         spawnNewBlock();
     }
@@ -110,6 +140,14 @@ public class GameManager {
         }
     }
 
+    // 설정 객체 없이 난이도만 적용 (롤백 대전: 두 보드에 서버가 정한 같은 난이도)
+    public void setDifficulty(Settings.Difficulty difficulty) {
+        if (difficulty != null) {
+            this.difficulty = difficulty;
+            applyDifficultySettings();
+        }
+    }
+
     // 난이도별 설정 적용
     private void applyDifficultySettings() {
         // 기본 딜레이는 1000ms (1초)
@@ -129,7 +167,7 @@ public class GameManager {
 
     // Getter
     public GameMode getMode() { return mode; }
-    public int getFieldValue(int r,int c){ return field[r][c]; }
+    public int getFieldValue(int r,int c){ return board.get(r, c); }
     public Block getCurrentBlock() { return currentBlock; }
     public Block getNextBlock() { return nextBlock; }
     public int getBlockX() { return blockX; }
@@ -137,11 +175,19 @@ public class GameManager {
     public boolean isGameOver() { return isGameOver; }
     public int getScore() { return score; }
     public int getLevel() { return level; }
+    public Settings.Difficulty getDifficulty() { return difficulty; }
+    public Settings getSettings() { return settings; }
+    public GameClock getClock() { return clock; }
 
     // 난이도 기반 기본 낙하 딜레이 접근자
     public int getBaseFallDelay() { return baseFallDelay; }
     public boolean isSpeedUp() { return speedUp; }
 
+    // 블록 파괴 리스너 등록 (파티클 효과 등)
+    public void setBlockBreakListener(BlockBreakListener listener) {
+        this.blockBreakListener = listener;
+    }
+
     // 대전 모드: 줄 삭제 리스너 등록
     public void setLineClearListener(LineClearListener listener) {
         this.lineClearListener = listener;
@@ -171,61 +217,23 @@ public class GameManager {
 
     // 쓰레기 줄 미리보기용 (BattleScreen에서 UI 그릴 때 사용)
     public java.util.List<boolean[]> getPendingGarbagePreview() {
-        return java.util.Collections.unmodifiableList(pendingGarbage);
+        // 복사본: 화면이 순회하는 동안 큐가 바뀌어도 영향 없음
+        return java.util.Collections.unmodifiableList(new java.util.ArrayList<>(pendingGarbage));
+    }
+
+    // 난수 시드 지정 (같은 시드면 같은 블록 순서)
+    public void setRandomSeed(long seed) {
+        random.setSeed(seed);
     }
 
     // 테스트용 메서드
     protected Block makeRandomBlock() {
         // I-only 모드가 활성화되어 있으면 남은 시간 동안 I블록만 반환
-        if (iOnlyModeActive) {
-            if (System.currentTimeMillis() > iOnlyModeEndMillis) {
-                iOnlyModeActive = false;
-            } else {
-                return new IBlock();
-            }
+        if (iOnlyModeActive && clock.millis() > iOnlyModeEndMillis) {
+            iOnlyModeActive = false;
         }
-        // Roulette Wheel Selection을 사용한 가중치 기반 블록 선택
-        // 기본 가중치: 다른 블럭들은 10, I형 블럭은 난이도에 따라 +/-20%
-        // EASY: I=12 (+20%), NORMAL: I=10, HARD: I=8 (-20%)
-        int baseWeight = 10;
-        int iWeight;
-        switch (difficulty) {
-            case EASY:
-                iWeight = (int) Math.round(baseWeight * 1.2);
-                break;
-            case HARD:
-                iWeight = (int) Math.round(baseWeight * 0.8);
-                break;
-            default:
-                iWeight = baseWeight;
-                break;
-        }
-
-        // 블록 클래스 배열과 대응되는 가중치 배열
-        java.util.List<Block> types = new java.util.ArrayList<>();
-        java.util.List<Integer> weights = new java.util.ArrayList<>();
-
-        types.add(new IBlock()); weights.add(iWeight);
-        types.add(new JBlock()); weights.add(baseWeight);
-        types.add(new LBlock()); weights.add(baseWeight);
-        types.add(new OBlock()); weights.add(baseWeight);
-        types.add(new SBlock()); weights.add(baseWeight);
-        types.add(new TBlock()); weights.add(baseWeight);
-        types.add(new ZBlock()); weights.add(baseWeight);
-
-        int total = 0;
-        for (int w : weights) total += Math.max(0, w);
-        if (total <= 0) return new IBlock(); // 안전 장치
-
-        int r = random.nextInt(total);
-        int acc = 0;
-        for (int idx = 0; idx < weights.size(); idx++) {
-            acc += Math.max(0, weights.get(idx));
-            if (r < acc) return types.get(idx);
-        }
-
-        // 만약 루프가 끝나면 마지막 타입 반환
-        return types.get(types.size() - 1);
+        // 난이도별 alias table에서 블록 종류를 뽑고 해당 블록 하나만 생성
+        return PieceGenerator.create(pieceGenerator.next(difficulty, iOnlyModeActive));
     }
 
     // 새로운 블록 등장
@@ -247,8 +255,6 @@ public class GameManager {
                 candidate.setItemType((char)0);
                 pendingItem = false;
             } else {
-                candidate = makeRandomBlock();
-                java.util.List<int[]> ones = new java.util.ArrayList<>();
                 switch (randomItem) {
                     case 1: // row 하나 지우기 아이템
                         candidate.setItemType('L');
@@ -263,25 +269,18 @@ public class GameManager {
                         candidate.setItemType('D');
                         break;
                 }
-                // 블럭 중 한 칸 랜덤으로 선택해서 아이템 삽입
-                int[][] shp = candidate.getShape();
-                for (int r = 0; r < shp.length; r++)
-                    for (int c = 0; c < shp[r].length; c++)
-                        if (shp[r][c] == 1) ones.add(new int[]{r, c});
-                if (!ones.isEmpty()) {
-                    int[] pick = ones.get(random.nextInt(ones.size()));
-                    try {
-                        candidate.getClass().getMethod("setItemCell", int.class, int.class)
-                                .invoke(candidate, pick[0], pick[1]);
-                    } catch (Exception ignore) {}
+                // 블럭 중 한 칸 랜덤으로 선택해서 아이템 삽입 (회전 테이블의 칸 목록 사용)
+                int cells = candidate.cellCount();
+                if (cells > 0) {
+                    int pick = random.nextInt(cells);
+                    candidate.setItemCell(candidate.cellRow(pick), candidate.cellCol(pick));
                 }
                 pendingItem = false;
             }
 
         } else {
             candidate.setItemType((char)0);
-            try { candidate.getClass().getMethod("setItemCell", int.class, int.class).invoke(candidate, -1, -1); }
-            catch (Exception ignore) {}
+            candidate.setItemCell(-1, -1);
         }
 
         nextBlock = candidate;
@@ -291,31 +290,34 @@ public class GameManager {
         blocksGenerated++;
 
         // 생성 직후 충돌 시 게임 오버
-        if (isCollision(blockX, blockY, currentBlock.getShape())) isGameOver = true;
+        if (isCollision(blockX, blockY, currentBlock)) isGameOver = true;
 
         // 레벨 증가
         if (blocksGenerated / 20 > level - 1) level = blocksGenerated / 20 + 1;
         speedUp = (level > 1);
     }
 
-    // 충돌 체크
-    private boolean isCollision(int x, int y, int[][] shape) {
-        for (int i = 0; i < shape.length; i++) {
-            for (int j = 0; j < shape[i].length; j++) {
-                if (shape[i][j] != 0) {
-                    int fx = x + j, fy = y + i;
-                    if (fx < 0 || fx >= FIELD_WIDTH || fy < 0 || fy >= FIELD_HEIGHT) return true;
-                    if (field[fy][fx] == 1) return true;
-                }
-            }
-        }
-        return false;
+    // 충돌 체크 (블록 행 마스크와 보드 행 마스크의 AND)
+    private boolean isCollision(int x, int y, Block block) {
+        return board.collides(block.getRowMasks(), x, y);
     }
 
+    // 고스트 블록(하드 드롭 위치) Y 좌표
+    public int getGhostY() {
+        if (currentBlock == null) return blockY;
+        return surface.ghostY(currentBlock.getRowMasks(), blockX, blockY);
+    }
+
+    // 렌더러/테스트용 보드 접근자
+    public BitBoard getBoard() { return board; }
+
+    // 봇/위험 표시용 표면 지표 (읽기 전용)
+    public SurfaceMetrics getSurface() { return surface; }
+
     // 블록 이동 시도
     public boolean tryMove(int newX, int newY) {
         if ((currentBlock instanceof AnvilItemBlock) && weightLocked && newX != blockX) return false;
-        if (isCollision(newX, newY, currentBlock.getShape())) return false;
+        if (isCollision(newX, newY, currentBlock)) return false;
         // 아래로 한 칸 이동 시, 낙하 속도가 빨라졌으면 추가 점수 부여
         if (newX == blockX && newY == blockY + 1) {
             int curDelay = getGameTimerDelay();
@@ -335,8 +337,8 @@ public class GameManager {
     // 블록 회전
     public void rotateBlock() {
         currentBlock.rotate();
-        if (isCollision(blockX, blockY, currentBlock.getShape())) {
-            currentBlock.rotate(); currentBlock.rotate(); currentBlock.rotate(); // 원위치
+        if (isCollision(blockX, blockY, currentBlock)) {
+            currentBlock.rotateBack(); // 원위치
         }
     }
 
@@ -354,26 +356,21 @@ public class GameManager {
         Integer ir = null, ic = null;
         char itemType = currentBlock.getItemType();
         if (itemType != 0) {
-            try {
-                ir = (Integer) currentBlock.getClass().getMethod("getItemRow").invoke(currentBlock);
-                ic = (Integer) currentBlock.getClass().getMethod("getItemCol").invoke(currentBlock);
-            } catch (Exception ignore) {}
+            ir = currentBlock.getItemRow();
+            ic = currentBlock.getItemCol();
         }
 
+        int palette = currentBlock.getPaletteIndex();
         for (int i = 0; i < s.length; i++) {
             for (int j = 0; j < s[i].length; j++) {
                 if (s[i][j] != 0) {
                     int fieldY = blockY + i;
                     int fieldX = blockX + j;
 
-                    field[fieldY][fieldX] = 1;
-                    colorField[fieldY][fieldX] = currentBlock.getColor(); // 색상 저장
-                    garbageMark[fieldY][fieldX] = false;                 // 직접 쌓은 블록
-
-                    // 아이템 정보 저장
-                    if (itemType != 0 && ir != null && ic != null && i == ir && j == ic) {
-                        itemField[fieldY][fieldX] = itemType;
-                    }
+                    // 색상 + 아이템 정보 저장 (직접 쌓은 블록이므로 garbage 아님)
+                    boolean itemCell = (itemType != 0 && ir != null && ic != null && i == ir && j == ic);
+                    board.set(fieldY, fieldX, true);
+                    cells.set(fieldY, fieldX, CellStore.pack(true, palette, itemCell ? itemType : 0, false));
                 }
             }
         }
@@ -406,20 +403,15 @@ public class GameManager {
     private void addGarbageRowToField(boolean[] pattern) {
         if (pattern == null || pattern.length != FIELD_WIDTH) return;
 
-        // 윗줄부터 한 칸씩 위로 밀어 올리기
-        for (int y = 0; y < FIELD_HEIGHT - 1; y++) {
-            System.arraycopy(field[y + 1], 0, field[y], 0, FIELD_WIDTH);
-            System.arraycopy(itemField[y + 1], 0, itemField[y], 0, FIELD_WIDTH);
-            System.arraycopy(colorField[y + 1], 0, colorField[y], 0, FIELD_WIDTH);
-            System.arraycopy(garbageMark[y + 1], 0, garbageMark[y], 0, FIELD_WIDTH);
-        }
+        // 점유 비트: 전체를 위로 밀고 맨 아래 줄에 패턴 마스크 삽입
+        int mask = 0;
+        for (int x = 0; x < FIELD_WIDTH; x++) if (pattern[x]) mask |= (1 << x);
+        board.pushRowFromBottom(mask);
 
-        // 맨 아래 줄 채우기 (아이템은 없는 쓰레기 줄이므로 itemField는 0으로)
+        // 칸 정보: 줄 인덱스만 한 칸씩 위로 돌리고 맨 아래 줄 채우기 (아이템 없는 회색 쓰레기 줄)
+        cells.pushRowFromBottom();
         for (int x = 0; x < FIELD_WIDTH; x++) {
-            field[FIELD_HEIGHT - 1][x] = pattern[x] ? 1 : 0;
-            itemField[FIELD_HEIGHT - 1][x] = 0;
-            colorField[FIELD_HEIGHT - 1][x] = Color.GRAY;    // 회색 저장(더블체크용)
-            garbageMark[FIELD_HEIGHT - 1][x] = pattern[x];   // 공격 블록 표시
+            cells.set(FIELD_HEIGHT - 1, x, CellStore.pack(pattern[x], PieceType.PALETTE_GARBAGE, (char) 0, pattern[x]));
         }
     }
 
@@ -428,10 +420,11 @@ public class GameManager {
         if (row < 0 || row >= FIELD_HEIGHT) return;
 
         // 파티클 효과 생성 및 T 아이템 체크
+        int rowMask = board.getRowMask(row);
         for (int x = 0; x < FIELD_WIDTH; x++) {
-            if (field[row][x] == 1) {
+            if ((rowMask & (1 << x)) != 0) {
                 // T 아이템이나 I 아이템이 있는 블록이 깨지면 아이템 효과 실행
-                char itemType = itemField[row][x];
+                char itemType = cells.getItem(row, x);
                 if (itemType == 'T') {
                     activateTimeSlowItem();
                 } else if (itemType == 'I') {
@@ -444,26 +437,14 @@ public class GameManager {
             }
         }
 
-        // 실제 줄 삭제 (아이템/색/garbage 정보도 함께 이동)
-        for (int y = row; y > 0; y--) {
-            System.arraycopy(field[y - 1], 0, field[y], 0, FIELD_WIDTH);
-            System.arraycopy(itemField[y - 1], 0, itemField[y], 0, FIELD_WIDTH);
-            System.arraycopy(colorField[y - 1], 0, colorField[y], 0, FIELD_WIDTH);
-            System.arraycopy(garbageMark[y - 1], 0, garbageMark[y], 0, FIELD_WIDTH);
-        }
-        for (int x = 0; x < FIELD_WIDTH; x++) {
-            field[0][x] = 0;
-            itemField[0][x] = 0;
-            colorField[0][x] = null;
-            garbageMark[0][x] = false;
-        }
+        // 실제 줄 삭제 (아이템/색/garbage 정보는 줄 인덱스 회전으로 함께 이동)
+        board.removeRow(row);
+        cells.removeRow(row);
     }
 
     // 아이템 '라인 제거' 적용
     public void applyLineClearItem() {
-        int rLocal = -1;
-        try { rLocal = (int) currentBlock.getClass().getMethod("getItemRow").invoke(currentBlock); }
-        catch (Exception ignore) {}
+        int rLocal = currentBlock.getItemRow();
         if (rLocal < 0) return;
 
         int row = blockY + rLocal;
@@ -489,9 +470,9 @@ public class GameManager {
 
         for (int x = sX; x <= endX; x++) {
             for (int y = sY; y < FIELD_HEIGHT; y++) {
-                if (field[y][x] == 1) {
+                if (board.isOccupied(y, x)) {
                     // T 아이템이나 I 아이템이 있는 블록이 무게추로 깨지면 아이템 효과 실행
-                    char itemType = itemField[y][x];
+                    char itemType = cells.getItem(y, x);
                     if (itemType == 'T') {
                         activateTimeSlowItem();
                     } else if (itemType == 'I') {
@@ -502,10 +483,8 @@ public class GameManager {
                     }
 
                     addBreakEffect(x,y);
-                    field[y][x] = 0;
-                    itemField[y][x] = 0;   // 아이템 정보도 제거
-                    colorField[y][x] = null;
-                    garbageMark[y][x] = false;
+                    board.set(y, x, false);
+                    cells.set(y, x, CellStore.EMPTY); // 아이템/색 정보도 제거
                 }
             }
         }
@@ -520,7 +499,7 @@ public class GameManager {
                     int fy = y + i;
                     if (fy >= FIELD_HEIGHT)
                         return new int[]{Math.max(0, Math.min(fx, FIELD_WIDTH - 1)), FIELD_HEIGHT - 1};
-                    if (fy >= 0 && fx >= 0 && fx < FIELD_WIDTH && field[fy][fx] == 1) {
+                    if (board.isOccupied(fy, fx)) {
                         return new int[]{fx, fy};
                     }
                 }
@@ -529,19 +508,10 @@ public class GameManager {
         return null;
     }
 
-    // 현재 필드에서 가득 찬 줄 인덱스 모으기 (실제 삭제는 하지 않음)
+    // 현재 필드에서 새로 가득 찬 줄 인덱스 모으기 (실제 삭제는 하지 않음, 바뀐 줄만 검사)
     private int[] findFullRows() {
-        java.util.List<Integer> list = new java.util.ArrayList<>();
-        for (int i = 0; i < FIELD_HEIGHT; i++) {
-            boolean full = true;
-            for (int j = 0; j < FIELD_WIDTH; j++) {
-                if (field[i][j] == 0) { full = false; break; }
-            }
-            if (full) list.add(i);
-        }
-        int[] result = new int[list.size()];
-        for (int k = 0; k < list.size(); k++) result[k] = list.get(k);
-        return result;
+        int n = board.collectDirtyFullRows(fullRowBuffer);
+        return java.util.Arrays.copyOf(fullRowBuffer, n);
     }
 
     // 줄을 삭제한 블럭 모양처럼 빈 칸이 존재
@@ -582,46 +552,50 @@ public class GameManager {
 
     // 라인 제거 함수(무게추일 경우 점수 미집계)
     public void clearLines(boolean awardScore) {
-        java.util.List<Integer> fullRows = new java.util.ArrayList<>();
-        for (int i = FIELD_HEIGHT - 1; i >= 0; i--) {
-            boolean full = true;
-            for (int j = 0; j < FIELD_WIDTH; j++) if (field[i][j] == 0) { full = false; break; }
-            if (full) fullRows.add(i);
+        // 이전 플래시가 아직 남아 있으면 먼저 삭제 (같은 줄을 두 번 세지 않도록)
+        if (pendingClearCount > 0) finishLineClear();
+
+        // 마지막 확인 이후 바뀐 줄이 없으면 검사 없이 바로 종료 (블록이 고정되지 않은 프레임)
+        if (!board.hasDirtyRows()) return;
+
+        // 바뀐 줄만 검사하고 dirty 표시는 지움 (가득 찬 줄은 아래에서 삭제 예약)
+        int found = board.collectDirtyFullRows(fullRowBuffer);
+        board.clearDirtyRows();
+        if (found == 0) return;
+
+        // 아래 줄부터 모으기
+        int lines = 0;
+        for (int i = found - 1; i >= 0; i--) {
+            pendingClearRows[lines++] = fullRowBuffer[i];
         }
 
-        if (!fullRows.isEmpty()) {
-            // 플래시 효과: 해당 줄을 잠깐 하얗게 표시
-            flashingRows.clear();
-            flashingRows.addAll(fullRows);
-
-            // 짧은 딜레이 후 실제 삭제
-            new Thread(() -> {
-                try {
-                    Thread.sleep(100); // 100ms 플래시
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+        // 플래시 효과: 해당 줄을 잠깐 하얗게 표시 → FLASH_DURATION 후 tick()에서 실제 삭제
+        flashingRows.clear();
+        for (int i = 0; i < lines; i++) flashingRows.add(pendingClearRows[i]);
+        pendingClearCount = lines;
+        flashClearAt = clock.millis() + FLASH_DURATION;
 
-                // 실제 줄 삭제 (위에서 아래로 - 역순으로 삭제해야 인덱스 안 꼬임)
-                for (int i = fullRows.size() - 1; i >= 0; i--) {
-                    clearRow(fullRows.get(i));
-                }
-                flashingRows.clear();
-            }).start();
+        if (awardScore) {
+            score += getScoreWithMultiplier(Math.round(lines * 100 * scoreMultiplier));
+        }
+        linesClearedTotal += lines;
+        if (linesClearedTotal / 10 > level - 1) level = linesClearedTotal / 10 + 1;
+        speedUp = (level > 1);
+        if (mode == GameMode.ITEM && linesClearedTotal >= 10) {
+            pendingItem = true;
+            linesClearedTotal -= 10;
+        }
+    }
 
-            int lines = fullRows.size();
-            if (awardScore) {
-                score += getScoreWithMultiplier(Math.round(lines * 100 * scoreMultiplier));
-            }
-            linesClearedTotal += lines;
-            if (linesClearedTotal / 10 > level - 1) level = linesClearedTotal / 10 + 1;
-            speedUp = (level > 1);
-            if (mode == GameMode.ITEM && linesClearedTotal >= 10) {
-                pendingItem = true;
-                linesClearedTotal -= 10;
-            }
+    // 플래시가 끝난 줄을 실제로 삭제 (위에서 아래로 - 역순으로 삭제해야 인덱스 안 꼬임)
+    private void finishLineClear() {
+        for (int i = pendingClearCount - 1; i >= 0; i--) {
+            clearRow(pendingClearRows[i]);
         }
+        pendingClearCount = 0;
+        flashingRows.clear();
     }
+
     public void clearLines() { clearLines(true); }
 
     // 자동 라인 체크 (렌더링 타이머에서 호출)
@@ -634,6 +608,9 @@ public class GameManager {
 
     // 블록 한 칸 아래로 이동 또는 고정
     public void stepDownOrFix() {
+        // 무게추가 떨어지는 중에는 tick()이 낙하를 진행
+        if (anvilFalling) return;
+
         // 이동 중에는 무게추 효과를 받지 않음
         int nextY = blockY + 1;
 
@@ -646,20 +623,10 @@ public class GameManager {
                 int startX = Math.max(0, Math.min(blockX, FIELD_WIDTH - ANVIL_WIDTH));
                 activateWeightEffectAt(startX, contactY);
 
-                // 천천히 아래로 떨어지게
-                new Thread(() -> {
-                    try {
-                        while (!isCollision(blockX, blockY + 1, currentBlock.getShape())) {
-                            blockY++;
-                            Thread.sleep(40); // 낙하 속도 (조절 가능)
-                        }
-                        fixBlock();
-                        clearLines(false); // 무게추는 점수 없음
-                        spawnNewBlock();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }).start();
+                // 천천히 아래로 떨어지게 (이후 진행은 tick()에서)
+                anvilFalling = true;
+                anvilNextStepAt = clock.millis();
+                advanceAnvil(anvilNextStepAt);
 
                 return; // 아래 일반 고정 로직은 건너뜀
             }
@@ -680,12 +647,54 @@ public class GameManager {
         }
     }
 
+    // 무게추 낙하 진행: 시간이 된 만큼 한 칸씩 내리고, 바닥에 닿으면 고정
+    private void advanceAnvil(long now) {
+        while (anvilFalling && now >= anvilNextStepAt) {
+            if (!isCollision(blockX, blockY + 1, currentBlock)) {
+                blockY++;
+                anvilNextStepAt += ANVIL_STEP_MILLIS; // 낙하 속도 (조절 가능)
+            } else {
+                anvilFalling = false;
+                fixBlock();
+                clearLines(false); // 무게추는 점수 없음
+                spawnNewBlock();
+            }
+        }
+    }
+
+    /**
+     * 시간 기반 처리를 한 번 진행합니다. (화면 타이머/게임 루프/시뮬레이션에서 주기적으로 호출)
+     * - 플래시가 끝난 줄 삭제, 무게추 낙하, 느린 모드 만료, 자동 낙하(활성화 시)
+     */
+    public void tick() {
+        long now = clock.millis();
+        if (pendingClearCount > 0 && now >= flashClearAt) finishLineClear();
+        if (anvilFalling) advanceAnvil(now);
+        updateSlowMode();
+
+        if (gravityEnabled && !anvilFalling && !isGameOver && now >= nextFallAt) {
+            stepDownOrFix();
+            nextFallAt = now + getGameTimerDelay();
+        }
+    }
+
+    // 자동 낙하 켜기/끄기 (켜면 tick()이 getGameTimerDelay() 간격으로 한 칸씩 내림)
+    public void setGravityEnabled(boolean enabled) {
+        if (enabled && !gravityEnabled) nextFallAt = clock.millis() + getGameTimerDelay();
+        this.gravityEnabled = enabled;
+    }
+
+    // 자동 낙하 간격을 지금부터 다시 셈 (수동 낙하 직후 바로 또 떨어지지 않게)
+    public void resetFallTimer() {
+        nextFallAt = clock.millis() + getGameTimerDelay();
+    }
+
+    public boolean isAnvilFalling() { return anvilFalling; }
+
     // 게임 초기화
     public void resetGame() {
-        field = new int[FIELD_HEIGHT][FIELD_WIDTH];
-        itemField = new char[FIELD_HEIGHT][FIELD_WIDTH];
-        colorField = new Color[FIELD_HEIGHT][FIELD_WIDTH];
-        garbageMark = new boolean[FIELD_HEIGHT][FIELD_WIDTH];
+        board.clear();
+        cells.clear();
 
         isGameOver = false;
         score = 0;
@@ -708,26 +717,386 @@ public class GameManager {
 
         pendingGarbage.clear();
 
+        // 진행 중이던 플래시/무게추 낙하 취소
+        pendingClearCount = 0;
+        flashingRows.clear();
+        anvilFalling = false;
+
         applyDifficultySettings();
     }
 
+    /**
+     * 롤백용 게임 상태 스냅샷.
+     * 보드/칸 정보/블록/점수/타이머/난수 상태를 모두 담고, 같은 객체를 재사용해 프레임마다 할당 없이 저장할 수 있음.
+     * 시계와 리스너/설정은 담지 않음 (시계는 시뮬레이션 쪽에서 프레임 번호로 맞춤)
+     */
+    public static final class Snapshot {
+        private final BitBoard board = new BitBoard(FIELD_WIDTH, FIELD_HEIGHT);
+        private final CellStore cells = new CellStore(FIELD_WIDTH, FIELD_HEIGHT);
+        private final int[] pendingClearRows = new int[FIELD_HEIGHT];
+        private final java.util.ArrayList<boolean[]> pendingGarbage = new java.util.ArrayList<>(MAX_GARBAGE_QUEUE);
+
+        // 블록은 인스턴스 대신 종류/회전/아이템 위치만 보관
+        private PieceType currentType, nextType;
+        private int currentRotation, nextRotation;
+        private char currentItem, nextItem;
+        private int currentItemRow, currentItemCol, nextItemRow, nextItemCol;
+
+        private int blockX, blockY;
+        private boolean isGameOver;
+        private int score, level, linesClearedTotal, blocksGenerated;
+        private boolean speedUp, pendingItem, weightLocked;
+        private Settings.Difficulty difficulty;
+        private int baseFallDelay;
+        private double scoreMultiplier;
+        private boolean iOnlyModeActive;
+        private long iOnlyModeEndMillis;
+        private int pendingClearCount;
+        private long flashClearAt;
+        private boolean anvilFalling;
+        private long anvilNextStepAt;
+        private boolean gravityEnabled;
+        private long nextFallAt;
+        private boolean slowModeActive;
+        private long slowModeEndTime;
+        private boolean doubleScoreActive;
+        private long doubleScoreTime;
+        private long randomState;
+
+        public boolean isGameOver() { return isGameOver; }
+        public int getScore() { return score; }
+
+        /**
+         * 상태 해시 (64비트, 동기화 확인용).
+         * 보드/칸/블록/점수/큐/타이머/난수를 섞음. 화면에서 읽기만 해도 바뀔 수 있는 값(점수 2배 만료 플래그)은 제외
+         */
+        public long hash() {
+            long h = 0x9E3779B97F4A7C15L;
+            for (int r = 0; r < FIELD_HEIGHT; r++) h = mix(h, board.getRowMask(r));
+            for (int r = 0; r < FIELD_HEIGHT; r++) {
+                for (int c = 0; c < FIELD_WIDTH; c++) h = mix(h, cells.get(r, c));
+            }
+            h = mix(h, board.dirtyRowMask());
+            h = mix(h, pieceCode(currentType, currentRotation, currentItem, currentItemRow, currentItemCol));
+            h = mix(h, pieceCode(nextType, nextRotation, nextItem, nextItemRow, nextItemCol));
+            h = mix(h, ((long) blockX << 32) | (blockY & 0xFFFFFFFFL));
+            h = mix(h, ((long) score << 32) | (level & 0xFFFFFFFFL));
+            h = mix(h, ((long) linesClearedTotal << 32) | (blocksGenerated & 0xFFFFFFFFL));
+            h = mix(h, (isGameOver ? 1 : 0) | (speedUp ? 2 : 0) | (pendingItem ? 4 : 0) | (weightLocked ? 8 : 0)
+                    | (iOnlyModeActive ? 16 : 0) | (anvilFalling ? 32 : 0) | (gravityEnabled ? 64 : 0)
+                    | (slowModeActive ? 128 : 0));
+            h = mix(h, iOnlyModeEndMillis);
+            h = mix(h, anvilNextStepAt);
+            h = mix(h, nextFallAt);
+            h = mix(h, slowModeEndTime);
+            h = mix(h, doubleScoreTime);
+            h = mix(h, flashClearAt);
+            for (int i = 0; i < pendingClearCount; i++) h = mix(h, pendingClearRows[i]);
+            h = mix(h, pendingGarbage.size());
+            for (boolean[] row : pendingGarbage) h = mix(h, rowMask(row));
+            return mix(h, randomState);
+        }
+
+        /** 네트워크 전체 재동기화용 직렬화 */
+        public void writeTo(DataOutputStream out) throws IOException {
+            for (int r = 0; r < FIELD_HEIGHT; r++) out.writeInt(board.getRowMask(r));
+            out.writeLong(board.dirtyRowMask());
+            for (int r = 0; r < FIELD_HEIGHT; r++) {
+                for (int c = 0; c < FIELD_WIDTH; c++) out.writeInt(cells.get(r, c));
+            }
+            out.writeByte(pendingClearCount);
+            for (int i = 0; i < pendingClearCount; i++) out.writeByte(pendingClearRows[i]);
+            out.writeByte(pendingGarbage.size());
+            for (boolean[] row : pendingGarbage) out.writeInt(rowMask(row));
+
+            writePiece(out, currentType, currentRotation, currentItem, currentItemRow, currentItemCol);
+            writePiece(out, nextType, nextRotation, nextItem, nextItemRow, nextItemCol);
+
+            out.writeInt(blockX);
+            out.writeInt(blockY);
+            out.writeBoolean(isGameOver);
+            out.writeInt(score);
+            out.writeInt(level);
+            out.writeInt(linesClearedTotal);
+            out.writeInt(blocksGenerated);
+            out.writeBoolean(speedUp);
+            out.writeBoolean(pendingItem);
+            out.writeBoolean(weightLocked);
+            out.writeByte(difficulty != null ? difficulty.ordinal() : -1);
+            out.writeInt(baseFallDelay);
+            out.writeDouble(scoreMultiplier);
+            out.writeBoolean(iOnlyModeActive);
+            out.writeLong(iOnlyModeEndMillis);
+            out.writeLong(flashClearAt);
+            out.writeBoolean(anvilFalling);
+            out.writeLong(anvilNextStepAt);
+            out.writeBoolean(gravityEnabled);
+            out.writeLong(nextFallAt);
+            out.writeBoolean(slowModeActive);
+            out.writeLong(slowModeEndTime);
+            out.writeBoolean(doubleScoreActive);
+            out.writeLong(doubleScoreTime);
+            out.writeLong(randomState);
+        }
+
+        /** writeTo()로 쓴 내용을 이 스냅샷에 읽어 들임 */
+        public void readFrom(DataInputStream in) throws IOException {
+            board.clear();
+            for (int r = 0; r < FIELD_HEIGHT; r++) board.setRowMask(r, in.readInt());
+            board.setDirtyRowMask(in.readLong());
+            for (int r = 0; r < FIELD_HEIGHT; r++) {
+                for (int c = 0; c < FIELD_WIDTH; c++) cells.set(r, c, in.readInt());
+            }
+            pendingClearCount = in.readUnsignedByte();
+            if (pendingClearCount > FIELD_HEIGHT) throw new IOException("잘못된 삭제 예약 줄 수: " + pendingClearCount);
+            for (int i = 0; i < pendingClearCount; i++) {
+                pendingClearRows[i] = in.readUnsignedByte();
+                if (pendingClearRows[i] >= FIELD_HEIGHT) throw new IOException("잘못된 삭제 예약 줄: " + pendingClearRows[i]);
+            }
+            int garbage = in.readUnsignedByte();
+            if (garbage > MAX_GARBAGE_QUEUE) throw new IOException("잘못된 공격 줄 수: " + garbage);
+            pendingGarbage.clear();
+            for (int i = 0; i < garbage; i++) {
+                int mask = in.readInt();
+                boolean[] row = new boolean[FIELD_WIDTH];
+                for (int x = 0; x < FIELD_WIDTH; x++) row[x] = (mask & (1 << x)) != 0;
+                pendingGarbage.add(row);
+            }
+
+            // 상대가 보낸 값이므로 배열 인덱스로 쓰기 전에 범위를 모두 확인 (손상/조작된 RESYNC는 IOException)
+            currentType = readEnum(PieceType.values(), in.readByte(), "블록 종류");
+            currentRotation = in.readByte();
+            currentItem = in.readChar();
+            currentItemRow = in.readByte();
+            currentItemCol = in.readByte();
+            checkPiece(currentType, currentRotation, currentItem, currentItemRow, currentItemCol);
+            nextType = readEnum(PieceType.values(), in.readByte(), "다음 블록 종류");
+            nextRotation = in.readByte();
+            nextItem = in.readChar();
+            nextItemRow = in.readByte();
+            nextItemCol = in.readByte();
+            checkPiece(nextType, nextRotation, nextItem, nextItemRow, nextItemCol);
+
+            blockX = in.readInt();
+            blockY = in.readInt();
+            isGameOver = in.readBoolean();
+            score = in.readInt();
+            level = in.readInt();
+            linesClearedTotal = in.readInt();
+            blocksGenerated = in.readInt();
+            speedUp = in.readBoolean();
+            pendingItem = in.readBoolean();
+            weightLocked = in.readBoolean();
+            difficulty = readEnum(Settings.Difficulty.values(), in.readByte(), "난이도");
+            baseFallDelay = in.readInt();
+            scoreMultiplier = in.readDouble();
+            iOnlyModeActive = in.readBoolean();
+            iOnlyModeEndMillis = in.readLong();
+            flashClearAt = in.readLong();
+            anvilFalling = in.readBoolean();
+            anvilNextStepAt = in.readLong();
+            gravityEnabled = in.readBoolean();
+            nextFallAt = in.readLong();
+            slowModeActive = in.readBoolean();
+            slowModeEndTime = in.readLong();
+            doubleScoreActive = in.readBoolean();
+            doubleScoreTime = in.readLong();
+            randomState = in.readLong();
+        }
+
+        // -1은 null, 그 밖에는 0 ~ values.length-1만 허용
+        private static <E> E readEnum(E[] values, int ordinal, String what) throws IOException {
+            if (ordinal == -1) return null;
+            if (ordinal < 0 || ordinal >= values.length) throw new IOException("잘못된 " + what + ": " + ordinal);
+            return values[ordinal];
+        }
+
+        // 회전은 0~3, 아이템은 없음/L/T/I/D, 아이템 칸은 없음(-1) 또는 그 회전 상태의 블록 안
+        private static void checkPiece(PieceType type, int rotation, char item, int itemRow, int itemCol) throws IOException {
+            if (rotation < 0 || rotation > 3) throw new IOException("잘못된 회전: " + rotation);
+            if (item != 0 && item != 'L' && item != 'T' && item != 'I' && item != 'D') {
+                throw new IOException("잘못된 아이템: " + (int) item);
+            }
+            if (itemRow == -1 && itemCol == -1) return;
+            if (type == null || itemRow < 0 || itemCol < 0
+                    || itemRow >= type.height(rotation) || itemCol >= type.width(rotation)) {
+                throw new IOException("잘못된 아이템 칸: " + itemRow + "," + itemCol);
+            }
+        }
+
+        private static void writePiece(DataOutputStream out, PieceType type, int rotation,
+                                       char item, int itemRow, int itemCol) throws IOException {
+            out.writeByte(type != null ? type.ordinal() : -1);
+            out.writeByte(rotation);
+            out.writeChar(item);
+            out.writeByte(itemRow);
+            out.writeByte(itemCol);
+        }
+
+        private static long pieceCode(PieceType type, int rotation, char item, int itemRow, int itemCol) {
+            if (type == null) return -1L;
+            return ((long) type.ordinal() << 40) | ((long) rotation << 32) | ((long) item << 16)
+                    | ((itemRow & 0xFF) << 8) | (itemCol & 0xFF);
+        }
+
+        private static int rowMask(boolean[] row) {
+            int mask = 0;
+            for (int x = 0; x < FIELD_WIDTH && x < row.length; x++) if (row[x]) mask |= (1 << x);
+            return mask;
+        }
+
+        // SplitMix64 섞기 한 단계
+        private static long mix(long h, long v) {
+            h ^= v;
+            h *= 0xBF58476D1CE4E5B9L;
+            return h ^ (h >>> 31);
+        }
+    }
+
+    /** 현재 상태의 64비트 해시 (Snapshot.hash()와 같은 값) */
+    public long stateHash() {
+        return saveState().hash();
+    }
+
+    /** 현재 상태를 새 스냅샷으로 저장 */
+    public Snapshot saveState() {
+        return saveState(new Snapshot());
+    }
+
+    /** 현재 상태를 주어진 스냅샷 객체에 덮어써 저장 (롤백 버퍼 재사용용) */
+    public Snapshot saveState(Snapshot s) {
+        s.board.copyStateFrom(board);
+        s.cells.copyFrom(cells);
+        System.arraycopy(pendingClearRows, 0, s.pendingClearRows, 0, FIELD_HEIGHT);
+        // 큐에 들어간 줄은 복사본이고 이후 수정되지 않으므로 참조만 보관
+        s.pendingGarbage.clear();
+        s.pendingGarbage.addAll(pendingGarbage);
+
+        s.currentType = currentBlock != null ? currentBlock.getType() : null;
+        if (currentBlock != null) {
+            s.currentRotation = currentBlock.getRotation();
+            s.currentItem = currentBlock.getItemType();
+            s.currentItemRow = currentBlock.getItemRow();
+            s.currentItemCol = currentBlock.getItemCol();
+        }
+        s.nextType = nextBlock != null ? nextBlock.getType() : null;
+        if (nextBlock != null) {
+            s.nextRotation = nextBlock.getRotation();
+            s.nextItem = nextBlock.getItemType();
+            s.nextItemRow = nextBlock.getItemRow();
+            s.nextItemCol = nextBlock.getItemCol();
+        }
+
+        s.blockX = blockX;
+        s.blockY = blockY;
+        s.isGameOver = isGameOver;
+        s.score = score;
+        s.level = level;
+        s.linesClearedTotal = linesClearedTotal;
+        s.blocksGenerated = blocksGenerated;
+        s.speedUp = speedUp;
+        s.pendingItem = pendingItem;
+        s.weightLocked = weightLocked;
+        s.difficulty = difficulty;
+        s.baseFallDelay = baseFallDelay;
+        s.scoreMultiplier = scoreMultiplier;
+        s.iOnlyModeActive = iOnlyModeActive;
+        s.iOnlyModeEndMillis = iOnlyModeEndMillis;
+        s.pendingClearCount = pendingClearCount;
+        s.flashClearAt = flashClearAt;
+        s.anvilFalling = anvilFalling;
+        s.anvilNextStepAt = anvilNextStepAt;
+        s.gravityEnabled = gravityEnabled;
+        s.nextFallAt = nextFallAt;
+        s.slowModeActive = slowModeActive;
+        s.slowModeEndTime = slowModeEndTime;
+        s.doubleScoreActive = doubleScoreActive;
+        s.doubleScoreTime = doubleScoreTime;
+        s.randomState = random.getState();
+        return s;
+    }
+
+    /** 저장한 스냅샷 시점으로 되돌림 (이후 같은 시계/입력이면 같은 결과) */
+    public void restoreState(Snapshot s) {
+        board.copyStateFrom(s.board);
+        cells.copyFrom(s.cells);
+        System.arraycopy(s.pendingClearRows, 0, pendingClearRows, 0, FIELD_HEIGHT);
+        pendingGarbage.clear();
+        pendingGarbage.addAll(s.pendingGarbage);
+
+        currentBlock = restoreBlock(currentBlock, s.currentType, s.currentRotation,
+                s.currentItem, s.currentItemRow, s.currentItemCol);
+        nextBlock = restoreBlock(nextBlock, s.nextType, s.nextRotation,
+                s.nextItem, s.nextItemRow, s.nextItemCol);
+
+        blockX = s.blockX;
+        blockY = s.blockY;
+        isGameOver = s.isGameOver;
+        score = s.score;
+        level = s.level;
+        linesClearedTotal = s.linesClearedTotal;
+        blocksGenerated = s.blocksGenerated;
+        speedUp = s.speedUp;
+        pendingItem = s.pendingItem;
+        weightLocked = s.weightLocked;
+        difficulty = s.difficulty;
+        baseFallDelay = s.baseFallDelay;
+        scoreMultiplier = s.scoreMultiplier;
+        iOnlyModeActive = s.iOnlyModeActive;
+        iOnlyModeEndMillis = s.iOnlyModeEndMillis;
+        pendingClearCount = s.pendingClearCount;
+        flashClearAt = s.flashClearAt;
+        anvilFalling = s.anvilFalling;
+        anvilNextStepAt = s.anvilNextStepAt;
+        gravityEnabled = s.gravityEnabled;
+        nextFallAt = s.nextFallAt;
+        slowModeActive = s.slowModeActive;
+        slowModeEndTime = s.slowModeEndTime;
+        doubleScoreActive = s.doubleScoreActive;
+        doubleScoreTime = s.doubleScoreTime;
+        random.setState(s.randomState);
+
+        // 플래시 줄 집합은 삭제 예약 줄에서 다시 만듦
+        flashingRows.clear();
+        for (int i = 0; i < pendingClearCount; i++) flashingRows.add(pendingClearRows[i]);
+    }
+
+    // 같은 종류면 기존 블록 객체를 재사용하고 회전/아이템 상태만 덮어씀
+    private static Block restoreBlock(Block block, PieceType type, int rotation,
+                                      char item, int itemRow, int itemCol) {
+        if (type == null) return null;
+        if (block == null || block.getType() != type) block = PieceGenerator.create(type);
+        block.setRotation(rotation);
+        block.setItemType(item);
+        block.setItemCell(itemRow, itemCol);
+        return block;
+    }
+
     // T 아이템 효과: 시간 느리게 하기
     private void activateTimeSlowItem() {
         slowModeActive = true;
-        slowModeEndTime = System.currentTimeMillis() + SLOW_MODE_DURATION;
+        slowModeEndTime = clock.millis() + SLOW_MODE_DURATION;
     }
 
     // 느린 모드 상태 체크 및 업데이트
     public void updateSlowMode() {
-        if (slowModeActive && System.currentTimeMillis() >= slowModeEndTime) {
+        if (slowModeActive && clock.millis() >= slowModeEndTime) {
             slowModeActive = false;
         }
     }
 
     // 게임 타이머 딜레이 계산 (느린 모드 적용)
     public int getGameTimerDelay() {
-        // 기본 딜레이 계산
-        int base = baseFallDelay;
+        int delay = fallDelayFor(baseFallDelay, difficulty, level);
+        // 느린 모드가 활성화되면 속도를 절반(딜레이 2배)으로
+        if (slowModeActive) {
+            delay *= 2;
+        }
+        return delay;
+    }
+
+    // 레벨별 자동 낙하 간격 (느린 모드 제외, 상대 블록 낙하 예측에도 사용)
+    public static int fallDelayFor(int base, Settings.Difficulty difficulty, int level) {
         int lvl = Math.max(1, level);
         int perLevelDecrease;
         switch (difficulty) {
@@ -741,12 +1110,7 @@ public class GameManager {
                 perLevelDecrease = 120; // NORMAL - 레벨당 120ms 감소
                 break;
         }
-        int delay = Math.max(50, base - (lvl - 1) * perLevelDecrease);
-        // 느린 모드가 활성화되면 속도를 절반(딜레이 2배)으로
-        if (slowModeActive) {
-            delay *= 2;
-        }
-        return delay;
+        return Math.max(50, base - (lvl - 1) * perLevelDecrease);
     }
 
     // 느린 모드 상태 확인
@@ -757,12 +1121,19 @@ public class GameManager {
     // 느린 모드 남은 시간 (초 단위)
     public int getSlowModeRemainingTime() {
         if (!slowModeActive) return 0;
-        long remaining = slowModeEndTime - System.currentTimeMillis();
+        long remaining = slowModeEndTime - clock.millis();
         return Math.max(0, (int)(remaining / 1000));
     }
 
+    // I-only 모드 상태/남은 시간 (HUD용)
+    public boolean isIOnlyModeActive() { return iOnlyModeActive; }
+    public long getIOnlyModeRemainingMillis() {
+        if (!iOnlyModeActive) return 0L;
+        return Math.max(0L, iOnlyModeEndMillis - clock.millis());
+    }
+
     public void activateDoubleScoreItem() {
-        doubleScoreTime = System.currentTimeMillis() + DOUBLE_SCORE_DURATION;
+        doubleScoreTime = clock.millis() + DOUBLE_SCORE_DURATION;
         doubleScoreActive = true;
         System.out.println("Double Score Item activated!");
     }
@@ -773,7 +1144,7 @@ public class GameManager {
     private int getScoreWithMultiplier(long base)   { int v = (int) base; return isDoubleScoreActive() ? v * 2 : v; }
 
     public boolean isDoubleScoreActive() {
-        if (doubleScoreActive && System.currentTimeMillis() > doubleScoreTime) {
+        if (doubleScoreActive && clock.millis() > doubleScoreTime) {
             doubleScoreActive = false;  // 만료
         }
         return doubleScoreActive;
@@ -781,25 +1152,23 @@ public class GameManager {
 
     public int getDoubleScoreRemainingSeconds() {
         if (!doubleScoreActive) return 0;
-        long rem = doubleScoreTime - System.currentTimeMillis();
+        long rem = doubleScoreTime - clock.millis();
         if (rem <= 0) { doubleScoreActive = false; return 0; }
         return (int) Math.ceil(rem / 1000.0);
     }
 
     // 아이템 정보 접근 메서드들
     public char getItemType(int row, int col) {
-        if (row < 0 || row >= FIELD_HEIGHT || col < 0 || col >= FIELD_WIDTH) return 0;
-        return itemField[row][col];
+        return cells.getItem(row, col);
     }
 
     public boolean hasItem(int row, int col) {
         return getItemType(row, col) != 0;
     }
 
-    // 색상 정보 접근 메서드
-    public Color getBlockColor(int row, int col) {
-        if (row < 0 || row >= FIELD_HEIGHT || col < 0 || col >= FIELD_WIDTH) return null;
-        return colorField[row][col];
+    // 색상 정보 접근 메서드 (팔레트 번호, 0 = 빈 칸)
+    public int getCellPalette(int row, int col) {
+        return cells.getPalette(row, col);
     }
 
     // 라인 플래시 효과 확인
@@ -807,255 +1176,21 @@ public class GameManager {
         return flashingRows.contains(row);
     }
 
-    // HUD: 점수/레벨/난이도/다음블록(줄삭제는 L 문자 표기, 무게추는 전용 모양으로 구분)
-    public void renderHUD(Graphics2D g2, int padding, int blockSize, int totalWidth) {
-        g2.setColor(Color.WHITE);
-
-        int fieldW = blockSize * 10;           // 보드 폭
-        int hudX = padding + fieldW + 16;      // HUD 시작 X 좌표
-        int hudWidth = Math.max(120, totalWidth - hudX - padding); // HUD 영역 너비
-
-        // 폰트 크기를 화면 크기에 맞춰 동적 조절 (더 크게)
-        // 기본: blockSize / 2, 최소 16, 최대 28
-        int baseFontSize = Math.max(16, Math.min(28, Math.max(14, blockSize / 2)));
-        g2.setFont(new Font("맑은 고딕", Font.BOLD, baseFontSize));
-
-        // 행간도 폰트 크기에 맞춰 조절 (기본의 1.5배)
-        int lineSpacing = (int)(baseFontSize * 1.5);
-        int scoreY = padding + lineSpacing;
-
-        // 점수 표시 (말줄임 처리)
-        drawStringEllipsis(g2, "SCORE: " + score, hudX, scoreY, hudWidth - 8);
-
-        // 레벨 표시
-        drawStringEllipsis(g2, "LEVEL: " + level, hudX, scoreY + lineSpacing, hudWidth - 8);
-
-        // 난이도 표시 (단문: E/N/H)
-        String diffLabel;
-        switch (difficulty) {
-            case EASY:
-                diffLabel = "E";
-                break;
-            case HARD:
-                diffLabel = "H";
-                break;
-            default:
-                diffLabel = "N";
-                break;
-        }
-        drawStringEllipsis(g2, "DIFFICULTY: " + diffLabel, hudX, scoreY + lineSpacing * 2, hudWidth - 8);
-
-        // 다음 블록 표시
-        if (nextBlock != null) {
-            int[][] shape = nextBlock.getShape();
-            Color color = nextBlock.getColor();
-
-            // NEXT 라벨은 iOnlyMode 상태와 관계없이 항상 같은 위치에 표시
-            drawStringEllipsis(g2, "NEXT:", hudX, scoreY + lineSpacing * 4, hudWidth - 8);
-
-            final boolean cb = (settings != null && settings.isColorBlindMode());
-
-            // 다음 블록을 그릴 가로 영역을 hudWidth로 제한
-            int cell = Math.max(14, Math.min(blockSize, (hudWidth - 8) / 4)); // 최대 4열 보이도록 조정, 크기 증가
-            Integer ir = null, ic = null;
-
-            // 다음 블록이 줄삭제 아이템(L)인 경우 위치 조회
-            if (nextBlock.getItemType() != 0) {
-                try {
-                    ir = (Integer) nextBlock.getClass().getMethod("getItemRow").invoke(nextBlock);
-                    ic = (Integer) nextBlock.getClass().getMethod("getItemCol").invoke(nextBlock);
-                } catch (Exception ignore) {}
-            }
-
-            // 다음 블록 그리기
-            int nextBlockStartY = scoreY + lineSpacing * 4 + 20;
-            for (int r = 0; r < shape.length; r++) {
-                for (int c = 0; c < shape[r].length; c++) {
-                    if (shape[r][c] != 0) {
-                        int x = hudX + c * cell;
-                        int y = nextBlockStartY + r * cell;
-                        PatternPainter.drawCell(g2, x, y, cell - 1, color, nextBlock, cb);
-                        // L 아이템은 문자 표시
-                        if (nextBlock.getItemType() != 0 && ir != null && ic != null && r == ir && c == ic) {
-                            GameScreen.drawCenteredChar(g2, x, y, cell, nextBlock.getItemType());
-                        }
-                    }
-                }
-            }
-
-        }
-
-        // 느린 모드 표시 남은 시간 표시
-        if (slowModeActive) {
-            g2.setColor(Color.RED);
-            int remaining = getSlowModeRemainingTime();
-            drawStringEllipsis(g2, "SLOW: " + remaining + "s", hudX, scoreY + 200, hudWidth - 8);
-        }
-
-        // I-only 모드 남은 시간 표시
-        if (iOnlyModeActive) {
-            long rem = Math.max(0, iOnlyModeEndMillis - System.currentTimeMillis());
-            String remS = String.format("I-MODE: %ds", (rem + 999) / 1000);
-            int yPos = slowModeActive ? scoreY + 230 : scoreY + 200; // SLOW MODE 있으면 그 아래, 없으면 같은 위치
-            g2.setColor(Color.GREEN);
-            drawStringEllipsis(g2, remS, hudX, yPos, hudWidth - 8);
-        }
-
-        // 점수 2배 모드 표시 남은 시간 표시 (위치 스택: SLOW → I-MODE → 2x)
-        if (doubleScoreActive) {
-            int remain = (int) Math.ceil((doubleScoreTime - System.currentTimeMillis()) / 1000.0);
-            // 기본 기준 위치는 SLOW와 동일
-            int yPos = scoreY + 200;
-            // SLOW가 보이면 그 아래
-            if (slowModeActive) yPos += 30;
-            // I-MODE가 보이면 그 아래
-            if (iOnlyModeActive) yPos += 30;
-
-            g2.setColor(Color.BLUE);
-            String text = "2x SCORE: " + Math.max(0, remain) + "s";
-            drawStringEllipsis(g2, text, hudX, yPos, hudWidth - 8);
-        }
-
-    }
-
-    // 문자열을 주어진 최대 너비에 맞춰 그리고, 넘치면 말줄임표(...)로 대체
-    private void drawStringEllipsis(Graphics2D g2, String text, int x, int y, int maxWidth) {
-        if (text == null) return;
-        FontMetrics fm = g2.getFontMetrics();
-        if (fm.stringWidth(text) <= maxWidth) {
-            g2.drawString(text, x, y);
-            return;
-        }
-
-        String ell = "...";
-        int ellWidth = fm.stringWidth(ell);
-        int avail = Math.max(0, maxWidth - ellWidth);
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < text.length(); i++) {
-            sb.append(text.charAt(i));
-            if (fm.stringWidth(sb.toString()) > avail) {
-                sb.setLength(Math.max(0, sb.length() - 1));
-                break;
-            }
-        }
-        g2.drawString(sb.toString() + ell, x, y);
-    }
-
-    private static class Particle {
-        // 어떤 칸(gridX, gridY)에서 튀어나오는지 (보드 그리드 좌표)
-        float gridX, gridY;
-
-        // 그 칸 중심 기준의 픽셀 오프셋
-        float offsetX, offsetY;
-
-        float vx, vy;         // 속도(오프셋에 적용)
-        Color color;
-        int life;
-        int maxLife;
-
-        public Particle(float gridX, float gridY, Color color,
-                        float vx, float vy,
-                        float offsetX, float offsetY) {
-            this.gridX = gridX;
-            this.gridY = gridY;
-            this.color = color;
-            this.vx = vx;
-            this.vy = vy;
-            this.offsetX = offsetX;
-            this.offsetY = offsetY;
-            this.maxLife = 30 + (int)(Math.random() * 20);
-            this.life = maxLife;
-        }
-
-        public void update() {
-            // 오프셋에만 속도 적용 (그리드 위치는 고정)
-            offsetX += vx;
-            offsetY += vy;
-            vy += 0.2f;
-            vx *= 0.98f;
-            life--;
-        }
-
-        public boolean isDead() { return life <= 0; }
-
-        public void render(Graphics2D g2, int originX, int originY, int blockSize) {
-            if (isDead()) return;
-
-            float alpha = (float) life / maxLife;
-            Color fadeColor = new Color(
-                    color.getRed(),
-                    color.getGreen(),
-                    color.getBlue(),
-                    (int) (255 * alpha)
-            );
-            g2.setColor(fadeColor);
-
-            int size = Math.max(1, (int) (4 * alpha));
-
-            // 실제 화면 좌표: 보드 기준 + 그리드 * blockSize + center + offset
-            float px = originX + gridX * blockSize + (blockSize / 2.0f) + offsetX;
-            float py = originY + gridY * blockSize + (blockSize / 2.0f) + offsetY;
-
-            g2.fillOval((int) px, (int) py, size, size);
-        }
-    }
-
-    public void updateParticles() {
-        // 파티클 업데이트 및 죽은 파티클 제거 (동기화 블록 사용)
-        synchronized(particles) {
-            particles.removeIf(particle -> {
-                particle.update();
-                return particle.isDead();
-            });
-        }
-    }
-
     // I-only 모드 활성화: 지정된 밀리초 동안 I형 블록만 생성
     public void activateIOnlyMode(int milliseconds) {
         if (mode != GameMode.ITEM) return; // 아이템 모드에서만 동작
         iOnlyModeActive = true;
-        iOnlyModeEndMillis = System.currentTimeMillis() + Math.max(0, milliseconds);
+        iOnlyModeEndMillis = clock.millis() + Math.max(0, milliseconds);
         System.out.println("[GameManager] I-only mode activated for " + milliseconds + " ms");
     }
 
-    public void renderParticles(Graphics2D g2, int originX, int originY, int blockSize) {
-        synchronized (particles) {
-            for (Particle particle : particles) {
-                particle.render(g2, originX, originY, blockSize);
-            }
-        }
-    }
-
-    // 블록 파괴 효과 생성
+    // 블록 파괴 효과 생성 (리스너로 전달)
     private void addBreakEffect(int gridX, int gridY) {
-        Color blockColor = Color.LIGHT_GRAY;
-
-        int particleCount = 8 + (int)(Math.random() * 5);
-
-        for (int i = 0; i < particleCount; i++) {
-            float angle = (float) (Math.random() * 2 * Math.PI);
-            float speed = 2 + (float) (Math.random() * 4);
-
-            float vx = (float) (Math.cos(angle) * speed);
-            float vy = (float) (Math.sin(angle) * speed) - 1;
-
-            float offsetX = -8 + (float) (Math.random() * 16);
-            float offsetY = -8 + (float) (Math.random() * 16);
-
-            particles.add(new Particle(
-                    gridX,
-                    gridY,
-                    blockColor,
-                    vx,
-                    vy,
-                    offsetX,
-                    offsetY
-            ));
-        }
+        if (blockBreakListener != null) blockBreakListener.onBlockBreak(gridX, gridY);
     }
 
     // 공격 줄 여부
     public boolean isGarbage(int r, int c) {
-        return garbageMark[r][c];
+        return cells.isGarbage(r, c);
     }
 }
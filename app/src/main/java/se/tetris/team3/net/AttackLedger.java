@@ -0,0 +1,167 @@
+package se.tetris.team3.net;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * ATTACK 전달 장부 (P2PConnection 하나에 하나).
+ * - 보내는 쪽: ATTACK마다 1부터 늘어나는 번호와 보낸 시각을 붙이고, 확인 응답(ATTACK_ACK)이 올 때까지 보관
+ *   (응답이 늦으면 P2PConnection이 같은 번호로 다시 보냄)
+ * - 받는 쪽: 번호 순서대로만 넘기고 이미 받은 번호는 버림, 확인 응답은 "여기까지 모두 받음" 번호 하나
+ * - 보냄/확인/받음/적용 수와 줄 수를 세어, 경기 뒤 양쪽 숫자를 맞대어 볼 수 있게 함
+ * - I/O 스레드, 게임 루프, EDT가 함께 쓰므로 모든 메서드는 synchronized
+ * - STATE 방식 대전에서만 쓰임: 롤백 방식은 양쪽이 같은 입력으로 두 보드를 함께 시뮬레이션하고
+ *   공격 줄도 RollbackSession 안에서 상대 보드로 바로 넘어가므로 ATTACK이 오가지 않음
+ *   (입력 누락/순서 문제는 프레임 번호가 붙은 INPUT과 STATE_HASH/RESYNC가 맡음)
+ */
+public class AttackLedger {
+
+    // 확인 응답을 기다리는 ATTACK
+    private static final class Pending {
+        final P2PMessage msg;
+        long lastSentMillis;
+
+        Pending(P2PMessage msg, long now) {
+            this.msg = msg;
+            this.lastSentMillis = now;
+        }
+    }
+
+    // ── 보내는 쪽 ──
+    private int nextId = 1;
+    private final ArrayDeque<Pending> unacked = new ArrayDeque<>();
+    private long sent, sentRows, acked, ackedRows, resent;
+    private long maxAckMillis = 0;
+
+    // ── 받는 쪽 ──
+    private int deliveredId = 0;
+    // 앞 번호가 아직 안 온 ATTACK (번호 → 메시지)
+    private final TreeMap<Integer, P2PMessage> early = new TreeMap<>();
+    private long received, receivedRows, duplicates, applied, appliedRows;
+
+    /** 보낼 ATTACK에 번호와 보낸 시각을 붙이고 확인 대기 목록에 넣습니다. */
+    synchronized void stamp(P2PMessage m, long now) {
+        m.attackId = nextId++;
+        m.attackSentMillis = now;
+        unacked.addLast(new Pending(m, now));
+        sent++;
+        sentRows += rows(m);
+    }
+
+    /** 상대가 id번까지 모두 받았다고 알려옴 */
+    synchronized void acknowledge(int id, long now) {
+        while (!unacked.isEmpty() && unacked.peekFirst().msg.attackId <= id) {
+            P2PMessage m = unacked.pollFirst().msg;
+            acked++;
+            ackedRows += rows(m);
+            maxAckMillis = Math.max(maxAckMillis, now - m.attackSentMillis);
+        }
+    }
+
+    /** 마지막으로 보낸 지 afterMillis가 지나도록 확인이 없는 ATTACK (다시 보낸 것으로 기록) */
+    synchronized List<P2PMessage> dueForResend(long now, long afterMillis) {
+        List<P2PMessage> out = new ArrayList<>();
+        for (Iterator<Pending> it = unacked.iterator(); it.hasNext(); ) {
+            Pending p = it.next();
+            if (now - p.lastSentMillis < afterMillis) continue;
+            p.lastSentMillis = now;
+            resent++;
+            out.add(p.msg);
+        }
+        return out;
+    }
+
+    /**
+     * 받은 ATTACK 하나를 처리합니다.
+     * @return 이번에 순서대로 넘길 ATTACK 목록 (중복이거나 앞 번호를 기다리는 중이면 빈 목록)
+     */
+    synchronized List<P2PMessage> accept(P2PMessage m) {
+        List<P2PMessage> out = new ArrayList<>();
+        int id = m.attackId;
+        if (id <= deliveredId || early.containsKey(id)) {
+            duplicates++;
+            return out;
+        }
+        early.put(id, m);
+        while (!early.isEmpty() && early.firstKey() == deliveredId + 1) {
+            P2PMessage next = early.pollFirstEntry().getValue();
+            deliveredId++;
+            received++;
+            receivedRows += rows(next);
+            out.add(next);
+        }
+        return out;
+    }
+
+    /** 순서대로 모두 받은 마지막 번호 (확인 응답으로 보냄) */
+    synchronized int getDeliveredId() {
+        return deliveredId;
+    }
+
+    /** 받은 ATTACK을 실제로 GameManager.enqueueGarbage에 넣었을 때 (게임 루프에서) */
+    public synchronized void markApplied(int rowCount) {
+        applied++;
+        appliedRows += rowCount;
+    }
+
+    /** 확인 응답을 기다리는 ATTACK 수 */
+    public synchronized int getUnackedCount() {
+        return unacked.size();
+    }
+
+    /** 가장 오래 걸린 확인 응답 (보낸 시각 ~ 확인, ms) */
+    public synchronized long getMaxAckMillis() {
+        return maxAckMillis;
+    }
+
+    public synchronized long getResent() {
+        return resent;
+    }
+
+    public synchronized long getDuplicatesDropped() {
+        return duplicates;
+    }
+
+    /** 지금까지의 수 (경기별로 보려면 시작할 때 것과 minus) */
+    public synchronized Counts counts() {
+        return new Counts(sent, sentRows, acked, ackedRows, received, receivedRows, applied, appliedRows);
+    }
+
+    private static int rows(P2PMessage m) {
+        return m.garbageRows == null ? 0 : m.garbageRows.length;
+    }
+
+    /** 장부 숫자 묶음 (불변) */
+    public static final class Counts {
+        public final long sent, sentRows;
+        public final long acked, ackedRows;
+        public final long received, receivedRows;
+        public final long applied, appliedRows;
+
+        public Counts(long sent, long sentRows, long acked, long ackedRows,
+                      long received, long receivedRows, long applied, long appliedRows) {
+            this.sent = sent;
+            this.sentRows = sentRows;
+            this.acked = acked;
+            this.ackedRows = ackedRows;
+            this.received = received;
+            this.receivedRows = receivedRows;
+            this.applied = applied;
+            this.appliedRows = appliedRows;
+        }
+
+        public Counts minus(Counts o) {
+            return new Counts(sent - o.sent, sentRows - o.sentRows, acked - o.acked, ackedRows - o.ackedRows,
+                    received - o.received, receivedRows - o.receivedRows, applied - o.applied, appliedRows - o.appliedRows);
+        }
+
+        @Override
+        public String toString() {
+            return "공격 보냄 " + sent + "회/" + sentRows + "줄 (확인 " + acked + "회/" + ackedRows + "줄)"
+                    + ", 받음 " + received + "회/" + receivedRows + "줄 (적용 " + applied + "회/" + appliedRows + "줄)";
+        }
+    }
+}
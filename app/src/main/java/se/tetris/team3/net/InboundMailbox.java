@@ -0,0 +1,172 @@
+package se.tetris.team3.net;
+
+import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 받은 메시지를 EDT로 넘기기 전에 모아 두는 우편함.
+ * - 읽기 스레드가 put()하고, EDT 작업은 한 번에 하나만 예약됨 (drainTo로 쌓인 것을 모두 가져감)
+ * - 아직 전달되지 않은 STATE 바로 뒤에 STATE가 오면 둘을 하나로 합침 (델타는 바뀐 줄을 합쳐서 기준이 끊기지 않게)
+ * - 그 외 메시지(ATTACK, PAUSE_STATE, DISCONNECT 등)는 버리지 않고 받은 순서대로 전달
+ * - 제어 메시지를 사이에 둔 STATE끼리는 합치지 않으므로 STATE와 제어 메시지의 순서도 유지됨
+ */
+public class InboundMailbox {
+
+    private final ArrayDeque<P2PMessage> queue = new ArrayDeque<>();
+    private boolean drainScheduled = false;
+    private long coalescedStates = 0;
+
+    /**
+     * 메시지를 넣습니다.
+     * @return EDT 작업을 새로 예약해야 하면 true (이미 예약돼 있으면 false)
+     */
+    public synchronized boolean put(P2PMessage msg) {
+        if (msg.type == P2PMessage.Type.STATE) {
+            P2PMessage last = queue.peekLast();
+            if (last != null && last.type == P2PMessage.Type.STATE) {
+                queue.pollLast();
+                msg = mergeState(last, msg);
+                coalescedStates++;
+            }
+        }
+        queue.addLast(msg);
+        if (drainScheduled) return false;
+        drainScheduled = true;
+        return true;
+    }
+
+    /** 쌓인 메시지를 모두 옮깁니다. (예약된 EDT 작업에서 호출) */
+    public synchronized void drainTo(List<P2PMessage> out) {
+        out.addAll(queue);
+        queue.clear();
+        drainScheduled = false;
+    }
+
+    public synchronized int pending() { return queue.size(); }
+    public synchronized long getCoalescedStates() { return coalescedStates; }
+
+    /**
+     * 연속된 두 STATE를 newer 하나를 받은 것과 같은 결과가 되도록 합칩니다.
+     * - newer가 전체 스냅샷이거나 older 다음 번호가 아니면 newer만 남김 (받는 쪽이 기준을 확인)
+     * - older가 전체 스냅샷이면 newer의 바뀐 줄을 older에 덮어써 전체 스냅샷으로 유지
+     * - 둘 다 델타면 바뀐 줄과 바뀐 부분을 합친 델타 (기준은 older의 기준)
+     * older는 아직 아무도 보지 않은 메시지이므로 배열을 그대로 고쳐 씀
+     */
+    public static P2PMessage mergeState(P2PMessage older, P2PMessage newer) {
+        if (!newer.delta || newer.baseSeq != older.stateSeq) return newer;
+
+        P2PMessage m = older;
+        int[] rows = newer.changedRows != null ? newer.changedRows : new int[0];
+        if (!older.delta) {
+            for (int i = 0; i < rows.length; i++) {
+                int r = rows[i];
+                if (m.field == null || r < 0 || r >= m.field.length) continue;
+                if (newer.field != null) m.field[r] = newer.field[i];
+                if (newer.itemField != null && m.itemField != null) m.itemField[r] = newer.itemField[i];
+                if (newer.colorField != null && m.colorField != null) m.colorField[r] = newer.colorField[i];
+                if (newer.garbageMark != null && m.garbageMark != null) m.garbageMark[r] = newer.garbageMark[i];
+            }
+        } else {
+            mergeRows(m, newer);
+            m.changedParts |= newer.changedParts;
+        }
+
+        int parts = newer.changedParts;
+        if ((parts & P2PMessage.PART_SCORE) != 0) m.myScore = newer.myScore;
+        if ((parts & P2PMessage.PART_LEVEL) != 0) m.myLevel = newer.myLevel;
+        if ((parts & P2PMessage.PART_NEXT) != 0) {
+            m.nextShape = newer.nextShape;
+            m.nextColor = newer.nextColor;
+            m.nextItemType = newer.nextItemType;
+            m.nextItemRow = newer.nextItemRow;
+            m.nextItemCol = newer.nextItemCol;
+        }
+        if ((parts & P2PMessage.PART_PREVIEW) != 0) m.garbagePreview = newer.garbagePreview;
+
+        m.gameOver = newer.gameOver;
+        m.curShape = newer.curShape;
+        m.curColor = newer.curColor;
+        m.curX = newer.curX;
+        m.curY = newer.curY;
+        m.curItemType = newer.curItemType;
+        m.curItemRow = newer.curItemRow;
+        m.curItemCol = newer.curItemCol;
+        m.stateSeq = newer.stateSeq;
+        return m;
+    }
+
+    // 두 델타의 바뀐 줄 합치기 (같은 줄은 newer 것)
+    private static void mergeRows(P2PMessage a, P2PMessage b) {
+        int[] ra = a.changedRows != null ? a.changedRows : new int[0];
+        int[] rb = b.changedRows != null ? b.changedRows : new int[0];
+        if (rb.length == 0) return;
+        if (ra.length == 0) {
+            a.changedRows = rb;
+            a.field = b.field;
+            a.itemField = b.itemField;
+            a.colorField = b.colorField;
+            a.garbageMark = b.garbageMark;
+            return;
+        }
+
+        int n = ra.length;
+        int[] rows = Arrays.copyOf(ra, ra.length + rb.length);
+        int[] fromB = new int[rows.length];   // 합친 i번째 줄이 b의 몇 번째 줄인지 (-1이면 없음)
+        int[] fromA = new int[rows.length];   // a의 몇 번째 줄인지 (-1이면 없음)
+        for (int i = 0; i < ra.length; i++) {
+            fromA[i] = i;
+            fromB[i] = -1;
+        }
+        for (int j = 0; j < rb.length; j++) {
+            int at = -1;
+            for (int i = 0; i < n; i++) {
+                if (rows[i] == rb[j]) { at = i; break; }
+            }
+            if (at < 0) {
+                at = n++;
+                rows[at] = rb[j];
+                fromA[at] = -1;
+            }
+            fromB[at] = j;
+        }
+
+        int[][] field = new int[n][];
+        char[][] items = (a.itemField != null || b.itemField != null) ? new char[n][] : null;
+        Color[][] colors = (a.colorField != null || b.colorField != null) ? new Color[n][] : null;
+        boolean[][] garbage = (a.garbageMark != null || b.garbageMark != null) ? new boolean[n][] : null;
+        for (int i = 0; i < n; i++) {
+            int j = fromB[i], k = fromA[i];
+            field[i] = pickRow(j, b.field, k, a.field);
+            if (items != null) items[i] = pickRow(j, b.itemField, k, a.itemField);
+            if (colors != null) colors[i] = pickRow(j, b.colorField, k, a.colorField);
+            if (garbage != null) garbage[i] = pickRow(j, b.garbageMark, k, a.garbageMark);
+        }
+        a.changedRows = Arrays.copyOf(rows, n);
+        a.field = field;
+        a.itemField = items;
+        a.colorField = colors;
+        a.garbageMark = garbage;
+    }
+
+    private static int[] pickRow(int j, int[][] b, int k, int[][] a) {
+        if (j >= 0 && b != null) return b[j];
+        return (k >= 0 && a != null) ? a[k] : null;
+    }
+
+    private static char[] pickRow(int j, char[][] b, int k, char[][] a) {
+        if (j >= 0 && b != null) return b[j];
+        return (k >= 0 && a != null) ? a[k] : null;
+    }
+
+    private static Color[] pickRow(int j, Color[][] b, int k, Color[][] a) {
+        if (j >= 0 && b != null) return b[j];
+        return (k >= 0 && a != null) ? a[k] : null;
+    }
+
+    private static boolean[] pickRow(int j, boolean[][] b, int k, boolean[][] a) {
+        if (j >= 0 && b != null) return b[j];
+        return (k >= 0 && a != null) ? a[k] : null;
+    }
+}
@@ -0,0 +1,194 @@
+package se.tetris.team3.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 프로세스 안의 P2PConnection끼리 소켓 없이 연결하는 전송 계층.
+ * - 포트 번호는 이 객체 안에서만 의미가 있음 (같은 LoopbackTransport를 쓰는 연결끼리만 접속 가능, 주소는 무시)
+ * - 쓴 바이트는 복사해서 상대 Handler.received로 바로 넘김 (TCP처럼 순서 보장, 쓰기가 밀리는 일 없음)
+ * - 이벤트/틱은 전용 스레드 하나에서 처리 → TCP와 같은 스레드 모델로 P2PConnection 코드를 그대로 사용
+ * - 포트 바인딩/접속 대기 없이 연결되므로 테스트와 봇끼리 대전을 밀리초 단위로 돌릴 수 있음
+ */
+public class LoopbackTransport implements P2PTransport, Closeable {
+
+    private final ScheduledExecutorService loop;
+    private volatile Thread thread;
+
+    // I/O 스레드 전용
+    private final Map<Integer, Listener> listeners = new HashMap<>();
+    private final List<LoopLink> links = new ArrayList<>();
+
+    private static final class Listener {
+        final int port;
+        final Handler handler;
+        boolean accepted = false;
+
+        Listener(int port, Handler handler) {
+            this.port = port;
+            this.handler = handler;
+        }
+    }
+
+    public LoopbackTransport() {
+        loop = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "P2P-Loopback");
+            t.setDaemon(true);
+            thread = t;
+            return t;
+        });
+        loop.scheduleAtFixedRate(this::tickAll, NioReactor.TICK_MILLIS, NioReactor.TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void execute(Runnable task) throws IOException {
+        if (inTransportThread()) {
+            task.run();
+            return;
+        }
+        post(task);
+    }
+
+    // 지금 실행 중인 작업 뒤에 실행 (I/O 스레드 안에서 다시 들어가지 않도록)
+    private void post(Runnable task) throws IOException {
+        try {
+            loop.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException ignore) {
+                    // 한 연결의 오류가 루프를 멈추지 않도록
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IOException("전송 계층이 닫혔습니다", e);
+        }
+    }
+
+    @Override
+    public boolean inTransportThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    @Override
+    public Closeable listen(int port, Handler handler) throws IOException {
+        if (listeners.containsKey(port)) throw new BindException("이미 사용 중인 포트: " + port);
+        Listener l = new Listener(port, handler);
+        listeners.put(port, l);
+        return () -> execute(() -> listeners.remove(port, l));
+    }
+
+    @Override
+    public void connect(String host, int port, Handler handler) {
+        try {
+            post(() -> {
+                Listener l = listeners.get(port);
+                if (l == null || l.accepted) {
+                    handler.failed(new ConnectException("연결 거부: " + host + ":" + port));
+                    return;
+                }
+                l.accepted = true;
+                LoopLink server = new LoopLink(l.handler, l.port);
+                LoopLink client = new LoopLink(handler, 40000 + links.size());
+                server.peer = client;
+                client.peer = server;
+                links.add(server);
+                links.add(client);
+                server.open();
+                client.open();
+            });
+        } catch (IOException e) {
+            handler.failed(e);
+        }
+    }
+
+    private void tickAll() {
+        long now = System.currentTimeMillis();
+        for (LoopLink link : new ArrayList<>(links)) {
+            if (!link.closed) link.handler.tick(now);
+        }
+    }
+
+    /** 전용 스레드를 멈춥니다. (열린 연결은 더 이상 이벤트를 받지 않음) */
+    @Override
+    public void close() {
+        loop.shutdownNow();
+    }
+
+    // 연결의 한쪽 끝
+    private final class LoopLink implements Link {
+        final Handler handler;
+        final int port;
+        LoopLink peer;
+        boolean closed = false;
+
+        LoopLink(Handler handler, int port) {
+            this.handler = handler;
+            this.port = port;
+        }
+
+        void open() {
+            try {
+                handler.opened(this);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        void fail(IOException e) {
+            if (closed) return;
+            handler.failed(e);
+            close();
+        }
+
+        @Override
+        public int write(byte[] buf, int off, int len) throws IOException {
+            if (closed) throw new IOException("닫힌 연결");
+            if (len == 0) return 0;
+            byte[] copy = new byte[len];
+            System.arraycopy(buf, off, copy, 0, len);
+            LoopLink to = peer;
+            post(() -> to.deliver(copy));
+            return len;
+        }
+
+        private void deliver(byte[] bytes) {
+            if (closed) return;
+            try {
+                handler.received(ByteBuffer.wrap(bytes));
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public String localAddress() {
+            return "127.0.0.1:" + port;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            links.remove(this);
+            // 이미 보낸 데이터가 먼저 도착한 뒤 상대가 끊김을 알게 됨
+            LoopLink to = peer;
+            try {
+                post(() -> to.fail(new EOFException()));
+            } catch (IOException ignore) {
+                // 전송 계층이 닫힘
+            }
+        }
+    }
+}
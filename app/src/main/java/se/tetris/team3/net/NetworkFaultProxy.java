@@ -0,0 +1,464 @@
+package se.tetris.team3.net;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 로컬 네트워크 장애 흉내 프록시 (테스트/수동 확인용 도구, 게임 코드에서는 쓰지 않음).
+ * - 127.0.0.1의 두 P2PConnection 사이에서 TCP 연결과 UDP 상태 채널을 중계
+ *   (클라이언트는 "127.0.0.1:<프록시 포트>"로 접속, 프록시가 대상 포트로 이어 줌)
+ * - 방향마다 지연/지터/대역폭 제한, UDP는 손실/순서 뒤바뀜, 전체를 먹통으로 만들거나 강제로 끊기
+ * - TCP는 프레임 단위로 넘기고 순서를 지킴 (지터가 있어도 앞 프레임을 앞지르지 않음),
+ *   먹통인 동안 TCP는 쌓아 두었다가 풀리면 보내고(재전송 흉내) UDP는 버림
+ * - 상대에게 가는 UDP_OFFER의 포트를 프록시 UDP 포트로 바꿔, UDP도 프록시를 거치게 함
+ * - 설정은 실행 중에도 바꿀 수 있고, Scenario로 시간표를 짜서 JUnit에서 재생
+ * - 단독 실행: gradle :app:faultProxy -PproxyArgs="34568 34567 --latency 75 --jitter 10"
+ */
+public class NetworkFaultProxy implements Closeable {
+
+    // 순서 뒤바뀜으로 고른 UDP 데이터그램을 더 늦추는 시간 (지터가 더 크면 지터의 두 배)
+    private static final long REORDER_EXTRA_MILLIS = 20;
+    private static final int MAX_DATAGRAM = 2048;
+
+    private final String targetHost;
+    private final int targetPort;
+    private final ServerSocket server;
+    private final ScheduledExecutorService timer;
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+
+    // 장애 설정 (양방향 공통, 실행 중 변경 가능)
+    private volatile long latencyMillis = 0;   // 한 방향 지연 (왕복은 두 배)
+    private volatile long jitterMillis = 0;    // 0 ~ jitter 만큼 더 늦춤
+    private volatile long bytesPerSecond = 0;  // 방향별 대역폭 (0이면 제한 없음)
+    private volatile double udpLossRate = 0;
+    private volatile double reorderRate = 0;
+    private volatile boolean blackhole = false;
+    private final Random random = new Random(1);
+
+    // 통계
+    private final AtomicLong tcpFrames = new AtomicLong();
+    private final AtomicLong udpForwarded = new AtomicLong();
+    private final AtomicLong udpDropped = new AtomicLong();
+    private final AtomicLong udpReordered = new AtomicLong();
+
+    /** 빈 포트에서 대기하고 127.0.0.1:targetPort로 이어 줍니다. */
+    public NetworkFaultProxy(int targetPort) throws IOException {
+        this(0, "127.0.0.1", targetPort);
+    }
+
+    public NetworkFaultProxy(int listenPort, String targetHost, int targetPort) throws IOException {
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), listenPort));
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "fault-proxy-timer"));
+        daemon(this::acceptLoop, "fault-proxy-accept").start();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    /** 클라이언트가 접속할 포트 */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    // ────────── 장애 설정 ──────────
+
+    /** 한 방향 지연 (왕복 시간은 이것의 두 배) */
+    public void setLatency(long millis) { latencyMillis = Math.max(0, millis); }
+
+    /** 프레임/데이터그램마다 0 ~ millis 만큼 더 늦춤 */
+    public void setJitter(long millis) { jitterMillis = Math.max(0, millis); }
+
+    /** 방향별 대역폭 (바이트/초, 0이면 제한 없음) */
+    public void setBandwidth(long bytesPerSecond) { this.bytesPerSecond = Math.max(0, bytesPerSecond); }
+
+    /** UDP 데이터그램을 이 확률로 버림 */
+    public void setUdpLoss(double rate) { udpLossRate = rate; }
+
+    /** UDP 데이터그램을 이 확률로 더 늦춰 뒤따르는 것과 순서가 바뀌게 함 */
+    public void setReorder(double rate) { reorderRate = rate; }
+
+    /** 먹통: 켜져 있는 동안 TCP는 쌓아 두고 UDP는 버림 (연결은 끊지 않음) */
+    public void setBlackhole(boolean on) { blackhole = on; }
+
+    /** 중계 중인 연결을 모두 바로 끊음 (양쪽 모두 상대가 닫은 것으로 봄) */
+    public void disconnect() {
+        for (Session s : sessions) s.close();
+    }
+
+    public long getTcpFrames() { return tcpFrames.get(); }
+    public long getUdpForwarded() { return udpForwarded.get(); }
+    /** 손실 흉내/먹통으로 버린 UDP 데이터그램 수 */
+    public long getUdpDropped() { return udpDropped.get(); }
+    public long getUdpReordered() { return udpReordered.get(); }
+
+    /** 시나리오를 지금부터 재생합니다. 마지막 단계가 끝나면 완료 */
+    public CompletableFuture<Void> play(Scenario scenario) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        long last = 0;
+        for (Scenario.Step step : scenario.steps) last = Math.max(last, step.atMillis);
+        for (Scenario.Step step : scenario.steps) {
+            timer.schedule(() -> step.action.accept(this), step.atMillis, TimeUnit.MILLISECONDS);
+        }
+        // 같은 시각 단계 뒤에 실행되도록 (단일 스레드 타이머는 같은 시각이면 예약 순서대로)
+        timer.schedule(() -> done.complete(null), last, TimeUnit.MILLISECONDS);
+        return done;
+    }
+
+    /**
+     * 시간표: at(ms, 설정 변경)을 이어 붙여 만들고 play()로 재생.
+     * 예) new Scenario().at(0, p -> p.setLatency(75)).at(3000, p -> p.setBlackhole(true)).at(6000, NetworkFaultProxy::disconnect)
+     */
+    public static final class Scenario {
+        private static final class Step {
+            final long atMillis;
+            final Consumer<NetworkFaultProxy> action;
+
+            Step(long atMillis, Consumer<NetworkFaultProxy> action) {
+                this.atMillis = atMillis;
+                this.action = action;
+            }
+        }
+
+        private final List<Step> steps = new ArrayList<>();
+
+        public Scenario at(long millis, Consumer<NetworkFaultProxy> action) {
+            steps.add(new Step(Math.max(0, millis), action));
+            return this;
+        }
+    }
+
+    // ────────── 중계 ──────────
+
+    private void acceptLoop() {
+        while (!closed) {
+            Socket client = null;
+            try {
+                client = server.accept();
+                Socket target = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                target.setTcpNoDelay(true);
+                Session s = new Session(client, target);
+                sessions.add(s);
+                s.start();
+            } catch (IOException e) {
+                // 대상에 접속하지 못하면 클라이언트도 끊음 (프록시를 닫은 경우 루프 종료)
+                if (client != null) try { client.close(); } catch (IOException ignore) {}
+            }
+        }
+    }
+
+    // 보낼 것 하나 (도착 예정 시각 순, 같으면 넣은 순서)
+    private static final class Packet implements Delayed {
+        private static final AtomicLong SEQ = new AtomicLong();
+
+        final long dueNanos;
+        final long seq = SEQ.getAndIncrement();
+        final byte[] data;      // null이면 TCP 쓰기 쪽 닫기
+        final boolean tcp;
+
+        Packet(long dueNanos, byte[] data, boolean tcp) {
+            this.dueNanos = dueNanos;
+            this.data = data;
+            this.tcp = tcp;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            Packet p = (Packet) o;
+            if (dueNanos != p.dueNanos) return dueNanos < p.dueNanos ? -1 : 1;
+            return Long.compare(seq, p.seq);
+        }
+    }
+
+    private interface Output {
+        void deliver(byte[] data) throws IOException;
+    }
+
+    // 한 방향 전송 줄: 지연/지터/대역폭을 계산해 예정 시각에 내보냄 (스레드 하나)
+    private final class Lane {
+        private final DelayQueue<Packet> queue = new DelayQueue<>();
+        private final boolean tcp;
+        private final Output out;
+        private final Runnable onError;
+        private final Thread thread;
+        private long lastDue = Long.MIN_VALUE;  // TCP: 앞 프레임보다 먼저 나가지 않도록
+        private long freeAt = Long.MIN_VALUE;   // 대역폭: 앞 것을 다 보내는 시각
+
+        Lane(String name, boolean tcp, Output out, Runnable onError) {
+            this.tcp = tcp;
+            this.out = out;
+            this.onError = onError;
+            this.thread = daemon(this::run, name);
+        }
+
+        synchronized void submit(byte[] data) {
+            long now = System.nanoTime();
+            long delay = latencyMillis;
+            long jitter = jitterMillis;
+            if (jitter > 0) delay += (long) (random.nextDouble() * jitter);
+            if (!tcp && reorderRate > 0 && random.nextDouble() < reorderRate) {
+                delay += Math.max(REORDER_EXTRA_MILLIS, jitter * 2);
+                udpReordered.incrementAndGet();
+            }
+            long due = now + TimeUnit.MILLISECONDS.toNanos(delay);
+            long bps = bytesPerSecond;
+            if (bps > 0 && data != null) {
+                long start = Math.max(due, freeAt);
+                freeAt = start + data.length * 1_000_000_000L / bps;
+                due = freeAt;
+            }
+            if (tcp) {
+                due = Math.max(due, lastDue);
+                lastDue = due;
+            }
+            queue.add(new Packet(due, data, tcp));
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    Packet p = queue.take();
+                    while (p.tcp && blackhole && !closed) Thread.sleep(5);
+                    out.deliver(p.data);
+                }
+            } catch (InterruptedException | IOException e) {
+                onError.run();
+            }
+        }
+    }
+
+    // 프록시를 거치는 연결 하나 (TCP 양방향 + UDP 양방향)
+    private final class Session {
+        private final Socket client;
+        private final Socket target;
+        // 상대가 보기에 "클라이언트의 UDP 주소"인 소켓과 "서버의 UDP 주소"인 소켓
+        private final DatagramSocket serverFacing;
+        private final DatagramSocket clientFacing;
+        private volatile int clientUdpPort;
+        private volatile int serverUdpPort;
+        private final List<Thread> readers = new ArrayList<>();
+        private final List<Lane> lanes = new ArrayList<>();
+        private volatile boolean sessionClosed = false;
+        // 양쪽이 모두 닫으면(쓰기 쪽 닫기 두 번) 세션 정리
+        private final AtomicInteger halfClosed = new AtomicInteger();
+
+        Session(Socket client, Socket target) throws IOException {
+            this.client = client;
+            this.target = target;
+            this.serverFacing = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            this.clientFacing = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        }
+
+        void start() throws IOException {
+            Lane up = tcpLane("up", target.getOutputStream(), target);
+            Lane down = tcpLane("down", client.getOutputStream(), client);
+            readers.add(daemon(() -> pumpTcp(client, up, true), "fault-proxy-tcp-up"));
+            readers.add(daemon(() -> pumpTcp(target, down, false), "fault-proxy-tcp-down"));
+
+            // 클라이언트 → clientFacing → (serverFacing에서) 서버, 서버 → serverFacing → (clientFacing에서) 클라이언트
+            Lane udpUp = new Lane("fault-proxy-udp-up", false,
+                    data -> sendUdp(serverFacing, serverUdpPort, data), () -> {});
+            Lane udpDown = new Lane("fault-proxy-udp-down", false,
+                    data -> sendUdp(clientFacing, clientUdpPort, data), () -> {});
+            lanes.add(udpUp);
+            lanes.add(udpDown);
+            readers.add(daemon(() -> pumpUdp(clientFacing, udpUp), "fault-proxy-udp-up-in"));
+            readers.add(daemon(() -> pumpUdp(serverFacing, udpDown), "fault-proxy-udp-down-in"));
+
+            for (Lane l : lanes) l.thread.start();
+            for (Thread t : readers) t.start();
+        }
+
+        private Lane tcpLane(String name, OutputStream os, Socket to) {
+            Lane lane = new Lane("fault-proxy-tcp-" + name, true, data -> {
+                if (data == null) {
+                    // 보낸 쪽이 닫음: 남은 프레임을 다 보낸 뒤 닫음
+                    to.shutdownOutput();
+                    if (halfClosed.incrementAndGet() == 2) close();
+                    return;
+                }
+                os.write(data);
+                os.flush();
+            }, this::close);
+            lanes.add(lane);
+            return lane;
+        }
+
+        // TCP 한 방향: 헤더, 그다음 프레임(길이 varint + 본문)을 통째로 읽어 전송 줄에 넣음
+        private void pumpTcp(Socket from, Lane lane, boolean fromClient) {
+            try {
+                InputStream in = new BufferedInputStream(from.getInputStream());
+                byte[] header = new byte[P2PCodec.HEADER_LENGTH];
+                readFully(in, header, 0, header.length);
+                lane.submit(header);
+                byte[] len = new byte[5];
+                while (true) {
+                    int n = 0;
+                    int size = 0;
+                    while (true) {
+                        int b = in.read();
+                        if (b < 0) throw new EOFException();
+                        if (n == len.length) throw new IOException("잘못된 메시지 길이");
+                        len[n] = (byte) b;
+                        size |= (b & 0x7F) << (7 * n++);
+                        if ((b & 0x80) == 0) break;
+                    }
+                    if (size < 0 || size > P2PCodec.MAX_FRAME) throw new IOException("메시지가 너무 큽니다: " + size);
+                    byte[] frame = new byte[n + size];
+                    System.arraycopy(len, 0, frame, 0, n);
+                    readFully(in, frame, n, size);
+                    if (size > 0 && (frame[n] & 0xFF) == P2PMessage.Type.UDP_OFFER.ordinal()) {
+                        frame = rewriteOffer(frame, n, size, fromClient);
+                    }
+                    tcpFrames.incrementAndGet();
+                    lane.submit(frame);
+                }
+            } catch (IOException e) {
+                // 보낸 쪽이 닫았거나 끊김: 지연을 지켜 상대에게도 닫힘을 전달
+                if (!sessionClosed) lane.submit(null);
+            }
+        }
+
+        // 상대에게 알릴 UDP 포트를 프록시 소켓 포트로 바꿈 (진짜 포트는 기억해 두고 중계에 씀)
+        private byte[] rewriteOffer(byte[] frame, int off, int size, boolean fromClient) throws IOException {
+            P2PMessage offer = P2PCodec.decode(frame, off, size);
+            if (fromClient) {
+                clientUdpPort = offer.udpPort;
+                offer.udpPort = serverFacing.getLocalPort();
+            } else {
+                serverUdpPort = offer.udpPort;
+                offer.udpPort = clientFacing.getLocalPort();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            P2PCodec.writeFrame(out, offer);
+            return out.toByteArray();
+        }
+
+        private void pumpUdp(DatagramSocket in, Lane lane) {
+            byte[] buf = new byte[MAX_DATAGRAM];
+            DatagramPacket packet = new DatagramPacket(buf, buf.length);
+            try {
+                while (!sessionClosed) {
+                    packet.setLength(buf.length);
+                    in.receive(packet);
+                    double loss = udpLossRate;
+                    if (blackhole || (loss > 0 && random.nextDouble() < loss)) {
+                        udpDropped.incrementAndGet();
+                        continue;
+                    }
+                    byte[] data = new byte[packet.getLength()];
+                    System.arraycopy(buf, 0, data, 0, data.length);
+                    lane.submit(data);
+                }
+            } catch (IOException e) {
+                // 닫힘
+            }
+        }
+
+        private void sendUdp(DatagramSocket from, int port, byte[] data) throws IOException {
+            if (port <= 0 || sessionClosed) return; // 아직 상대 포트를 모름
+            from.send(new DatagramPacket(data, data.length, InetAddress.getLoopbackAddress(), port));
+            udpForwarded.incrementAndGet();
+        }
+
+        void close() {
+            if (sessionClosed) return;
+            sessionClosed = true;
+            sessions.remove(this);
+            try { client.close(); } catch (IOException ignore) {}
+            try { target.close(); } catch (IOException ignore) {}
+            serverFacing.close();
+            clientFacing.close();
+            for (Lane l : lanes) l.thread.interrupt();
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] buf, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = in.read(buf, off, len);
+            if (n < 0) throw new EOFException();
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try { server.close(); } catch (IOException ignore) {}
+        disconnect();
+        timer.shutdownNow();
+    }
+
+    // ────────── 단독 실행 ──────────
+
+    /**
+     * 사용법: NetworkFaultProxy <대기 포트> [대상 포트] [--latency ms] [--jitter ms] [--bandwidth B/s] [--loss 0~1] [--reorder 0~1]
+     * 예) 34568 34567 --latency 75 --jitter 10 → 한쪽은 startServer(), 다른 쪽은 "127.0.0.1:34568"로 접속
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("사용법: NetworkFaultProxy <대기 포트> [대상 포트] [--latency ms] [--jitter ms]"
+                    + " [--bandwidth B/s] [--loss 0~1] [--reorder 0~1]");
+            System.exit(1);
+        }
+        int listen = Integer.parseInt(args[0]);
+        int i = 1;
+        int targetPort = P2PConnection.DEFAULT_PORT;
+        if (args.length > 1 && !args[1].startsWith("--")) {
+            targetPort = Integer.parseInt(args[1]);
+            i = 2;
+        }
+        NetworkFaultProxy proxy = new NetworkFaultProxy(listen, "127.0.0.1", targetPort);
+        for (; i + 1 < args.length; i += 2) {
+            String v = args[i + 1];
+            switch (args[i]) {
+                case "--latency": proxy.setLatency(Long.parseLong(v)); break;
+                case "--jitter": proxy.setJitter(Long.parseLong(v)); break;
+                case "--bandwidth": proxy.setBandwidth(Long.parseLong(v)); break;
+                case "--loss": proxy.setUdpLoss(Double.parseDouble(v)); break;
+                case "--reorder": proxy.setReorder(Double.parseDouble(v)); break;
+                default: System.err.println("알 수 없는 옵션: " + args[i]);
+            }
+        }
+        System.out.println("127.0.0.1:" + proxy.getPort() + " → " + "127.0.0.1:" + targetPort + " 중계 중 (Ctrl+C로 종료)");
+        Thread.currentThread().join();
+    }
+}
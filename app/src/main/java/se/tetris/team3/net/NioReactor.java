@@ -0,0 +1,145 @@
+package se.tetris.team3.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 모든 P2P 소켓의 accept/connect/read/write를 처리하는 셀렉터 스레드 하나.
+ * - 연결마다 스레드를 만들지 않으므로 한 프로세스가 여러 로비/관전자를 받아도 스레드는 이것 하나
+ * - 채널 등록/해제와 소켓 입출력은 모두 이 스레드에서만 (다른 스레드는 execute()로 작업을 넘김)
+ * - 읽기용 direct 버퍼 하나를 모든 연결이 돌려 씀
+ * - TICK_MILLIS마다 각 핸들러의 tick()을 불러 응답 없음/지연을 검사
+ */
+public final class NioReactor {
+
+    public static final long TICK_MILLIS = 250;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** 채널에 붙는 처리기 (모든 메서드는 셀렉터 스레드에서 호출) */
+    interface Handler {
+        void ready(SelectionKey key) throws IOException;
+        void tick(long nowMillis);
+        void failed(IOException e);
+    }
+
+    private static NioReactor shared;
+
+    /** 프로세스 공용 셀렉터 스레드 (처음 쓸 때 시작) */
+    public static synchronized NioReactor shared() throws IOException {
+        if (shared == null) {
+            shared = new NioReactor();
+            shared.thread.start();
+        }
+        return shared;
+    }
+
+    private final Selector selector;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private long lastTick = 0;
+
+    private NioReactor() throws IOException {
+        selector = Selector.open();
+        thread = new Thread(this::run, "P2P-Selector");
+        thread.setDaemon(true);
+    }
+
+    public boolean inReactorThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /** 셀렉터 스레드에서 실행할 작업 (이미 셀렉터 스레드면 바로 실행) */
+    public void execute(Runnable task) {
+        if (inReactorThread()) {
+            task.run();
+            return;
+        }
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    // 셀렉터 스레드 전용
+    SelectionKey register(SelectableChannel ch, int ops, Handler handler) throws IOException {
+        ch.configureBlocking(false);
+        return ch.register(selector, ops, handler);
+    }
+
+    // 셀렉터 스레드 전용 읽기 버퍼 (ready() 안에서만 사용)
+    ByteBuffer readBuffer() {
+        return readBuffer;
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                selector.select(TICK_MILLIS);
+            } catch (IOException e) {
+                // 곧바로 다시 select하면 같은 오류로 헛돌 수 있으므로 한 틱 쉬었다가
+                try {
+                    Thread.sleep(TICK_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException ignore) {
+                    // 한 연결의 오류가 셀렉터 스레드를 멈추지 않도록
+                }
+            }
+
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                Handler h = (Handler) key.attachment();
+                try {
+                    if (key.isValid()) h.ready(key);
+                } catch (IOException e) {
+                    fail(h, e);
+                } catch (CancelledKeyException ignore) {
+                    // 처리 중에 닫힌 채널
+                } catch (RuntimeException e) {
+                    // 손상된 메시지 등: 그 연결만 끊고 셀렉터 스레드는 계속
+                    fail(h, new IOException(e));
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastTick >= TICK_MILLIS) {
+                lastTick = now;
+                for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                    if (key.isValid() && key.attachment() instanceof Handler) {
+                        Handler h = (Handler) key.attachment();
+                        try {
+                            h.tick(now);
+                        } catch (RuntimeException e) {
+                            fail(h, new IOException(e));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // 연결 하나의 실패 처리 (정리 중 오류도 셀렉터 스레드로 번지지 않게)
+    private static void fail(Handler h, IOException e) {
+        try {
+            h.failed(e);
+        } catch (RuntimeException ignore) {
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package se.tetris.team3.net;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * P2PConnection 송신 대기열.
+ * - STATE는 칸 하나에 최신 것만 보관 (소켓이 밀리면 오래된 스냅샷은 버림)
+ * - 그 외 메시지(ATTACK, PAUSE_STATE, 로비 메시지 등)는 순서대로 보관하고 버리지 않으며, 항상 STATE보다 먼저 보냄
+ * - 제어 메시지는 capacity개까지만 쌓임 (가득 차면 offer가 false → 연결이 감당하지 못하는 상황)
+ * - 보내는 쪽(NIO 선택자 스레드)은 poll()로 쌓인 메시지를 기다리지 않고 한꺼번에 가져가 한 번에 씀
+ */
+public class OutboundQueue {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+    private final ArrayDeque<P2PMessage> control = new ArrayDeque<>();
+    private P2PMessage latestState;
+    private boolean closed = false;
+
+    private long coalescedStates = 0; // 보내기 전에 새 STATE로 대체된 수
+
+    public OutboundQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OutboundQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /** 메시지를 넣고 바로 반환합니다. 닫혔거나 제어 메시지가 가득 차면 false */
+    public synchronized boolean offer(P2PMessage msg) {
+        if (closed || msg == null) return false;
+        if (msg.type == P2PMessage.Type.STATE) {
+            if (latestState != null) coalescedStates++;
+            latestState = msg;
+        } else {
+            if (control.size() >= capacity) return false;
+            control.addLast(msg);
+        }
+        return true;
+    }
+
+    /**
+     * 쌓인 메시지를 전부 batch에 옮깁니다. (제어 메시지 먼저, STATE는 마지막, 기다리지 않음)
+     * 닫힌 뒤에는 남은 제어 메시지만 넘기고, 옮긴 것이 없으면 false를 반환합니다.
+     */
+    public synchronized boolean poll(List<P2PMessage> batch) {
+        if (control.isEmpty() && (closed || latestState == null)) {
+            if (closed) latestState = null;
+            return false;
+        }
+        batch.addAll(control);
+        control.clear();
+        if (!closed && latestState != null) batch.add(latestState);
+        latestState = null;
+        return true;
+    }
+
+    /** 더 이상 받지 않음 (보내는 스레드는 남은 제어 메시지를 보내고 끝남) */
+    public synchronized void close() {
+        closed = true;
+    }
+
+    public synchronized int pendingControl() { return control.size(); }
+    public synchronized boolean hasPendingState() { return latestState != null; }
+    public synchronized long getCoalescedStates() { return coalescedStates; }
+}
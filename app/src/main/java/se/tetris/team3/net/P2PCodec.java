@@ -0,0 +1,743 @@
+package se.tetris.team3.net;
+
+import java.awt.Color;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.ui.render.BlockPalette;
+
+/**
+ * P2PMessage 바이너리 코덱 (Java 직렬화 대체).
+ *
+ * 스트림 형식
+ * - 연결 직후 한 번: MAGIC(4바이트) + VERSION(1바이트)
+ * - 메시지마다: 길이(varint) + 본문
+ * - 본문: 타입 태그(1바이트) + text + 타입별 필드
+ * - MODE_INFO: 모드 + 시간제한 + 시드 + 난이도 (열거형은 ordinal + 1, 0이면 null) + 동기화 방식
+ *
+ * 필드 인코딩
+ * - 정수: zigzag varint (점수/위치/레벨 대부분 1~3바이트)
+ * - 2차원 boolean/점유 격자: 크기 + 줄마다 비트마스크 varint (빈 줄 1바이트, 10칸 줄 최대 2바이트)
+ * - 색: 팔레트 번호 1바이트 (팔레트에 없는 색만 ESCAPE + RGB 4바이트)
+ * - 아이템 격자: 아이템이 있는 칸만 (칸 번호, 문자) 목록
+ * - 쓰레기 줄: 줄마다 10비트 마스크 varint
+ * - STATE 델타: 바뀐 줄 번호 목록 + 그 줄들의 격자, 바뀐 점수/레벨/NEXT/미리보기만
+ * - INPUT: 프레임 번호 varint + 입력 비트 1바이트 (본문 4~5바이트)
+ * - STATE_HASH: 프레임 + 재동기화 횟수 + 해시, 어긋났을 때만 프레임별 해시 목록
+ * - RESYNC: 프레임 + 재동기화 횟수 + 두 보드 스냅샷 바이트열
+ * - SPECTATE: 플레이어 번호 + STATE와 같은 형식
+ * - UDP_OFFER: 포트 varint
+ * - ATTACK: 쓰레기 줄 + 번호 varint + 보낸 시각 varlong, ATTACK_ACK: 번호 varint
+ */
+public final class P2PCodec {
+
+    public static final int MAGIC = 0x54335450; // "T3TP"
+    public static final int VERSION = 10;
+
+    // 한 메시지 최대 크기 (잘못된 길이로 큰 배열을 만들지 않도록)
+    public static final int MAX_FRAME = 1 << 20;
+
+    private static final int COLOR_ESCAPE = 0xFF;
+
+    // STATE 선택 필드 존재 플래그
+    private static final int HAS_FIELD = 1;
+    private static final int HAS_ITEMS = 1 << 1;
+    private static final int HAS_COLORS = 1 << 2;
+    private static final int HAS_GARBAGE_MARK = 1 << 3;
+    private static final int HAS_CUR = 1 << 4;
+    private static final int HAS_NEXT = 1 << 5;
+    private static final int HAS_PREVIEW = 1 << 6;
+    private static final int IS_DELTA = 1 << 7;
+
+    private static final P2PMessage.Type[] TYPES = P2PMessage.Type.values();
+    private static final GameMode[] MODES = GameMode.values();
+    private static final Settings.Difficulty[] DIFFICULTIES = Settings.Difficulty.values();
+
+    private P2PCodec() {}
+
+    // ────────── 스트림 헤더 ──────────
+
+    public static void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC >>> 24);
+        out.write(MAGIC >>> 16);
+        out.write(MAGIC >>> 8);
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    /** 상대 헤더 확인 (다른 프로그램/다른 버전이면 IOException) */
+    public static void readHeader(InputStream in) throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        for (int i = 0; i < HEADER_LENGTH; i++) header[i] = (byte) readByte(in);
+        checkHeader(header, 0);
+    }
+
+    public static final int HEADER_LENGTH = 5;
+
+    /** 버퍼에 받아 둔 헤더 확인 (NIO 수신용) */
+    public static void checkHeader(byte[] buf, int off) throws IOException {
+        int magic = 0;
+        for (int i = 0; i < 4; i++) magic = (magic << 8) | (buf[off + i] & 0xFF);
+        if (magic != MAGIC) throw new IOException("알 수 없는 프로토콜입니다");
+        int version = buf[off + 4] & 0xFF;
+        if (version != VERSION) throw new IOException("프로토콜 버전이 다릅니다: " + version + " (내 버전 " + VERSION + ")");
+    }
+
+    static void writeHeader(Writer w) {
+        w.byte1(MAGIC >>> 24);
+        w.byte1(MAGIC >>> 16);
+        w.byte1(MAGIC >>> 8);
+        w.byte1(MAGIC);
+        w.byte1(VERSION);
+    }
+
+    // ────────── 프레임 (길이 + 본문) ──────────
+
+    public static void writeFrame(OutputStream out, P2PMessage msg) throws IOException {
+        Writer w = new Writer(64);
+        encode(msg, w);
+        Writer len = new Writer(5);
+        len.varint(w.size());
+        out.write(len.buf, 0, len.size());
+        out.write(w.buf, 0, w.size());
+    }
+
+    /** out 뒤에 프레임 하나를 이어 붙임 (body는 재사용하는 임시 버퍼) */
+    static void appendFrame(Writer out, Writer body, P2PMessage msg) {
+        body.reset();
+        encode(msg, body);
+        out.varint(body.size());
+        out.bytes(body.buf, 0, body.size());
+    }
+
+    /**
+     * buf[off, off+avail)의 맨 앞 프레임 크기를 봅니다. (NIO 수신용)
+     * @return 아직 덜 받았으면 -1, 아니면 (길이 varint 바이트 수 << 32) | 본문 길이
+     */
+    static long peekFrame(byte[] buf, int off, int avail) throws IOException {
+        int len = 0;
+        for (int i = 0; i < 5; i++) {
+            if (i >= avail) return -1;
+            int b = buf[off + i] & 0xFF;
+            len |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                if (len < 0 || len > MAX_FRAME) throw new IOException("메시지가 너무 큽니다: " + len);
+                return ((long) (i + 1) << 32) | len;
+            }
+        }
+        throw new IOException("잘못된 메시지 길이");
+    }
+
+    public static P2PMessage readFrame(InputStream in) throws IOException {
+        int len = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28) throw new IOException("잘못된 메시지 길이");
+            int b = readByte(in);
+            len |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+        }
+        if (len < 0 || len > MAX_FRAME) throw new IOException("메시지가 너무 큽니다: " + len);
+        byte[] buf = new byte[len];
+        int off = 0;
+        while (off < len) {
+            int n = in.read(buf, off, len - off);
+            if (n < 0) throw new EOFException();
+            off += n;
+        }
+        return decode(buf, 0, len);
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) throw new EOFException();
+        return b;
+    }
+
+    // ────────── 본문 ──────────
+
+    /** 메시지 본문만 바이트로 (길이 제외) */
+    public static byte[] encode(P2PMessage msg) {
+        Writer w = new Writer(64);
+        encode(msg, w);
+        byte[] out = new byte[w.size()];
+        System.arraycopy(w.buf, 0, out, 0, w.size());
+        return out;
+    }
+
+    private static void encode(P2PMessage m, Writer w) {
+        P2PMessage.Type type = (m.type != null) ? m.type : P2PMessage.Type.ERROR;
+        w.byte1(type.ordinal());
+        w.string(m.text);
+
+        switch (type) {
+            case MODE_INFO:
+                w.varint(m.gameMode == null ? 0 : m.gameMode.ordinal() + 1);
+                w.zigzag(m.timeLimitSeconds);
+                w.varlong(m.seed);
+                w.varint(m.difficulty == null ? 0 : m.difficulty.ordinal() + 1);
+                w.bool(m.rollbackSync);
+                break;
+            case READY_STATE:
+                w.bool(m.ready);
+                break;
+            case PAUSE_STATE:
+                w.bool(m.paused);
+                break;
+            case ATTACK:
+                w.rows(m.garbageRows);
+                w.varint(m.attackId);
+                w.varlong(m.attackSentMillis);
+                break;
+            case ATTACK_ACK:
+                w.varint(m.attackId);
+                break;
+            case STATE:
+                encodeState(m, w);
+                break;
+            case SPECTATE:
+                w.varint(m.spectatePlayer);
+                encodeState(m, w);
+                break;
+            case UDP_OFFER:
+                w.varint(m.udpPort);
+                break;
+            case PING:
+            case PONG:
+                w.zigzagLong(m.pingNanos);
+                break;
+            case INPUT:
+                w.varint(m.inputFrame);
+                w.varint(m.inputBits);
+                break;
+            case STATE_HASH:
+                w.varint(m.syncFrame);
+                w.varint(m.syncEpoch);
+                w.varlong(m.stateHash);
+                if (m.hashHistory == null) {
+                    w.varint(0);
+                } else {
+                    w.varint(m.hashHistory.length + 1);
+                    for (long h : m.hashHistory) w.varlong(h);
+                }
+                break;
+            case RESYNC:
+                w.varint(m.syncFrame);
+                w.varint(m.syncEpoch);
+                w.blob(m.resyncData);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void encodeState(P2PMessage m, Writer w) {
+        int flags = 0;
+        if (m.field != null) flags |= HAS_FIELD;
+        if (m.itemField != null) flags |= HAS_ITEMS;
+        if (m.colorField != null) flags |= HAS_COLORS;
+        if (m.garbageMark != null) flags |= HAS_GARBAGE_MARK;
+        if (m.curShape != null) flags |= HAS_CUR;
+        if (m.nextShape != null) flags |= HAS_NEXT;
+        if (m.garbagePreview != null) flags |= HAS_PREVIEW;
+        if (m.delta) flags |= IS_DELTA;
+        w.varint(flags);
+        w.varint(m.stateSeq);
+
+        int parts = P2PMessage.PART_SCORE | P2PMessage.PART_LEVEL;
+        if (m.delta) {
+            parts = m.changedParts;
+            w.varint(m.baseSeq);
+            w.varint(parts);
+            int[] rows = (m.changedRows != null) ? m.changedRows : new int[0];
+            w.varint(rows.length);
+            for (int r : rows) w.varint(r);
+        }
+        if ((parts & P2PMessage.PART_SCORE) != 0) w.zigzag(m.myScore);
+        if ((parts & P2PMessage.PART_LEVEL) != 0) w.zigzag(m.myLevel);
+        w.bool(m.gameOver);
+
+        if (m.field != null) w.intGrid(m.field);
+        if (m.itemField != null) w.itemGrid(m.itemField);
+        if (m.colorField != null) w.colorGrid(m.colorField);
+        if (m.garbageMark != null) w.boolGrid(m.garbageMark);
+
+        if (m.curShape != null) {
+            w.intGrid(m.curShape);
+            w.color(m.curColor);
+            w.zigzag(m.curX);
+            w.zigzag(m.curY);
+            w.varint(m.curItemType);
+            w.zigzag(m.curItemRow);
+            w.zigzag(m.curItemCol);
+        }
+        if (m.nextShape != null) {
+            w.intGrid(m.nextShape);
+            w.color(m.nextColor);
+            w.varint(m.nextItemType);
+            w.zigzag(m.nextItemRow);
+            w.zigzag(m.nextItemCol);
+        }
+        if (m.garbagePreview != null) w.rows(m.garbagePreview);
+    }
+
+    public static P2PMessage decode(byte[] buf, int off, int len) throws IOException {
+        Reader r = new Reader(buf, off, len);
+        try {
+            int tag = r.byte1();
+            if (tag >= TYPES.length) throw new IOException("알 수 없는 메시지 종류: " + tag);
+            P2PMessage m = new P2PMessage();
+            m.type = TYPES[tag];
+            m.text = r.string();
+
+            switch (m.type) {
+                case MODE_INFO: {
+                    int mode = r.varint();
+                    m.gameMode = (mode > 0 && mode <= MODES.length) ? MODES[mode - 1] : null;
+                    m.timeLimitSeconds = r.zigzag();
+                    m.seed = r.varlong();
+                    int difficulty = r.varint();
+                    m.difficulty = (difficulty > 0 && difficulty <= DIFFICULTIES.length) ? DIFFICULTIES[difficulty - 1] : null;
+                    m.rollbackSync = r.bool();
+                    break;
+                }
+                case READY_STATE:
+                    m.ready = r.bool();
+                    break;
+                case PAUSE_STATE:
+                    m.paused = r.bool();
+                    break;
+                case ATTACK:
+                    m.garbageRows = r.rows();
+                    m.attackId = r.varint();
+                    m.attackSentMillis = r.varlong();
+                    break;
+                case ATTACK_ACK:
+                    m.attackId = r.varint();
+                    break;
+                case STATE:
+                    decodeState(m, r);
+                    break;
+                case SPECTATE:
+                    m.spectatePlayer = r.varint();
+                    decodeState(m, r);
+                    break;
+                case UDP_OFFER:
+                    m.udpPort = r.varint();
+                    break;
+                case PING:
+                case PONG:
+                    m.pingNanos = r.zigzagLong();
+                    break;
+                case INPUT:
+                    m.inputFrame = r.varint();
+                    m.inputBits = r.varint();
+                    break;
+                case STATE_HASH: {
+                    m.syncFrame = r.varint();
+                    m.syncEpoch = r.varint();
+                    m.stateHash = r.varlong();
+                    int n = r.varint();
+                    if (n > 1025) throw new IOException("잘못된 해시 목록 길이: " + n);
+                    if (n > 0) {
+                        m.hashHistory = new long[n - 1];
+                        for (int i = 0; i < n - 1; i++) m.hashHistory[i] = r.varlong();
+                    }
+                    break;
+                }
+                case RESYNC:
+                    m.syncFrame = r.varint();
+                    m.syncEpoch = r.varint();
+                    m.resyncData = r.blob();
+                    break;
+                default:
+                    break;
+            }
+            return m;
+        } catch (RuntimeException e) {
+            // 상대가 보낸 바이트가 무엇이든 I/O 스레드까지 런타임 예외가 올라가지 않도록
+            throw new IOException("손상된 메시지", e);
+        }
+    }
+
+    private static void decodeState(P2PMessage m, Reader r) throws IOException {
+        int flags = r.varint();
+        m.stateSeq = r.varint();
+
+        int parts = P2PMessage.PART_SCORE | P2PMessage.PART_LEVEL;
+        if ((flags & IS_DELTA) != 0) {
+            m.delta = true;
+            m.baseSeq = r.varint();
+            parts = r.varint();
+            m.changedParts = parts;
+            int n = r.varint();
+            if (n > 64) throw new IOException("잘못된 줄 수: " + n);
+            m.changedRows = new int[n];
+            for (int i = 0; i < n; i++) m.changedRows[i] = r.varint();
+        }
+        if ((parts & P2PMessage.PART_SCORE) != 0) m.myScore = r.zigzag();
+        if ((parts & P2PMessage.PART_LEVEL) != 0) m.myLevel = r.zigzag();
+        m.gameOver = r.bool();
+
+        if ((flags & HAS_FIELD) != 0) m.field = r.intGrid();
+        if ((flags & HAS_ITEMS) != 0) m.itemField = r.itemGrid();
+        if ((flags & HAS_COLORS) != 0) m.colorField = r.colorGrid();
+        if ((flags & HAS_GARBAGE_MARK) != 0) m.garbageMark = r.boolGrid();
+
+        if ((flags & HAS_CUR) != 0) {
+            m.curShape = r.intGrid();
+            m.curColor = r.color();
+            m.curX = r.zigzag();
+            m.curY = r.zigzag();
+            m.curItemType = (char) r.varint();
+            m.curItemRow = r.zigzag();
+            m.curItemCol = r.zigzag();
+        }
+        if ((flags & HAS_NEXT) != 0) {
+            m.nextShape = r.intGrid();
+            m.nextColor = r.color();
+            m.nextItemType = (char) r.varint();
+            m.nextItemRow = r.zigzag();
+            m.nextItemCol = r.zigzag();
+        }
+        if ((flags & HAS_PREVIEW) != 0) m.garbagePreview = r.rows();
+    }
+
+    // ────────── 쓰기 ──────────
+
+    static final class Writer {
+        byte[] buf;
+        int pos;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        int size() { return pos; }
+
+        void reset() { pos = 0; }
+
+        void bytes(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, buf, pos, len);
+            pos += len;
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                byte[] grown = new byte[Math.max(buf.length * 2, pos + n)];
+                System.arraycopy(buf, 0, grown, 0, pos);
+                buf = grown;
+            }
+        }
+
+        void byte1(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void bool(boolean v) { byte1(v ? 1 : 0); }
+
+        void varint(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void zigzag(int v) { varint((v << 1) ^ (v >> 31)); }
+
+        void zigzagLong(long v) { varlong((v << 1) ^ (v >> 63)); }
+
+        // null = 0, 그 외 = 길이 + 1 후 원본 바이트
+        void blob(byte[] b) {
+            if (b == null) {
+                varint(0);
+                return;
+            }
+            varint(b.length + 1);
+            bytes(b, 0, b.length);
+        }
+
+        // null = 0, 그 외 = 바이트 수 + 1
+        void string(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            varint(b.length + 1);
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+
+        void color(Color c) {
+            int idx = BlockPalette.indexOf(c);
+            if (idx >= 0) {
+                byte1(idx);
+            } else {
+                byte1(COLOR_ESCAPE);
+                int rgb = c.getRGB();
+                byte1(rgb >>> 24);
+                byte1(rgb >>> 16);
+                byte1(rgb >>> 8);
+                byte1(rgb);
+            }
+        }
+
+        // 줄 수/칸 수 + 줄마다 비트마스크 (0이 아니면 1). 줄 길이가 다르면 첫 줄 기준
+        void intGrid(int[][] g) {
+            int h = g.length, w = (h > 0 && g[0] != null) ? g[0].length : 0;
+            varint(h);
+            varint(w);
+            for (int r = 0; r < h; r++) {
+                long mask = 0;
+                int[] row = g[r];
+                for (int c = 0; c < w && row != null && c < row.length; c++) {
+                    if (row[c] != 0) mask |= 1L << c;
+                }
+                varlong(mask);
+            }
+        }
+
+        void boolGrid(boolean[][] g) {
+            int h = g.length, w = (h > 0 && g[0] != null) ? g[0].length : 0;
+            varint(h);
+            varint(w);
+            for (int r = 0; r < h; r++) varlong(mask(g[r], w));
+        }
+
+        // 아이템이 있는 칸만 (칸 번호, 문자)
+        void itemGrid(char[][] g) {
+            int h = g.length, w = (h > 0 && g[0] != null) ? g[0].length : 0;
+            varint(h);
+            varint(w);
+            int count = 0;
+            for (int r = 0; r < h; r++)
+                for (int c = 0; c < w; c++)
+                    if (g[r] != null && c < g[r].length && g[r][c] != 0) count++;
+            varint(count);
+            for (int r = 0; r < h; r++)
+                for (int c = 0; c < w; c++)
+                    if (g[r] != null && c < g[r].length && g[r][c] != 0) {
+                        varint(r * w + c);
+                        varint(g[r][c]);
+                    }
+        }
+
+        // 색이 있는 칸 비트마스크 + 그 칸들의 팔레트 번호
+        void colorGrid(Color[][] g) {
+            int h = g.length, w = (h > 0 && g[0] != null) ? g[0].length : 0;
+            varint(h);
+            varint(w);
+            for (int r = 0; r < h; r++) {
+                long mask = 0;
+                Color[] row = g[r];
+                for (int c = 0; c < w && row != null && c < row.length; c++) {
+                    if (row[c] != null) mask |= 1L << c;
+                }
+                varlong(mask);
+                while (mask != 0) {
+                    int c = Long.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    color(row[c]);
+                }
+            }
+        }
+
+        // 쓰레기 줄 목록: 줄 수 + 줄마다 (길이 + 1, null이면 0) + 마스크
+        void rows(boolean[][] rows) {
+            if (rows == null) {
+                varint(0);
+                return;
+            }
+            varint(rows.length + 1);
+            for (boolean[] row : rows) {
+                if (row == null) {
+                    varint(0);
+                    continue;
+                }
+                varint(row.length + 1);
+                varlong(mask(row, row.length));
+            }
+        }
+
+        void varlong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        private static long mask(boolean[] row, int w) {
+            long m = 0;
+            if (row == null) return 0;
+            for (int c = 0; c < w && c < row.length && c < 64; c++) {
+                if (row[c]) m |= 1L << c;
+            }
+            return m;
+        }
+    }
+
+    // ────────── 읽기 ──────────
+
+    static final class Reader {
+        private final byte[] buf;
+        private int pos;
+        private final int end;
+
+        Reader(byte[] buf, int off, int len) {
+            this.buf = buf;
+            this.pos = off;
+            this.end = off + len;
+        }
+
+        int position() { return pos; }
+
+        int byte1() throws IOException {
+            if (pos >= end) throw new EOFException("메시지가 잘렸습니다");
+            return buf[pos++] & 0xFF;
+        }
+
+        boolean bool() throws IOException { return byte1() != 0; }
+
+        int varint() throws IOException {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = byte1();
+                v |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("잘못된 varint");
+        }
+
+        long varlong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = byte1();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("잘못된 varint");
+        }
+
+        int zigzag() throws IOException {
+            int v = varint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        long zigzagLong() throws IOException {
+            long v = varlong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String string() throws IOException {
+            int n = varint();
+            if (n == 0) return null;
+            int len = n - 1;
+            if (len < 0 || len > end - pos) throw new EOFException("메시지가 잘렸습니다");
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        byte[] blob() throws IOException {
+            int n = varint();
+            if (n == 0) return null;
+            int len = n - 1;
+            if (len < 0 || len > end - pos) throw new EOFException("메시지가 잘렸습니다");
+            byte[] b = new byte[len];
+            System.arraycopy(buf, pos, b, 0, len);
+            pos += len;
+            return b;
+        }
+
+        Color color() throws IOException {
+            int idx = byte1();
+            if (idx != COLOR_ESCAPE) return BlockPalette.color(idx);
+            int rgb = (byte1() << 24) | (byte1() << 16) | (byte1() << 8) | byte1();
+            return new Color(rgb, true);
+        }
+
+        private int dim() throws IOException {
+            int n = varint();
+            if (n < 0 || n > 64) throw new IOException("잘못된 격자 크기: " + n);
+            return n;
+        }
+
+        int[][] intGrid() throws IOException {
+            int h = dim(), w = dim();
+            int[][] g = new int[h][w];
+            for (int r = 0; r < h; r++) {
+                long mask = varlong();
+                for (int c = 0; c < w; c++) g[r][c] = (int) ((mask >>> c) & 1L);
+            }
+            return g;
+        }
+
+        boolean[][] boolGrid() throws IOException {
+            int h = dim(), w = dim();
+            boolean[][] g = new boolean[h][w];
+            for (int r = 0; r < h; r++) {
+                long mask = varlong();
+                for (int c = 0; c < w; c++) g[r][c] = ((mask >>> c) & 1L) != 0;
+            }
+            return g;
+        }
+
+        char[][] itemGrid() throws IOException {
+            int h = dim(), w = dim();
+            char[][] g = new char[h][w];
+            int count = varint();
+            for (int i = 0; i < count; i++) {
+                int cell = varint();
+                char item = (char) varint();
+                if (w > 0 && cell >= 0 && cell < h * w) g[cell / w][cell % w] = item;
+            }
+            return g;
+        }
+
+        Color[][] colorGrid() throws IOException {
+            int h = dim(), w = dim();
+            Color[][] g = new Color[h][w];
+            for (int r = 0; r < h; r++) {
+                long mask = varlong();
+                while (mask != 0) {
+                    int c = Long.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    Color color = color();
+                    if (c < w) g[r][c] = color;
+                }
+            }
+            return g;
+        }
+
+        boolean[][] rows() throws IOException {
+            int n = varint();
+            if (n == 0) return null;
+            int count = n - 1;
+            if (count > end - pos) throw new EOFException("메시지가 잘렸습니다");
+            boolean[][] rows = new boolean[count][];
+            for (int i = 0; i < count; i++) {
+                int len = varint();
+                if (len == 0) continue;
+                int w = len - 1;
+                if (w > 64) throw new IOException("잘못된 줄 길이: " + w);
+                long mask = varlong();
+                boolean[] row = new boolean[w];
+                for (int c = 0; c < w; c++) row[c] = ((mask >>> c) & 1L) != 0;
+                rows[i] = row;
+            }
+            return rows;
+        }
+    }
+}
@@ -1,41 +1,111 @@
 package se.tetris.team3.net;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketTimeoutException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.SwingUtilities;
 
+/**
+ * P2P 연결 하나 (서버 대기 또는 클라이언트 접속).
+ * - 실제 입출력은 P2PTransport에 맡김: 기본은 TcpTransport(NioReactor 셀렉터 스레드, 연결마다 스레드 없음),
+ *   테스트/봇 대전은 LoopbackTransport로 소켓 없이 연결
+ * - send()는 송신 대기열에 넣고 바로 반환, 전송 계층 I/O 스레드가 쌓인 메시지를 모아 한 번에 씀
+ * - 받은 메시지와 연결/끊김/오류는 기존처럼 EDT에서 P2PConnectionListener로 전달
+ * - PING_INTERVAL_MILLIS마다 PING을 보내 RTT(p50/p95/p99, 지터)를 재고, 응답 없음 판정 시간을 RTT에 맞춰 조절
+ * - 응답 없음은 소켓 타임아웃 대신 전송 계층 tick에서 마지막 수신 시각으로 판단
+ * - UDP를 켜면(setUdpEnabled, 양쪽 모두) STATE/PING/PONG은 UdpStateChannel로: 잃어버린 STATE가 뒤따르는 것을 막지 않음
+ *   (ATTACK, PAUSE_STATE, 로비 메시지는 계속 TCP, UDP 경로가 확인되지 않았거나 끊기면 전부 TCP)
+ * - ATTACK은 번호를 붙여 보내고 상대가 ATTACK_ACK로 확인 (AttackLedger): 받는 쪽은 중복을 버리고 번호 순서대로 전달,
+ *   ATTACK_RESEND_MILLIS 동안 확인이 없으면 같은 번호로 다시 보냄
+ */
 public class P2PConnection implements Closeable {
 
     public static final int DEFAULT_PORT = 34567;
     public static final int SOCKET_TIMEOUT = 3000;
+    /** RTT 표본이 모이기 전 응답 없음 판정 시간 */
     public static final int DISCONNECT_TIMEOUT = 8000;
+    public static final int MIN_DISCONNECT_TIMEOUT = 3000;
+    public static final int MAX_DISCONNECT_TIMEOUT = 15000;
+    public static final long PING_INTERVAL_MILLIS = 500;
+    /** 이 시간 동안 ATTACK_ACK가 없으면 같은 ATTACK을 다시 보냄 */
+    public static final long ATTACK_RESEND_MILLIS = 1000;
+    /** 기본 전송 계층 선택 (-Dtetris.p2p.transport=shm 이면 같은 컴퓨터의 두 프로세스를 공유 메모리로 연결) */
+    public static final String TRANSPORT_PROPERTY = "tetris.p2p.transport";
+    /** UDP 상태 채널 기본값 (-Dtetris.p2p.udp=true) */
+    public static final String UDP_PROPERTY = "tetris.p2p.udp";
+    // 이만큼 표본이 모이면 측정한 RTT로 판정 시간 계산
+    private static final int MIN_RTT_SAMPLES = 4;
 
+    private static final long CLOSE_WAIT_MILLIS = 500;
+
+    private final P2PTransport transport;
     private volatile P2PConnectionListener listener;
     private volatile boolean running;
+    private volatile boolean started;
     private boolean isServer;
 
-    private ServerSocket serverSocket;
-    private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
+    // ── I/O 스레드 전용 상태 ──
+    private Closeable serverHandle;
+    private P2PTransport.Link link;
+    private boolean closed = false;
+
+    // 수신: 헤더 확인 전/후, 아직 덜 받은 프레임은 inBuf에 모아 둠
+    private boolean headerReceived = false;
+    private byte[] inBuf = new byte[4096];
+    private int inLen = 0;
+
+    // 송신: 이번 묶음을 인코딩한 바이트(staged)를 전송 계층이 받는 만큼 넘김
+    private final P2PCodec.Writer staged = new P2PCodec.Writer(4096);
+    private final P2PCodec.Writer frameBody = new P2PCodec.Writer(512);
+    private int stagedOff = 0;
+    private final List<P2PMessage> batch = new ArrayList<>();
+
+    // 송신 대기열 (send()는 호출한 스레드를 막지 않음)
+    private volatile OutboundQueue outbound;
+    // STATE는 실제로 소켓에 쓰는 순간 델타로 바꿈 (대기열에서 버려진 스냅샷이 델타 기준이 되지 않도록)
+    private final StateDeltaEncoder stateEncoder = new StateDeltaEncoder();
 
-    private long lastReceiveTime;
-    private String cachedLocalAddress; // 연결 후 IP 주소 캐싱
+    // 받은 메시지를 EDT로 넘기는 우편함
+    private final InboundMailbox inbox = new InboundMailbox();
+
+    private volatile long lastReceiveTime;
+    private long lastLagWarning;
+    private long lastPingSent;
+    private final RttStats rtt = new RttStats();
+    private final AttackLedger attacks = new AttackLedger();
+    private volatile String cachedLocalAddress; // 연결 후 IP 주소 캐싱
 
     private volatile boolean idleTimeoutEnabled = true; //기본: 켜짐
 
+    // STATE/PING/PONG용 UDP 채널 (양쪽 모두 켜져 있고 전송 계층이 UDP를 지원할 때만)
+    private volatile boolean udpEnabled = Boolean.getBoolean(UDP_PROPERTY);
+    private volatile double udpLossRate = 0;
+    private volatile UdpStateChannel udp;
+
     public P2PConnection() {
+        this(null);
     }
 
     public P2PConnection(P2PConnectionListener listener) {
+        this(listener, defaultTransport());
+    }
+
+    public P2PConnection(P2PConnectionListener listener, P2PTransport transport) {
         this.listener = listener;
+        this.transport = transport;
+    }
+
+    static P2PTransport defaultTransport() {
+        if ("shm".equalsIgnoreCase(System.getProperty(TRANSPORT_PROPERTY))) return SharedMemoryTransport.shared();
+        return new TcpTransport();
     }
 
     public void setListener(P2PConnectionListener listener) {
@@ -47,6 +117,39 @@ public class P2PConnection implements Closeable {
         this.idleTimeoutEnabled = enabled;
     }
 
+    /** STATE/PING/PONG을 UDP로 보낼지 (연결 전에 설정, 상대도 켜야 사용) */
+    public void setUdpEnabled(boolean enabled) {
+        this.udpEnabled = enabled;
+    }
+
+    /** 테스트용: 받은 UDP 데이터그램을 이 확률로 버림 (연결 전에 설정) */
+    public void setSimulatedUdpLoss(double rate) {
+        this.udpLossRate = rate;
+    }
+
+    /** UDP 경로가 양쪽으로 확인되어 STATE/PING/PONG이 UDP로 가는 중인지 */
+    public boolean isUdpActive() {
+        UdpStateChannel u = udp;
+        return u != null && u.isActive();
+    }
+
+    public long getUdpDatagramsReceived() {
+        UdpStateChannel u = udp;
+        return u == null ? 0 : u.getReceived();
+    }
+
+    /** 늦게 도착해 버린 UDP 데이터그램 수 */
+    public long getUdpStaleDropped() {
+        UdpStateChannel u = udp;
+        return u == null ? 0 : u.getStale();
+    }
+
+    /** 손실 흉내로 버린 UDP 데이터그램 수 */
+    public long getUdpSimulatedLost() {
+        UdpStateChannel u = udp;
+        return u == null ? 0 : u.getLost();
+    }
+
     public boolean isServer() {
         return isServer;
     }
@@ -56,9 +159,6 @@ public class P2PConnection implements Closeable {
         if (cachedLocalAddress != null) {
             return cachedLocalAddress;
         }
-        if (socket != null && socket.isConnected()) {
-            return socket.getLocalAddress().getHostAddress() + ":" + socket.getLocalPort();
-        }
         try {
             return InetAddress.getLocalHost().getHostAddress() + ":" + DEFAULT_PORT;
         } catch (Exception e) {
@@ -69,116 +169,346 @@ public class P2PConnection implements Closeable {
     // ────────── 서버 모드 ──────────
     public void startServer() {
         isServer = true;
-        new Thread(() -> {
+        started = true;
+        withTransport(() -> {
             try {
-                serverSocket = new ServerSocket(DEFAULT_PORT);
+                serverHandle = transport.listen(DEFAULT_PORT, handler);
                 deliverConnected(true);        // UI 에서 "서버 대기 시작" 등 표시할 수도 있음
-                socket = serverSocket.accept();
-                initStreams();
-                deliverConnected(true);        // 실제 연결 완료
-                startReadLoop();
             } catch (IOException e) {
-                deliverNetworkError(e);
-                closeSilently();
+                fail(e);
             }
-        }, "P2P-Server-Accept").start();
+        });
     }
 
     // ────────── 클라이언트 모드 ──────────
     public void connectTo(String addr) {
         isServer = false;
-        new Thread(() -> {
+        started = true;
+        // "ip" or "ip:port" 지원
+        String host = addr.trim();
+        int port = DEFAULT_PORT;
+        int idx = host.indexOf(':');
+        if (idx >= 0) {
+            String portStr = host.substring(idx + 1).trim();
+            host = host.substring(0, idx).trim();
             try {
-                // "ip" or "ip:port" 지원
-                String host = addr.trim();
-                int port = DEFAULT_PORT;
-                int idx = host.indexOf(':');
-                if (idx >= 0) {
-                    String portStr = host.substring(idx + 1).trim();
-                    host = host.substring(0, idx).trim();
-                    try {
-                        port = Integer.parseInt(portStr);
-                    } catch (NumberFormatException ignore) {
-                        // 잘못된 포트면 기본 포트 사용
-                    }
-                }
-
-                socket = new Socket(host, port);
-                initStreams();
-                deliverConnected(false);
-                startReadLoop();
-            } catch (IOException e) {
-                deliverNetworkError(e);
-                closeSilently();
+                port = Integer.parseInt(portStr);
+            } catch (NumberFormatException ignore) {
+                // 잘못된 포트면 기본 포트 사용
             }
-        }, "P2P-Client-Connect").start();
-    }
-
-    private void initStreams() throws IOException {
-        socket.setSoTimeout(SOCKET_TIMEOUT);
-        out = new ObjectOutputStream(socket.getOutputStream());
-        out.flush();
-        in = new ObjectInputStream(socket.getInputStream());
-        running = true;
-        lastReceiveTime = System.currentTimeMillis();
-        // IP 주소 캐싱
-        cachedLocalAddress = socket.getLocalAddress().getHostAddress() + ":" + socket.getLocalPort();
+        }
+        transport.connect(host, port, handler);
     }
 
-    public synchronized void send(P2PMessage msg) {
-        if (!running || out == null) return;
+    private void withTransport(Runnable task) {
         try {
-            out.writeObject(msg);
-            out.flush();
+            transport.execute(task);
         } catch (IOException e) {
             deliverNetworkError(e);
-            closeSilently();
         }
     }
 
-    private void startReadLoop() {
-        new Thread(() -> {
+    // 연결 준비: 헤더를 보내고 읽기 대기 (onConnected는 상대 헤더를 확인한 뒤)
+    private void openLink(P2PTransport.Link l) throws IOException {
+        if (closed) {
+            l.close();
+            return;
+        }
+        link = l;
+        outbound = new OutboundQueue();
+        headerReceived = false;
+        inLen = 0;
+        staged.reset();
+        stagedOff = 0;
+        P2PCodec.writeHeader(staged);
+        flushOutbound();
+    }
+
+    // 전송 계층 이벤트 처리기
+    private final P2PTransport.Handler handler = new P2PTransport.Handler() {
+        @Override
+        public void opened(P2PTransport.Link l) throws IOException {
+            openLink(l);
+        }
+
+        @Override
+        public void received(ByteBuffer buf) throws IOException {
+            onReceived(buf);
+        }
+
+        @Override
+        public void writable() throws IOException {
+            flushOutbound();
+        }
+
+        @Override
+        public void tick(long nowMillis) {
+            checkIdle(nowMillis);
+        }
+
+        @Override
+        public void failed(IOException e) {
+            // 연결된 뒤 상대가 끊은 경우(EOF, reset)와 그 외 오류(접속 실패 포함)를 구분
+            if (headerReceived && (e instanceof EOFException || e instanceof java.net.SocketException)) {
+                deliverDisconnected("상대방이 연결을 종료했습니다. 연결을 종료해주세요.");
+                closeNow();
+            } else {
+                fail(e);
+            }
+        }
+    };
+
+    private void fail(IOException e) {
+        if (!closed) deliverNetworkError(e);
+        closeNow();
+    }
+
+    // ────────── 수신 (I/O 스레드) ──────────
+    private void onReceived(ByteBuffer rb) throws IOException {
+        int n = rb.remaining();
+        if (n == 0) return;
+        if (inLen + n > inBuf.length) {
+            byte[] grown = new byte[Math.max(inBuf.length * 2, inLen + n)];
+            System.arraycopy(inBuf, 0, grown, 0, inLen);
+            inBuf = grown;
+        }
+        rb.get(inBuf, inLen, n);
+        inLen += n;
+
+        int pos = 0;
+        if (!headerReceived) {
+            if (inLen < P2PCodec.HEADER_LENGTH) return;
+            P2PCodec.checkHeader(inBuf, 0);
+            pos = P2PCodec.HEADER_LENGTH;
+            headerReceived = true;
+            running = true;
+            rtt.reset();
+            lastReceiveTime = System.currentTimeMillis();
+            cachedLocalAddress = link.localAddress();
+            deliverConnected(isServer);        // 실제 연결 완료
+            openUdp();
+        }
+
+        while (pos < inLen) {
+            long frame = P2PCodec.peekFrame(inBuf, pos, inLen - pos);
+            if (frame < 0) break;
+            int head = (int) (frame >>> 32);
+            int len = (int) frame;
+            if (pos + head + len > inLen) break;
+            P2PMessage msg = P2PCodec.decode(inBuf, pos + head, len);
+            pos += head + len;
+            lastReceiveTime = System.currentTimeMillis();
+            handleMessage(msg);
+        }
+        if (pos > 0) {
+            System.arraycopy(inBuf, pos, inBuf, 0, inLen - pos);
+            inLen -= pos;
+        }
+    }
+
+    // TCP/UDP 공통: 연결 상태 메시지는 여기서 처리하고 나머지는 리스너로
+    private void handleMessage(P2PMessage msg) {
+        if (msg.type == P2PMessage.Type.PING) {
+            send(P2PMessage.pong(msg.pingNanos));
+        } else if (msg.type == P2PMessage.Type.PONG) {
+            rtt.record(System.nanoTime() - msg.pingNanos);
+        } else if (msg.type == P2PMessage.Type.UDP_OFFER) {
+            onUdpOffer(msg.udpPort);
+        } else if (msg.type == P2PMessage.Type.ATTACK) {
+            for (P2PMessage m : attacks.accept(msg)) deliverMessage(m);
+            // 중복이어도 응답 (앞선 ATTACK_ACK가 늦었을 수 있음)
+            send(P2PMessage.attackAck(attacks.getDeliveredId()));
+        } else if (msg.type == P2PMessage.Type.ATTACK_ACK) {
+            attacks.acknowledge(msg.attackId, System.currentTimeMillis());
+        } else {
+            deliverMessage(msg);
+        }
+    }
+
+    // ────────── UDP (I/O 스레드) ──────────
+
+    // 연결 직후: UDP 소켓을 열고 포트를 알림 (못 열면 모두 TCP로)
+    private void openUdp() {
+        if (!udpEnabled || udp != null) return;
+        try {
+            P2PTransport.DatagramLink dl = transport.openDatagram(udpHandler);
+            if (dl == null) return;
+            UdpStateChannel u = new UdpStateChannel(dl);
+            u.setLossRate(udpLossRate);
+            udp = u;
+            send(P2PMessage.udpOffer(dl.localPort()));
+        } catch (IOException ignore) {
+            // UDP 없이 계속
+        }
+    }
+
+    // 상대 UDP 포트를 알게 됨: 바로 PING을 보내 경로 확인 시작
+    private void onUdpOffer(int port) {
+        UdpStateChannel u = udp;
+        InetAddress ip = link.remoteAddress();
+        if (u == null || ip == null || port <= 0 || port > 0xFFFF) return;
+        u.setPeer(new InetSocketAddress(ip, port));
+        probeUdp(u);
+    }
+
+    private void probeUdp(UdpStateChannel u) {
+        try {
+            u.send(P2PMessage.ping(System.nanoTime()));
+        } catch (IOException ignore) {
+            // 다음 PING 때 다시
+        }
+    }
+
+    private final P2PTransport.DatagramHandler udpHandler = (buf, from) -> {
+        UdpStateChannel u = udp;
+        if (u == null || closed || !headerReceived) return;
+        long now = System.currentTimeMillis();
+        P2PMessage msg = u.receive(buf, from, now);
+        // 상대가 아직 내 데이터그램을 못 받았으면 바로 답해서 경로 확인을 앞당김
+        if (u.hasPeer() && u.peerWaiting() && u.getReceived() > 0) probeUdp(u);
+        if (msg == null) return;
+        lastReceiveTime = now;
+        handleMessage(msg);
+    };
+
+    // PING 전송 + 응답 없음/지연 검사 (소켓 타임아웃 대신 전송 계층 tick에서)
+    private void checkIdle(long now) {
+        if (!running || !headerReceived) return;
+        if (now - lastPingSent >= PING_INTERVAL_MILLIS) {
+            lastPingSent = now;
+            send(P2PMessage.ping(System.nanoTime()));
+            // UDP 경로가 아직(또는 다시) 확인되지 않았으면 TCP PING과 함께 UDP로도 보내 봄
+            UdpStateChannel u = udp;
+            if (u != null && u.hasPeer() && !u.isActive(now)) probeUdp(u);
+        }
+        resendAttacks(now);
+
+        long idle = now - lastReceiveTime;
+        long timeout = getDisconnectTimeoutMillis();
+        long lagAfter = timeout * 3 / 4;
+        if (!idleTimeoutEnabled || idle < lagAfter) { // 로비는 타임아웃 건너뛰기
+            lastLagWarning = 0;
+            return;
+        }
+        if (idle > timeout) {
+            deliverDisconnected("상대방 응답 없음");
+            closeNow();
+        } else if (now - lastLagWarning >= timeout / 4) {
+            lastLagWarning = now;
+            deliverMessage(P2PMessage.lagWarning("네트워크 지연: " + idle + "ms"));
+        }
+    }
+
+    // 확인이 늦은 ATTACK을 같은 번호로 다시 보냄 (받는 쪽이 중복을 버림)
+    private void resendAttacks(long now) {
+        OutboundQueue q = outbound;
+        if (q == null) return;
+        for (P2PMessage m : attacks.dueForResend(now, ATTACK_RESEND_MILLIS)) enqueue(q, m);
+    }
+
+    /** ATTACK 보냄/확인/받음/적용 수 */
+    public AttackLedger getAttackLedger() {
+        return attacks;
+    }
+
+    /** PING/PONG으로 잰 왕복 시간 통계 */
+    public RttStats getRttStats() {
+        return rtt;
+    }
+
+    /**
+     * 응답 없음 판정 시간.
+     * PING 두 번을 놓칠 여유 + p99 RTT의 4배 + 지터의 8배, MIN~MAX 범위 (표본이 적으면 DISCONNECT_TIMEOUT)
+     */
+    public long getDisconnectTimeoutMillis() {
+        if (rtt.getCount() < MIN_RTT_SAMPLES) return DISCONNECT_TIMEOUT;
+        double t = PING_INTERVAL_MILLIS * 2 + rtt.getP99Millis() * 4 + rtt.getJitterMillis() * 8;
+        return Math.max(MIN_DISCONNECT_TIMEOUT, Math.min(MAX_DISCONNECT_TIMEOUT, (long) t));
+    }
+
+    // ────────── 송신 ──────────
+
+    /**
+     * 메시지를 송신 대기열에 넣고 바로 반환합니다.
+     * STATE는 최신 것만 남고, 그 외 메시지는 순서대로 STATE보다 먼저 나갑니다.
+     */
+    public void send(P2PMessage msg) {
+        OutboundQueue q = outbound;
+        if (!running || q == null) return;
+        if (msg.type == P2PMessage.Type.ATTACK) attacks.stamp(msg, System.currentTimeMillis());
+        if (udp != null && UdpStateChannel.carries(msg.type)) {
+            withTransport(() -> sendUnreliable(msg));
+            return;
+        }
+        enqueue(q, msg);
+    }
+
+    // UDP 경로가 살아 있으면 데이터그램으로, 아니면 TCP 대기열로 (I/O 스레드)
+    private void sendUnreliable(P2PMessage msg) {
+        OutboundQueue q = outbound;
+        if (closed || q == null) return;
+        UdpStateChannel u = udp;
+        if (u != null && u.canSend(msg.type, System.currentTimeMillis())) {
             try {
-                while (running) {
-                    try {
-                        Object obj = in.readObject();
-                        if (!(obj instanceof P2PMessage)) continue;
-                        P2PMessage msg = (P2PMessage) obj;
-                        lastReceiveTime = System.currentTimeMillis();
-                        deliverMessage(msg);
-                    } catch (SocketTimeoutException toe) {
-                        if (!idleTimeoutEnabled) { // 로비는 타임아웃 건너뛰기
-                            continue;
-                        }
-
-                        long now = System.currentTimeMillis();
-                        if (now - lastReceiveTime > DISCONNECT_TIMEOUT) {
-                            deliverDisconnected("상대방 응답 없음");
-                            break;
-                        } else if (now - lastReceiveTime > SOCKET_TIMEOUT * 2) {
-                            deliverMessage(P2PMessage.lagWarning(
-                                    "네트워크 지연: " + (now - lastReceiveTime) + "ms"));
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // EOFException은 상대방이 정상 종료한 것
-                if (e instanceof java.io.EOFException || 
-                    e instanceof java.net.SocketException) {
-                    deliverDisconnected("상대방이 연결을 종료했습니다. 연결을 종료해주세요.");
-                } else if (running) {
-                    // 그 외 예외는 실제 네트워크 오류
-                    deliverNetworkError(e);
-                } else {
-                    // 이미 종료 중인 경우
-                    deliverDisconnected("연결이 종료되었습니다");
-                }
-            } finally {
+                if (u.send(msg)) return;
+            } catch (IOException ignore) {
+                // 보내지 못한 것은 TCP로
+            }
+            // STATE는 이미 UDP용 델타로 바뀌었으므로 버림 (다음 STATE는 TCP 쪽 인코더로)
+            if (msg.type == P2PMessage.Type.STATE) return;
+        }
+        enqueue(q, msg);
+    }
+
+    private void enqueue(OutboundQueue q, P2PMessage msg) {
+        if (!q.offer(msg)) {
+            if (running) {
+                deliverNetworkError(new IOException("송신 대기열이 가득 찼습니다"));
                 closeSilently();
             }
-        }, "P2P-ReadLoop").start();
+            return;
+        }
+        withTransport(this::flushSafely);
+    }
+
+    /** 다음 STATE를 전체 스냅샷으로 보냄 (상대의 STATE_REQUEST, 새 게임 시작 시) */
+    public void requestStateKeyframe() {
+        stateEncoder.requestKeyframe();
+    }
+
+    private void flushSafely() {
+        if (closed || link == null) return;
+        try {
+            flushOutbound();
+        } catch (IOException e) {
+            handler.failed(e);
+        }
+    }
+
+    // 쌓인 메시지를 모두 인코딩해 전송 계층이 받는 만큼 씀 (남으면 writable() 때 이어서)
+    private void flushOutbound() throws IOException {
+        while (true) {
+            if (stagedOff < staged.size()) {
+                stagedOff += link.write(staged.buf, stagedOff, staged.size() - stagedOff);
+                if (stagedOff < staged.size()) return;
+                continue;
+            }
+
+            staged.reset();
+            stagedOff = 0;
+            batch.clear();
+            OutboundQueue q = outbound;
+            if (q == null || !q.poll(batch)) return;
+            for (P2PMessage msg : batch) {
+                if (msg.type == P2PMessage.Type.STATE && !msg.delta) msg = stateEncoder.encode(msg);
+                P2PCodec.appendFrame(staged, frameBody, msg);
+            }
+            batch.clear();
+        }
     }
 
+    // ────────── 리스너 전달 (EDT) ──────────
+
     private void deliverConnected(boolean asServer) {
         P2PConnectionListener l = listener;
         if (l == null) return;
@@ -197,22 +527,65 @@ public class P2PConnection implements Closeable {
         SwingUtilities.invokeLater(() -> l.onNetworkError(e));
     }
 
+    // 우편함에 넣고, EDT 작업은 한 번에 하나만 예약 (밀린 STATE는 합쳐서 최신 것만 반영)
     private void deliverMessage(P2PMessage msg) {
-        P2PConnectionListener l = listener;
-        if (l == null) return;
-        SwingUtilities.invokeLater(() -> l.onMessageReceived(msg));
+        if (listener == null) return;
+        if (inbox.put(msg)) SwingUtilities.invokeLater(this::drainInbox);
     }
 
+    private void drainInbox() {
+        List<P2PMessage> msgs = new ArrayList<>();
+        inbox.drainTo(msgs);
+        for (P2PMessage msg : msgs) {
+            // 메시지 처리 중 화면이 바뀌면(setListener) 다음 메시지부터 새 화면이 받음
+            P2PConnectionListener l = listener;
+            if (l != null) l.onMessageReceived(msg);
+        }
+    }
+
+    // ────────── 종료 ──────────
+
     private void closeSilently() {
         try { close(); } catch (IOException ignore) {}
     }
 
+    /** 대기 중인 제어 메시지(ATTACK 등)는 보낼 수 있는 만큼 보내고 닫습니다. */
     @Override
     public void close() throws IOException {
         running = false;
-        if (in != null) try { in.close(); } catch (IOException ignore) {}
-        if (out != null) try { out.close(); } catch (IOException ignore) {}
-        if (socket != null) try { socket.close(); } catch (IOException ignore) {}
-        if (serverSocket != null) try { serverSocket.close(); } catch (IOException ignore) {}
+        OutboundQueue q = outbound;
+        if (q != null) q.close();
+        if (!started) return;
+        if (transport.inTransportThread()) {
+            closeNow();
+            return;
+        }
+        // 포트를 바로 다시 쓸 수 있도록 채널이 닫힐 때까지 잠깐 기다림
+        CountDownLatch done = new CountDownLatch(1);
+        transport.execute(() -> {
+            closeNow();
+            done.countDown();
+        });
+        try {
+            done.await(CLOSE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // I/O 스레드에서 실제로 닫기
+    private void closeNow() {
+        running = false;
+        if (closed) return;
+        closed = true;
+        OutboundQueue q = outbound;
+        if (q != null) q.close();
+        if (link != null) {
+            try { flushOutbound(); } catch (IOException ignore) {}
+            link.close();
+        }
+        UdpStateChannel u = udp;
+        if (u != null) u.close();
+        if (serverHandle != null) try { serverHandle.close(); } catch (IOException ignore) {}
     }
 }
@@ -4,12 +4,17 @@ import java.awt.Color;
 import java.io.Serializable;
 
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
 
 /**
  * P2P 통신에 사용되는 직렬화 가능한 메시지 객체.
  * - 로비: HELLO, HELLO_OK, MODE_INFO, READY_STATE, GAME_START, ERROR, DISCONNECT
- * - 게임: STATE(선택), ATTACK
+ * - 게임: STATE(전체 스냅샷 또는 델타), STATE_REQUEST, ATTACK(번호 + 보낸 시각), ATTACK_ACK
+ * - 롤백 대전: MODE_INFO에 동기화 방식, 공용 시드와 난이도, 게임 중에는 INPUT(프레임 번호 + 입력 비트)과
+ *   STATE_HASH(주기적 상태 해시), 어긋났을 때 RESYNC(서버의 전체 상태)만 주고받음
  * - 랙 경고: LAG_WARNING (텍스트만)
+ * - 연결 상태: PING, PONG, UDP_OFFER (P2PConnection 내부에서만 사용, 리스너로 전달되지 않음)
+ * - 관전: SPECTATE (서버가 관전자에게 보내는 두 플레이어의 STATE, spectatePlayer로 구분)
  */
 public class P2PMessage implements Serializable {
 
@@ -21,13 +26,21 @@ public class P2PMessage implements Serializable {
         MODE_INFO,      // (서버→클라이언트) 선택된 모드/시간제한 전달
         READY_STATE,    // 양쪽 준비 상태(true/false)
         GAME_START,     // 실제 게임 시작
-        INPUT,          // (현재 사용 안 함)
+        INPUT,          // 롤백 대전: 한 프레임의 입력
         STATE,          // 게임 상태 스냅샷
         ATTACK,         // 쓰레기 줄 정보
         LAG_WARNING,    // 랙 경고 메시지
         ERROR,          // 오류 메시지
         DISCONNECT,     // 연결 종료
-        PAUSE_STATE     // 일시정지 상태
+        PAUSE_STATE,    // 일시정지 상태
+        STATE_REQUEST,  // 전체 STATE(키프레임) 요청
+        PING,           // 왕복 시간 측정 요청
+        PONG,           // PING 응답 (받은 시각을 그대로 돌려줌)
+        STATE_HASH,     // 롤백 대전: 확정된 프레임의 상태 해시 (어긋나면 프레임별 해시 목록 포함)
+        RESYNC,         // 롤백 대전: 서버가 보내는 두 보드의 전체 상태
+        SPECTATE,       // 관전자용 STATE (0: 서버 플레이어, 1: 클라이언트 플레이어)
+        UDP_OFFER,      // 연결 직후: 내 UDP 포트 (STATE/PING/PONG을 UDP로 받을 수 있음)
+        ATTACK_ACK      // 받은 ATTACK 확인 (이 번호까지 순서대로 모두 받음)
     }
 
     public Type type;
@@ -35,19 +48,44 @@ public class P2PMessage implements Serializable {
     /** 공통 텍스트 필드 (버전, 상태, 에러, 랙 경고 이유 등) */
     public String text;
 
-    // MODE_INFO
+    // MODE_INFO (seed: 롤백 대전 공용 시드, 0이면 STATE 스냅샷 방식)
     public GameMode gameMode;
     public int timeLimitSeconds;
+    public long seed;
+    public Settings.Difficulty difficulty;  // 서버 난이도 (롤백 대전에서 두 보드에 같이 적용, null이면 NORMAL)
+    public boolean rollbackSync = true;     // 동기화 방식 (true: 롤백/입력 교환, false: STATE 전송)
 
     // READY_STATE
     public boolean ready;
 
-    // ATTACK
+    // INPUT: 프레임 번호 + 입력 비트 (RollbackSession.INPUT_*)
+    public int inputFrame;
+    public int inputBits;
+
+    // STATE_HASH / RESYNC
+    public int syncFrame;           // 해시/전체 상태가 가리키는 프레임 경계 (이 프레임 시작 시점)
+    public int syncEpoch;           // 보낸 쪽이 적용한 재동기화 횟수 (다르면 받는 쪽이 무시)
+    public long stateHash;
+    public long[] hashHistory;      // 어긋났을 때만: syncFrame - length + 1 ~ syncFrame 프레임별 해시
+    public byte[] resyncData;       // RESYNC: 두 보드 스냅샷 직렬화
+
+    // SPECTATE: 어느 플레이어의 STATE인지 (나머지는 STATE 필드 그대로)
+    public int spectatePlayer;
+
+    // UDP_OFFER: 보낸 쪽 UDP 포트
+    public int udpPort;
+
+    // ATTACK (attackId: 보낸 쪽이 1부터 붙이는 번호, ATTACK_ACK에서는 여기까지 받았다는 번호)
     public boolean[][] garbageRows;
+    public int attackId;
+    public long attackSentMillis;   // 보낸 쪽 System.currentTimeMillis()
 
     // PAUSE_STATE
     public boolean paused;
 
+    // PING/PONG: 보낸 쪽 System.nanoTime()
+    public long pingNanos;
+
     // STATE (게임 중 상태 스냅샷)
     public int myScore;
     public int myLevel;
@@ -77,6 +115,18 @@ public class P2PMessage implements Serializable {
     /** 대기 중인 공격 줄 미리보기 */
     public boolean[][] garbagePreview; // 대기 중인 공격 줄 미리보기
 
+    /** STATE 델타 (delta가 false면 전체 스냅샷) */
+    public static final int PART_SCORE = 1;
+    public static final int PART_LEVEL = 1 << 1;
+    public static final int PART_NEXT = 1 << 2;
+    public static final int PART_PREVIEW = 1 << 3;
+
+    public boolean delta;           // true면 바뀐 부분만 담은 STATE
+    public int stateSeq;            // 보낸 쪽 STATE 번호
+    public int baseSeq;             // 델타가 기준으로 삼은 STATE 번호
+    public int[] changedRows;       // 델타: 바뀐 줄 번호 (field/itemField/colorField/garbageMark는 이 줄들만 순서대로 담음)
+    public int changedParts;        // 델타: 바뀐 부분 (PART_*), 현재 블록과 gameOver는 항상 포함
+
     // 정적 헬퍼 생성 메서드
 
     /** 버전 정보 포함 HELLO */
@@ -94,10 +144,29 @@ public class P2PMessage implements Serializable {
     }
 
     public static P2PMessage modeInfo(GameMode mode, int timeLimitSeconds) {
+        return modeInfo(mode, timeLimitSeconds, 0L);
+    }
+
+    /** 공용 시드를 담은 MODE_INFO (양쪽이 이 시드로 두 보드를 같이 시뮬레이션) */
+    public static P2PMessage modeInfo(GameMode mode, int timeLimitSeconds, long seed) {
+        return modeInfo(mode, timeLimitSeconds, seed, null);
+    }
+
+    /** 서버 난이도까지 담은 MODE_INFO */
+    public static P2PMessage modeInfo(GameMode mode, int timeLimitSeconds, long seed, Settings.Difficulty difficulty) {
+        return modeInfo(mode, timeLimitSeconds, seed, difficulty, true);
+    }
+
+    /** 동기화 방식까지 명시한 MODE_INFO (로비에서 방식을 바꿀 때마다 전송) */
+    public static P2PMessage modeInfo(GameMode mode, int timeLimitSeconds, long seed,
+                                      Settings.Difficulty difficulty, boolean rollbackSync) {
         P2PMessage m = new P2PMessage();
         m.type = Type.MODE_INFO;
         m.gameMode = mode;
         m.timeLimitSeconds = timeLimitSeconds;
+        m.seed = seed;
+        m.difficulty = difficulty;
+        m.rollbackSync = rollbackSync;
         return m;
     }
 
@@ -114,6 +183,14 @@ public class P2PMessage implements Serializable {
         return m;
     }
 
+    public static P2PMessage input(int frame, int bits) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.INPUT;
+        m.inputFrame = frame;
+        m.inputBits = bits;
+        return m;
+    }
+
     public static P2PMessage attack(boolean[][] rows) {
         P2PMessage m = new P2PMessage();
         m.type = Type.ATTACK;
@@ -121,6 +198,13 @@ public class P2PMessage implements Serializable {
         return m;
     }
 
+    public static P2PMessage attackAck(int id) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.ATTACK_ACK;
+        m.attackId = id;
+        return m;
+    }
+
     public static P2PMessage pauseState(boolean paused) {
         P2PMessage m = new P2PMessage();
         m.type = Type.PAUSE_STATE;
@@ -158,8 +242,55 @@ public class P2PMessage implements Serializable {
         return m;
     }
 
+    /** 상대에게 전체 STATE를 다시 보내 달라고 요청 */
+    public static P2PMessage stateRequest() {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.STATE_REQUEST;
+        return m;
+    }
+
+    public static P2PMessage ping(long nanos) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.PING;
+        m.pingNanos = nanos;
+        return m;
+    }
+
+    public static P2PMessage pong(long pingNanos) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.PONG;
+        m.pingNanos = pingNanos;
+        return m;
+    }
+
     @Override
     public String toString() {
         return "P2PMessage{" + type + ", text=" + text + "}";
     }
+
+    public static P2PMessage stateHash(int frame, long hash, int epoch, long[] history) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.STATE_HASH;
+        m.syncFrame = frame;
+        m.stateHash = hash;
+        m.syncEpoch = epoch;
+        m.hashHistory = history;
+        return m;
+    }
+
+    public static P2PMessage udpOffer(int port) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.UDP_OFFER;
+        m.udpPort = port;
+        return m;
+    }
+
+    public static P2PMessage resync(int frame, int epoch, byte[] data) {
+        P2PMessage m = new P2PMessage();
+        m.type = Type.RESYNC;
+        m.syncFrame = frame;
+        m.syncEpoch = epoch;
+        m.resyncData = data;
+        return m;
+    }
 }
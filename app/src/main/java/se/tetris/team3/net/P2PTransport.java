@@ -0,0 +1,94 @@
+package se.tetris.team3.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * P2PConnection이 바이트를 주고받는 방법 (전송 계층).
+ * - P2PConnection은 프레임 인코딩/송신 대기열/PING/응답 없음 판정만 하고, 실제 입출력은 이 인터페이스에 맡김
+ * - TcpTransport: NioReactor 셀렉터 스레드 위의 TCP 소켓 (기본값)
+ * - LoopbackTransport: 같은 프로세스 안의 두 P2PConnection을 소켓 없이 바로 연결 (테스트, 봇끼리 대전)
+ * - SharedMemoryTransport: 같은 컴퓨터의 두 프로세스를 메모리 맵 링 버퍼로 연결
+ * - 구현체는 I/O 스레드 하나에서 Handler의 모든 메서드를 호출하고, Link의 메서드도 그 스레드에서만 불려야 함
+ */
+public interface P2PTransport {
+
+    /** 연결 하나에서 일어나는 일 (모두 I/O 스레드에서 호출) */
+    interface Handler {
+        /** 연결됨 (서버: 상대가 접속, 클라이언트: 접속 성공) */
+        void opened(Link link) throws IOException;
+
+        /** 받은 바이트 (buf는 이 호출 안에서만 유효) */
+        void received(ByteBuffer buf) throws IOException;
+
+        /** 전에 다 쓰지 못한 데이터를 이제 더 쓸 수 있음 */
+        void writable() throws IOException;
+
+        /** 주기적으로 (NioReactor.TICK_MILLIS 정도) 호출: 응답 없음/PING 검사용 */
+        void tick(long nowMillis);
+
+        /** 접속 실패, 상대 종료(EOFException), 입출력 오류 */
+        void failed(IOException e);
+    }
+
+    /** 열린 연결 하나 (I/O 스레드에서만 사용) */
+    interface Link {
+        /**
+         * 받을 수 있는 만큼 쓰고 받은 바이트 수를 반환합니다.
+         * len보다 적으면 나중에 Handler.writable()이 불린 뒤 나머지를 다시 씀
+         */
+        int write(byte[] buf, int off, int len) throws IOException;
+
+        /** 내 쪽 주소 ("ip:port" 형식) */
+        String localAddress();
+
+        /** 상대 IP (UDP 채널을 열 때 사용, 모르면 null) */
+        default InetAddress remoteAddress() {
+            return null;
+        }
+
+        /** 남은 데이터를 보낼 수 있는 만큼 보내고 닫음 (상대는 failed(EOFException)을 받음) */
+        void close();
+    }
+
+    /** UDP 데이터그램 수신 (I/O 스레드에서 호출, buf는 이 호출 안에서만 유효) */
+    interface DatagramHandler {
+        void received(ByteBuffer buf, SocketAddress from) throws IOException;
+    }
+
+    /** Link와 같은 I/O 스레드에서 쓰는 UDP 소켓 하나 */
+    interface DatagramLink {
+        int localPort();
+
+        /** 바로 보내지 못하면(송신 버퍼 가득) 버림 */
+        void send(ByteBuffer buf, InetSocketAddress to) throws IOException;
+
+        void close();
+    }
+
+    /**
+     * UDP 소켓을 엽니다. (I/O 스레드에서 호출)
+     * @return UDP가 없는 전송 계층이면 null (모든 메시지가 Link 하나로 감)
+     */
+    default DatagramLink openDatagram(DatagramHandler handler) throws IOException {
+        return null;
+    }
+
+    /**
+     * 서버 대기를 시작합니다. 상대 하나만 받고 handler.opened를 부름 (I/O 스레드에서 호출)
+     * @return 대기를 멈출 때 닫는 객체
+     */
+    Closeable listen(int port, Handler handler) throws IOException;
+
+    /** 접속을 시작하고 바로 반환합니다. 결과는 handler.opened 또는 handler.failed로 (아무 스레드에서나 호출) */
+    void connect(String host, int port, Handler handler);
+
+    /** I/O 스레드에서 실행할 작업 (이미 I/O 스레드면 바로 실행) */
+    void execute(Runnable task) throws IOException;
+
+    boolean inTransportThread();
+}
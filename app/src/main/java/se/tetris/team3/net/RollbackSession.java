@@ -0,0 +1,456 @@
+package se.tetris.team3.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameLoop;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.BlockBreakListener;
+import se.tetris.team3.gameManager.GameManager;
+
+/**
+ * 입력 교환 + 롤백 방식의 P2P 대전 시뮬레이션 (GGPO 방식).
+ * - 양쪽이 같은 시드로 두 보드(0 = 서버, 1 = 클라이언트)를 모두 시뮬레이션하고, 네트워크로는 프레임별 입력만 주고받음
+ * - 상대 입력이 아직 안 온 프레임은 "입력 없음"으로 예측해서 먼저 진행
+ * - 늦게 온 입력이 예측과 다르면 그 프레임 직전 스냅샷으로 되돌린 뒤 현재 프레임까지 다시 시뮬레이션
+ * - 공격 줄은 두 보드가 같은 시뮬레이션 안에 있으므로 ATTACK 메시지 없이 바로 상대 큐에 들어감
+ * - 시간은 프레임 번호로만 정함 (frame * 1000 / 60 ms) → 양쪽 결과가 항상 같음
+ * - 확정된 프레임마다 두 보드의 64비트 해시를 기록하고 HASH_INTERVAL마다 상대와 비교 (STATE_HASH)
+ * - 승패는 모든 입력이 확정된 프레임 경계에서만 정함 (누가 먼저 게임오버인지, 시간제한이면 제한 프레임의 점수)
+ *   → 예측 중이어도 양쪽이 같은 경계에서 같은 결과를 얻고, 화면은 결과가 나면 진행을 멈춤 (상대는 이미 받은 입력으로 같은 경계에 도달)
+ * - 해시가 다르면 양쪽이 최근 프레임별 해시를 보내 처음 어긋난 프레임을 찾아 알리고,
+ *   서버가 두 보드 전체 상태를 보내(RESYNC) 클라이언트가 그 시점부터 다시 시뮬레이션
+ * - 스레드 안전하지 않음 (게임 루프 스레드에서만 사용)
+ */
+public class RollbackSession {
+
+    // 입력 비트 (한 프레임에 여러 개 가능, 적용 순서는 아래 순서)
+    public static final int INPUT_LEFT = 1;
+    public static final int INPUT_RIGHT = 1 << 1;
+    public static final int INPUT_ROTATE = 1 << 2;
+    public static final int INPUT_SOFT_DROP = 1 << 3;
+    public static final int INPUT_HARD_DROP = 1 << 4;
+
+    public static final int TICKS_PER_SECOND = GameLoop.DEFAULT_TICKS_PER_SECOND;
+    // 상대 입력 없이 앞서 나갈 수 있는 최대 프레임 수 (60 step/s 기준 200ms), 넘으면 멈추고 기다림
+    public static final int MAX_PREDICTION_FRAMES = 12;
+    // 상태 해시 비교 주기 (60 step/s 기준 1초)
+    public static final int HASH_INTERVAL = 60;
+
+    // 입력/스냅샷 고리 버퍼 크기 (예측 구간 앞뒤를 모두 담도록 2의 거듭제곱)
+    private static final int RING = 32;
+    private static final int RING_MASK = RING - 1;
+    // 프레임별 해시 보관 개수 (HASH_INTERVAL보다 커야 함)
+    private static final int HISTORY = 256;
+    private static final int HISTORY_MASK = HISTORY - 1;
+    // 비교 대기 중인 확인 지점 수
+    private static final int CHECKS = 8;
+
+    /** 승패 미정 */
+    public static final int OUTCOME_PENDING = -1;
+    /** 무승부 (그 외 결과 값은 이긴 보드 번호 0/1) */
+    public static final int OUTCOME_DRAW = 2;
+
+    /** 상태 어긋남 알림 (루프 스레드에서 호출) */
+    public interface DesyncListener {
+        /**
+         * @param firstFrame 처음 상태가 달랐던 프레임 경계 (그 프레임 시작 시점, 찾지 못하면 -1)
+         * @param checkFrame 어긋남을 발견한 확인 지점
+         */
+        void onDesync(int firstFrame, int checkFrame);
+    }
+
+    private final TickClock clock = new TickClock();
+    private final GameManager[] players = new GameManager[2];
+    private final int localIndex;
+
+    private final int[][] inputs = new int[2][RING];
+    private final GameManager.Snapshot[][] snapshots = new GameManager.Snapshot[2][RING];
+
+    private int frame = 0;                 // 다음에 시뮬레이션할 프레임
+    private int remoteConfirmed = -1;      // 상대 입력을 실제로 받은 마지막 프레임
+    private int rollbackFrom = Integer.MAX_VALUE; // 예측이 틀린 가장 이른 프레임
+    private boolean resimulating = false;
+
+    // 승패 (확정된 경계에서 한 번만 정함)
+    private int timeLimitFrames = 0;       // 0이면 시간제한 없음
+    private int outcome = OUTCOME_PENDING;
+    private int outcomeFrame = -1;
+
+    private Consumer<P2PMessage> sender;
+    private DesyncListener desyncListener;
+
+    // 프레임 경계별 해시 (경계 b = 프레임 b 시작 시점, 모든 입력이 확정된 경계만)
+    private final long[] hashHistory = new long[HISTORY];
+    private int hashedUpTo = 0;            // 이 경계 전까지 기록함
+    private final int[] localCheckFrame = new int[CHECKS];
+    private final long[] localCheckHash = new long[CHECKS];
+    private final int[] remoteCheckFrame = new int[CHECKS];
+    private final long[] remoteCheckHash = new long[CHECKS];
+    private int epoch = 0;                 // 재동기화 횟수 (서버: 보낸 수, 클라이언트: 적용한 수)
+    private boolean desyncPending = false; // 이번 epoch에서 이미 어긋남을 처리함
+    private int lastReportedCheck = -1;
+
+    // 통계 (HUD/테스트용)
+    private int rollbackCount = 0;
+    private int maxRollbackFrames = 0;
+    private int desyncCount = 0;
+    private int resyncCount = 0;
+    private int lastDesyncFrame = -1;
+
+    /**
+     * @param internalMode  GameManager 모드 (CLASSIC 또는 ITEM)
+     * @param seed          양쪽이 공유하는 시드 (두 보드가 같은 블록 순서로 시작)
+     * @param localIsServer 내가 서버(보드 0)인지
+     */
+    public RollbackSession(GameMode internalMode, long seed, boolean localIsServer) {
+        this(internalMode, seed, localIsServer, null);
+    }
+
+    /**
+     * @param difficulty 두 보드에 같이 적용할 난이도 (서버가 MODE_INFO로 보낸 값, null이면 NORMAL)
+     */
+    public RollbackSession(GameMode internalMode, long seed, boolean localIsServer, Settings.Difficulty difficulty) {
+        this.localIndex = localIsServer ? 0 : 1;
+        for (int p = 0; p < 2; p++) {
+            players[p] = new GameManager(internalMode, clock, seed);
+            players[p].setDifficulty(difficulty);
+            players[p].setGravityEnabled(true);
+            for (int i = 0; i < RING; i++) snapshots[p][i] = new GameManager.Snapshot();
+        }
+        // 줄 삭제 공격은 같은 시뮬레이션 안에서 상대 보드로
+        players[0].setLineClearListener((gm, cleared, garbage) -> players[1].enqueueGarbage(garbage));
+        players[1].setLineClearListener((gm, cleared, garbage) -> players[0].enqueueGarbage(garbage));
+        Arrays.fill(localCheckFrame, -1);
+        Arrays.fill(remoteCheckFrame, -1);
+    }
+
+    /** INPUT/STATE_HASH/RESYNC 전송 방법 (null이면 보내지 않음) */
+    public void setSender(Consumer<P2PMessage> sender) {
+        this.sender = sender;
+    }
+
+    public void setDesyncListener(DesyncListener listener) {
+        this.desyncListener = listener;
+    }
+
+    public GameManager getLocal() { return players[localIndex]; }
+    public GameManager getRemote() { return players[1 - localIndex]; }
+    public GameManager getPlayer(int index) { return players[index]; }
+    public int getLocalIndex() { return localIndex; }
+
+    public int getFrame() { return frame; }
+    public int getRemoteConfirmedFrame() { return remoteConfirmed; }
+    public int getRollbackCount() { return rollbackCount; }
+    public int getMaxRollbackFrames() { return maxRollbackFrames; }
+    public int getDesyncCount() { return desyncCount; }
+    public int getResyncCount() { return resyncCount; }
+    public int getLastDesyncFrame() { return lastDesyncFrame; }
+
+    /** 블록 파괴 리스너 연결 (다시 시뮬레이션하는 동안에는 호출하지 않음 → 파티클 중복 방지) */
+    public void setBlockBreakListener(int player, BlockBreakListener listener) {
+        if (listener == null) {
+            players[player].setBlockBreakListener(null);
+            return;
+        }
+        players[player].setBlockBreakListener((x, y) -> {
+            if (!resimulating) listener.onBlockBreak(x, y);
+        });
+    }
+
+    /** 시간제한 대전: 이 프레임 경계의 점수로 승패 (양쪽 시계가 아니라 프레임 번호로 끝나므로 결과가 같음) */
+    public void setTimeLimitFrames(int frames) {
+        this.timeLimitFrames = Math.max(0, frames);
+    }
+
+    /** OUTCOME_PENDING, OUTCOME_DRAW, 또는 이긴 보드 번호 */
+    public int getOutcome() { return outcome; }
+
+    /** 승패를 정한 프레임 경계 (미정이면 -1) */
+    public int getOutcomeFrame() { return outcomeFrame; }
+
+    /** 예측 한도 안이라 다음 프레임을 진행할 수 있는지 */
+    public boolean canAdvance() {
+        return frame - remoteConfirmed <= MAX_PREDICTION_FRAMES;
+    }
+
+    /** 지금까지 진행한 모든 프레임이 상대 실제 입력으로 확정됐는지 (예측이 하나도 섞이지 않음) */
+    public boolean isSettled() {
+        return remoteConfirmed >= frame - 1 && rollbackFrom == Integer.MAX_VALUE;
+    }
+
+    /**
+     * 내 입력으로 한 프레임 진행합니다. (밀린 롤백이 있으면 먼저 처리)
+     * @return 예측 한도를 넘어 진행하지 못했으면 false (입력은 다음 호출에 다시 넘길 것)
+     */
+    public boolean advance(int localInput) {
+        if (!canAdvance()) return false;
+        rollbackIfNeeded();
+        int inputFrame = frame;
+        inputs[localIndex][inputFrame & RING_MASK] = localInput;
+        simulateFrame();
+        send(P2PMessage.input(inputFrame, localInput));
+        recordHashes();
+        return true;
+    }
+
+    /** 상대에게서 온 롤백 대전 메시지 처리 (INPUT, STATE_HASH, RESYNC) */
+    public void receive(P2PMessage msg) {
+        switch (msg.type) {
+            case INPUT:
+                addRemoteInput(msg.inputFrame, msg.inputBits);
+                break;
+            case STATE_HASH:
+                onRemoteHash(msg);
+                break;
+            case RESYNC:
+                applyResync(msg);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 상대 입력 수신. 이미 예측으로 진행한 프레임인데 값이 다르면 다음 advance()에서 롤백.
+     * 입력은 프레임 순서대로 한 번씩 온다고 가정 (TCP)
+     */
+    public void addRemoteInput(int inputFrame, int bits) {
+        if (inputFrame <= remoteConfirmed) return; // 중복
+        // 상대도 예측 한도에서 멈추므로 정상이면 오지 않음 (버퍼를 덮어쓰지 않도록 무시)
+        if (inputFrame > frame + MAX_PREDICTION_FRAMES) return;
+        int remote = 1 - localIndex;
+        int slot = inputFrame & RING_MASK;
+        if (inputFrame < frame && inputs[remote][slot] != bits) {
+            rollbackFrom = Math.min(rollbackFrom, inputFrame);
+        }
+        inputs[remote][slot] = bits;
+        remoteConfirmed = inputFrame;
+    }
+
+    /** 밀린 롤백을 지금 처리 (advance()가 자동으로 호출) */
+    public void rollbackIfNeeded() {
+        if (rollbackFrom >= frame) {
+            rollbackFrom = Integer.MAX_VALUE;
+            return;
+        }
+        int target = frame;
+        int from = rollbackFrom;
+        rollbackFrom = Integer.MAX_VALUE;
+
+        int slot = from & RING_MASK;
+        players[0].restoreState(snapshots[0][slot]);
+        players[1].restoreState(snapshots[1][slot]);
+        frame = from;
+
+        resimulating = true;
+        try {
+            while (frame < target) simulateFrame();
+        } finally {
+            resimulating = false;
+        }
+        rollbackCount++;
+        maxRollbackFrames = Math.max(maxRollbackFrames, target - from);
+    }
+
+    // 한 프레임: 직전 상태 저장 → 시계 맞춤 → 보드 0, 1 순서로 입력 + tick
+    private void simulateFrame() {
+        int slot = frame & RING_MASK;
+        int remote = 1 - localIndex;
+        // 아직 안 온 상대 입력은 "입력 없음"으로 예측 (이동/회전/드롭은 한 번씩 눌리는 입력이라 반복 예측보다 정확)
+        if (frame > remoteConfirmed) inputs[remote][slot] = 0;
+
+        players[0].saveState(snapshots[0][slot]);
+        players[1].saveState(snapshots[1][slot]);
+
+        clock.set(frameMillis(frame));
+        for (int p = 0; p < 2; p++) applyInput(players[p], inputs[p][slot]);
+        for (int p = 0; p < 2; p++) {
+            GameManager gm = players[p];
+            if (gm.isGameOver()) continue;
+            gm.tick();
+            gm.autoCheckLines();
+        }
+        frame++;
+    }
+
+    // ────────── 상태 해시 / 재동기화 ──────────
+
+    // 모든 입력이 확정된 경계의 해시를 기록하고, 확인 지점이면 상대에게 보냄
+    private void recordHashes() {
+        int limit = Math.min(frame - 1, remoteConfirmed + 1);
+        while (hashedUpTo <= limit) {
+            int b = hashedUpTo;
+            int slot = b & RING_MASK;
+            long h = combine(snapshots[0][slot].hash(), snapshots[1][slot].hash());
+            hashHistory[b & HISTORY_MASK] = h;
+            hashedUpTo++;
+            if (outcome == OUTCOME_PENDING) decideOutcome(b, slot);
+            if (b > 0 && b % HASH_INTERVAL == 0) {
+                int i = (b / HASH_INTERVAL) % CHECKS;
+                localCheckFrame[i] = b;
+                localCheckHash[i] = h;
+                send(P2PMessage.stateHash(b, h, epoch, null));
+                compareCheck(i);
+            }
+        }
+    }
+
+    // 확정된 경계 b의 두 보드로 승패 판정 (양쪽 모두 같은 경계에서 같은 값을 봄)
+    private void decideOutcome(int b, int slot) {
+        GameManager.Snapshot s0 = snapshots[0][slot];
+        GameManager.Snapshot s1 = snapshots[1][slot];
+        boolean over0 = s0.isGameOver();
+        boolean over1 = s1.isGameOver();
+        if (over0 || over1) {
+            outcome = (over0 && over1) ? OUTCOME_DRAW : (over0 ? 1 : 0);
+        } else if (timeLimitFrames > 0 && b >= timeLimitFrames) {
+            int d = Integer.compare(s0.getScore(), s1.getScore());
+            outcome = d == 0 ? OUTCOME_DRAW : (d > 0 ? 0 : 1);
+        } else {
+            return;
+        }
+        outcomeFrame = b;
+    }
+
+    private void onRemoteHash(P2PMessage msg) {
+        // 프레임별 해시 목록은 epoch와 상관없이 어디서 어긋났는지 찾는 데 사용
+        if (msg.hashHistory != null) reportDivergence(msg.syncFrame, msg.hashHistory);
+        // 재동기화 전/후가 섞이지 않도록 같은 epoch끼리만 비교
+        if (msg.syncEpoch != epoch || msg.syncFrame <= 0 || msg.syncFrame % HASH_INTERVAL != 0) return;
+        int i = (msg.syncFrame / HASH_INTERVAL) % CHECKS;
+        remoteCheckFrame[i] = msg.syncFrame;
+        remoteCheckHash[i] = msg.stateHash;
+        compareCheck(i);
+    }
+
+    private void compareCheck(int i) {
+        if (localCheckFrame[i] < 0 || localCheckFrame[i] != remoteCheckFrame[i]) return;
+        if (localCheckHash[i] == remoteCheckHash[i] || desyncPending) return;
+
+        int check = localCheckFrame[i];
+        desyncPending = true;
+        desyncCount++;
+        // 확인 지점까지 한 주기 동안의 프레임별 해시를 보내 서로 처음 어긋난 프레임을 찾음
+        send(P2PMessage.stateHash(check, localCheckHash[i], epoch, historyWindow(check)));
+        if (localIndex == 0) sendResync();
+    }
+
+    private long[] historyWindow(int check) {
+        int from = Math.max(0, check - HASH_INTERVAL + 1);
+        long[] out = new long[check - from + 1];
+        for (int b = from; b <= check; b++) out[b - from] = hashHistory[b & HISTORY_MASK];
+        return out;
+    }
+
+    private void reportDivergence(int check, long[] remote) {
+        if (check == lastReportedCheck) return;
+        lastReportedCheck = check;
+        int from = check - remote.length + 1;
+        int first = -1;
+        for (int k = 0; k < remote.length; k++) {
+            int b = from + k;
+            if (b < 0 || b >= hashedUpTo || b < hashedUpTo - HISTORY) continue;
+            if (hashHistory[b & HISTORY_MASK] != remote[k]) {
+                first = b;
+                break;
+            }
+        }
+        lastDesyncFrame = first;
+        if (desyncListener != null) desyncListener.onDesync(first, check);
+    }
+
+    // 서버: 마지막으로 확정된 경계의 두 보드 상태를 보냄 (이후 상대의 이전 epoch 해시는 무시)
+    private void sendResync() {
+        int b = hashedUpTo - 1;
+        int slot = b & RING_MASK;
+        byte[] data = writeSnapshots(snapshots[0][slot], snapshots[1][slot]);
+        startEpoch(epoch + 1);
+        resyncCount++;
+        send(P2PMessage.resync(b, epoch, data));
+    }
+
+    // 클라이언트: 서버 상태로 경계 b를 덮어쓰고 현재 프레임까지 다시 시뮬레이션
+    private void applyResync(P2PMessage msg) {
+        if (localIndex == 0 || msg.resyncData == null) return;
+        startEpoch(msg.syncEpoch);
+        int b = msg.syncFrame;
+        // 되돌릴 수 없는 범위면 무시 (다음 확인 지점에서 다시 어긋나면 서버가 또 보냄)
+        if (b > frame || frame - b >= RING) return;
+
+        int slot = b & RING_MASK;
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(msg.resyncData));
+            snapshots[0][slot].readFrom(in);
+            snapshots[1][slot].readFrom(in);
+        } catch (IOException | RuntimeException e) {
+            return;
+        }
+        resyncCount++;
+        if (b == frame) {
+            players[0].restoreState(snapshots[0][slot]);
+            players[1].restoreState(snapshots[1][slot]);
+            rollbackFrom = Integer.MAX_VALUE;
+        } else {
+            // b 이전 프레임의 예측 오류도 서버 상태가 이미 반영하고 있으므로 b부터만 다시 계산
+            rollbackFrom = b;
+        }
+        hashedUpTo = b;
+    }
+
+    private void startEpoch(int newEpoch) {
+        epoch = newEpoch;
+        desyncPending = false;
+        Arrays.fill(remoteCheckFrame, -1);
+    }
+
+    private void send(P2PMessage msg) {
+        if (sender != null) sender.accept(msg);
+    }
+
+    private static long combine(long h0, long h1) {
+        return h0 * 0x9E3779B97F4A7C15L + h1;
+    }
+
+    private static byte[] writeSnapshots(GameManager.Snapshot a, GameManager.Snapshot b) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            DataOutputStream out = new DataOutputStream(bytes);
+            a.writeTo(out);
+            b.writeTo(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림이라 일어나지 않음
+        }
+    }
+
+    /** 프레임 시작 시각 (ms) */
+    public static long frameMillis(int frame) {
+        return frame * 1000L / TICKS_PER_SECOND;
+    }
+
+    /** 입력 비트를 GameManager 조작으로 적용 (화면 키 처리와 같은 동작) */
+    public static void applyInput(GameManager gm, int bits) {
+        if (bits == 0 || gm.isGameOver()) return;
+        if ((bits & INPUT_LEFT) != 0) gm.tryMove(gm.getBlockX() - 1, gm.getBlockY());
+        if ((bits & INPUT_RIGHT) != 0) gm.tryMove(gm.getBlockX() + 1, gm.getBlockY());
+        if ((bits & INPUT_ROTATE) != 0) gm.rotateBlock();
+        if ((bits & INPUT_SOFT_DROP) != 0) {
+            gm.stepDownOrFix();
+            gm.resetFallTimer();
+        }
+        if ((bits & INPUT_HARD_DROP) != 0 && !gm.isGameOver()) {
+            gm.hardDrop();
+            gm.resetFallTimer();
+        }
+    }
+}
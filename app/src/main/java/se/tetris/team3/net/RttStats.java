@@ -0,0 +1,74 @@
+package se.tetris.team3.net;
+
+import java.util.Arrays;
+
+/**
+ * PING/PONG 왕복 시간(RTT) 통계.
+ * - 최근 WINDOW개 표본을 고리 버퍼에 보관하고 p50/p95/p99를 계산
+ * - 지터는 RFC 3550 방식 (연속 RTT 차이의 지수 이동 평균, 1/16)
+ * - 셀렉터 스레드가 기록하고 EDT가 읽으므로 모든 메서드는 synchronized
+ */
+public class RttStats {
+
+    public static final int WINDOW = 128;
+
+    private final long[] samples = new long[WINDOW]; // 마이크로초
+    private final long[] sorted = new long[WINDOW];
+    private int count = 0;
+    private int next = 0;
+    private boolean sortedValid = false;
+
+    private long lastMicros = -1;
+    private double jitterMicros = 0;
+
+    /** 왕복 시간 하나 기록 */
+    public synchronized void record(long rttNanos) {
+        long micros = Math.max(0, rttNanos / 1000);
+        samples[next] = micros;
+        next = (next + 1) % WINDOW;
+        if (count < WINDOW) count++;
+        sortedValid = false;
+
+        if (lastMicros >= 0) {
+            long d = Math.abs(micros - lastMicros);
+            jitterMicros += (d - jitterMicros) / 16.0;
+        }
+        lastMicros = micros;
+    }
+
+    public synchronized int getCount() { return count; }
+
+    /** 가장 최근 RTT (ms, 표본이 없으면 -1) */
+    public synchronized double getLastMillis() {
+        return lastMicros < 0 ? -1 : lastMicros / 1000.0;
+    }
+
+    /** 백분위 RTT (ms, 표본이 없으면 -1). p는 0~100 */
+    public synchronized double percentileMillis(double p) {
+        if (count == 0) return -1;
+        if (!sortedValid) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            sortedValid = true;
+        }
+        int idx = (int) Math.ceil(p / 100.0 * count) - 1;
+        idx = Math.max(0, Math.min(count - 1, idx));
+        return sorted[idx] / 1000.0;
+    }
+
+    public double getP50Millis() { return percentileMillis(50); }
+    public double getP95Millis() { return percentileMillis(95); }
+    public double getP99Millis() { return percentileMillis(99); }
+
+    public synchronized double getJitterMillis() {
+        return jitterMicros / 1000.0;
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        next = 0;
+        sortedValid = false;
+        lastMicros = -1;
+        jitterMicros = 0;
+    }
+}
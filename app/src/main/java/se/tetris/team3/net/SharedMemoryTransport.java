@@ -0,0 +1,476 @@
+package se.tetris.team3.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 같은 컴퓨터의 두 게임 프로세스를 메모리 맵 파일(FileChannel.map)로 연결하는 전송 계층.
+ * - 포트마다 파일 하나 (임시 폴더의 se-tetris-p2p-포트.shm): 서버→클라이언트, 클라이언트→서버 링 버퍼 두 개
+ * - 링마다 쓰는 쪽만 tail, 읽는 쪽만 head를 고치는 단일 생산자/단일 소비자 구조라 잠금이 없음
+ * - 링에는 P2PConnection이 쓴 바이트(헤더 + P2PCodec 프레임)가 그대로 들어감 → TCP와 같은 프레이밍
+ * - 시스템 콜/TCP 스택 없이 전달: 전용 스레드가 링을 폴링하고 할 일이 없으면 IDLE_PARK_NANOS만 쉼 (1ms 미만 지연)
+ * - 상대 프로세스가 살아 있는지는 파일 잠금(FileLock)으로 확인 → 강제 종료되어도 잠금이 풀리므로 끊김을 알 수 있음
+ * - host는 무시함 (같은 컴퓨터 전용)
+ */
+public class SharedMemoryTransport implements P2PTransport, Closeable {
+
+    /** 방향 하나의 링 크기 (2의 거듭제곱) */
+    public static final int RING_SIZE = 256 * 1024;
+    // 할 일이 없을 때 쉬는 시간 (연결이 없으면 틱 간격만큼)
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private static final int MAGIC = 0x54535452; // "TSTR"
+    private static final int LAYOUT_VERSION = 1;
+
+    // 제어 영역: 값마다 다른 캐시 줄에 두어 두 프로세스가 서로의 줄을 건드리지 않게 함
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_LAYOUT = 4;
+    private static final int OFF_SESSION = 8;
+    private static final int OFF_CLIENT_ATTACHED = 64;
+    private static final int OFF_SERVER_CLOSED = 128;
+    private static final int OFF_CLIENT_CLOSED = 192;
+    private static final int OFF_S2C = 256;   // head: +0, tail: +64
+    private static final int OFF_C2S = 384;
+    private static final int HEADER_SIZE = 4096;
+    private static final int FILE_SIZE = HEADER_SIZE + 2 * RING_SIZE;
+    // 프로세스 생존 확인용 잠금 위치 (맵 영역 밖이라 잠금을 강제하는 OS에서도 링 접근을 막지 않음)
+    private static final long LOCK_SERVER = FILE_SIZE;
+    private static final long LOCK_CLIENT = FILE_SIZE + 1L;
+
+    private final File dir;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile Thread thread;
+    private volatile boolean closed = false;
+
+    // I/O 스레드 전용
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private long lastTick = 0;
+
+    private static SharedMemoryTransport shared;
+
+    /** 프로세스 공용 인스턴스 (처음 쓸 때 스레드 시작) */
+    public static synchronized SharedMemoryTransport shared() {
+        if (shared == null) shared = new SharedMemoryTransport();
+        return shared;
+    }
+
+    public SharedMemoryTransport() {
+        this(new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    /** @param dir 링 파일을 둘 폴더 (두 프로세스가 같은 폴더를 써야 함) */
+    public SharedMemoryTransport(File dir) {
+        this.dir = dir;
+    }
+
+    // ────────── I/O 스레드 ──────────
+
+    private synchronized Thread thread() throws IOException {
+        if (closed) throw new IOException("전송 계층이 닫혔습니다");
+        if (thread == null) {
+            Thread t = new Thread(this::run, "P2P-SharedMemory");
+            t.setDaemon(true);
+            thread = t;
+            t.start();
+        }
+        return thread;
+    }
+
+    @Override
+    public void execute(Runnable task) throws IOException {
+        if (inTransportThread()) {
+            task.run();
+            return;
+        }
+        Thread t = thread();
+        tasks.add(task);
+        LockSupport.unpark(t);
+    }
+
+    @Override
+    public boolean inTransportThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    private void run() {
+        while (!closed) {
+            boolean busy = false;
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                busy = true;
+                try {
+                    task.run();
+                } catch (RuntimeException ignore) {
+                    // 한 연결의 오류가 루프를 멈추지 않도록
+                }
+            }
+            for (int i = endpoints.size() - 1; i >= 0; i--) {
+                if (i < endpoints.size()) busy |= endpoints.get(i).poll();
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastTick >= NioReactor.TICK_MILLIS) {
+                lastTick = now;
+                for (Endpoint ep : new ArrayList<>(endpoints)) ep.tick(now);
+            }
+            if (!busy) {
+                LockSupport.parkNanos(endpoints.isEmpty() ? NioReactor.TICK_MILLIS * 1_000_000 : IDLE_PARK_NANOS);
+            }
+        }
+        for (Endpoint ep : new ArrayList<>(endpoints)) ep.close();
+    }
+
+    /** 전용 스레드를 멈추고 열린 연결을 닫습니다. (상대는 끊김을 받음) */
+    @Override
+    public void close() {
+        closed = true;
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    private File fileFor(int port) {
+        return new File(dir, "se-tetris-p2p-" + port + ".shm");
+    }
+
+    // ────────── 서버 ──────────
+
+    @Override
+    public Closeable listen(int port, Handler handler) throws IOException {
+        thread();
+        File file = fileFor(port);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        FileChannel ch = raf.getChannel();
+        try {
+            FileLock lock = tryLock(ch, LOCK_SERVER);
+            if (lock == null) throw new BindException("이미 사용 중인 포트: " + port);
+            // 이전 파일을 다른 프로세스가 맵해 두었을 수 있으므로 자르지 않고 제어 영역만 새로 씀
+            if (raf.length() != FILE_SIZE) raf.setLength(FILE_SIZE);
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            for (int i = 0; i < HEADER_SIZE; i += 8) map.putLong(i, 0L);
+            long session = new Random().nextLong() | 1L;
+            map.putLong(OFF_SESSION, session);
+            map.putInt(OFF_LAYOUT, LAYOUT_VERSION);
+            release();
+            map.putInt(OFF_MAGIC, MAGIC); // 마지막에 써서 클라이언트가 덜 만든 파일을 보지 않게 함
+
+            Endpoint ep = new Endpoint(port, file, ch, lock, map, true, session, handler);
+            endpoints.add(ep);
+            // 대기만 멈춤 (이미 연결됐으면 연결은 그대로, 파일은 연결을 닫을 때 지움)
+            return () -> execute(() -> {
+                if (ep.link == null) ep.close();
+            });
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // ────────── 클라이언트 ──────────
+
+    @Override
+    public void connect(String host, int port, Handler handler) {
+        try {
+            execute(() -> {
+                try {
+                    attach(port, handler);
+                } catch (IOException e) {
+                    handler.failed(e);
+                }
+            });
+        } catch (IOException e) {
+            handler.failed(e);
+        }
+    }
+
+    private void attach(int port, Handler handler) throws IOException {
+        File file = fileFor(port);
+        if (!file.isFile()) throw new ConnectException("연결 거부: 대기 중인 서버가 없습니다 (" + port + ")");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        FileChannel ch = raf.getChannel();
+        FileLock lock = null;
+        try {
+            if (raf.length() < FILE_SIZE) throw new ConnectException("연결 거부: 서버가 준비되지 않았습니다");
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            if (map.getInt(OFF_MAGIC) != MAGIC || map.getInt(OFF_LAYOUT) != LAYOUT_VERSION) {
+                throw new ConnectException("연결 거부: 알 수 없는 파일 형식");
+            }
+            acquire();
+            if (!peerAlive(ch, LOCK_SERVER)) throw new ConnectException("연결 거부: 서버 프로세스가 없습니다");
+            lock = tryLock(ch, LOCK_CLIENT);
+            if (lock == null || map.getInt(OFF_CLIENT_ATTACHED) != 0) {
+                throw new ConnectException("연결 거부: 이미 상대가 접속했습니다");
+            }
+            long session = map.getLong(OFF_SESSION);
+            release();
+            map.putInt(OFF_CLIENT_ATTACHED, 1);
+
+            Endpoint ep = new Endpoint(port, file, ch, lock, map, false, session, handler);
+            endpoints.add(ep);
+            ep.open();
+        } catch (IOException | RuntimeException e) {
+            if (lock != null) try { lock.release(); } catch (IOException ignore) {}
+            ch.close();
+            throw e;
+        }
+    }
+
+    // ────────── 파일 잠금 ──────────
+
+    // 한 바이트 잠금 (다른 프로세스나 이 프로세스가 잡고 있으면 null)
+    private static FileLock tryLock(FileChannel ch, long pos) throws IOException {
+        try {
+            return ch.tryLock(pos, 1, false);
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    // 상대 잠금이 잡혀 있으면 살아 있음 (잡을 수 있으면 바로 놓음)
+    private static boolean peerAlive(FileChannel ch, long pos) throws IOException {
+        FileLock probe = tryLock(ch, pos);
+        if (probe == null) return true;
+        probe.release();
+        return false;
+    }
+
+    // ────────── 메모리 순서 ──────────
+
+    // Java 8에는 VarHandle/Unsafe 없이 쓸 수 있는 울타리가 없으므로 volatile 쓰기 + 읽기 한 쌍으로 만듦
+    // - volatile 쓰기(release): 앞의 읽기/쓰기가 이 쓰기 뒤로 가지 않음
+    // - 바로 뒤 volatile 읽기(acquire): 뒤의 읽기/쓰기가 이 읽기 앞으로 오지 않음
+    // - 둘 사이는 volatile끼리라 순서가 바뀌지 않음 → 앞뒤 일반 접근 사이의 완전한 울타리
+    private static final AtomicLong FENCE = new AtomicLong();
+
+    private static void fence() {
+        FENCE.set(0L);
+        FENCE.get();
+    }
+
+    /** 이 앞의 읽기/쓰기가 뒤따르는 카운터 쓰기보다 먼저 보이도록 */
+    private static void release() {
+        fence();
+    }
+
+    /** 앞에서 읽은 카운터보다 이 뒤의 읽기/쓰기가 먼저 일어나지 않도록 */
+    private static void acquire() {
+        fence();
+    }
+
+    // 방향 하나의 링 버퍼 (head/tail은 지금까지 읽은/쓴 바이트 수, 8바이트 정렬이라 한 번에 읽고 씀)
+    private static final class Ring {
+        private final MappedByteBuffer map;
+        private final int headOff;
+        private final int tailOff;
+        private final ByteBuffer data;
+        private long count; // 쓰는 쪽이면 tail, 읽는 쪽이면 head (자기 것만 기억)
+
+        Ring(MappedByteBuffer map, int ctrlOff, int dataOff) {
+            this.map = map;
+            this.headOff = ctrlOff;
+            this.tailOff = ctrlOff + 64;
+            ByteBuffer d = map.duplicate();
+            d.position(dataOff);
+            d.limit(dataOff + RING_SIZE);
+            this.data = d.slice();
+        }
+
+        // 쓰는 쪽: 빈 만큼 복사하고 tail을 올림
+        int write(byte[] buf, int off, int len) {
+            long head = map.getLong(headOff);
+            acquire();
+            int free = RING_SIZE - (int) (count - head);
+            int n = Math.min(free, len);
+            if (n <= 0) return 0;
+            int p = (int) count & (RING_SIZE - 1);
+            int first = Math.min(n, RING_SIZE - p);
+            data.clear();
+            data.position(p);
+            data.put(buf, off, first);
+            if (first < n) {
+                data.position(0);
+                data.put(buf, off + first, n - first);
+            }
+            count += n;
+            release();
+            map.putLong(tailOff, count);
+            return n;
+        }
+
+        boolean hasSpace() {
+            return count - map.getLong(headOff) < RING_SIZE;
+        }
+
+        // 읽는 쪽: 쌓인 바이트를 복사 없이 handler에 넘기고 head를 올림
+        boolean read(Handler handler) throws IOException {
+            long tail = map.getLong(tailOff);
+            acquire();
+            int avail = (int) (tail - count);
+            if (avail <= 0) return false;
+            int p = (int) count & (RING_SIZE - 1);
+            int first = Math.min(avail, RING_SIZE - p);
+            data.clear();
+            data.position(p);
+            data.limit(p + first);
+            handler.received(data);
+            if (first < avail) {
+                data.clear();
+                data.limit(avail - first);
+                handler.received(data);
+            }
+            count = tail;
+            release();
+            map.putLong(headOff, count);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return map.getLong(tailOff) == count;
+        }
+    }
+
+    // 링 파일 하나의 한쪽 끝 (서버는 접속 대기 → 연결, 클라이언트는 바로 연결)
+    private final class Endpoint {
+        final int port;
+        final File file;
+        final FileChannel channel;
+        final FileLock lock;
+        final MappedByteBuffer map;
+        final boolean server;
+        final long session;
+        final Handler handler;
+        final Ring in;
+        final Ring out;
+        ShmLink link;
+        boolean closed = false;
+
+        Endpoint(int port, File file, FileChannel channel, FileLock lock, MappedByteBuffer map,
+                 boolean server, long session, Handler handler) {
+            this.port = port;
+            this.file = file;
+            this.channel = channel;
+            this.lock = lock;
+            this.map = map;
+            this.server = server;
+            this.session = session;
+            this.handler = handler;
+            this.in = new Ring(map, server ? OFF_C2S : OFF_S2C, HEADER_SIZE + (server ? RING_SIZE : 0));
+            this.out = new Ring(map, server ? OFF_S2C : OFF_C2S, HEADER_SIZE + (server ? 0 : RING_SIZE));
+        }
+
+        void open() {
+            link = new ShmLink(this);
+            try {
+                handler.opened(link);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        // 할 일이 있었으면 true
+        boolean poll() {
+            if (closed) return false;
+            if (link == null) {
+                if (map.getInt(OFF_CLIENT_ATTACHED) == 0) return false;
+                acquire();
+                open();
+                return true;
+            }
+            try {
+                boolean busy = in.read(handler);
+                if (link.wantWritable && out.hasSpace()) {
+                    link.wantWritable = false;
+                    handler.writable();
+                    busy = true;
+                }
+                // 상대가 닫았으면 남은 데이터를 다 받은 뒤 끊김을 알림
+                if (map.getInt(server ? OFF_CLIENT_CLOSED : OFF_SERVER_CLOSED) != 0) {
+                    acquire();
+                    if (in.isEmpty()) fail(new EOFException());
+                    busy = true;
+                }
+                return busy;
+            } catch (IOException e) {
+                fail(e);
+                return true;
+            }
+        }
+
+        void tick(long now) {
+            if (closed || link == null) return;
+            // 상대 프로세스가 죽었거나(잠금이 풀림) 서버가 파일을 새로 만든 경우
+            try {
+                if (map.getLong(OFF_SESSION) != session || !peerAlive(channel, server ? LOCK_CLIENT : LOCK_SERVER)) {
+                    fail(new EOFException());
+                    return;
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            handler.tick(now);
+        }
+
+        void fail(IOException e) {
+            if (closed) return;
+            close();
+            handler.failed(e);
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            endpoints.remove(this);
+            if (map.getLong(OFF_SESSION) == session) {
+                release();
+                map.putInt(server ? OFF_SERVER_CLOSED : OFF_CLIENT_CLOSED, 1);
+            }
+            // 상대가 아직 맵해 두었어도 지워도 됨 (맵은 닫을 때까지 유효), 다음 클라이언트가 이 파일로 접속하지 않게 함
+            if (server) file.delete();
+            try { lock.release(); } catch (IOException ignore) {}
+            try { channel.close(); } catch (IOException ignore) {}
+        }
+    }
+
+    // 열린 연결 하나
+    private static final class ShmLink implements Link {
+        private final Endpoint ep;
+        boolean wantWritable = false;
+
+        ShmLink(Endpoint ep) {
+            this.ep = ep;
+        }
+
+        @Override
+        public int write(byte[] buf, int off, int len) throws IOException {
+            if (ep.closed) throw new IOException("닫힌 연결");
+            int n = ep.out.write(buf, off, len);
+            if (n < len) wantWritable = true;
+            return n;
+        }
+
+        @Override
+        public String localAddress() {
+            return "127.0.0.1:" + ep.port;
+        }
+
+        @Override
+        public void close() {
+            ep.close();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package se.tetris.team3.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서버(호스트)가 여는 관전자용 읽기 전용 STATE 중계.
+ * - 관전자는 P2PConnection.DEFAULT_PORT + 1로 접속해 두 플레이어의 STATE를 SPECTATE 메시지로 받음 (관전자가 보내는 것은 읽고 버림)
+ * - 플레이어별 델타 스트림을 publish()한 스레드에서 한 번만 인코딩하고, 같은 direct 버퍼를 모든 관전자에게 나눠 씀
+ * - 소켓 입출력은 플레이어 연결과 같은 NioReactor 셀렉터 스레드에서 non-blocking으로 처리 (관전자 스레드 없음)
+ * - 관전자마다 밀린 프레임은 MAX_QUEUED_FRAMES까지만: 넘으면 버리고 다음 키프레임부터 다시 받음 (느린 관전자가 플레이어를 막지 않음)
+ */
+public class SpectatorHub implements Closeable {
+
+    public static final int DEFAULT_PORT = P2PConnection.DEFAULT_PORT + 1;
+    public static final int MAX_SPECTATORS = 64;
+    // 관전자 하나에 쌓일 수 있는 프레임 수 (100ms 주기, 두 플레이어 기준 약 1.6초)
+    public static final int MAX_QUEUED_FRAMES = 32;
+    // 관전자는 중간에 들어오거나 밀려서 버려질 수 있으므로 키프레임을 자주 보냄 (100ms 주기 기준 1초)
+    public static final int KEYFRAME_INTERVAL = 10;
+    // 관전자 소켓 송신 버퍼 (커널 자동 조절로 수 MB까지 커지면 관전자 수만큼 메모리를 쓰고 오래된 화면이 쌓임)
+    public static final int SEND_BUFFER_SIZE = 64 * 1024;
+    // 한 번의 write()로 모아 쓰는 최대 프레임 수
+    private static final int GATHER = 16;
+
+    private final int port;
+    private NioReactor reactor;
+    private ServerSocketChannel serverChannel;
+    private volatile int boundPort = -1;
+    private volatile boolean closed = false;
+
+    // 플레이어별 인코딩 스트림 (publish 스레드), 관전자 목록 (셀렉터 스레드 전용)
+    private final Stream[] streams = {new Stream(), new Stream()};
+    private final List<Spectator> spectators = new ArrayList<>();
+    private final ByteBuffer header;
+
+    // 통계
+    private volatile int spectatorCount = 0;
+    private final AtomicLong framesEncoded = new AtomicLong();
+    private final AtomicLong bytesEncoded = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+
+    // 플레이어 하나의 STATE 델타 스트림
+    private static final class Stream {
+        final StateDeltaEncoder encoder = new StateDeltaEncoder(KEYFRAME_INTERVAL);
+        final P2PCodec.Writer out = new P2PCodec.Writer(2048);
+        final P2PCodec.Writer body = new P2PCodec.Writer(2048);
+    }
+
+    // 인코딩된 프레임 하나 (버퍼 내용은 만든 뒤 바뀌지 않고, 관전자마다 duplicate로 위치만 따로 가짐)
+    private static final class Frame {
+        final ByteBuffer bytes;
+        final int player;
+        final boolean keyframe;
+
+        Frame(ByteBuffer bytes, int player, boolean keyframe) {
+            this.bytes = bytes;
+            this.player = player;
+            this.keyframe = keyframe;
+        }
+    }
+
+    public SpectatorHub() {
+        this(DEFAULT_PORT);
+    }
+
+    /** @param port 0이면 빈 포트 (테스트용, getPort()로 확인) */
+    public SpectatorHub(int port) {
+        this.port = port;
+        P2PCodec.Writer w = new P2PCodec.Writer(P2PCodec.HEADER_LENGTH);
+        P2PCodec.writeHeader(w);
+        header = ByteBuffer.allocateDirect(w.size());
+        header.put(w.buf, 0, w.size());
+        header.flip();
+    }
+
+    /** 포트를 열고 관전자를 받기 시작합니다. (포트를 쓸 수 없으면 IOException) */
+    public void start() throws IOException {
+        reactor = NioReactor.shared();
+        ServerSocketChannel ch = ServerSocketChannel.open();
+        try {
+            ch.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            ch.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        serverChannel = ch;
+        boundPort = ch.socket().getLocalPort();
+        reactor.execute(() -> {
+            try {
+                if (closed) return;
+                reactor.register(ch, SelectionKey.OP_ACCEPT, acceptor);
+            } catch (IOException e) {
+                closeNow();
+            }
+        });
+    }
+
+    public int getPort() { return boundPort; }
+    public int getSpectatorCount() { return spectatorCount; }
+    /** 인코딩한 프레임 수 (관전자 수와 상관없이 STATE 하나당 한 번) */
+    public long getFramesEncoded() { return framesEncoded.get(); }
+    public long getBytesEncoded() { return bytesEncoded.get(); }
+    /** 느린 관전자에게 보내지 못하고 버린 프레임 수 */
+    public long getFramesDropped() { return framesDropped.get(); }
+
+    /**
+     * 플레이어 STATE 하나를 모든 관전자에게 보냅니다. (인코딩만 하고 바로 반환)
+     * @param player 0: 서버 플레이어, 1: 클라이언트 플레이어
+     * @param full 전체 스냅샷 (P2PBattleScreen.buildStateSnapshot, 이 객체는 델타로 고쳐지므로 다른 곳에 넘기지 않음)
+     */
+    public void publish(int player, P2PMessage full) {
+        if (closed || reactor == null || full == null || player < 0 || player >= streams.length) return;
+        Stream s = streams[player];
+        synchronized (s) {
+            // 보는 사람이 없으면 인코딩하지 않고, 처음 들어오는 관전자가 키프레임을 받도록 함
+            if (spectatorCount == 0) {
+                s.encoder.requestKeyframe();
+                return;
+            }
+            P2PMessage m = s.encoder.encode(full);
+            m.type = P2PMessage.Type.SPECTATE;
+            m.spectatePlayer = player;
+            s.out.reset();
+            P2PCodec.appendFrame(s.out, s.body, m);
+
+            ByteBuffer bytes = ByteBuffer.allocateDirect(s.out.size());
+            bytes.put(s.out.buf, 0, s.out.size());
+            bytes.flip();
+            framesEncoded.incrementAndGet();
+            bytesEncoded.addAndGet(s.out.size());
+
+            // 플레이어별 순서를 지키도록 인코딩과 같은 잠금 안에서 넘김 (셀렉터 작업 큐는 FIFO)
+            Frame f = new Frame(bytes, player, !m.delta);
+            reactor.execute(() -> fanOut(f));
+        }
+    }
+
+    // ────────── 셀렉터 스레드 ──────────
+
+    private final NioReactor.Handler acceptor = new NioReactor.Handler() {
+        @Override
+        public void ready(SelectionKey k) throws IOException {
+            if (!k.isAcceptable()) return;
+            SocketChannel ch;
+            while ((ch = serverChannel.accept()) != null) {
+                if (spectators.size() >= MAX_SPECTATORS) {
+                    ch.close();
+                    continue;
+                }
+                Spectator sp = new Spectator(ch);
+                sp.key = reactor.register(ch, SelectionKey.OP_READ, sp);
+                ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                ch.setOption(StandardSocketOptions.SO_SNDBUF, SEND_BUFFER_SIZE);
+                spectators.add(sp);
+                spectatorCount = spectators.size();
+                for (Stream s : streams) s.encoder.requestKeyframe();
+                sp.flush();
+            }
+        }
+
+        @Override
+        public void tick(long nowMillis) {}
+
+        @Override
+        public void failed(IOException e) {
+            closeNow();
+        }
+    };
+
+    private void fanOut(Frame f) {
+        for (int i = spectators.size() - 1; i >= 0; i--) {
+            Spectator sp = spectators.get(i);
+            sp.offer(f);
+            try {
+                sp.flush();
+            } catch (IOException e) {
+                sp.failed(e);
+            }
+        }
+    }
+
+    // 관전자 연결 하나
+    private final class Spectator implements NioReactor.Handler {
+        final SocketChannel channel;
+        SelectionKey key;
+        final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+        final ByteBuffer[] gather = new ByteBuffer[GATHER];
+        // 플레이어별로 델타 기준이 끊겨 키프레임을 기다리는 중인지
+        final boolean[] needKeyframe = {true, true};
+
+        Spectator(SocketChannel channel) {
+            this.channel = channel;
+            queue.add(header.duplicate());
+        }
+
+        void offer(Frame f) {
+            if (needKeyframe[f.player]) {
+                if (!f.keyframe) return;
+                needKeyframe[f.player] = false;
+            }
+            if (queue.size() >= MAX_QUEUED_FRAMES) {
+                // 쓰다 만 맨 앞 프레임은 끝까지 보내야 프레임 경계가 맞음
+                ByteBuffer partial = queue.peek();
+                boolean keepHead = partial.position() > 0;
+                int dropped = queue.size() - (keepHead ? 1 : 0);
+                queue.clear();
+                if (keepHead) queue.add(partial);
+                framesDropped.addAndGet(dropped);
+                for (int p = 0; p < needKeyframe.length; p++) {
+                    needKeyframe[p] = true;
+                    streams[p].encoder.requestKeyframe();
+                }
+                if (!f.keyframe) return;
+                needKeyframe[f.player] = false;
+            }
+            queue.add(f.bytes.duplicate());
+        }
+
+        // 쌓인 프레임을 소켓이 받는 만큼 모아 씀 (남으면 OP_WRITE로 이어서)
+        void flush() throws IOException {
+            while (!queue.isEmpty()) {
+                int n = 0;
+                for (ByteBuffer b : queue) {
+                    gather[n++] = b;
+                    if (n == GATHER) break;
+                }
+                channel.write(gather, 0, n);
+                boolean full = gather[n - 1].hasRemaining(); // 다 못 썼으면 소켓 버퍼가 찬 것
+                while (!queue.isEmpty() && !queue.peek().hasRemaining()) queue.poll();
+                if (full) break;
+            }
+            Arrays.fill(gather, null);
+            if (!key.isValid()) return;
+            int ops = queue.isEmpty() ? SelectionKey.OP_READ : (SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            if (key.interestOps() != ops) key.interestOps(ops);
+        }
+
+        @Override
+        public void ready(SelectionKey k) throws IOException {
+            if (k.isReadable()) {
+                // 관전자는 읽기 전용: 보낸 것은 버리고 끊겼는지만 확인
+                ByteBuffer rb = reactor.readBuffer();
+                rb.clear();
+                if (channel.read(rb) < 0) throw new EOFException();
+            }
+            if (k.isValid() && k.isWritable()) flush();
+        }
+
+        @Override
+        public void tick(long nowMillis) {}
+
+        @Override
+        public void failed(IOException e) {
+            close();
+        }
+
+        void close() {
+            if (spectators.remove(this)) spectatorCount = spectators.size();
+            if (key != null) key.cancel();
+            try { channel.close(); } catch (IOException ignore) {}
+        }
+    }
+
+    // ────────── 종료 ──────────
+
+    @Override
+    public void close() {
+        closed = true;
+        NioReactor r = reactor;
+        if (r == null) return;
+        r.execute(this::closeNow);
+    }
+
+    private void closeNow() {
+        closed = true;
+        for (Spectator sp : new ArrayList<>(spectators)) sp.close();
+        spectatorCount = 0;
+        // 채널을 닫으면 셀렉터 등록도 함께 풀림
+        if (serverChannel != null) try { serverChannel.close(); } catch (IOException ignore) {}
+    }
+}
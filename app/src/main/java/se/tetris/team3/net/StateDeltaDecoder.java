@@ -0,0 +1,109 @@
+package se.tetris.team3.net;
+
+/**
+ * 받는 쪽 STATE 복원기 (확인 응답 방식 StateDeltaEncoder의 짝).
+ * - 최근에 복원한 전체 스냅샷을 history개 기억하고, 델타는 baseSeq 번호의 스냅샷에 합쳐 전체 스냅샷으로 돌려줌
+ * - 이미 받은 것보다 오래된 STATE, 기준을 모르는(버려졌거나 너무 오래된) 델타는 null
+ * - 돌려준 메시지의 격자 바깥 배열은 매번 새로 만듦 (화면이 줄을 바꿔 끼워도 기억한 스냅샷은 그대로)
+ * - 한 스레드에서만 호출
+ */
+public class StateDeltaDecoder {
+
+    private final P2PMessage[] history;
+    private int lastSeq = 0;
+
+    public StateDeltaDecoder(int history) {
+        this.history = new P2PMessage[Math.max(1, history)];
+    }
+
+    /** 마지막으로 복원한 STATE 번호 (상대에게 확인 응답으로 보냄, 0이면 아직 없음) */
+    public int getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * STATE 하나를 전체 스냅샷으로 복원합니다.
+     * @return delta가 false인 새 메시지, 오래됐거나 기준이 없으면 null
+     */
+    public P2PMessage decode(P2PMessage m) {
+        if (m.stateSeq <= lastSeq) return null;
+
+        P2PMessage full;
+        if (!m.delta) {
+            full = m;
+        } else {
+            P2PMessage base = history[m.baseSeq % history.length];
+            if (base == null || base.stateSeq != m.baseSeq || base.field == null) return null;
+            full = merge(base, m);
+        }
+        history[full.stateSeq % history.length] = full;
+        lastSeq = full.stateSeq;
+        return copy(full);
+    }
+
+    // 기준 스냅샷 + 델타 (바뀐 줄/부분만 델타 것으로)
+    private static P2PMessage merge(P2PMessage base, P2PMessage d) {
+        P2PMessage m = copy(base);
+        m.stateSeq = d.stateSeq;
+        m.gameOver = d.gameOver;
+        m.curShape = d.curShape;
+        m.curColor = d.curColor;
+        m.curX = d.curX;
+        m.curY = d.curY;
+        m.curItemType = d.curItemType;
+        m.curItemRow = d.curItemRow;
+        m.curItemCol = d.curItemCol;
+
+        int parts = d.changedParts;
+        if ((parts & P2PMessage.PART_SCORE) != 0) m.myScore = d.myScore;
+        if ((parts & P2PMessage.PART_LEVEL) != 0) m.myLevel = d.myLevel;
+        if ((parts & P2PMessage.PART_NEXT) != 0) {
+            m.nextShape = d.nextShape;
+            m.nextColor = d.nextColor;
+            m.nextItemType = d.nextItemType;
+            m.nextItemRow = d.nextItemRow;
+            m.nextItemCol = d.nextItemCol;
+        }
+        if ((parts & P2PMessage.PART_PREVIEW) != 0) m.garbagePreview = d.garbagePreview;
+
+        int[] rows = d.changedRows;
+        for (int i = 0; rows != null && i < rows.length; i++) {
+            int r = rows[i];
+            if (r < 0 || r >= m.field.length) continue;
+            if (d.field != null && d.field[i] != null) m.field[r] = d.field[i];
+            if (d.itemField != null && m.itemField != null && d.itemField[i] != null) m.itemField[r] = d.itemField[i];
+            if (d.colorField != null && m.colorField != null && d.colorField[i] != null) m.colorField[r] = d.colorField[i];
+            if (d.garbageMark != null && m.garbageMark != null && d.garbageMark[i] != null) m.garbageMark[r] = d.garbageMark[i];
+        }
+        return m;
+    }
+
+    // STATE 필드 복사 (격자는 바깥 배열만 새로, 줄 배열은 공유)
+    private static P2PMessage copy(P2PMessage src) {
+        P2PMessage m = new P2PMessage();
+        m.type = src.type;
+        m.text = src.text;
+        m.stateSeq = src.stateSeq;
+        m.myScore = src.myScore;
+        m.myLevel = src.myLevel;
+        m.gameOver = src.gameOver;
+        m.field = src.field == null ? null : src.field.clone();
+        m.itemField = src.itemField == null ? null : src.itemField.clone();
+        m.colorField = src.colorField == null ? null : src.colorField.clone();
+        m.garbageMark = src.garbageMark == null ? null : src.garbageMark.clone();
+        m.curShape = src.curShape;
+        m.curColor = src.curColor;
+        m.curX = src.curX;
+        m.curY = src.curY;
+        m.curItemType = src.curItemType;
+        m.curItemRow = src.curItemRow;
+        m.curItemCol = src.curItemCol;
+        m.nextShape = src.nextShape;
+        m.nextColor = src.nextColor;
+        m.nextItemType = src.nextItemType;
+        m.nextItemRow = src.nextItemRow;
+        m.nextItemCol = src.nextItemCol;
+        m.garbagePreview = src.garbagePreview;
+        return m;
+    }
+}
@@ -0,0 +1,203 @@
+package se.tetris.team3.net;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 보내는 쪽 STATE 델타 인코더.
+ * - 마지막으로 보낸 STATE를 기준(baseline)으로 기억하고, 다음 스냅샷에서 바뀐 줄/점수/레벨/NEXT/미리보기만 담은 델타를 만듦
+ * - 현재 블록 위치와 gameOver는 작아서 항상 포함
+ * - keyframeInterval번마다, 또는 상대가 STATE_REQUEST를 보내면 전체 스냅샷(키프레임)을 보냄
+ * - TCP는 순서/전달을 보장하므로 "마지막으로 보낸 STATE"가 곧 상대가 받은 기준 (어긋나면 상대가 키프레임을 요청)
+ * - UDP처럼 사라질 수 있는 경로는 확인 응답 방식(history > 0): 최근 보낸 STATE를 기억해 두고
+ *   상대가 받았다고 알려온(acknowledge) STATE를 기준으로 델타를 만듦 (받은 것이 없으면 키프레임)
+ * - encode()/acknowledge()는 송신 스레드 하나에서만, requestKeyframe()은 아무 스레드에서나 호출 가능
+ */
+public class StateDeltaEncoder {
+
+    // 100ms 전송 주기 기준 3초마다 키프레임
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 30;
+
+    private final int keyframeInterval;
+    private volatile boolean keyframeRequested = true;
+    private int seq = 0;
+    private int sinceKeyframe = 0;
+
+    // 기준이 될 수 있는 보낸 상태 (기본: 마지막으로 보낸 것 하나, 확인 응답 방식: stateSeq % 길이 자리)
+    private final Baseline[] history;
+    private final boolean acked;
+    private int ackedSeq = 0;
+
+    // 보낸 상태 하나 (보낸 메시지 배열은 이후 수정하지 않으므로 참조만 보관)
+    private static final class Baseline {
+        int seq;
+        int[][] field;
+        char[][] itemField;
+        Color[][] colorField;
+        boolean[][] garbageMark;
+        int score, level;
+        int[][] nextShape;
+        Color nextColor;
+        char nextItemType;
+        int nextItemRow, nextItemCol;
+        boolean[][] garbagePreview;
+    }
+
+    // 바뀐 줄 번호 버퍼
+    private int[] rowsBuf = new int[0];
+
+    public StateDeltaEncoder() {
+        this(DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public StateDeltaEncoder(int keyframeInterval) {
+        this(keyframeInterval, 0);
+    }
+
+    /** @param history 0이면 마지막으로 보낸 STATE가 기준, 아니면 확인 응답 방식으로 최근 history개를 기억 */
+    public StateDeltaEncoder(int keyframeInterval, int history) {
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        this.history = new Baseline[Math.max(1, history)];
+        this.acked = history > 0;
+    }
+
+    /** 확인 응답 방식: 상대가 stateSeq까지 받았음 (이 번호의 STATE가 다음 델타의 기준) */
+    public void acknowledge(int stateSeq) {
+        if (stateSeq > ackedSeq && stateSeq <= seq) ackedSeq = stateSeq;
+    }
+
+    /** 다음 encode()에서 전체 스냅샷을 보내도록 함 (상대의 STATE_REQUEST 수신 시) */
+    public void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /**
+     * 전체 스냅샷을 보낼 메시지로 바꿉니다.
+     * @param full P2PBattleScreen.buildStateSnapshot 결과 (델타로 바꿀 때는 이 객체를 고쳐서 반환)
+     * @return 키프레임이면 번호만 붙인 full, 아니면 바뀐 부분만 남긴 델타
+     */
+    public P2PMessage encode(P2PMessage full) {
+        Baseline b = baseline();
+        full.stateSeq = ++seq;
+
+        if (keyframeRequested || b == null || b.field == null || full.field == null
+                || ++sinceKeyframe >= keyframeInterval || !sameShape(full, b)) {
+            keyframeRequested = false;
+            sinceKeyframe = 0;
+            full.delta = false;
+            remember(full);
+            return full;
+        }
+
+        int h = full.field.length;
+        if (rowsBuf.length < h) rowsBuf = new int[h];
+        int n = 0;
+        for (int r = 0; r < h; r++) {
+            if (rowChanged(full, b, r)) rowsBuf[n++] = r;
+        }
+
+        int parts = 0;
+        if (full.myScore != b.score) parts |= P2PMessage.PART_SCORE;
+        if (full.myLevel != b.level) parts |= P2PMessage.PART_LEVEL;
+        if (!Arrays.deepEquals(full.nextShape, b.nextShape) || !Objects.equals(full.nextColor, b.nextColor)
+                || full.nextItemType != b.nextItemType || full.nextItemRow != b.nextItemRow
+                || full.nextItemCol != b.nextItemCol) {
+            parts |= P2PMessage.PART_NEXT;
+        }
+        if (!Arrays.deepEquals(full.garbagePreview, b.garbagePreview)) parts |= P2PMessage.PART_PREVIEW;
+        int baseSeq = b.seq;
+
+        remember(full);
+
+        // 바뀐 줄만 남김 (배열 행은 스냅샷 것을 그대로 옮김)
+        P2PMessage d = full;
+        d.delta = true;
+        d.baseSeq = baseSeq;
+        d.changedParts = parts;
+        d.changedRows = Arrays.copyOf(rowsBuf, n);
+        if (n == 0) {
+            d.field = null;
+            d.itemField = null;
+            d.colorField = null;
+            d.garbageMark = null;
+        } else {
+            d.field = pick(full.field, n);
+            if (full.itemField != null) d.itemField = pick(full.itemField, n);
+            if (full.colorField != null) d.colorField = pick(full.colorField, n);
+            if (full.garbageMark != null) d.garbageMark = pick(full.garbageMark, n);
+        }
+        if ((parts & P2PMessage.PART_NEXT) == 0) {
+            d.nextShape = null;
+            d.nextColor = null;
+        }
+        if ((parts & P2PMessage.PART_PREVIEW) == 0) d.garbagePreview = null;
+        return d;
+    }
+
+    // 델타 기준: 마지막으로 보낸 것, 확인 응답 방식이면 상대가 받은 것 (이미 덮어써졌거나 없으면 null)
+    private Baseline baseline() {
+        int want = acked ? ackedSeq : seq;
+        if (want == 0) return null;
+        Baseline b = history[want % history.length];
+        return (b != null && b.seq == want) ? b : null;
+    }
+
+    // 격자 크기/선택 필드 유무가 기준과 같아야 델타 가능
+    private static boolean sameShape(P2PMessage m, Baseline b) {
+        return m.field.length == b.field.length
+            && (m.itemField == null) == (b.itemField == null)
+            && (m.colorField == null) == (b.colorField == null)
+            && (m.garbageMark == null) == (b.garbageMark == null);
+    }
+
+    private static boolean rowChanged(P2PMessage m, Baseline b, int r) {
+        if (!Arrays.equals(m.field[r], b.field[r])) return true;
+        if (m.itemField != null && !Arrays.equals(m.itemField[r], b.itemField[r])) return true;
+        if (m.colorField != null && !Arrays.equals(m.colorField[r], b.colorField[r])) return true;
+        return m.garbageMark != null && !Arrays.equals(m.garbageMark[r], b.garbageMark[r]);
+    }
+
+    private void remember(P2PMessage m) {
+        int slot = m.stateSeq % history.length;
+        Baseline b = history[slot];
+        if (b == null) history[slot] = b = new Baseline();
+        b.seq = m.stateSeq;
+        b.field = m.field;
+        b.itemField = m.itemField;
+        b.colorField = m.colorField;
+        b.garbageMark = m.garbageMark;
+        b.score = m.myScore;
+        b.level = m.myLevel;
+        b.nextShape = m.nextShape;
+        b.nextColor = m.nextColor;
+        b.nextItemType = m.nextItemType;
+        b.nextItemRow = m.nextItemRow;
+        b.nextItemCol = m.nextItemCol;
+        b.garbagePreview = m.garbagePreview;
+    }
+
+    private int[][] pick(int[][] src, int n) {
+        int[][] out = new int[n][];
+        for (int i = 0; i < n; i++) out[i] = src[rowsBuf[i]];
+        return out;
+    }
+
+    private char[][] pick(char[][] src, int n) {
+        char[][] out = new char[n][];
+        for (int i = 0; i < n; i++) out[i] = src[rowsBuf[i]];
+        return out;
+    }
+
+    private Color[][] pick(Color[][] src, int n) {
+        Color[][] out = new Color[n][];
+        for (int i = 0; i < n; i++) out[i] = src[rowsBuf[i]];
+        return out;
+    }
+
+    private boolean[][] pick(boolean[][] src, int n) {
+        boolean[][] out = new boolean[n][];
+        for (int i = 0; i < n; i++) out[i] = src[rowsBuf[i]];
+        return out;
+    }
+}
@@ -0,0 +1,272 @@
+package se.tetris.team3.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * TCP 전송 계층 (P2PConnection 기본값).
+ * - 모든 소켓은 프로세스 공용 NioReactor 셀렉터 스레드에서 non-blocking으로 처리
+ * - 연결마다 direct 쓰기 버퍼 하나: 소켓이 밀리면 버퍼에 남기고 OP_WRITE로 이어서 씀
+ * - 읽기는 셀렉터 스레드 공용 direct 버퍼를 그대로 Handler.received에 넘김
+ * - UDP 소켓(openDatagram)도 같은 셀렉터 스레드에 등록 → P2PConnection은 두 경로를 한 스레드에서 처리
+ */
+public class TcpTransport implements P2PTransport {
+
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
+    private volatile NioReactor reactor;
+
+    private NioReactor reactor() throws IOException {
+        NioReactor r = reactor;
+        if (r == null) reactor = r = NioReactor.shared();
+        return r;
+    }
+
+    @Override
+    public void execute(Runnable task) throws IOException {
+        reactor().execute(task);
+    }
+
+    @Override
+    public boolean inTransportThread() {
+        NioReactor r = reactor;
+        return r != null && r.inReactorThread();
+    }
+
+    // ────────── 서버 ──────────
+
+    @Override
+    public Closeable listen(int port, Handler handler) throws IOException {
+        NioReactor r = reactor();
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(port));
+            // 상대 하나만 받고 더 이상 accept하지 않음
+            r.register(serverChannel, SelectionKey.OP_ACCEPT, new NioReactor.Handler() {
+                @Override
+                public void ready(SelectionKey k) throws IOException {
+                    if (!k.isAcceptable()) return;
+                    SocketChannel ch = serverChannel.accept();
+                    if (ch == null) return;
+                    k.interestOps(0);
+                    new TcpLink(r, ch, handler).open();
+                }
+
+                @Override
+                public void tick(long nowMillis) {}
+
+                @Override
+                public void failed(IOException e) {
+                    handler.failed(e);
+                }
+            });
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+        // 채널을 닫으면 셀렉터 등록도 함께 풀림
+        return serverChannel;
+    }
+
+    // ────────── 클라이언트 ──────────
+
+    @Override
+    public void connect(String host, int port, Handler handler) {
+        // 이름 해석은 막힐 수 있으므로 셀렉터 스레드 밖에서
+        new Thread(() -> {
+            InetSocketAddress target = new InetSocketAddress(host, port);
+            try {
+                NioReactor r = reactor();
+                r.execute(() -> {
+                    try {
+                        if (target.isUnresolved()) throw new IOException("알 수 없는 주소: " + host);
+                        SocketChannel ch = SocketChannel.open();
+                        TcpLink link = new TcpLink(r, ch, handler);
+                        try {
+                            ch.configureBlocking(false);
+                            if (ch.connect(target)) {
+                                link.open();
+                            } else {
+                                link.key = r.register(ch, SelectionKey.OP_CONNECT, link);
+                            }
+                        } catch (IOException e) {
+                            link.failed(e);
+                        }
+                    } catch (IOException e) {
+                        handler.failed(e);
+                    }
+                });
+            } catch (IOException e) {
+                handler.failed(e);
+            }
+        }, "P2P-Client-Connect").start();
+    }
+
+    // ────────── UDP ──────────
+
+    @Override
+    public DatagramLink openDatagram(DatagramHandler handler) throws IOException {
+        NioReactor r = reactor();
+        DatagramChannel ch = DatagramChannel.open();
+        try {
+            ch.bind(new InetSocketAddress(0));
+            SelectionKey key = r.register(ch, SelectionKey.OP_READ, new NioReactor.Handler() {
+                @Override
+                public void ready(SelectionKey k) throws IOException {
+                    if (!k.isReadable()) return;
+                    ByteBuffer rb = r.readBuffer();
+                    while (true) {
+                        rb.clear();
+                        SocketAddress from = ch.receive(rb);
+                        if (from == null) return;
+                        rb.flip();
+                        handler.received(rb, from);
+                    }
+                }
+
+                @Override
+                public void tick(long nowMillis) {}
+
+                @Override
+                public void failed(IOException e) {
+                    // UDP 오류로 연결을 끊지 않음 (상대가 아직 포트를 안 열었을 때의 ICMP 등)
+                }
+            });
+            int port = ch.socket().getLocalPort();
+            return new DatagramLink() {
+                @Override
+                public int localPort() {
+                    return port;
+                }
+
+                @Override
+                public void send(ByteBuffer buf, InetSocketAddress to) throws IOException {
+                    ch.send(buf, to);
+                }
+
+                @Override
+                public void close() {
+                    key.cancel();
+                    try { ch.close(); } catch (IOException ignore) {}
+                }
+            };
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // ────────── 소켓 연결 하나 ──────────
+
+    private static final class TcpLink implements Link, NioReactor.Handler {
+        private final NioReactor reactor;
+        private final SocketChannel channel;
+        private final Handler handler;
+        private final ByteBuffer writeBuf = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        SelectionKey key;
+
+        TcpLink(NioReactor reactor, SocketChannel channel, Handler handler) {
+            this.reactor = reactor;
+            this.channel = channel;
+            this.handler = handler;
+        }
+
+        // 연결된 채널 준비: 읽기 대기 등록 후 Handler에 알림
+        void open() throws IOException {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            if (key == null) {
+                key = reactor.register(channel, SelectionKey.OP_READ, this);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+            handler.opened(this);
+        }
+
+        @Override
+        public void ready(SelectionKey k) throws IOException {
+            if (k.isConnectable()) {
+                if (channel.finishConnect()) open();
+                return;
+            }
+            if (k.isReadable()) {
+                ByteBuffer rb = reactor.readBuffer();
+                rb.clear();
+                int n = channel.read(rb);
+                if (n < 0) throw new EOFException();
+                if (n > 0) {
+                    rb.flip();
+                    handler.received(rb);
+                }
+            }
+            if (k.isValid() && k.isWritable()) {
+                drain();
+                if (writeBuf.position() == 0) handler.writable();
+            }
+        }
+
+        @Override
+        public void tick(long nowMillis) {
+            handler.tick(nowMillis);
+        }
+
+        @Override
+        public void failed(IOException e) {
+            // 접속 중 실패처럼 Handler가 아직 Link를 모를 수도 있으므로 여기서 먼저 닫음
+            close();
+            handler.failed(e);
+        }
+
+        @Override
+        public int write(byte[] buf, int off, int len) throws IOException {
+            drain();
+            int n = Math.min(writeBuf.remaining(), len);
+            writeBuf.put(buf, off, n);
+            drain();
+            return n;
+        }
+
+        // 버퍼에 쌓인 것을 소켓이 받는 만큼 씀 (남으면 OP_WRITE)
+        private void drain() throws IOException {
+            if (writeBuf.position() > 0) {
+                writeBuf.flip();
+                channel.write(writeBuf);
+                writeBuf.compact();
+            }
+            if (!key.isValid()) return;
+            int ops = key.interestOps();
+            int want = writeBuf.position() > 0 ? (ops | SelectionKey.OP_WRITE) : (ops & ~SelectionKey.OP_WRITE);
+            if (want != ops) key.interestOps(want);
+        }
+
+        @Override
+        public String localAddress() {
+            return channel.socket().getLocalAddress().getHostAddress() + ":" + channel.socket().getLocalPort();
+        }
+
+        @Override
+        public InetAddress remoteAddress() {
+            return channel.socket().getInetAddress();
+        }
+
+        @Override
+        public void close() {
+            if (channel.isConnected() && key != null && key.isValid()) {
+                try { drain(); } catch (IOException ignore) {}
+            }
+            if (key != null) key.cancel();
+            try { channel.close(); } catch (IOException ignore) {}
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package se.tetris.team3.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * STATE와 PING/PONG을 보내는 UDP 채널 (P2PConnection 하나에 하나, I/O 스레드 전용).
+ * - 데이터그램 하나 = VERSION(1바이트) + 내 순번 + 받은 마지막 순번 + 복원한 마지막 STATE 번호 + P2PCodec 프레임 하나
+ * - 이미 받은 것보다 순번이 작은(늦게 도착한) 데이터그램은 버림 → 오래된 STATE가 새 것을 덮지 않음
+ * - 재전송 없음: STATE는 상대가 복원했다고 알려온 STATE를 기준으로 델타를 만들고(StateDeltaEncoder 확인 응답 방식),
+ *   받는 쪽은 StateDeltaDecoder로 전체 스냅샷을 복원해 넘김 → 중간 것이 사라져도 다음 것이 바로 쓰임
+ * - 상대가 내 데이터그램을 받았다고 알려 오기 전, 또는 ACTIVE_TIMEOUT_MILLIS 동안 소식이 없으면 비활성
+ *   (그동안 P2PConnection은 같은 메시지를 TCP로 보내고, 여기서는 PING으로 경로만 확인)
+ */
+final class UdpStateChannel {
+
+    // 경로 MTU 아래로 (STATE 키프레임은 보통 수백 바이트)
+    static final int MAX_DATAGRAM = 1200;
+    static final long ACTIVE_TIMEOUT_MILLIS = 2000;
+    // 기억해 둘 STATE 수 (100ms 주기 기준 3초 넘게 확인 응답이 없으면 키프레임)
+    private static final int STATE_HISTORY = 32;
+
+    private final P2PTransport.DatagramLink link;
+    private volatile InetSocketAddress peer;
+
+    private int sendSeq = 0;
+    private int recvSeq = 0;        // 받은 데이터그램 중 가장 큰 순번
+    private int peerAckedSeq = 0;   // 상대가 받았다고 알려온 내 순번
+    private long lastHeard = 0;
+    private volatile boolean active = false;
+    // STATE 키프레임이 데이터그램 하나를 넘은 적이 있으면 STATE는 TCP로
+    private boolean stateTooLarge = false;
+
+    private final StateDeltaEncoder encoder = new StateDeltaEncoder(StateDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL, STATE_HISTORY);
+    private final StateDeltaDecoder decoder = new StateDeltaDecoder(STATE_HISTORY);
+    private final P2PCodec.Writer out = new P2PCodec.Writer(MAX_DATAGRAM);
+    private final P2PCodec.Writer body = new P2PCodec.Writer(MAX_DATAGRAM);
+    private final ByteBuffer sendBuf = ByteBuffer.allocateDirect(MAX_DATAGRAM);
+    private byte[] recvBuf = new byte[MAX_DATAGRAM];
+
+    // 테스트용 손실 흉내 (받은 데이터그램을 이 확률로 버림)
+    private volatile double lossRate = 0;
+    private final Random lossRandom = new Random(1);
+
+    // 통계
+    private volatile long sent, received, lost, stale, unresolved;
+
+    UdpStateChannel(P2PTransport.DatagramLink link) {
+        this.link = link;
+    }
+
+    int localPort() {
+        return link.localPort();
+    }
+
+    void setPeer(InetSocketAddress peer) {
+        this.peer = peer;
+    }
+
+    boolean hasPeer() {
+        return peer != null;
+    }
+
+    void setLossRate(double rate) {
+        lossRate = rate;
+    }
+
+    /** STATE/PING/PONG만 이 채널로 보냄 */
+    static boolean carries(P2PMessage.Type type) {
+        return type == P2PMessage.Type.STATE || type == P2PMessage.Type.PING || type == P2PMessage.Type.PONG;
+    }
+
+    /** 양쪽 경로가 확인됐고 최근에 소식이 있으면 true */
+    boolean isActive(long now) {
+        if (active && now - lastHeard > ACTIVE_TIMEOUT_MILLIS) active = false;
+        return active;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    /** 이 종류의 메시지를 지금 UDP로 보낼 수 있는지 */
+    boolean canSend(P2PMessage.Type type, long now) {
+        return isActive(now) && !(type == P2PMessage.Type.STATE && stateTooLarge);
+    }
+
+    /**
+     * 메시지 하나를 데이터그램으로 보냅니다. (STATE는 전체 스냅샷을 넘기면 여기서 델타로 바꿈)
+     * @return 너무 커서 보내지 못했으면 false (STATE는 이미 UDP용 델타로 바뀌었으므로 버리고, 다음부터 TCP로)
+     */
+    boolean send(P2PMessage msg) throws IOException {
+        InetSocketAddress to = peer;
+        if (to == null) return false;
+        if (msg.type == P2PMessage.Type.STATE && !msg.delta) msg = encoder.encode(msg);
+
+        out.reset();
+        out.byte1(P2PCodec.VERSION);
+        out.varint(++sendSeq);
+        out.varint(recvSeq);
+        out.varint(decoder.getLastSeq());
+        P2PCodec.appendFrame(out, body, msg);
+        if (out.size() > MAX_DATAGRAM) {
+            if (msg.type == P2PMessage.Type.STATE) stateTooLarge = true;
+            return false;
+        }
+        sendBuf.clear();
+        sendBuf.put(out.buf, 0, out.size());
+        sendBuf.flip();
+        link.send(sendBuf, to);
+        sent++;
+        return true;
+    }
+
+    /**
+     * 받은 데이터그램 하나를 처리합니다.
+     * @return 넘길 메시지 (STATE는 복원한 전체 스냅샷), 버린 경우 null
+     */
+    P2PMessage receive(ByteBuffer buf, SocketAddress from, long now) {
+        InetSocketAddress p = peer;
+        if (p == null || !p.equals(from)) return null;
+        if (lossRate > 0 && lossRandom.nextDouble() < lossRate) {
+            lost++;
+            return null;
+        }
+        int n = buf.remaining();
+        if (n > recvBuf.length) recvBuf = new byte[n];
+        buf.get(recvBuf, 0, n);
+
+        P2PMessage msg;
+        int seq;
+        try {
+            P2PCodec.Reader r = new P2PCodec.Reader(recvBuf, 0, n);
+            if (r.byte1() != P2PCodec.VERSION) return null;
+            seq = r.varint();
+            int ack = r.varint();
+            int stateAck = r.varint();
+            int pos = r.position();
+            long frame = P2PCodec.peekFrame(recvBuf, pos, n - pos);
+            if (frame < 0 || pos + (int) (frame >>> 32) + (int) frame > n) return null;
+            msg = P2PCodec.decode(recvBuf, pos + (int) (frame >>> 32), (int) frame);
+
+            if (ack > peerAckedSeq) peerAckedSeq = ack;
+            encoder.acknowledge(stateAck);
+        } catch (IOException | RuntimeException e) {
+            return null; // 손상된 데이터그램 (셀렉터 스레드까지 예외가 올라가지 않게 버림)
+        }
+        received++;
+        lastHeard = now;
+        if (peerAckedSeq > 0) active = true;
+
+        if (seq <= recvSeq) {
+            stale++;
+            return null;
+        }
+        recvSeq = seq;
+
+        if (msg.type == P2PMessage.Type.STATE) {
+            P2PMessage full;
+            try {
+                full = decoder.decode(msg);
+            } catch (RuntimeException e) {
+                full = null; // 기준과 맞지 않는 손상된 델타
+            }
+            if (full == null) unresolved++;
+            return full;
+        }
+        return msg;
+    }
+
+    /** 상대가 아직 내 데이터그램을 못 받았으면(확인 응답 0) true: 바로 한 번 더 보내 경로 확인을 앞당김 */
+    boolean peerWaiting() {
+        return peerAckedSeq == 0;
+    }
+
+    long getSent() { return sent; }
+    long getReceived() { return received; }
+    /** 손실 흉내로 버린 수 */
+    long getLost() { return lost; }
+    /** 늦게 도착해 버린 수 */
+    long getStale() { return stale; }
+    /** 기준 STATE를 몰라 버린 델타 수 */
+    long getUnresolved() { return unresolved; }
+
+    void close() {
+        active = false;
+        link.close();
+    }
+}
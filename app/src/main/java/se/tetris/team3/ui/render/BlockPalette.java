@@ -0,0 +1,49 @@
+package se.tetris.team3.ui.render;
+
+import java.awt.Color;
+
+import se.tetris.team3.blocks.PieceType;
+
+/**
+ * 팔레트 인덱스 → 화면 색상 변환.
+ * 게임 로직은 색을 팔레트 번호로만 저장하고, 실제 Color는 렌더링할 때 이 클래스에서 조회한다.
+ */
+public final class BlockPalette {
+
+    private static final Color[] COLORS = new Color[PieceType.PALETTE_SIZE];
+    static {
+        COLORS[PieceType.I.paletteIndex()] = Color.CYAN;
+        COLORS[PieceType.J.paletteIndex()] = Color.BLUE;
+        COLORS[PieceType.L.paletteIndex()] = Color.ORANGE;
+        COLORS[PieceType.O.paletteIndex()] = Color.YELLOW;
+        COLORS[PieceType.S.paletteIndex()] = Color.GREEN;
+        COLORS[PieceType.T.paletteIndex()] = Color.MAGENTA;
+        COLORS[PieceType.Z.paletteIndex()] = Color.RED;
+        // 무게추는 아이템임을 분명하게 보이는 색
+        COLORS[PieceType.ANVIL.paletteIndex()] = new Color(250, 220, 0);
+        // 공격으로 올라온 쓰레기 줄
+        COLORS[PieceType.PALETTE_GARBAGE] = Color.GRAY;
+    }
+
+    private BlockPalette() {}
+
+    /** 팔레트 번호에 해당하는 색 (0 = 빈 칸 → null) */
+    public static Color color(int paletteIndex) {
+        if (paletteIndex <= 0 || paletteIndex >= COLORS.length) return null;
+        return COLORS[paletteIndex];
+    }
+
+    public static Color colorOf(PieceType type) {
+        return COLORS[type.paletteIndex()];
+    }
+
+    /** 색 → 팔레트 번호 (null이면 0, 팔레트에 없는 색이면 -1) */
+    public static int indexOf(Color color) {
+        if (color == null) return PieceType.PALETTE_EMPTY;
+        int rgb = color.getRGB();
+        for (int i = 1; i < COLORS.length; i++) {
+            if (COLORS[i] != null && COLORS[i].getRGB() == rgb) return i;
+        }
+        return -1;
+    }
+}
@@ -4,11 +4,16 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import se.tetris.team3.blocks.Block;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.SurfaceMetrics;
 
 /**
  * 고스트 블록(하드 드롭 위치 미리보기) 렌더링 공통 클래스
  */
 public class GhostBlockRenderer {
+    // 필드 값 조회 함수용 작업 보드 (그릴 때마다 새로 만들지 않도록 스레드마다 하나를 재사용)
+    private static final ThreadLocal<BitBoard> SCRATCH = new ThreadLocal<>();
+
     /**
      * 고스트 블록의 하드 드롭 위치를 계산합니다.
      * @param block 현재 블록
@@ -20,27 +25,40 @@ public class GhostBlockRenderer {
      * @return 고스트 블록의 Y 위치
      */
     public static int calculateGhostY(Block block, int blockX, int blockY, int regionRows, int regionCols, FieldValueProvider getFieldValue) {
-        int[][] shape = block.getShape();
-        int ghostY = blockY;
-        while (true) {
-            boolean canMove = true;
-            for (int r = 0; r < shape.length; r++) {
-                for (int c = 0; c < shape[r].length; c++) {
-                    if (shape[r][c] != 0) {
-                        int testY = ghostY + r + 1;
-                        int testX = blockX + c;
-                        if (testY >= regionRows || getFieldValue.get(testY, testX) != 0) {
-                            canMove = false;
-                            break;
-                        }
-                    }
-                }
-                if (!canMove) break;
+        // 필드를 한 번만 읽어 행 마스크로 만든 뒤 비트 연산으로 낙하 위치 계산 (모든 행을 덮어쓰므로 비울 필요 없음)
+        BitBoard board = SCRATCH.get();
+        if (board == null || board.width() != regionCols || board.height() != regionRows) {
+            board = new BitBoard(regionCols, regionRows);
+            SCRATCH.set(board);
+        }
+        for (int r = 0; r < regionRows; r++) {
+            int mask = 0;
+            for (int c = 0; c < regionCols; c++) {
+                if (getFieldValue.get(r, c) != 0) mask |= (1 << c);
             }
-            if (!canMove) break;
-            ghostY++;
+            board.setRowMask(r, mask);
         }
-        return ghostY;
+        return calculateGhostY(block, blockX, blockY, board);
+    }
+
+    /**
+     * 비트보드에서 고스트 블록의 하드 드롭 위치를 계산합니다. (할당 없음)
+     * @param block 현재 블록
+     * @param blockX 블록 X 위치
+     * @param blockY 블록 Y 위치
+     * @param board 필드 비트보드
+     * @return 고스트 블록의 Y 위치
+     */
+    public static int calculateGhostY(Block block, int blockX, int blockY, BitBoard board) {
+        return board.dropY(block.getRowMasks(), blockX, blockY);
+    }
+
+    /**
+     * 표면 지표에서 고스트 블록의 하드 드롭 위치를 가져옵니다. (할당 없음)
+     * 열 마스크에서 블록 각 칸 아래의 첫 번째 찬 칸을 바로 찾으므로 줄 단위로 내려보지 않습니다.
+     */
+    public static int calculateGhostY(Block block, int blockX, int blockY, SurfaceMetrics surface) {
+        return surface.ghostY(block.getRowMasks(), blockX, blockY);
     }
 
     /**
@@ -0,0 +1,150 @@
+package se.tetris.team3.ui.render;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.ui.screen.GameScreen;
+
+/**
+ * 싱글 게임 HUD 렌더링 (점수/레벨/난이도/다음 블록/아이템 남은 시간).
+ * GameManager의 상태를 읽기만 한다.
+ */
+public class HudRenderer {
+
+    // HUD: 점수/레벨/난이도/다음블록(줄삭제는 L 문자 표기, 무게추는 전용 모양으로 구분)
+    public static void render(Graphics2D g2, GameManager manager, int padding, int blockSize, int totalWidth) {
+        g2.setColor(Color.WHITE);
+
+        int fieldW = blockSize * 10;           // 보드 폭
+        int hudX = padding + fieldW + 16;      // HUD 시작 X 좌표
+        int hudWidth = Math.max(120, totalWidth - hudX - padding); // HUD 영역 너비
+
+        // 폰트 크기를 화면 크기에 맞춰 동적 조절 (더 크게)
+        // 기본: blockSize / 2, 최소 16, 최대 28
+        int baseFontSize = Math.max(16, Math.min(28, Math.max(14, blockSize / 2)));
+        g2.setFont(new Font("맑은 고딕", Font.BOLD, baseFontSize));
+
+        // 행간도 폰트 크기에 맞춰 조절 (기본의 1.5배)
+        int lineSpacing = (int)(baseFontSize * 1.5);
+        int scoreY = padding + lineSpacing;
+
+        // 점수 표시 (말줄임 처리)
+        drawStringEllipsis(g2, "SCORE: " + manager.getScore(), hudX, scoreY, hudWidth - 8);
+
+        // 레벨 표시
+        drawStringEllipsis(g2, "LEVEL: " + manager.getLevel(), hudX, scoreY + lineSpacing, hudWidth - 8);
+
+        // 난이도 표시 (단문: E/N/H)
+        String diffLabel;
+        Settings.Difficulty difficulty = manager.getDifficulty();
+        switch (difficulty != null ? difficulty : Settings.Difficulty.NORMAL) {
+            case EASY:
+                diffLabel = "E";
+                break;
+            case HARD:
+                diffLabel = "H";
+                break;
+            default:
+                diffLabel = "N";
+                break;
+        }
+        drawStringEllipsis(g2, "DIFFICULTY: " + diffLabel, hudX, scoreY + lineSpacing * 2, hudWidth - 8);
+
+        // 다음 블록 표시
+        Block nextBlock = manager.getNextBlock();
+        if (nextBlock != null) {
+            int[][] shape = nextBlock.getShape();
+            Color color = BlockPalette.color(nextBlock.getPaletteIndex());
+
+            // NEXT 라벨은 iOnlyMode 상태와 관계없이 항상 같은 위치에 표시
+            drawStringEllipsis(g2, "NEXT:", hudX, scoreY + lineSpacing * 4, hudWidth - 8);
+
+            Settings settings = manager.getSettings();
+            final boolean cb = (settings != null && settings.isColorBlindMode());
+
+            // 다음 블록을 그릴 가로 영역을 hudWidth로 제한
+            int cell = Math.max(14, Math.min(blockSize, (hudWidth - 8) / 4)); // 최대 4열 보이도록 조정, 크기 증가
+            char itemType = nextBlock.getItemType();
+            int ir = nextBlock.getItemRow(), ic = nextBlock.getItemCol();
+
+            // 다음 블록 그리기
+            int nextBlockStartY = scoreY + lineSpacing * 4 + 20;
+            for (int r = 0; r < shape.length; r++) {
+                for (int c = 0; c < shape[r].length; c++) {
+                    if (shape[r][c] != 0) {
+                        int x = hudX + c * cell;
+                        int y = nextBlockStartY + r * cell;
+                        PatternPainter.drawCell(g2, x, y, cell - 1, color, nextBlock, cb);
+                        // L 아이템은 문자 표시
+                        if (itemType != 0 && r == ir && c == ic) {
+                            GameScreen.drawCenteredChar(g2, x, y, cell, itemType);
+                        }
+                    }
+                }
+            }
+
+        }
+
+        // 느린 모드 표시 남은 시간 표시
+        boolean slow = manager.isSlowModeActive();
+        if (slow) {
+            g2.setColor(Color.RED);
+            int remaining = manager.getSlowModeRemainingTime();
+            drawStringEllipsis(g2, "SLOW: " + remaining + "s", hudX, scoreY + 200, hudWidth - 8);
+        }
+
+        // I-only 모드 남은 시간 표시
+        boolean iOnly = manager.isIOnlyModeActive();
+        if (iOnly) {
+            long rem = manager.getIOnlyModeRemainingMillis();
+            String remS = String.format("I-MODE: %ds", (rem + 999) / 1000);
+            int yPos = slow ? scoreY + 230 : scoreY + 200; // SLOW MODE 있으면 그 아래, 없으면 같은 위치
+            g2.setColor(Color.GREEN);
+            drawStringEllipsis(g2, remS, hudX, yPos, hudWidth - 8);
+        }
+
+        // 점수 2배 모드 표시 남은 시간 표시 (위치 스택: SLOW → I-MODE → 2x)
+        int remain = manager.getDoubleScoreRemainingSeconds();
+        if (remain > 0) {
+            // 기본 기준 위치는 SLOW와 동일
+            int yPos = scoreY + 200;
+            // SLOW가 보이면 그 아래
+            if (slow) yPos += 30;
+            // I-MODE가 보이면 그 아래
+            if (iOnly) yPos += 30;
+
+            g2.setColor(Color.BLUE);
+            String text = "2x SCORE: " + remain + "s";
+            drawStringEllipsis(g2, text, hudX, yPos, hudWidth - 8);
+        }
+
+    }
+
+    // 문자열을 주어진 최대 너비에 맞춰 그리고, 넘치면 말줄임표(...)로 대체
+    private static void drawStringEllipsis(Graphics2D g2, String text, int x, int y, int maxWidth) {
+        if (text == null) return;
+        FontMetrics fm = g2.getFontMetrics();
+        if (fm.stringWidth(text) <= maxWidth) {
+            g2.drawString(text, x, y);
+            return;
+        }
+
+        String ell = "...";
+        int ellWidth = fm.stringWidth(ell);
+        int avail = Math.max(0, maxWidth - ellWidth);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            sb.append(text.charAt(i));
+            if (fm.stringWidth(sb.toString()) > avail) {
+                sb.setLength(Math.max(0, sb.length() - 1));
+                break;
+            }
+        }
+        g2.drawString(sb.toString() + ell, x, y);
+    }
+}
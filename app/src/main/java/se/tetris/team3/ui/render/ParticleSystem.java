@@ -0,0 +1,134 @@
+package se.tetris.team3.ui.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+import se.tetris.team3.gameManager.BlockBreakListener;
+
+/**
+ * 블록 파괴 파티클 효과.
+ * GameManager의 블록 파괴 이벤트를 받아 파티클을 만들고, 화면 타이머에서 update/render 한다.
+ */
+public class ParticleSystem implements BlockBreakListener {
+
+    // 블록 제거 시 발생하는 파티클 (스레드 안전하게 동기화)
+    private final java.util.List<Particle> particles = java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+
+    private static class Particle {
+        // 어떤 칸(gridX, gridY)에서 튀어나오는지 (보드 그리드 좌표)
+        float gridX, gridY;
+
+        // 그 칸 중심 기준의 픽셀 오프셋
+        float offsetX, offsetY;
+
+        float vx, vy;         // 속도(오프셋에 적용)
+        Color color;
+        int life;
+        int maxLife;
+
+        public Particle(float gridX, float gridY, Color color,
+                        float vx, float vy,
+                        float offsetX, float offsetY) {
+            this.gridX = gridX;
+            this.gridY = gridY;
+            this.color = color;
+            this.vx = vx;
+            this.vy = vy;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.maxLife = 30 + (int)(Math.random() * 20);
+            this.life = maxLife;
+        }
+
+        public void update() {
+            // 오프셋에만 속도 적용 (그리드 위치는 고정)
+            offsetX += vx;
+            offsetY += vy;
+            vy += 0.2f;
+            vx *= 0.98f;
+            life--;
+        }
+
+        public boolean isDead() { return life <= 0; }
+
+        public void render(Graphics2D g2, int originX, int originY, int blockSize) {
+            if (isDead()) return;
+
+            float alpha = (float) life / maxLife;
+            Color fadeColor = new Color(
+                    color.getRed(),
+                    color.getGreen(),
+                    color.getBlue(),
+                    (int) (255 * alpha)
+            );
+            g2.setColor(fadeColor);
+
+            int size = Math.max(1, (int) (4 * alpha));
+
+            // 실제 화면 좌표: 보드 기준 + 그리드 * blockSize + center + offset
+            float px = originX + gridX * blockSize + (blockSize / 2.0f) + offsetX;
+            float py = originY + gridY * blockSize + (blockSize / 2.0f) + offsetY;
+
+            g2.fillOval((int) px, (int) py, size, size);
+        }
+    }
+
+    @Override
+    public void onBlockBreak(int gridX, int gridY) {
+        addBreakEffect(gridX, gridY);
+    }
+
+    public void update() {
+        // 파티클 업데이트 및 죽은 파티클 제거 (동기화 블록 사용)
+        synchronized (particles) {
+            particles.removeIf(particle -> {
+                particle.update();
+                return particle.isDead();
+            });
+        }
+    }
+
+    public void render(Graphics2D g2, int originX, int originY, int blockSize) {
+        synchronized (particles) {
+            for (Particle particle : particles) {
+                particle.render(g2, originX, originY, blockSize);
+            }
+        }
+    }
+
+    public int size() {
+        return particles.size();
+    }
+
+    public void clear() {
+        particles.clear();
+    }
+
+    // 블록 파괴 효과 생성
+    private void addBreakEffect(int gridX, int gridY) {
+        Color blockColor = Color.LIGHT_GRAY;
+
+        int particleCount = 8 + (int)(Math.random() * 5);
+
+        for (int i = 0; i < particleCount; i++) {
+            float angle = (float) (Math.random() * 2 * Math.PI);
+            float speed = 2 + (float) (Math.random() * 4);
+
+            float vx = (float) (Math.cos(angle) * speed);
+            float vy = (float) (Math.sin(angle) * speed) - 1;
+
+            float offsetX = -8 + (float) (Math.random() * 16);
+            float offsetY = -8 + (float) (Math.random() * 16);
+
+            particles.add(new Particle(
+                    gridX,
+                    gridY,
+                    blockColor,
+                    vx,
+                    vy,
+                    offsetX,
+                    offsetY
+            ));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package se.tetris.team3.ui.render;
+
+/**
+ * 상대 현재 블록 위치 예측/보간.
+ * STATE는 STATE_SEND_INTERVAL(약 100ms)마다 오므로 그대로 그리면 블록이 띄엄띄엄 움직인다.
+ * - 마지막 STATE 이후에는 상대 레벨의 낙하 간격으로 한 칸씩 내려간다고 예측 (바닥/쌓인 블록 아래로는 안 내려감)
+ * - 화면에 그리는 위치는 예측 위치를 향해 시간 기반으로 부드럽게 따라감 (렌더 프레임마다 호출)
+ * - 새 블록이 나왔거나 오차가 크면 바로 맞춤
+ * EDT에서만 사용 (STATE 반영과 렌더 모두 EDT)
+ */
+public class RemotePiecePredictor {
+
+    // 마지막 STATE 이후 이 시간까지만 낙하를 예측 (STATE가 끊기면 더 내려가지 않음)
+    public static final long MAX_EXTRAPOLATION_MILLIS = 1000;
+    // 화면 위치가 예측 위치를 따라가는 시간 상수 (ms)
+    private static final double SMOOTHING_MILLIS = 35.0;
+    // 이보다 크게 어긋나면 보간하지 않고 바로 이동 (칸)
+    private static final double SNAP_DISTANCE = 3.0;
+
+    private int[][] shape;
+    private int stateX, stateY;
+    private long stateAt;
+    private int fallDelayMillis = 1000;
+
+    private boolean hasPiece = false;
+    private double shownX, shownY;
+    private long shownAt;
+
+    /** 상대 STATE 반영: 현재 블록 모양/위치와 상대 레벨의 낙하 간격 */
+    public void onState(int[][] shape, int x, int y, int fallDelayMillis, long nowMillis) {
+        if (shape == null) {
+            reset();
+            return;
+        }
+        // 위로 올라갔으면 새 블록 (회전/이동으로는 위로 가지 않음)
+        boolean newPiece = !hasPiece || y < stateY;
+        this.shape = shape;
+        this.stateX = x;
+        this.stateY = y;
+        this.stateAt = nowMillis;
+        this.fallDelayMillis = Math.max(1, fallDelayMillis);
+        if (newPiece) {
+            shownX = x;
+            shownY = y;
+            shownAt = nowMillis;
+            hasPiece = true;
+        }
+    }
+
+    public void reset() {
+        hasPiece = false;
+        shape = null;
+    }
+
+    public boolean hasPiece() { return hasPiece; }
+
+    /**
+     * 지금 시점의 예측 행: 마지막 STATE 행 + 그 뒤 지난 낙하 간격 수, 착지 행을 넘지 않음
+     * @param field 상대 보드 (null이면 바닥만 고려)
+     */
+    public int predictRow(long nowMillis, int[][] field) {
+        if (!hasPiece) return stateY;
+        long elapsed = Math.min(MAX_EXTRAPOLATION_MILLIS, Math.max(0, nowMillis - stateAt));
+        int steps = (int) (elapsed / fallDelayMillis);
+        int y = stateY;
+        while (steps-- > 0 && fits(field, shape, stateX, y + 1)) y++;
+        return y;
+    }
+
+    /** 렌더 프레임마다 호출: 화면 위치를 예측 위치 쪽으로 이동 */
+    public void update(long nowMillis, int[][] field) {
+        if (!hasPiece) return;
+        double targetX = stateX;
+        double targetY = predictRow(nowMillis, field);
+        if (Math.abs(targetX - shownX) + Math.abs(targetY - shownY) > SNAP_DISTANCE) {
+            shownX = targetX;
+            shownY = targetY;
+        } else {
+            double dt = Math.max(0, nowMillis - shownAt);
+            double a = 1.0 - Math.exp(-dt / SMOOTHING_MILLIS);
+            shownX += (targetX - shownX) * a;
+            shownY += (targetY - shownY) * a;
+        }
+        shownAt = nowMillis;
+    }
+
+    /** 화면에 그릴 위치 (칸 단위, 소수) */
+    public double getShownX() { return shownX; }
+    public double getShownY() { return shownY; }
+
+    // shape를 (x, y)에 놓을 수 있는지 (보드 밖 위쪽은 허용)
+    private static boolean fits(int[][] field, int[][] shape, int x, int y) {
+        int rows = field != null ? field.length : 20;
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                if (shape[r][c] == 0) continue;
+                int gy = y + r;
+                int gx = x + c;
+                if (gy >= rows) return false;
+                if (gy < 0 || field == null) continue;
+                if (gx < 0 || gx >= field[gy].length) return false;
+                if (field[gy][gx] != 0) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -24,6 +24,7 @@ public class BattleModeSelectScreen implements Screen {
     
     private int selectedMode = 0;  // 0: 일반, 1: 아이템, 2: 시간제한
     private int timeLimit = 3;     // 시간제한 모드의 제한 시간 (분)
+    private boolean vsComputer = false; // Player 2를 컴퓨터로
     
     // 마우스 상호작용을 위한 좌표
     private int modeStartY = 220;
@@ -68,6 +69,12 @@ public class BattleModeSelectScreen implements Screen {
             }
         }
         
+        // 상대 전환 (C): 사람 ↔ 컴퓨터
+        else if (key == KeyEvent.VK_C) {
+            vsComputer = !vsComputer;
+            frame.repaint();
+        }
+        
         // 게임 시작 (Enter)
         else if (key == KeyEvent.VK_ENTER || key == KeyEvent.VK_SPACE) {
             startBattle();
@@ -101,7 +108,7 @@ public class BattleModeSelectScreen implements Screen {
                 mode = GameMode.BATTLE_NORMAL;
         }
         
-        BattleScreen battleScreen = new BattleScreen(frame, mode, settings, timeLimitSeconds);
+        BattleScreen battleScreen = new BattleScreen(frame, mode, settings, timeLimitSeconds, vsComputer);
         frame.showScreen(battleScreen);
     }
     
@@ -216,6 +223,13 @@ public class BattleModeSelectScreen implements Screen {
             }
         }
         
+        // 상대 (사람/컴퓨터)
+        g2.setColor(vsComputer ? Color.ORANGE : Color.LIGHT_GRAY);
+        g2.setFont(new Font("맑은 고딕", Font.BOLD, 20));
+        String opponentText = "Player 2: " + (vsComputer ? "CPU" : "Human");
+        int opponentWidth = g2.getFontMetrics().stringWidth(opponentText);
+        g2.drawString(opponentText, centerX - opponentWidth / 2, height - 185);
+        
         // 하단 조작 안내
         g2.setColor(Color.GRAY);
         g2.setFont(new Font("맑은 고딕", Font.PLAIN, 16));
@@ -223,6 +237,7 @@ public class BattleModeSelectScreen implements Screen {
         String[] instructions = {
             "↑/↓ or W/S: Select Mode",
             "←/→ or A/D: Adjust Time (Time Attack Only)",
+            "C: Toggle Human / CPU Opponent",
             "ENTER or SPACE: Start Battle",
             "ESC: Back to Menu"
         };
@@ -6,20 +6,22 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.event.KeyEvent;
 
-import javax.swing.Timer;
-
+import se.tetris.team3.ai.BotPlayer;
 import se.tetris.team3.blocks.Block;
 import se.tetris.team3.core.GameMode;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameLoop;
 import se.tetris.team3.gameManager.BattleGameManager;
 import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.ui.render.ParticleSystem;
 import se.tetris.team3.ui.AppFrame;
+import se.tetris.team3.ui.render.BlockPalette;
 
 /**
  * 2인 대전 모드 화면
  * - 좌우에 각각 플레이어 보드 표시
  * - Player1(왼쪽): WASD (이동/회전/낙하)
- * - Player2(오른쪽): 화살표 (이동/회전/낙하)
+ * - Player2(오른쪽): 화살표 (이동/회전/낙하), 컴퓨터 대전이면 BotPlayer가 조작
  * - P: 일시정지, ESC: 메뉴로, ENTER: 재시작
  */
 public class BattleScreen implements Screen {
@@ -37,14 +39,14 @@ public class BattleScreen implements Screen {
     private int centerGap;
     private int topMargin;
 
-    // 타이머 (게임 루프 + 낙하)
-    private Timer gameTimer;
-    private Timer dropTimer;
+    // 게임 루프 (두 플레이어의 로직/낙하를 한 스레드에서 처리)
+    private final GameLoop loop;
 
-    private long player1LastDrop;
-    private long player2LastDrop;
+    // 플레이어별 블록 파괴 파티클
+    private final ParticleSystem player1Particles = new ParticleSystem();
+    private final ParticleSystem player2Particles = new ParticleSystem();
 
-    private boolean paused = false;
+    private volatile boolean paused = false;
 
     /**
      * BattleScreen 생성자
@@ -54,52 +56,44 @@ public class BattleScreen implements Screen {
      * @param timeLimitSeconds 시간제한 모드일 경우 제한 시간(초), 아니면 0
      */
     public BattleScreen(AppFrame frame, GameMode mode, Settings settings, int timeLimitSeconds) {
+        this(frame, mode, settings, timeLimitSeconds, false);
+    }
+
+    /**
+     * @param player2Bot true면 Player 2를 컴퓨터가 조작 (혼자 대전 연습)
+     */
+    public BattleScreen(AppFrame frame, GameMode mode, Settings settings, int timeLimitSeconds, boolean player2Bot) {
         this.frame = frame;
         this.settings = settings;
         this.battleManager = new BattleGameManager(mode, settings, timeLimitSeconds);
+        battleManager.getPlayer1Manager().setBlockBreakListener(player1Particles);
+        battleManager.getPlayer2Manager().setBlockBreakListener(player2Particles);
+        if (player2Bot) {
+            battleManager.setPlayer2Bot(new BotPlayer(battleManager.getPlayer2Manager()));
+        }
 
-        player1LastDrop = System.currentTimeMillis();
-        player2LastDrop = System.currentTimeMillis();
+        this.loop = new GameLoop("battle-loop", this::stepGame, frame::repaint);
     }
 
     @Override
     public void onShow() {
-        // 게임 로직 업데이트(60fps 정도)
-        gameTimer = new Timer(16, evt -> {
-            if (!paused) {
-                battleManager.update();
-                frame.repaint();
-            }
-        });
-        gameTimer.start();
-
-        // 낙하 타이머 (각 플레이어 별도로 속도 계산)
-        dropTimer = new Timer(50, evt -> {
-            if (!paused && !battleManager.isGameOver()) {
-                long now = System.currentTimeMillis();
-
-                GameManager p1 = battleManager.getPlayer1Manager();
-                GameManager p2 = battleManager.getPlayer2Manager();
-
-                // Player1 낙하
-                if (now - player1LastDrop >= p1.getGameTimerDelay()) {
-                    p1.stepDownOrFix();
-                    player1LastDrop = now;
-                }
-                // Player2 낙하
-                if (now - player2LastDrop >= p2.getGameTimerDelay()) {
-                    p2.stepDownOrFix();
-                    player2LastDrop = now;
-                }
-            }
-        });
-        dropTimer.start();
+        // 낙하는 각 GameManager.tick()이 플레이어별 속도로 처리
+        battleManager.getPlayer1Manager().setGravityEnabled(true);
+        battleManager.getPlayer2Manager().setGravityEnabled(true);
+        loop.setPaused(paused);
+        loop.start();
     }
 
     @Override
     public void onHide() {
-        if (gameTimer != null) gameTimer.stop();
-        if (dropTimer != null) dropTimer.stop();
+        loop.stop();
+    }
+
+    // 고정 간격 로직 한 step (루프 스레드)
+    private void stepGame() {
+        battleManager.update();
+        player1Particles.update();
+        player2Particles.update();
     }
 
     @Override
@@ -109,9 +103,11 @@ public class BattleScreen implements Screen {
         // 게임 오버 상태일 때: ENTER 재시작 / ESC 메뉴
         if (battleManager.isGameOver()) {
             if (key == KeyEvent.VK_ENTER) {
-                battleManager.restart();
-                player1LastDrop = System.currentTimeMillis();
-                player2LastDrop = System.currentTimeMillis();
+                loop.submit(() -> {
+                    battleManager.restart();
+                    battleManager.getPlayer1Manager().resetFallTimer();
+                    battleManager.getPlayer2Manager().resetFallTimer();
+                });
             } else if (key == KeyEvent.VK_ESCAPE) {
                 frame.showScreen(new MenuScreen(frame));
             }
@@ -121,10 +117,21 @@ public class BattleScreen implements Screen {
         // 일시정지 토글
         if (key == KeyEvent.VK_P) {
             paused = !paused;
+            loop.setPaused(paused);
             return;
         }
         if (paused) return;
 
+        if (key == KeyEvent.VK_ESCAPE) {
+            frame.showScreen(new MenuScreen(frame));
+            return;
+        }
+
+        // 블록 조작은 루프 스레드에서 실행
+        loop.submit(() -> applyKey(key));
+    }
+
+    private void applyKey(int key) {
         GameManager p1 = battleManager.getPlayer1Manager();
         GameManager p2 = battleManager.getPlayer2Manager();
 
@@ -138,16 +145,24 @@ public class BattleScreen implements Screen {
                 break;
             case KeyEvent.VK_S: // soft drop
                 p1.stepDownOrFix();
-                player1LastDrop = System.currentTimeMillis();
+                p1.resetFallTimer();
                 break;
             case KeyEvent.VK_W: // rotate
                 p1.rotateBlock();
                 break;
             case KeyEvent.VK_SPACE: // hard drop
                 p1.hardDrop();
-                player1LastDrop = System.currentTimeMillis();
+                p1.resetFallTimer();
                 break;
 
+            default:
+                break;
+        }
+
+        // 컴퓨터 대전이면 Player2 키는 무시
+        if (battleManager.isPlayer2Bot()) return;
+
+        switch (key) {
             // Player2: 방향키 + ENTER
             case KeyEvent.VK_LEFT:
                 p2.tryMove(p2.getBlockX() - 1, p2.getBlockY());
@@ -157,25 +172,27 @@ public class BattleScreen implements Screen {
                 break;
             case KeyEvent.VK_DOWN:
                 p2.stepDownOrFix();
-                player2LastDrop = System.currentTimeMillis();
+                p2.resetFallTimer();
                 break;
             case KeyEvent.VK_UP:
                 p2.rotateBlock();
                 break;
             case KeyEvent.VK_ENTER:
                 p2.hardDrop();
-                player2LastDrop = System.currentTimeMillis();
-                break;
-
-            // ESC: 메뉴
-            case KeyEvent.VK_ESCAPE:
-                frame.showScreen(new MenuScreen(frame));
+                p2.resetFallTimer();
                 break;
         }
     }
 
     @Override
     public void render(Graphics2D g2) {
+        // step 도중의 보드/큐를 읽지 않도록 루프와 같은 락을 잡고 그림
+        synchronized (loop.stateLock()) {
+            drawScreen(g2);
+        }
+    }
+
+    private void drawScreen(Graphics2D g2) {
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         int width = frame.getWidth();
@@ -199,7 +216,8 @@ public class BattleScreen implements Screen {
         drawPlayerBoard(g2, leftBoardX, boardY, battleManager.getPlayer1Manager(), "Player 1", 1);
 
         // 오른쪽 플레이어
-        drawPlayerBoard(g2, rightBoardX, boardY, battleManager.getPlayer2Manager(), "Player 2", 2);
+        drawPlayerBoard(g2, rightBoardX, boardY, battleManager.getPlayer2Manager(),
+            battleManager.isPlayer2Bot() ? "CPU" : "Player 2", 2);
 
         // 중앙 시간/승자/일시정지 표시
         drawCenterInfo(g2, width, height);
@@ -278,7 +296,7 @@ public class BattleScreen implements Screen {
                         g2.fillRect(cellX, cellY, blockSizeW - 1, blockSizeH - 1);
                     } else {
                         // 직접 쌓은 블록: 원래 색
-                        Color color = manager.getBlockColor(row, col);
+                        Color color = BlockPalette.color(manager.getCellPalette(row, col));
                         if (color == null) color = Color.DARK_GRAY;
                         g2.setColor(color);
                         g2.fillRect(cellX, cellY, blockSizeW - 1, blockSizeH - 1);
@@ -297,30 +315,12 @@ public class BattleScreen implements Screen {
         if (!manager.isGameOver() && manager.getCurrentBlock() != null) {
             Block cur = manager.getCurrentBlock();
             int[][] shape = cur.getShape();
-            Color base = cur.getColor();
+            Color base = BlockPalette.color(cur.getPaletteIndex());
             int bx = manager.getBlockX();
             int by = manager.getBlockY();
 
-            // 1. 하드 드롭 위치 계산
-            int ghostY = by;
-            while (true) {
-                boolean canMove = true;
-                for (int r = 0; r < shape.length; r++) {
-                    for (int c = 0; c < shape[r].length; c++) {
-                        if (shape[r][c] != 0) {
-                            int testY = ghostY + r + 1;
-                            int testX = bx + c;
-                            if (testY >= 20 || manager.getFieldValue(testY, testX) != 0) {
-                                canMove = false;
-                                break;
-                            }
-                        }
-                    }
-                    if (!canMove) break;
-                }
-                if (!canMove) break;
-                ghostY++;
-            }
+            // 1. 하드 드롭 위치 계산 (비트보드)
+            int ghostY = manager.getGhostY();
 
             // 2. 고스트 블록(연한 색) 먼저 그림
             Color ghostColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), 80); // 투명도 적용
@@ -367,7 +367,8 @@ public class BattleScreen implements Screen {
             }
         }
 
-        manager.renderParticles(g2, x, y, blockSize);
+        ParticleSystem particles = (playerNum == 1) ? player1Particles : player2Particles;
+        particles.render(g2, x, y, blockSize);
 
         // NEXT + GARBAGE 박스 배치
         int nextX = x + boardWidth + 10;
@@ -431,7 +432,7 @@ public class BattleScreen implements Screen {
         g2.drawRect(nextX, nextY, previewSize, previewSize);
 
         int[][] shape = manager.getNextBlock().getShape();
-        Color color = manager.getNextBlock().getColor();
+        Color color = BlockPalette.color(manager.getNextBlock().getPaletteIndex());
 
         int nextBlockSize = (int) (blockSize * 0.75);
         int shapeWidth = shape[0].length;
@@ -2,32 +2,35 @@ package se.tetris.team3.ui.screen;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import javax.swing.Timer;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.Map;
 
 import se.tetris.team3.blocks.Block;
 import se.tetris.team3.core.GameMode;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameLoop;
 import se.tetris.team3.gameManager.GameManager;
 import se.tetris.team3.gameManager.ScoreManager;
 import se.tetris.team3.ui.AppFrame;
+import se.tetris.team3.ui.render.HudRenderer;
+import se.tetris.team3.ui.render.ParticleSystem;
 import se.tetris.team3.ui.render.PatternPainter;
+import se.tetris.team3.ui.render.BlockPalette;
 
-// 키 입력/타이머/렌더링, 일시정지, 게임오버 처리
+// 키 입력/게임 루프/렌더링, 일시정지, 게임오버 처리
 public class GameScreen implements Screen {
 
     private final AppFrame app;
     private final Settings settings;
     private final GameManager manager;
-    private Timer timer;
+    private final ParticleSystem particles = new ParticleSystem();
+    // 게임 로직은 전부 이 루프 스레드에서 실행 (키 입력은 명령으로 넘김)
+    private final GameLoop loop;
 
     private static final int REGION_COLS = 10;
     private static final int REGION_ROWS = 20;
 
     private Block lastBlockRef = null;
-    private boolean isPaused = false;
+    private volatile boolean isPaused = false;
 
     public GameScreen(AppFrame app) { this(app, new GameManager()); }
 
@@ -36,46 +39,30 @@ public class GameScreen implements Screen {
         this.manager = manager;
         this.settings = app.getSettings();
         this.manager.attachSettings(app.getSettings());
+        this.manager.setBlockBreakListener(particles);
+        this.loop = new GameLoop("game-loop", this::stepGame, app::repaint);
     }
 
     @Override public void onShow() {
-    // 게임 로직 타이머
-    timer = new Timer(1000, new ActionListener() {
-        @Override public void actionPerformed(ActionEvent e) {
-            if (!manager.isGameOver() && !isPaused) {
-                manager.stepDownOrFix();
-                updateTimerDelay();
-            } else {
-                if (timer != null) timer.stop();
-            }
-        }
-    });
-    
-    // 렌더링 전용 타이머
-    Timer renderTimer = new Timer(16, new ActionListener() { // 16ms = 60FPS
-        @Override public void actionPerformed(ActionEvent e) {
-            if (!isPaused) {
-                manager.updateParticles();
-                manager.updateSlowMode(); // 느린 모드 상태 업데이트
-                manager.autoCheckLines(); // 자동 라인 체크 (연쇄 제거)
-                app.repaint();
-            }
-        }
-    });
-    
-    timer.start();
-    renderTimer.start();
-}
-
+        manager.setGravityEnabled(true); // 자동 낙하는 GameManager.tick()이 느린 모드 반영 간격으로 처리
+        loop.setPaused(isPaused);
+        loop.submit(this::alignSpawnIfNewBlock); // 첫 블록 (화면은 읽기만 함)
+        loop.start();
+    }
 
-    @Override public void onHide() { if (timer != null) timer.stop(); }
+    @Override public void onHide() { loop.stop(); }
 
-    private void updateTimerDelay() {
-        // GameManager에서 느린 모드를 반영한 딜레이 사용
-        int delay = manager.getGameTimerDelay();
-        timer.setDelay(delay);
+    // 고정 간격 로직 한 step (루프 스레드)
+    private void stepGame() {
+        particles.update();
+        manager.tick();           // 자동 낙하, 플래시 후 줄 삭제, 무게추 낙하, 느린 모드 상태 업데이트
+        manager.autoCheckLines(); // 자동 라인 체크 (연쇄 제거)
+        alignSpawnIfNewBlock();   // 이번 step에 새로 나온 블록 위치 맞춤
     }
 
+    // 벽 킥 시도 순서
+    private static final int[] WALL_KICKS = {-1, 1, -2, 2};
+
     private boolean fitsRegion(int gx, int gy, int[][] shape) {
         if (shape == null) return false;
         for (int r = 0; r < shape.length; r++) {
@@ -97,6 +84,7 @@ public class GameScreen implements Screen {
         return shape.length - 1;
     }
 
+    // 새 블록이 나오면 보드 맨 위에 붙여 둠 (루프 스레드에서만 호출)
     private void alignSpawnIfNewBlock() {
         Block cur = manager.getCurrentBlock();
         if (cur == null || cur == lastBlockRef) return;
@@ -328,6 +316,13 @@ public class GameScreen implements Screen {
 
     @Override
     public void render(Graphics2D g2) {
+        // step 도중의 보드/큐를 읽지 않도록 루프와 같은 락을 잡고 그림
+        synchronized (loop.stateLock()) {
+            drawScreen(g2);
+        }
+    }
+
+    private void drawScreen(Graphics2D g2) {
         int blockSize = settings.resolveBlockSize();
         int blockSizeH = (int)(blockSize * 1.15); // 세로 길이 15% 증가
         int padding = 18;
@@ -371,8 +366,6 @@ public class GameScreen implements Screen {
             g2.setStroke(new BasicStroke(1));
         }
 
-        alignSpawnIfNewBlock();
-
         // 고정 블록
         for (int r = 0; r < REGION_ROWS; r++) {
             for (int c = 0; c < REGION_COLS; c++) {
@@ -387,7 +380,7 @@ public class GameScreen implements Screen {
                         g2.setColor(Color.LIGHT_GRAY);
                         g2.drawRect(x, y, blockSize - 1, blockSizeH - 1);
                     } else {
-                        Color blockColor = manager.getBlockColor(r, c);
+                        Color blockColor = BlockPalette.color(manager.getCellPalette(r, c));
                         if (blockColor == null) blockColor = Color.GRAY;
                         PatternPainter.drawCellRect(g2, x, y, blockSize, blockSizeH, blockColor, null, settings.isColorBlindMode());
                         
@@ -406,29 +399,11 @@ public class GameScreen implements Screen {
             Block cur = manager.getCurrentBlock();
             if (cur != null) {
                 int[][] shape = cur.getShape();
-                Color base = cur.getColor();
+                Color base = BlockPalette.color(cur.getPaletteIndex());
                 int bx = manager.getBlockX(), by = manager.getBlockY();
 
-                // 1. 하드 드롭 위치 계산
-                int ghostY = by;
-                while (true) {
-                    boolean canMove = true;
-                    for (int r = 0; r < shape.length; r++) {
-                        for (int c = 0; c < shape[r].length; c++) {
-                            if (shape[r][c] != 0) {
-                                int testY = ghostY + r + 1;
-                                int testX = bx + c;
-                                if (testY >= REGION_ROWS || manager.getFieldValue(testY, testX) != 0) {
-                                    canMove = false;
-                                    break;
-                                }
-                            }
-                        }
-                        if (!canMove) break;
-                    }
-                    if (!canMove) break;
-                    ghostY++;
-                }
+                // 1. 하드 드롭 위치 계산 (비트보드)
+                int ghostY = manager.getGhostY();
 
                 // 2. 고스트 블록(연한 색) 먼저 그림
                 Color ghostColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), 80); // 투명도 적용
@@ -470,8 +445,8 @@ public class GameScreen implements Screen {
                 }
             }
             int width = app.getWidth();
-            manager.renderHUD(g2, padding, blockSize, width);
-            manager.renderParticles(g2, padding, padding, blockSize);
+            HudRenderer.render(g2, manager, padding, blockSize, width);
+            particles.render(g2, padding, padding, blockSize);
             
             // 하단에 다음 순위까지 남은 점수 표시
             drawNextRankInfo(g2);
@@ -503,8 +478,6 @@ public class GameScreen implements Screen {
     @Override
     public void onKeyPressed(KeyEvent e) {
         int code = e.getKeyCode();
-        Block cur = manager.getCurrentBlock();
-        int[][] shape = (cur != null ? cur.getShape() : null);
 
         if (manager.isGameOver()) {
             ScoreManager sm = new ScoreManager();
@@ -525,14 +498,15 @@ public class GameScreen implements Screen {
 
         if (code == km.get(se.tetris.team3.core.Settings.Action.PAUSE)) {
             isPaused = !isPaused;
-            if (!isPaused) {
-                if (manager.isGameOver()) { if (timer != null) timer.stop(); }
-                else {
+            loop.setPaused(isPaused);
+            if (!isPaused && !manager.isGameOver()) {
+                // 재개 직후 한 칸 내리고 낙하 간격을 새로 셈
+                loop.submit(() -> {
                     manager.stepDownOrFix();
-                    updateTimerDelay();
-                    if (timer != null && !timer.isRunning()) timer.start();
-                }
-            } else { if (timer != null) timer.stop(); }
+                    manager.resetFallTimer();
+                    alignSpawnIfNewBlock();
+                });
+            }
             app.repaint(); return;
         }
         
@@ -544,22 +518,35 @@ public class GameScreen implements Screen {
         
         if (isPaused) return;
 
+        if (code == km.get(se.tetris.team3.core.Settings.Action.EXIT)) {
+            app.showScreen(new MenuScreen(app));
+            return;
+        }
+
+        // 블록 조작은 루프 스레드에서 실행
+        loop.submit(() -> {
+            applyAction(code, km);
+            alignSpawnIfNewBlock(); // 하드 드롭 등으로 새 블록이 나왔으면 바로 맞춤
+        });
+        app.repaint();
+    }
+
+    private void applyAction(int code, Map<Settings.Action, Integer> km) {
+        Block cur = manager.getCurrentBlock();
+        int[][] shape = (cur != null ? cur.getShape() : null);
+
         if (code == km.get(se.tetris.team3.core.Settings.Action.MOVE_LEFT)) {
             if (shape != null) manager.tryMove(manager.getBlockX() - 1, manager.getBlockY());
         } else if (code == km.get(se.tetris.team3.core.Settings.Action.MOVE_RIGHT)) {
             if (shape != null) manager.tryMove(manager.getBlockX() + 1, manager.getBlockY());
         } else if (code == km.get(se.tetris.team3.core.Settings.Action.ROTATE)) {
             if (shape != null) {
-                int sh = shape.length, sw = shape[0].length;
-                int[][] rotated = new int[sw][sh];
-                for (int r = 0; r < sh; r++)
-                    for (int c = 0; c < sw; c++)
-                        rotated[c][sh - 1 - r] = shape[r][c];
+                // 회전 후 모양은 공유 회전 테이블에서 조회 (할당 없음)
+                int[][] rotated = cur.getRotatedShape();
                 int bx = manager.getBlockX(), by = manager.getBlockY();
                 if (fitsRegion(bx, by, rotated)) manager.rotateBlock();
                 else {
-                    int[] kicks = {-1, 1, -2, 2};
-                    for (int dx : kicks) {
+                    for (int dx : WALL_KICKS) {
                         if (fitsRegion(bx + dx, by, rotated) && manager.tryMove(bx + dx, by)) { manager.rotateBlock(); break; }
                     }
                 }
@@ -568,10 +555,6 @@ public class GameScreen implements Screen {
             if (shape != null) manager.tryMove(manager.getBlockX(), manager.getBlockY() + 1);
         } else if (code == km.get(se.tetris.team3.core.Settings.Action.HARD_DROP)) {
             if (shape != null) manager.hardDrop();
-        } else if (code == km.get(se.tetris.team3.core.Settings.Action.EXIT)) {
-            app.showScreen(new MenuScreen(app));
         }
-
-        app.repaint();
     }
 }
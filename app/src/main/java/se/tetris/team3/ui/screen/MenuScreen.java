@@ -18,6 +18,7 @@ import se.tetris.team3.gameManager.GameManager;
 import se.tetris.team3.gameManager.MenuItem;
 import se.tetris.team3.gameManager.ScoreManager;
 import se.tetris.team3.ui.AppFrame;
+import se.tetris.team3.ui.render.BlockPalette;
 
 // 메뉴 항목: 클래식 시작, 아이템 모드 시작, 설정, 스코어보드, 종료
 public class MenuScreen implements Screen {
@@ -96,9 +97,9 @@ public class MenuScreen implements Screen {
         for (FallingBlock fb : fallingBlocks) {
             int[][] shape = fb.block.getShape();
             Color color = new Color(
-                fb.block.getColor().getRed(),
-                fb.block.getColor().getGreen(),
-                fb.block.getColor().getBlue(),
+                BlockPalette.color(fb.block.getPaletteIndex()).getRed(),
+                BlockPalette.color(fb.block.getPaletteIndex()).getGreen(),
+                BlockPalette.color(fb.block.getPaletteIndex()).getBlue(),
                 50
             );
             g2.setColor(color);
@@ -2,25 +2,36 @@ package se.tetris.team3.ui.screen;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import se.tetris.team3.blocks.Block;
 import se.tetris.team3.core.GameMode;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameLoop;
 import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.AttackLedger;
 import se.tetris.team3.net.P2PConnection;
 import se.tetris.team3.net.P2PConnectionListener;
 import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.RollbackSession;
+import se.tetris.team3.net.RttStats;
+import se.tetris.team3.net.SpectatorHub;
 import se.tetris.team3.ui.AppFrame;
+import se.tetris.team3.ui.render.ParticleSystem;
+import se.tetris.team3.ui.render.RemotePiecePredictor;
+import se.tetris.team3.ui.render.BlockPalette;
 
-import javax.swing.Timer;
 
 /**
  * P2P 대전 게임 화면
  * - 왼쪽: 내 보드 + NEXT + GARBAGE + 파티클
- * - 오른쪽: 상대 보드 + NEXT + GARBAGE + (remoteField diff 기반 파티클)
+ * - 오른쪽: 상대 보드 + NEXT + GARBAGE + (STATE에서 바뀐 줄 기반 파티클)
+ * - 공용 시드가 있으면 롤백 방식: 두 보드를 모두 로컬에서 시뮬레이션하고 INPUT만 주고받음 (STATE/ATTACK 없음)
+ *   주기적으로 STATE_HASH로 상태를 비교하고, 어긋나면 서버 상태로 재동기화(RESYNC)
+ * - 서버는 게임 중 관전자 접속을 받아 두 플레이어의 STATE를 중계 (SpectatorHub)
+ * - 게임이 끝나면 이번 경기의 공격 보냄/확인/받음/적용 수를 표시 (AttackLedger)
  */
 public class P2PBattleScreen implements Screen, P2PConnectionListener {
 
@@ -31,6 +42,13 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
     private final boolean asServer;
     private final P2PConnection connection;
     private final GameManager myManager;
+    // 롤백 방식일 때만 사용 (null이면 STATE 스냅샷 방식)
+    private final RollbackSession rollback;
+    private final GameManager remoteManager;
+    // 이번 프레임에 모인 내 입력 (RollbackSession.INPUT_*, 루프 스레드 전용)
+    private int pendingInput = 0;
+    // 롤백 방식 경과 시간 (프레임 번호 기준, 루프 스레드가 쓰고 EDT가 읽음)
+    private volatile long rollbackElapsedMillis = 0;
 
     // 레이아웃
     private int blockSize;
@@ -39,11 +57,11 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
     private int centerGap;
     private int topMargin;
 
-    // 타이머
-    private Timer gameTimer;
-    private Timer dropTimer;
-    private Timer stateSendTimer;
-    private long lastDrop;
+    // 게임 루프: 내 GameManager 변경, 낙하, STATE 전송을 모두 이 스레드에서 처리
+    private final GameLoop loop;
+    // STATE 전송 주기 (60 step/s 기준 6 step = 100ms)
+    private static final int STATE_SEND_INTERVAL_STEPS = 6;
+    private int stepsSinceStateSend = 0;
 
     // 시간제한 모드
     private final boolean isTimeAttack;
@@ -51,9 +69,9 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
     private long startTime;
     private long pauseStartTime; // 일시정지 시작 시간
 
-    private boolean gameOver = false;
-    private int winner = 0; // 0: 진행/무승부, 1: 내 승, 2: 상대 승
-    private boolean paused = false;
+    private volatile boolean gameOver = false;
+    private volatile int winner = 0; // 0: 진행/무승부, 1: 내 승, 2: 상대 승
+    private volatile boolean paused = false;
     private String lagMessage = "";
 
     // ────────── 상대 상태 스냅샷 ──────────
@@ -77,9 +95,18 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
     private volatile int remoteNextItemRow, remoteNextItemCol;
 
     private volatile boolean[][] remoteGarbagePreview;
-    // 상대 보드용 파티클
-    private final List<Particle> remoteParticles =
-            Collections.synchronizedList(new ArrayList<>());
+    // 마지막으로 반영한 상대 STATE 번호 (델타 기준 확인용, -1이면 키프레임 대기)
+    private int remoteStateSeq = -1;
+    private boolean keyframeRequested = false;
+    // 보드별 블록 파괴 파티클 (상대 보드는 STATE에서 바뀐 줄로 생성)
+    private final ParticleSystem myParticles = new ParticleSystem();
+    private final ParticleSystem remoteParticles = new ParticleSystem();
+    // 서버 쪽 관전자 중계 (포트를 못 열면 null, 루프 스레드/EDT에서 publish)
+    private volatile SpectatorHub spectators;
+    // STATE 사이 상대 현재 블록 낙하 예측/보간 (EDT 전용)
+    private final RemotePiecePredictor remotePiece = new RemotePiecePredictor();
+    // 경기 시작 시점의 공격 장부 (연결은 여러 경기에 걸쳐 쓰이므로 차이로 이번 경기만 셈)
+    private AttackLedger.Counts attackCountsAtStart;
 
     public P2PBattleScreen(AppFrame frame,
                            P2PConnection connection,
@@ -87,6 +114,33 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
                            Settings settings,
                            int timeLimitSeconds,
                            boolean asServer) {
+        this(frame, connection, mode, settings, timeLimitSeconds, asServer, 0L);
+    }
+
+    /**
+     * @param seed 0이 아니면 이 시드로 롤백 방식 대전 (양쪽이 같은 시드를 써야 함)
+     */
+    public P2PBattleScreen(AppFrame frame,
+                           P2PConnection connection,
+                           GameMode mode,
+                           Settings settings,
+                           int timeLimitSeconds,
+                           boolean asServer,
+                           long seed) {
+        this(frame, connection, mode, settings, timeLimitSeconds, asServer, seed, null);
+    }
+
+    /**
+     * @param rollbackDifficulty 롤백 대전에서 두 보드에 같이 적용할 난이도 (서버가 MODE_INFO로 보낸 값, null이면 NORMAL)
+     */
+    public P2PBattleScreen(AppFrame frame,
+                           P2PConnection connection,
+                           GameMode mode,
+                           Settings settings,
+                           int timeLimitSeconds,
+                           boolean asServer,
+                           long seed,
+                           Settings.Difficulty rollbackDifficulty) {
         this.frame = frame;
         this.connection = connection;
         this.settings = settings;
@@ -100,15 +154,36 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         // 내부 GameManager 모드는 BATTLE_ITEM → ITEM, 나머지는 CLASSIC
         GameMode internalMode =
                 (mode == GameMode.BATTLE_ITEM) ? GameMode.ITEM : GameMode.CLASSIC;
-        myManager = new GameManager(internalMode);
-        if (settings != null) myManager.attachSettings(settings);
+        if (seed != 0L) {
+            // 롤백 방식: 두 보드가 같은 규칙이어야 하므로 각자 설정 대신 서버 난이도를 양쪽 보드에 같이 적용
+            rollback = new RollbackSession(internalMode, seed, asServer, rollbackDifficulty);
+            // 시간제한은 각자의 시계가 아니라 프레임 번호로 (양쪽이 같은 프레임에서 끝남)
+            if (isTimeAttack) rollback.setTimeLimitFrames(timeLimitSeconds * RollbackSession.TICKS_PER_SECOND);
+            myManager = rollback.getLocal();
+            remoteManager = rollback.getRemote();
+            rollback.setBlockBreakListener(rollback.getLocalIndex(), myParticles);
+            rollback.setBlockBreakListener(1 - rollback.getLocalIndex(), remoteParticles);
+            rollback.setSender(m -> {
+                if (this.connection != null) this.connection.send(m);
+            });
+            rollback.setDesyncListener((firstFrame, checkFrame) ->
+                    lagMessage = "상태 불일치 (프레임 " + firstFrame + ") - 재동기화 중");
+        } else {
+            rollback = null;
+            remoteManager = null;
+            myManager = new GameManager(internalMode);
+            if (settings != null) myManager.attachSettings(settings);
+            myManager.setBlockBreakListener(myParticles);
+
+            // 대전 공격: 공격 줄 네트워크로 전송
+            myManager.setLineClearListener((gm, clearedRows, garbageRows) -> {
+                if (garbageRows != null && garbageRows.length > 0) {
+                    connection.send(P2PMessage.attack(garbageRows));
+                }
+            });
+        }
 
-        // 대전 공격: 공격 줄 네트워크로 전송
-        myManager.setLineClearListener((gm, clearedRows, garbageRows) -> {
-            if (garbageRows != null && garbageRows.length > 0) {
-                connection.send(P2PMessage.attack(garbageRows));
-            }
-        });
+        this.loop = new GameLoop("p2p-battle-loop", this::stepGame, frame::repaint);
 
         // 이 화면이 P2P 콜백 받도록 등록
         connection.setListener(this);
@@ -122,10 +197,8 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         paused = false;
         lagMessage = message;
 
-        // 타이머 정리
-        if (gameTimer != null) gameTimer.stop();
-        if (dropTimer != null) dropTimer.stop();
-        if (stateSendTimer != null) stateSendTimer.stop();
+        // 게임 루프 정리
+        loop.stop();
 
         // 연결 닫기
         safeCloseConnection();
@@ -138,69 +211,150 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
     @Override
     public void onShow() {
         startTime = System.currentTimeMillis();
-        lastDrop = System.currentTimeMillis();
-
-        // 게임 로직 및 애니메이션
-        gameTimer = new Timer(16, e -> {
-            if (paused || gameOver) return;
-
-            myManager.updateSlowMode();
-            myManager.updateParticles();       // 내쪽 파티클
-            updateRemoteParticles();           // 상대쪽 파티클
-            myManager.autoCheckLines();
-
-            // 시간제한 모드
-            if (isTimeAttack) {
-                long elapsed = System.currentTimeMillis() - startTime;
-                if (elapsed >= timeLimitMillis && !gameOver) {
-                    gameOver = true;
-                    int myScore = myManager.getScore();
-                    if (myScore > remoteScore) winner = 1;
-                    else if (myScore < remoteScore) winner = 2;
-                    else winner = 0;
-                }
-            }
-
-            // 내 게임오버
-            if (myManager.isGameOver() && !gameOver) {
-                gameOver = true;
-                winner = remoteGameOver ? 0 : 2;
-            }
-
-            frame.repaint();
-        });
-        gameTimer.start();
-
-        // 자동 낙하 타이머
-        dropTimer = new Timer(50, e -> {
-            if (paused || gameOver || myManager.isGameOver()) return;
-            long now = System.currentTimeMillis();
-            if (now - lastDrop >= myManager.getGameTimerDelay()) {
-                myManager.stepDownOrFix();
-                lastDrop = now;
-            }
-        });
-        dropTimer.start();
+        stepsSinceStateSend = 0;
+        AttackLedger ledger = attackLedger();
+        if (ledger != null) attackCountsAtStart = ledger.counts();
+        if (rollback == null) {
+            // 상대 화면은 새로 만들어졌으므로 첫 STATE는 전체 스냅샷
+            if (connection != null) connection.requestStateKeyframe();
+
+            // 자동 낙하는 GameManager.tick()이 처리
+            myManager.setGravityEnabled(true);
+            myManager.resetFallTimer();
+        }
+        if (asServer && connection != null) startSpectatorHub();
+        loop.start();
+    }
 
-        // 내 상태 STATE 메시지 주기적으로 전송
-        stateSendTimer = new Timer(100, e -> sendStateSnapshot());
-        stateSendTimer.start();
+    // 관전은 부가 기능이므로 포트를 못 열어도 게임은 그대로 진행
+    private void startSpectatorHub() {
+        SpectatorHub hub = new SpectatorHub();
+        try {
+            hub.start();
+            spectators = hub;
+        } catch (IOException e) {
+            hub.close();
+        }
     }
 
     @Override
     public void onHide() {
-        if (gameTimer != null) gameTimer.stop();
-        if (dropTimer != null) dropTimer.stop();
-        if (stateSendTimer != null) stateSendTimer.stop();
+        loop.stop();
+        SpectatorHub hub = spectators;
+        spectators = null;
+        if (hub != null) hub.close();
 
         // 화면에서 빠질 때 랙 메시지/상태 초기화 (다음 진입 시 잔상 방지)
         lagMessage = "";
     }
 
+    // 고정 간격 로직 한 step (루프 스레드)
+    private void stepGame() {
+        if (rollback != null) {
+            stepRollback();
+            return;
+        }
+
+        // 내 상태 STATE 메시지 주기적으로 전송 (일시정지 중에도 유지)
+        if (++stepsSinceStateSend >= STATE_SEND_INTERVAL_STEPS) {
+            stepsSinceStateSend = 0;
+            sendStateSnapshot();
+        }
+
+        if (paused || gameOver) return;
+
+        myManager.tick();                  // 낙하, 플래시 후 줄 삭제, 무게추, 느린 모드
+        myParticles.update();              // 내쪽 파티클
+        remoteParticles.update();          // 상대쪽 파티클
+        myManager.autoCheckLines();
+
+        // 시간제한 모드
+        if (isTimeAttack) {
+            long elapsed = System.currentTimeMillis() - startTime;
+            if (elapsed >= timeLimitMillis && !gameOver) {
+                gameOver = true;
+                int myScore = myManager.getScore();
+                if (myScore > remoteScore) winner = 1;
+                else if (myScore < remoteScore) winner = 2;
+                else winner = 0;
+            }
+        }
+
+        // 내 게임오버
+        if (myManager.isGameOver() && !gameOver) {
+            gameOver = true;
+            winner = remoteGameOver ? 0 : 2;
+        }
+    }
+
+    // 롤백 방식 한 step: 내 입력으로 한 프레임 진행 (INPUT 전송은 세션이 함, 상대가 너무 늦으면 입력을 모아 두고 대기)
+    private void stepRollback() {
+        if (paused || gameOver) return;
+
+        if (rollback.canAdvance()) {
+            int input = pendingInput;
+            pendingInput = 0;
+            rollback.advance(input);
+        }
+        rollbackElapsedMillis = RollbackSession.frameMillis(rollback.getFrame());
+        SpectatorHub hub = spectators;
+        if (hub != null && ++stepsSinceStateSend >= STATE_SEND_INTERVAL_STEPS) {
+            stepsSinceStateSend = 0;
+            hub.publish(0, buildStateSnapshot(rollback.getPlayer(0)));
+            hub.publish(1, buildStateSnapshot(rollback.getPlayer(1)));
+        }
+        myParticles.update();
+        remoteParticles.update();
+        remoteScore = remoteManager.getScore();
+        remoteLevel = remoteManager.getLevel();
+
+        // 승패는 세션이 양쪽 입력이 모두 확정된 프레임 경계에서 정함 (예측 중이어도 양쪽 결과가 같음)
+        int outcome = rollback.getOutcome();
+        if (outcome == RollbackSession.OUTCOME_PENDING) return;
+        int local = rollback.getLocalIndex();
+        remoteGameOver = remoteManager.isGameOver();
+        gameOver = true;
+        winner = outcome == RollbackSession.OUTCOME_DRAW ? 0 : (outcome == local ? 1 : 2);
+    }
+
     // ────────── 내 상태를 STATE 메시지로 전송 ──────────
     private void sendStateSnapshot() {
         if (connection == null) return;
+        // 전체 스냅샷을 넘기면 P2PConnection이 보낼 때 델타로 바꿈
+        connection.send(buildStateSnapshot(myManager));
+        // 관전자 쪽은 따로 델타를 만들므로 다른 스냅샷 객체를 넘김 (서버 = 0번 플레이어)
+        SpectatorHub hub = spectators;
+        if (hub != null) hub.publish(0, buildStateSnapshot(myManager));
+    }
+
+    // 받은 상대 STATE를 관전자용 전체 스냅샷으로 (줄 배열은 바꿔 끼우기만 하므로 바깥 배열만 복사)
+    private P2PMessage buildRemoteSnapshot() {
+        P2PMessage msg = P2PMessage.emptyState();
+        msg.myScore = remoteScore;
+        msg.myLevel = remoteLevel;
+        msg.gameOver = remoteGameOver;
+        msg.field = remoteField != null ? remoteField.clone() : null;
+        msg.itemField = remoteItemField != null ? remoteItemField.clone() : null;
+        msg.colorField = remoteColorField != null ? remoteColorField.clone() : null;
+        msg.garbageMark = remoteGarbageMark != null ? remoteGarbageMark.clone() : null;
+        msg.curShape = remoteCurShape;
+        msg.curColor = remoteCurColor;
+        msg.curX = remoteCurX;
+        msg.curY = remoteCurY;
+        msg.curItemType = remoteCurItemType;
+        msg.curItemRow = remoteCurItemRow;
+        msg.curItemCol = remoteCurItemCol;
+        msg.nextShape = remoteNextShape;
+        msg.nextColor = remoteNextColor;
+        msg.nextItemType = remoteNextItemType;
+        msg.nextItemRow = remoteNextItemRow;
+        msg.nextItemCol = remoteNextItemCol;
+        msg.garbagePreview = remoteGarbagePreview;
+        return msg;
+    }
 
+    /** 게임 상태를 STATE 메시지로 만듭니다. (전송/벤치마크 공용) */
+    public static P2PMessage buildStateSnapshot(GameManager myManager) {
         P2PMessage msg = P2PMessage.emptyState();
         msg.myScore = myManager.getScore();
         msg.myLevel = myManager.getLevel();
@@ -217,7 +371,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             for (int c = 0; c < w; c++) {
                 msg.field[r][c] = myManager.getFieldValue(r, c);
                 msg.itemField[r][c] = myManager.getItemType(r, c);
-                msg.colorField[r][c] = myManager.getBlockColor(r, c);
+                msg.colorField[r][c] = BlockPalette.color(myManager.getCellPalette(r, c));
                 msg.garbageMark[r][c] = myManager.isGarbage(r, c);
             }
         }
@@ -226,7 +380,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         if (!myManager.isGameOver() && myManager.getCurrentBlock() != null) {
             Block cur = myManager.getCurrentBlock();
             msg.curShape = deepCopy(cur.getShape());
-            msg.curColor = cur.getColor();
+            msg.curColor = BlockPalette.color(cur.getPaletteIndex());
             msg.curX = myManager.getBlockX();
             msg.curY = myManager.getBlockY();
             msg.curItemType = cur.getItemType();
@@ -246,7 +400,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         if (myManager.getNextBlock() != null) {
             Block nb = myManager.getNextBlock();
             msg.nextShape = deepCopy(nb.getShape());
-            msg.nextColor = nb.getColor();
+            msg.nextColor = BlockPalette.color(nb.getPaletteIndex());
             msg.nextItemType = nb.getItemType();
             msg.nextItemRow = -1;
             msg.nextItemCol = -1;
@@ -267,8 +421,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             boolean[] row = queue.get(i);
             msg.garbagePreview[i] = (row != null ? row.clone() : null);
         }
-
-        connection.send(msg);
+        return msg;
     }
 
     private static int[][] deepCopy(int[][] src) {
@@ -298,66 +451,56 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         switch (msg.type) {
             case ATTACK:
                 if (msg.garbageRows != null && !gameOver) {
-                    myManager.enqueueGarbage(msg.garbageRows);
+                    boolean[][] rows = msg.garbageRows;
+                    loop.submit(() -> {
+                        myManager.enqueueGarbage(rows);
+                        AttackLedger ledger = attackLedger();
+                        if (ledger != null) ledger.markApplied(rows.length);
+                    });
                 }
                 break;
 
             case STATE:
-                // 1. 이전 필드를 백업 (diff용)
-                int[][] old = remoteField == null ? null : deepCopy(remoteField);
-
-                // 2. 새 상태 반영
-                remoteScore = msg.myScore;
-                remoteLevel = msg.myLevel;
-                remoteGameOver = msg.gameOver;
-                remoteField = msg.field;
-                remoteItemField = msg.itemField;
-                remoteColorField = msg.colorField;
-                remoteGarbageMark = msg.garbageMark;
-
-                remoteCurShape = msg.curShape;
-                remoteCurColor = msg.curColor;
-                remoteCurX = msg.curX;
-                remoteCurY = msg.curY;
-                remoteCurItemType = msg.curItemType;
-                remoteCurItemRow = msg.curItemRow;
-                remoteCurItemCol = msg.curItemCol;
-
-                remoteNextShape = msg.nextShape;
-                remoteNextColor = msg.nextColor;
-                remoteNextItemType = msg.nextItemType;
-                remoteNextItemRow = msg.nextItemRow;
-                remoteNextItemCol = msg.nextItemCol;
-
-                remoteGarbagePreview = msg.garbagePreview;
-
-                // 3. diff 기반 파티클 생성
-                if (old != null && remoteField != null) {
-                    spawnRemoteBreakParticlesFromDiff(old, remoteField);
+                applyRemoteState(msg);
+                SpectatorHub hub = spectators;
+                if (hub != null && remoteField != null) hub.publish(1, buildRemoteSnapshot());
+                // 상대 난이도는 오지 않으므로 내 난이도 기준 낙하 간격으로 예측 (다르면 다음 STATE에서 보정)
+                remotePiece.onState(remoteCurShape, remoteCurX, remoteCurY,
+                        GameManager.fallDelayFor(myManager.getBaseFallDelay(), myManager.getDifficulty(), remoteLevel),
+                        System.currentTimeMillis());
+
+                // 상대가 먼저 죽은 경우 (내 상태 판정은 루프 스레드에서)
+                if (remoteGameOver) {
+                    loop.submit(() -> {
+                        if (!myManager.isGameOver() && !gameOver) {
+                            gameOver = true;
+                            winner = 1;
+                        }
+                    });
                 }
+                break;
 
-                // 상대가 먼저 죽은 경우
-                if (remoteGameOver && !myManager.isGameOver() && !gameOver) {
-                    gameOver = true;
-                    winner = 1;
-                }
+            case STATE_REQUEST:
+                if (connection != null) connection.requestStateKeyframe();
+                break;
+
+            case INPUT:
+            case STATE_HASH:
+            case RESYNC:
+                if (rollback != null) loop.submit(() -> rollback.receive(msg));
                 break;
 
             case PAUSE_STATE:
                 // 상대가 P 눌러서 보낸 상태에 맞춰서 나도 같이 멈추거나 풀기
                 this.paused = msg.paused;
 
-                // 타이머 제어
+                // 시간제한 보정 (로직 step은 paused 플래그를 보고 멈춤)
                 if (this.paused) {
-                    if (gameTimer != null) gameTimer.stop();
-                    if (dropTimer != null) dropTimer.stop();
                     // 일시정지 시작 시간 기록
                     if (isTimeAttack) {
                         pauseStartTime = System.currentTimeMillis();
                     }
                 } else {
-                    if (gameTimer != null) gameTimer.start();
-                    if (dropTimer != null) dropTimer.start();
                     // 일시정지 해제 시 시작 시간 조정
                     if (isTimeAttack) {
                         long pauseDuration = System.currentTimeMillis() - pauseStartTime;
@@ -394,102 +537,91 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         handleNetworkFailureAndReturnToLobby(msg);
     }
 
-    // ────────── remoteField diff → 파티클 생성 ──────────
-    private void spawnRemoteBreakParticlesFromDiff(int[][] oldField, int[][] newField) {
-        int h = Math.min(oldField.length, newField.length);
-        if (h == 0) return;
-        int w = Math.min(oldField[0].length, newField[0].length);
-
-        for (int r = 0; r < h; r++) {
-            for (int c = 0; c < w; c++) {
-                if (oldField[r][c] == 1 && newField[r][c] == 0) {
-                    // (r,c) 블럭이 사라짐 → 파티클 생성
-                    addRemoteBreakEffect(c, r);
-                }
-            }
-        }
-    }
-
-    // GameManager 의 Particle 로직과 동일한 구조
-    private static class Particle {
-        float gridX, gridY;
-        float offsetX, offsetY;
-        float vx, vy;
-        Color color;
-        int life;
-        int maxLife;
-
-        public Particle(float gridX, float gridY, Color color,
-                        float vx, float vy, float offsetX, float offsetY) {
-            this.gridX = gridX;
-            this.gridY = gridY;
-            this.color = color;
-            this.vx = vx;
-            this.vy = vy;
-            this.offsetX = offsetX;
-            this.offsetY = offsetY;
-            this.maxLife = 30 + (int)(Math.random() * 20);
-            this.life = maxLife;
+    // ────────── 상대 STATE 반영 (EDT) ──────────
+    private void applyRemoteState(P2PMessage msg) {
+        // 점수/레벨/현재 블록/NEXT 등은 값 자체가 오므로 기준과 상관없이 반영
+        remoteGameOver = msg.gameOver;
+        remoteCurShape = msg.curShape;
+        remoteCurColor = msg.curColor;
+        remoteCurX = msg.curX;
+        remoteCurY = msg.curY;
+        remoteCurItemType = msg.curItemType;
+        remoteCurItemRow = msg.curItemRow;
+        remoteCurItemCol = msg.curItemCol;
+
+        if (!msg.delta) {
+            applyRemoteKeyframe(msg);
+            return;
         }
 
-        public void update() {
-            offsetX += vx;
-            offsetY += vy;
-            vy += 0.2f;
-            vx *= 0.98f;
-            life--;
+        int parts = msg.changedParts;
+        if ((parts & P2PMessage.PART_SCORE) != 0) remoteScore = msg.myScore;
+        if ((parts & P2PMessage.PART_LEVEL) != 0) remoteLevel = msg.myLevel;
+        if ((parts & P2PMessage.PART_NEXT) != 0) {
+            remoteNextShape = msg.nextShape;
+            remoteNextColor = msg.nextColor;
+            remoteNextItemType = msg.nextItemType;
+            remoteNextItemRow = msg.nextItemRow;
+            remoteNextItemCol = msg.nextItemCol;
         }
+        if ((parts & P2PMessage.PART_PREVIEW) != 0) remoteGarbagePreview = msg.garbagePreview;
 
-        public boolean isDead() {
-            return life <= 0;
+        // 바뀐 줄은 기준 STATE가 맞을 때만 반영, 아니면 키프레임 요청 (한 번만)
+        if (remoteField == null || msg.baseSeq != remoteStateSeq) {
+            if (!keyframeRequested && connection != null) {
+                keyframeRequested = true;
+                connection.send(P2PMessage.stateRequest());
+            }
+            return;
         }
-
-        public void render(Graphics2D g2, int originX, int originY, int blockSize) {
-            if (isDead()) return;
-            float alpha = (float) life / maxLife;
-            Color fadeColor = new Color(
-                    color.getRed(),
-                    color.getGreen(),
-                    color.getBlue(),
-                    (int) (255 * alpha)
-            );
-            g2.setColor(fadeColor);
-            int size = Math.max(1, (int) (4 * alpha));
-            float px = originX + gridX * blockSize + (blockSize / 2.0f) + offsetX;
-            float py = originY + gridY * blockSize + (blockSize / 2.0f) + offsetY;
-            g2.fillOval((int) px, (int) py, size, size);
+        int[] rows = msg.changedRows;
+        for (int i = 0; rows != null && i < rows.length; i++) {
+            int r = rows[i];
+            if (r < 0 || r >= remoteField.length) continue;
+            if (msg.field != null && msg.field[i] != null) {
+                spawnRemoteBreakParticles(r, remoteField[r], msg.field[i]);
+                remoteField[r] = msg.field[i];
+            }
+            if (msg.itemField != null && remoteItemField != null && msg.itemField[i] != null) remoteItemField[r] = msg.itemField[i];
+            if (msg.colorField != null && remoteColorField != null && msg.colorField[i] != null) remoteColorField[r] = msg.colorField[i];
+            if (msg.garbageMark != null && remoteGarbageMark != null && msg.garbageMark[i] != null) remoteGarbageMark[r] = msg.garbageMark[i];
         }
+        remoteStateSeq = msg.stateSeq;
     }
 
-    private void addRemoteBreakEffect(int gridX, int gridY) {
-        Color blockColor = Color.LIGHT_GRAY; // 상대는 기본 회색 기준
-        int particleCount = 8 + (int)(Math.random() * 5);
-        for (int i = 0; i < particleCount; i++) {
-            float angle = (float)(Math.random() * 2 * Math.PI);
-            float speed = 2 + (float)(Math.random() * 4);
-            float vx = (float)(Math.cos(angle) * speed);
-            float vy = (float)(Math.sin(angle) * speed) - 1;
-            float offsetX = -8 + (float)(Math.random() * 16);
-            float offsetY = -8 + (float)(Math.random() * 16);
-            remoteParticles.add(new Particle(
-                    gridX, gridY, blockColor, vx, vy, offsetX, offsetY
-            ));
+    // 전체 스냅샷: 받은 배열을 그대로 쓰고 사라진 칸만 파티클 처리
+    private void applyRemoteKeyframe(P2PMessage msg) {
+        int[][] old = remoteField;
+        if (old != null && msg.field != null) {
+            int h = Math.min(old.length, msg.field.length);
+            for (int r = 0; r < h; r++) spawnRemoteBreakParticles(r, old[r], msg.field[r]);
         }
-    }
 
-    private void updateRemoteParticles() {
-        synchronized (remoteParticles) {
-            remoteParticles.removeIf(p -> {
-                p.update();
-                return p.isDead();
-            });
-        }
+        remoteScore = msg.myScore;
+        remoteLevel = msg.myLevel;
+        remoteField = msg.field;
+        remoteItemField = msg.itemField;
+        remoteColorField = msg.colorField;
+        remoteGarbageMark = msg.garbageMark;
+
+        remoteNextShape = msg.nextShape;
+        remoteNextColor = msg.nextColor;
+        remoteNextItemType = msg.nextItemType;
+        remoteNextItemRow = msg.nextItemRow;
+        remoteNextItemCol = msg.nextItemCol;
+
+        remoteGarbagePreview = msg.garbagePreview;
+        remoteStateSeq = msg.stateSeq;
+        keyframeRequested = false;
     }
 
-    private void renderRemoteParticles(Graphics2D g2, int originX, int originY) {
-        synchronized (remoteParticles) {
-            for (Particle p : remoteParticles) {
-                p.render(g2, originX, originY, blockSize);
+    // 한 줄에서 블럭이 사라진 칸마다 파티클 생성
+    private void spawnRemoteBreakParticles(int row, int[] oldRow, int[] newRow) {
+        if (oldRow == null || newRow == null) return;
+        int w = Math.min(oldRow.length, newRow.length);
+        for (int c = 0; c < w; c++) {
+            if (oldRow[c] == 1 && newRow[c] == 0) {
+                remoteParticles.onBlockBreak(c, row);
             }
         }
     }
@@ -517,16 +649,12 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             // 내 일시정지 토글
             paused = !paused;
 
-            // 타이머 제어
+            // 시간제한 보정 (로직 step은 paused 플래그를 보고 멈춤)
             if (paused) {
-                if (gameTimer != null) gameTimer.stop();
-                if (dropTimer != null) dropTimer.stop();
                 if (isTimeAttack) {
                     pauseStartTime = System.currentTimeMillis();
                 }
             } else {
-                if (gameTimer != null) gameTimer.start();
-                if (dropTimer != null) dropTimer.start();
                 if (isTimeAttack) {
                     long pauseDuration = System.currentTimeMillis() - pauseStartTime;
                     startTime += pauseDuration;
@@ -544,6 +672,23 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
 
         if (paused) return;
 
+        if (key == KeyEvent.VK_ESCAPE) {
+            // 게임 도중 ESC 누르면 그냥 P2P 완전 종료
+            safeCloseConnection();
+            frame.showScreen(new MenuScreen(frame));
+            return;
+        }
+
+        // 블록 조작은 루프 스레드에서 실행
+        loop.submit(() -> applyKey(key));
+    }
+
+    private void applyKey(int key) {
+        if (rollback != null) {
+            // 롤백 방식: 바로 조작하지 않고 다음 프레임 입력으로 모음
+            pendingInput |= inputBitFor(key);
+            return;
+        }
         switch (key) {
             case KeyEvent.VK_LEFT:
             case KeyEvent.VK_A:
@@ -556,7 +701,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             case KeyEvent.VK_DOWN:
             case KeyEvent.VK_S:
                 myManager.stepDownOrFix();
-                lastDrop = System.currentTimeMillis();
+                myManager.resetFallTimer();
                 break;
             case KeyEvent.VK_UP:
             case KeyEvent.VK_W:
@@ -565,16 +710,33 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             case KeyEvent.VK_SPACE:
             case KeyEvent.VK_ENTER:
                 myManager.hardDrop();
-                lastDrop = System.currentTimeMillis();
-                break;
-            case KeyEvent.VK_ESCAPE:
-                // 게임 도중 ESC 누르면 그냥 P2P 완전 종료
-                safeCloseConnection();
-                frame.showScreen(new MenuScreen(frame));
+                myManager.resetFallTimer();
                 break;
         }
     }
 
+    private static int inputBitFor(int key) {
+        switch (key) {
+            case KeyEvent.VK_LEFT:
+            case KeyEvent.VK_A:
+                return RollbackSession.INPUT_LEFT;
+            case KeyEvent.VK_RIGHT:
+            case KeyEvent.VK_D:
+                return RollbackSession.INPUT_RIGHT;
+            case KeyEvent.VK_DOWN:
+            case KeyEvent.VK_S:
+                return RollbackSession.INPUT_SOFT_DROP;
+            case KeyEvent.VK_UP:
+            case KeyEvent.VK_W:
+                return RollbackSession.INPUT_ROTATE;
+            case KeyEvent.VK_SPACE:
+            case KeyEvent.VK_ENTER:
+                return RollbackSession.INPUT_HARD_DROP;
+            default:
+                return 0;
+        }
+    }
+
     private void safeCloseConnection() {
         try {
             if (connection != null) connection.close();
@@ -584,6 +746,13 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
     // ────────── 렌더링 ──────────
     @Override
     public void render(Graphics2D g2) {
+        // step 도중의 보드/큐를 읽지 않도록 루프와 같은 락을 잡고 그림
+        synchronized (loop.stateLock()) {
+            drawScreen(g2);
+        }
+    }
+
+    private void drawScreen(Graphics2D g2) {
         int width = frame.getWidth();
         int height = frame.getHeight();
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
@@ -646,21 +815,29 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
 
     private void drawBoardBaseLocal(Graphics2D g2, int x, int y) {
         String name = asServer ? "You (Server)" : "You (Client)";
+        drawManagerBoard(g2, x, y, myManager, name, Color.CYAN);
+
+        // 파티클
+        myParticles.render(g2, x, y, blockSize);
+    }
 
+    // GameManager 하나의 이름/점수/레벨 + 필드 + 현재 블록 (내 보드, 롤백 방식의 상대 보드 공용)
+    private void drawManagerBoard(Graphics2D g2, int x, int y, GameManager gm,
+                                  String name, Color nameColor) {
         // 이름/점수/레벨
-        g2.setColor(Color.CYAN);
+        g2.setColor(nameColor);
         g2.setFont(new Font("맑은 고딕", Font.BOLD, Math.max(14, blockSize)));
         int nw = g2.getFontMetrics().stringWidth(name);
         g2.drawString(name, x + (boardWidth - nw) / 2, y - 45);
 
         g2.setColor(Color.WHITE);
         g2.setFont(new Font("맑은 고딕", Font.PLAIN, Math.max(12, blockSize * 3 / 4)));
-        String scoreText = "Score: " + myManager.getScore();
+        String scoreText = "Score: " + gm.getScore();
         int sw = g2.getFontMetrics().stringWidth(scoreText);
         g2.drawString(scoreText, x + (boardWidth - sw) / 2, y - 25);
 
         g2.setFont(new Font("맑은 고딕", Font.PLAIN, Math.max(10, blockSize * 2 / 3)));
-        String levelText = "Level: " + myManager.getLevel();
+        String levelText = "Level: " + gm.getLevel();
         int lw = g2.getFontMetrics().stringWidth(levelText);
         g2.drawString(levelText, x + (boardWidth - lw) / 2, y - 10);
 
@@ -674,15 +851,15 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
                 int cellX = x + col * blockSize;
                 int cellY = y + row * blockSize;
 
-                if (myManager.isRowFlashing(row)) {
+                if (gm.isRowFlashing(row)) {
                     g2.setColor(Color.WHITE);
                     g2.fillRect(cellX, cellY, blockSize - 1, blockSize - 1);
-                } else if (myManager.getFieldValue(row, col) == 1) {
+                } else if (gm.getFieldValue(row, col) == 1) {
                     // ★ 배틀 모드와 동일: 공격 줄이면 회색, 아니면 원래 블록 색
-                    if (myManager.isGarbage(row, col)) {
+                    if (gm.isGarbage(row, col)) {
                         g2.setColor(Color.GRAY); // 공격 줄
                     } else {
-                        Color color = myManager.getBlockColor(row, col);
+                        Color color = BlockPalette.color(gm.getCellPalette(row, col));
                         if (color == null) color = Color.DARK_GRAY;
                         g2.setColor(color);
                     }
@@ -690,7 +867,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
                     g2.fillRect(cellX, cellY, blockSize - 1, blockSize - 1);
 
                     // 아이템 문자
-                    char itemType = myManager.getItemType(row, col);
+                    char itemType = gm.getItemType(row, col);
                     if (itemType != 0) {
                         GameScreen.drawCenteredChar(g2, cellX, cellY, blockSize, itemType);
                     }
@@ -699,12 +876,12 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         }
 
         // 현재 블럭
-        if (!myManager.isGameOver() && myManager.getCurrentBlock() != null) {
-            Block cur = myManager.getCurrentBlock();
+        if (!gm.isGameOver() && gm.getCurrentBlock() != null) {
+            Block cur = gm.getCurrentBlock();
             int[][] shape = cur.getShape();
-            Color color = cur.getColor();
-            int baseX = myManager.getBlockX();
-            int baseY = myManager.getBlockY();
+            Color color = BlockPalette.color(cur.getPaletteIndex());
+            int baseX = gm.getBlockX();
+            int baseY = gm.getBlockY();
             Integer ir = null, ic = null;
             if (cur.getItemType() != 0) {
                 try {
@@ -731,9 +908,6 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
                 }
             }
         }
-
-        // 파티클
-        myManager.renderParticles(g2, x, y, blockSize);
     }
 
     // ────────── 오른쪽(상대 보드) ──────────
@@ -742,12 +916,20 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         int nextTopY = y + blockSize;
         int garbageTopY = nextTopY + (int) (blockSize * 7);
 
-        drawBoardBaseRemote(g2, x, y);
-        drawNextBlockRemote(g2, nextX, nextTopY);
-        drawGarbagePreviewRemote(g2, nextX, garbageTopY);
+        if (remoteManager != null) {
+            // 롤백 방식: 로컬에서 시뮬레이션한 상대 보드를 그대로 그림
+            String name = asServer ? "Remote (Client)" : "Remote (Server)";
+            drawManagerBoard(g2, x, y, remoteManager, name, Color.PINK);
+            drawNextBlockLocal(g2, nextX, nextTopY, remoteManager);
+            drawGarbagePreviewLocal(g2, nextX, garbageTopY, remoteManager);
+        } else {
+            drawBoardBaseRemote(g2, x, y);
+            drawNextBlockRemote(g2, nextX, nextTopY);
+            drawGarbagePreviewRemote(g2, nextX, garbageTopY);
+        }
 
         // 상대쪽 파티클
-        renderRemoteParticles(g2, x, y);
+        remoteParticles.render(g2, x, y, blockSize);
 
         if (remoteGameOver) {
             g2.setColor(new Color(0, 0, 0, 160));
@@ -828,17 +1010,20 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             }
         }
 
-        // 상대 현재 블록
+        // 상대 현재 블록 (STATE 사이에는 예측 위치로 부드럽게 이동, 칸 경계가 아닌 픽셀 위치에 그림)
         if (remoteCurShape != null && remoteCurColor != null && !remoteGameOver) {
+            remotePiece.update(System.currentTimeMillis(), remoteField);
+            double shownX = remotePiece.hasPiece() ? remotePiece.getShownX() : remoteCurX;
+            double shownY = remotePiece.hasPiece() ? remotePiece.getShownY() : remoteCurY;
             g2.setColor(remoteCurColor);
             for (int r = 0; r < remoteCurShape.length; r++) {
                 for (int c = 0; c < remoteCurShape[r].length; c++) {
                     if (remoteCurShape[r][c] != 0) {
-                        int gx = remoteCurX + c;
-                        int gy = remoteCurY + r;
+                        int gx = (int) Math.round(shownX + c);
+                        int gy = (int) Math.round(shownY + r);
                         if (gx >= 0 && gx < 10 && gy >= 0 && gy < 20) {
-                            int cellX = x + gx * blockSize;
-                            int cellY = y + gy * blockSize;
+                            int cellX = x + (int) Math.round((shownX + c) * blockSize);
+                            int cellY = y + (int) Math.round((shownY + r) * blockSize);
                             g2.fillRect(cellX, cellY, blockSize - 1, blockSize - 1);
                             if (remoteCurItemType != 0
                                     && r == remoteCurItemRow
@@ -869,7 +1054,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
 
         Block nb = gm.getNextBlock();
         int[][] shape = nb.getShape();
-        Color color = nb.getColor();
+        Color color = BlockPalette.color(nb.getPaletteIndex());
         int nextBlockSize = (int) (blockSize * 0.75);
         int shapeW = shape[0].length;
         int shapeH = shape.length;
@@ -999,6 +1184,26 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
         }
     }
 
+    // "RTT 12ms (p95 20ms, 지터 3ms)" (측정 전이면 null)
+    private String formatRtt() {
+        if (connection == null) return null;
+        RttStats rtt = connection.getRttStats();
+        if (rtt == null || rtt.getCount() == 0) return null;
+        return String.format("RTT %.0fms (p95 %.0fms, 지터 %.1fms)",
+                rtt.getLastMillis(), rtt.getP95Millis(), rtt.getJitterMillis());
+    }
+
+    // 이번 경기의 공격 보냄/확인/받음/적용 수 (롤백 방식은 ATTACK을 주고받지 않으므로 null)
+    private AttackLedger.Counts attackCountsThisMatch() {
+        AttackLedger ledger = attackLedger();
+        if (ledger == null || rollback != null || attackCountsAtStart == null) return null;
+        return ledger.counts().minus(attackCountsAtStart);
+    }
+
+    private AttackLedger attackLedger() {
+        return connection == null ? null : connection.getAttackLedger();
+    }
+
     // ────────── 중앙 정보 (시간, 랙, 승패) ──────────
     private void drawCenterInfo(Graphics2D g2, int width, int height) {
         int cx = width / 2;
@@ -1006,7 +1211,7 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
 
         // 시간제한
         if (isTimeAttack) {
-            long elapsed = System.currentTimeMillis() - startTime;
+            long elapsed = rollback != null ? rollbackElapsedMillis : System.currentTimeMillis() - startTime;
             long remain = Math.max(0, timeLimitMillis - elapsed);
             int sec = (int) (remain / 1000);
             g2.setColor(Color.YELLOW);
@@ -1023,6 +1228,15 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             g2.drawString(lagMessage, cx - tw / 2, 60);
         }
 
+        // 실시간 RTT (PING/PONG 측정값)
+        String rttText = formatRtt();
+        if (rttText != null) {
+            g2.setColor(Color.LIGHT_GRAY);
+            g2.setFont(new Font("맑은 고딕", Font.PLAIN, 12));
+            int tw = g2.getFontMetrics().stringWidth(rttText);
+            g2.drawString(rttText, cx - tw / 2, 78);
+        }
+
         if (paused && !gameOver) {
             g2.setColor(new Color(0, 0, 0, 180));
             g2.fillRect(0, 0, width, height);
@@ -1062,6 +1276,16 @@ public class P2PBattleScreen implements Screen, P2PConnectionListener {
             int w2 = g2.getFontMetrics().stringWidth(t2);
             g2.drawString(t1, cx - w1 / 2, cy + 30);
             g2.drawString(t2, cx - w2 / 2, cy + 60);
+
+            // 이번 경기 공격 장부 (양쪽 화면의 숫자를 맞대어 보면 어디서 어긋났는지 알 수 있음)
+            AttackLedger.Counts counts = attackCountsThisMatch();
+            if (counts != null) {
+                g2.setFont(new Font("맑은 고딕", Font.PLAIN, 12));
+                g2.setColor(Color.LIGHT_GRAY);
+                String t3 = counts.toString();
+                int w3 = g2.getFontMetrics().stringWidth(t3);
+                g2.drawString(t3, cx - w3 / 2, cy + 90);
+            }
         }
     }
 
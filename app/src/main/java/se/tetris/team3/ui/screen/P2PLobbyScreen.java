@@ -7,6 +7,7 @@ import java.util.List;
 
 import se.tetris.team3.core.GameMode;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameRandom;
 import se.tetris.team3.net.P2PConnection;
 import se.tetris.team3.net.P2PConnectionListener;
 import se.tetris.team3.net.P2PMessage;
@@ -44,10 +45,15 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
     private boolean otherReady = false;
     private String statusMessage = "";
     private boolean receivedInitialModeInfo = false;  // 초기 MODE_INFO 수신 여부
+    private long lobbySeed = 0L;                      // 롤백 대전 공용 시드 (서버가 시작 직전 MODE_INFO로 전달)
+    private Settings.Difficulty lobbyDifficulty;      // 서버 난이도 (롤백 대전은 두 보드 모두 이 난이도)
 
     // 서버 전용 설정
     private int selectedModeIndex = 0;   // 0=Normal,1=Item,2=TimeAttack
     private int timeLimitMin = 3;
+    // false면 시드 없이 STATE 전송 방식 (ATTACK 장부, 상대 블록 예측, UDP STATE 사용)
+    // 클라이언트는 서버의 MODE_INFO로 받은 값을 표시
+    private boolean rollbackSync = true;
 
     // 실제 사용할 모드/시간 (클라에서도 이 값을 표시)
     private GameMode lobbyMode = GameMode.BATTLE_NORMAL;
@@ -163,7 +169,7 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
         // 간단한 핸드셰이크
         if (asServer) {
             connection.send(P2PMessage.hello());
-            connection.send(P2PMessage.modeInfo(lobbyMode, lobbyTimeLimitSeconds));
+            connection.send(P2PMessage.modeInfo(lobbyMode, lobbyTimeLimitSeconds, 0L, serverDifficulty(), rollbackSync));
         } else {
             connection.send(P2PMessage.hello());
         }
@@ -192,6 +198,9 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
             case MODE_INFO:
                 lobbyMode = msg.gameMode;
                 lobbyTimeLimitSeconds = msg.timeLimitSeconds;
+                lobbySeed = msg.seed;
+                lobbyDifficulty = msg.difficulty;
+                rollbackSync = msg.rollbackSync;
                 // 초기 연결 시 받는 첫 MODE_INFO는 메시지 표시 안 함
                 if (receivedInitialModeInfo) {
                     statusMessage = "상대가 모드를 선택했습니다.";
@@ -333,8 +342,20 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
                     (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D)) {
                 if (timeLimitMin < 10) timeLimitMin++;
                 updateLobbyModeFromSelection();
+            } else if (key == KeyEvent.VK_R) {
+                rollbackSync = !rollbackSync;
+                updateLobbyModeFromSelection();
             } else if (key == KeyEvent.VK_SPACE) {
                 if (myReady && otherReady) {
+                    // 판마다 새 시드를 MODE_INFO로 먼저 보내고 시작 (양쪽이 이 시드로 두 보드를 같이 시뮬레이션)
+                    // STATE 방식이면 시드 0 → 양쪽 모두 각자 보드만 진행하고 STATE/ATTACK을 주고받음
+                    lobbySeed = 0L;
+                    if (rollbackSync) {
+                        lobbySeed = new GameRandom().nextLong();
+                        if (lobbySeed == 0L) lobbySeed = 1L;
+                    }
+                    lobbyDifficulty = serverDifficulty();
+                    connection.send(P2PMessage.modeInfo(lobbyMode, lobbyTimeLimitSeconds, lobbySeed, lobbyDifficulty, rollbackSync));
                     connection.send(P2PMessage.gameStart());
                     startGameFromLobby();
                 }
@@ -363,10 +384,15 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
                 break;
         }
         if (connection != null) {
-            connection.send(P2PMessage.modeInfo(lobbyMode, lobbyTimeLimitSeconds));
+            connection.send(P2PMessage.modeInfo(lobbyMode, lobbyTimeLimitSeconds, 0L, serverDifficulty(), rollbackSync));
         }
     }
 
+    // 서버 설정의 난이도 (롤백 대전에서 양쪽 보드에 같이 적용)
+    private Settings.Difficulty serverDifficulty() {
+        return settings != null ? settings.getDifficulty() : Settings.Difficulty.NORMAL;
+    }
+
     private void startGameFromLobby() {
         goingIntoBattle = true;
 
@@ -380,7 +406,9 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
                 lobbyMode,
                 settings,
                 lobbyTimeLimitSeconds,
-                asServer
+                asServer,
+                rollbackSync ? lobbySeed : 0L,
+                lobbyDifficulty
         );
         // BattleScreen 쪽에서 connection.setListener(this)를 다시 호출함
         frame.showScreen(battle);
@@ -477,6 +505,19 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
             g2.drawString("Time Limit: " + minutes + " min", leftX, y);
         }
 
+        y += 25;
+        g2.setColor(Color.YELLOW);
+        g2.drawString("Sync: " + (rollbackSync ? "Rollback (입력 교환)" : "State (상태 전송)")
+                + (asServer ? "  [R: 전환]" : ""), leftX, y);
+
+        // 롤백 대전은 각자 설정 대신 서버 난이도로 두 보드를 같이 진행 (STATE 방식은 각자 설정 난이도)
+        Settings.Difficulty shownDifficulty = asServer ? serverDifficulty() : lobbyDifficulty;
+        if (rollbackSync && shownDifficulty != null) {
+            y += 25;
+            g2.setColor(Color.YELLOW);
+            g2.drawString("Difficulty: " + shownDifficulty + " (서버 난이도, 두 보드 공통)", leftX, y);
+        }
+
         y += 40;
 
         g2.setFont(new Font("맑은 고딕", Font.BOLD, 18));
@@ -493,6 +534,7 @@ public class P2PLobbyScreen implements Screen, P2PConnectionListener {
             g2.drawString("Space : 양쪽 READY 이면 게임 시작", leftX, y); y += 22;
             g2.drawString("↑/↓ 또는 W/S : 모드 선택", leftX, y); y += 22;
             g2.drawString("←/→ 또는 A/D : 시간 조정(Time Attack)", leftX, y); y += 22;
+            g2.drawString("R : 동기화 방식 전환 (Rollback / State)", leftX, y); y += 22;
         }
 
         g2.setColor(Color.GRAY);
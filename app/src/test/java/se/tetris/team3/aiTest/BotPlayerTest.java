@@ -0,0 +1,120 @@
+package se.tetris.team3.aiTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.ai.BotHeuristic;
+import se.tetris.team3.ai.BotPlanner;
+import se.tetris.team3.ai.BotPlayer;
+import se.tetris.team3.ai.PlacementSearch;
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.BattleGameManager;
+import se.tetris.team3.gameManager.GameManager;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 컴퓨터 플레이어(착지 탐색/휴리스틱/조작) 테스트
+ */
+@DisplayName("컴퓨터 플레이어 테스트")
+class BotPlayerTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE / 2;
+
+    @Test
+    @DisplayName("위가 막힌 칸 밑으로 밀어 넣는 착지도 찾는다")
+    void testEnumerateIncludesTuck() {
+        BitBoard b = new BitBoard();
+        // 19번 줄은 0~5번 칸이 비어 있고, 18번 줄 0~1번 칸이 지붕
+        b.setRowMask(19, 0b1111000000);
+        b.setRowMask(18, 0b0000000011);
+
+        PlacementSearch search = new PlacementSearch(10, 20);
+        int[] out = new int[search.maxStates()];
+        int n = search.enumerate(b, PieceType.I, 0, 3, 0, out);
+        int tuck = search.encode(0, 0, 19);
+        boolean found = false;
+        for (int i = 0; i < n; i++) {
+            if (out[i] == tuck) found = true;
+        }
+        assertTrue(found, "가로 I를 지붕 밑 (19, 0)까지 밀어 넣을 수 있어야 함");
+        assertTrue(b.dropY(PieceType.I.rowMasks(0), 0, 0) < 19, "바로 떨어뜨리면 지붕에 걸림");
+
+        byte[] path = new byte[search.maxStates()];
+        int len = search.findPath(b, PieceType.I, 0, 3, 0, tuck, path);
+        assertTrue(len > 0);
+        assertEquals(PlacementSearch.LEFT, path[len - 1], "마지막 이동은 왼쪽으로 밀어 넣기");
+    }
+
+    @Test
+    @DisplayName("줄을 지울 수 있는 자리를 고른다")
+    void testPlannerPrefersLineClear() {
+        BitBoard b = new BitBoard();
+        // 아래 4줄이 9번 열만 비어 있음
+        for (int y = 16; y < 20; y++) b.setRowMask(y, 0b0111111111);
+
+        BotPlanner planner = new BotPlanner(ForkJoinPool.commonPool(), BotHeuristic.DEFAULT);
+        BotPlanner.Plan plan = planner.plan(b, PieceType.I, 0, 3, 0, PieceType.O, NO_DEADLINE);
+
+        PlacementSearch search = new PlacementSearch(10, 20);
+        assertEquals(search.encode(1, 9, 16), plan.target, "세로 I를 9번 열에 넣어야 함");
+        assertTrue(plan.evaluated > 1);
+    }
+
+    @Test
+    @DisplayName("마감 시각이 지나도 현재 블록 후보 중 하나는 고른다")
+    void testPlannerReturnsWithinBudget() {
+        BotPlanner planner = new BotPlanner(ForkJoinPool.commonPool(), BotHeuristic.DEFAULT);
+        BotPlanner.Plan plan = planner.plan(new BitBoard(), PieceType.T, 0, 4, 0, PieceType.S, System.nanoTime());
+        assertTrue(plan.target >= 0);
+    }
+
+    @Test
+    @DisplayName("빠른 낙하에서도 봇이 블록을 계속 쌓고 줄을 지운다")
+    void testBotKeepsUpWithFastGravity() throws Exception {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock, 12345L);
+        gm.setGravityEnabled(true);
+        BotPlayer bot = new BotPlayer(gm, BotHeuristic.DEFAULT, 20, 0, ForkJoinPool.commonPool());
+
+        long deadline = System.currentTimeMillis() + 20000;
+        while (bot.getPlacedCount() < 150 && !gm.isGameOver() && System.currentTimeMillis() < deadline) {
+            bot.update();
+            if (bot.isThinking()) {
+                Thread.sleep(1);
+                continue;
+            }
+            clock.advance(16);
+            gm.tick();
+        }
+        assertFalse(gm.isGameOver(), "150개를 두기 전에 게임 오버되면 안 됨");
+        assertTrue(bot.getPlacedCount() >= 150);
+        assertTrue(gm.getScore() > 0);
+    }
+
+    @Test
+    @DisplayName("탐색 중에도 update는 기다리지 않는다")
+    void testUpdateDoesNotBlock() {
+        Settings settings = new Settings();
+        BattleGameManager battle = new BattleGameManager(GameMode.BATTLE_NORMAL, settings, 0);
+        // 탐색 예산을 길게 줘도 update()는 바로 반환
+        BotPlayer bot = new BotPlayer(battle.getPlayer2Manager(), BotHeuristic.DEFAULT, 5000, 0, ForkJoinPool.commonPool());
+        battle.setPlayer2Bot(bot);
+        assertTrue(battle.isPlayer2Bot());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) battle.update();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        assertTrue(elapsedMillis < 1000, "update가 탐색을 기다리면 안 됨: " + elapsedMillis + "ms");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> battle.setPlayer2Bot(new BotPlayer(battle.getPlayer1Manager())));
+        battle.restart();
+        assertEquals(0, bot.getPlacedCount());
+    }
+}
@@ -0,0 +1,81 @@
+package se.tetris.team3.blocksTest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.blocks.IBlock;
+import se.tetris.team3.blocks.PieceGenerator;
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameRandom;
+
+public class PieceGeneratorTest {
+
+    private static final int ITERATIONS = 140000;
+
+    private int[] sample(Settings.Difficulty difficulty, long seed) {
+        PieceGenerator gen = new PieceGenerator(new GameRandom(seed));
+        int[] counts = new int[PieceType.values().length];
+        for (int i = 0; i < ITERATIONS; i++) counts[gen.next(difficulty, false).ordinal()]++;
+        return counts;
+    }
+
+    @Test
+    @DisplayName("같은 시드면 같은 블록 순서")
+    void testSameSeedSameSequence() {
+        PieceGenerator a = new PieceGenerator(new GameRandom(42L));
+        PieceGenerator b = new PieceGenerator(new GameRandom(42L));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.next(Settings.Difficulty.NORMAL, false), b.next(Settings.Difficulty.NORMAL, false));
+        }
+    }
+
+    @Test
+    @DisplayName("난이도별 I블록 비율: EASY 12/72, NORMAL 10/70, HARD 8/68")
+    void testDifficultyWeights() {
+        double[][] expected = {
+            {Settings.Difficulty.EASY.ordinal(), 12.0 / 72},
+            {Settings.Difficulty.NORMAL.ordinal(), 10.0 / 70},
+            {Settings.Difficulty.HARD.ordinal(), 8.0 / 68},
+        };
+        for (double[] e : expected) {
+            Settings.Difficulty d = Settings.Difficulty.values()[(int) e[0]];
+            int[] counts = sample(d, 7L);
+            double iRatio = (double) counts[PieceType.I.ordinal()] / ITERATIONS;
+            assertEquals(e[1], iRatio, 0.01, d + " I블록 비율");
+            assertEquals(0, counts[PieceType.ANVIL.ordinal()], "무게추는 생성기에서 나오지 않음");
+            for (PieceType t : PieceType.values()) {
+                if (t == PieceType.I || t == PieceType.ANVIL) continue;
+                double other = (1.0 - e[1]) / 6;
+                assertEquals(other, (double) counts[t.ordinal()] / ITERATIONS, 0.01, d + " " + t);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("I-only 모드에서는 항상 I블록")
+    void testIOnly() {
+        PieceGenerator gen = new PieceGenerator(new GameRandom(1L));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(PieceType.I, gen.next(Settings.Difficulty.HARD, true));
+        }
+        assertTrue(PieceGenerator.create(PieceType.I) instanceof IBlock);
+    }
+
+    @Test
+    @DisplayName("GameRandom.nextInt는 범위 안의 값만 반환")
+    void testRandomBounds() {
+        GameRandom r = new GameRandom(123L);
+        for (int i = 0; i < 10000; i++) {
+            int v = r.nextInt(7);
+            assertTrue(v >= 0 && v < 7);
+            double d = r.nextDouble();
+            assertTrue(d >= 0.0 && d < 1.0);
+        }
+        long state = r.getState();
+        int next = r.nextInt();
+        r.setState(state);
+        assertEquals(next, r.nextInt(), "상태 복원 후 같은 값");
+    }
+}
@@ -0,0 +1,77 @@
+package se.tetris.team3.blocksTest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.blocks.AnvilItemBlock;
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.blocks.JBlock;
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.blocks.TBlock;
+
+public class PieceTypeTest {
+
+    private static int[][] rotateCW(int[][] s) {
+        int rows = s.length, cols = s[0].length;
+        int[][] rotated = new int[cols][rows];
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                rotated[c][rows - 1 - r] = s[r][c];
+        return rotated;
+    }
+
+    @Test
+    @DisplayName("회전 테이블은 행렬 회전 결과와 같고 4번 돌면 원래 모양")
+    void testRotationTableMatchesMatrixRotation() {
+        for (PieceType t : PieceType.values()) {
+            if (!t.isRotatable()) continue;
+            int[][] expected = t.shape(0);
+            for (int rot = 0; rot < 4; rot++) {
+                assertArrayEquals(expected, t.shape(rot), t + " rot=" + rot);
+                expected = rotateCW(expected);
+            }
+            assertArrayEquals(t.shape(0), expected);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 종류의 블록은 회전 상태 배열을 공유")
+    void testShapesAreShared() {
+        Block a = new TBlock();
+        Block b = new TBlock();
+        assertSame(a.getShape(), b.getShape());
+        a.rotate();
+        b.rotate();
+        assertSame(a.getShape(), b.getShape());
+        assertSame(a.getRotatedShape(), PieceType.T.shape(2));
+        assertSame(a.getRowMasks(), PieceType.T.rowMasks(1));
+    }
+
+    @Test
+    @DisplayName("아이템 칸은 회전을 따라 이동하고 되돌리면 원위치")
+    void testItemCellFollowsRotation() {
+        Block j = new JBlock(); // {{1,1,1},{0,0,1}}
+        j.setItemType('L');
+        j.setItemCell(1, 2);
+        int rows = j.height();
+        int r = j.getItemRow(), c = j.getItemCol();
+        j.rotate();
+        assertEquals(c, j.getItemRow());
+        assertEquals(rows - 1 - r, j.getItemCol());
+        assertEquals(1, j.getShape()[j.getItemRow()][j.getItemCol()], "아이템 칸은 채워진 칸이어야 함");
+        j.rotateBack();
+        assertEquals(1, j.getItemRow());
+        assertEquals(2, j.getItemCol());
+    }
+
+    @Test
+    @DisplayName("무게추는 회전하지 않음")
+    void testAnvilDoesNotRotate() {
+        Block anvil = new AnvilItemBlock();
+        int[][] before = anvil.getShape();
+        anvil.rotate();
+        assertSame(before, anvil.getShape());
+        assertSame(before, anvil.getRotatedShape());
+    }
+}
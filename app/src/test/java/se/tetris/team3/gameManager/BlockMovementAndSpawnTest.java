@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import se.tetris.team3.blocks.Block;
 import se.tetris.team3.blocks.IBlock;
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -85,14 +86,14 @@ class BlockMovementAndSpawnTest {
         GameManager gm = new GameManager(GameMode.CLASSIC);
         // 밑에 블록이 있도록 필드 설정
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            int[][] field = (int[][]) f.get(gm);
+            BitBoard field = (BitBoard) f.get(gm);
             int blockX = gm.getBlockX();
             int blockY = gm.getBlockY();
                 // 블록 바로 아래 줄 전체에 장애물 추가
-                for (int x = 0; x < field[0].length; x++) {
-                    field[blockY + 1][x] = 1;
+                for (int x = 0; x < field.width(); x++) {
+                    field.set(blockY + 1, x, true);
                 }
         } catch (Exception e) { throw new RuntimeException(e); }
         gm.stepDownOrFix();
@@ -2,45 +2,53 @@ package se.tetris.team3.gameManager;
 
 import org.junit.jupiter.api.Test;
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.TickClock;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class FieldAndLineTest {
         @Test
         void testClearLinesAwardScoreFalseDoesNotChangeScore() throws InterruptedException {
-            GameManager gm = new GameManager(GameMode.CLASSIC);
+            TickClock clock = new TickClock();
+            GameManager gm = new GameManager(GameMode.CLASSIC, clock);
             int[][] field = getField(gm);
             for (int i = 0; i < field[19].length; i++) field[19][i] = 1;
             setField(gm, field);
             int scoreBefore = getScore(gm);
             gm.clearLines(false);
-            Thread.sleep(200);
+            clock.advance(200);
+            gm.tick();
             int scoreAfter = getScore(gm);
             assertEquals(scoreBefore, scoreAfter, "awardScore=false일 때 점수 변화 없음");
         }
 
         @Test
         void testClearLinesLevelUpAndSpeedUp() throws InterruptedException {
-            GameManager gm = new GameManager(GameMode.CLASSIC);
+            TickClock clock = new TickClock();
+            GameManager gm = new GameManager(GameMode.CLASSIC, clock);
             int[][] field = getField(gm);
             // 10줄을 모두 채움
             for (int r = 10; r < 20; r++) for (int c = 0; c < field[r].length; c++) field[r][c] = 1;
             setField(gm, field);
             gm.clearLines();
-            Thread.sleep(300);
+            clock.advance(300);
+            gm.tick();
             assertTrue(getLevel(gm) > 1, "10줄 삭제 후 레벨업");
             assertTrue(isSpeedUp(gm), "레벨업 후 speedUp true");
         }
 
         @Test
         void testClearLinesItemModeGivesPendingItem() throws InterruptedException {
-            GameManager gm = new GameManager(GameMode.ITEM);
+            TickClock clock = new TickClock();
+            GameManager gm = new GameManager(GameMode.ITEM, clock);
             int[][] field = getField(gm);
             // 10줄을 모두 채움
             for (int r = 10; r < 20; r++) for (int c = 0; c < field[r].length; c++) field[r][c] = 1;
             setField(gm, field);
             gm.clearLines();
-            Thread.sleep(300);
+            clock.advance(300);
+            gm.tick();
             assertTrue(isPendingItem(gm), "아이템 모드에서 10줄 삭제 시 pendingItem true");
         }
 
@@ -106,7 +114,8 @@ class FieldAndLineTest {
 
     @Test
     void testLineClearRemovesFilledLine() throws InterruptedException {
-        GameManager gm = new GameManager(GameMode.CLASSIC);
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock);
         int[][] field = getField(gm);
         // 19번째 줄을 모두 채움
         for (int i = 0; i < field[19].length; i++) {
@@ -114,7 +123,8 @@ class FieldAndLineTest {
         }
         setField(gm, field);
         gm.clearLines();
-        Thread.sleep(200); // 삭제 완료 대기
+        clock.advance(200); // 삭제 완료 대기
+        gm.tick();
         field = getField(gm);
         for (int cell : field[19]) {
             assertEquals(0, cell, "클리어 후 마지막 줄이 0이어야 함");
@@ -123,7 +133,8 @@ class FieldAndLineTest {
 
     @Test
     void testMultipleLineClearRemovesMultipleLines() throws InterruptedException {
-        GameManager gm = new GameManager(GameMode.CLASSIC);
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock);
         int[][] field = getField(gm);
         // 18, 19번째 줄을 모두 채움
         for (int i = 0; i < field[19].length; i++) {
@@ -132,7 +143,8 @@ class FieldAndLineTest {
         }
         setField(gm, field);
         gm.clearLines();
-        Thread.sleep(200); // 삭제 완료 대기
+        clock.advance(200); // 삭제 완료 대기
+        gm.tick();
         field = getField(gm);
         for (int cell : field[19]) {
             assertEquals(0, cell, "클리어 후 마지막 줄이 0이어야 함");
@@ -142,20 +154,27 @@ class FieldAndLineTest {
         }
     }
 
-    // 필드 getter
+    // 필드 getter (비트보드 내용을 int[][] 스냅샷으로 복사)
     private int[][] getField(GameManager gm) {
-        try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
-            f.setAccessible(true);
-            return (int[][]) f.get(gm);
-        } catch (Exception e) { throw new RuntimeException(e); }
+        BitBoard board = getBoard(gm);
+        int[][] field = new int[board.height()][board.width()];
+        for (int r = 0; r < board.height(); r++)
+            for (int c = 0; c < board.width(); c++)
+                field[r][c] = board.get(r, c);
+        return field;
     }
-    // 필드 setter
+    // 필드 setter (int[][] 내용을 비트보드에 반영)
     private void setField(GameManager gm, int[][] field) {
+        BitBoard board = getBoard(gm);
+        for (int r = 0; r < field.length; r++)
+            for (int c = 0; c < field[r].length; c++)
+                board.set(r, c, field[r][c] != 0);
+    }
+    private BitBoard getBoard(GameManager gm) {
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            f.set(gm, field);
+            return (BitBoard) f.get(gm);
         } catch (Exception e) { throw new RuntimeException(e); }
     }
 }
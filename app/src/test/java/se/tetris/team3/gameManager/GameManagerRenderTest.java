@@ -2,6 +2,7 @@ package se.tetris.team3.gameManager;
 
 import org.junit.jupiter.api.Test;
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.ui.render.HudRenderer;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -22,21 +23,21 @@ class GameManagerRenderTest {
                 diffField.setAccessible(true);
                 diffField.set(settings, diff);
                 gm.attachSettings(settings);
-                gm.renderHUD(g2, 10, 20, 300);
+                HudRenderer.render(g2, gm, 10, 20, 300);
             }
 
             // nextBlock에 아이템 없는 경우
             java.lang.reflect.Field nextBlockField = GameManager.class.getDeclaredField("nextBlock");
             nextBlockField.setAccessible(true);
             nextBlockField.set(gm, new se.tetris.team3.blocks.OBlock());
-            gm.renderHUD(g2, 10, 20, 300);
+            HudRenderer.render(g2, gm, 10, 20, 300);
 
             // nextBlock에 아이템 있는 경우 (L 아이템)
             se.tetris.team3.blocks.TBlock block = new se.tetris.team3.blocks.TBlock();
             block.setItemType('L');
             block.getClass().getMethod("setItemCell", int.class, int.class).invoke(block, 0, 0);
             nextBlockField.set(gm, block);
-            gm.renderHUD(g2, 10, 20, 300);
+            HudRenderer.render(g2, gm, 10, 20, 300);
 
             // slowModeActive 분기
             java.lang.reflect.Field slowField = GameManager.class.getDeclaredField("slowModeActive");
@@ -45,7 +46,7 @@ class GameManagerRenderTest {
             java.lang.reflect.Field slowEndField = GameManager.class.getDeclaredField("slowModeEndTime");
             slowEndField.setAccessible(true);
             slowEndField.set(gm, System.currentTimeMillis() + 5000);
-            gm.renderHUD(g2, 10, 20, 300);
+            HudRenderer.render(g2, gm, 10, 20, 300);
             slowField.set(gm, false);
 
             // I-only 모드 분기
@@ -55,7 +56,7 @@ class GameManagerRenderTest {
             java.lang.reflect.Field iOnlyEndField = GameManager.class.getDeclaredField("iOnlyModeEndMillis");
             iOnlyEndField.setAccessible(true);
             iOnlyEndField.set(gm, System.currentTimeMillis() + 5000);
-            gm.renderHUD(g2, 10, 20, 300);
+            HudRenderer.render(g2, gm, 10, 20, 300);
             iOnlyField.set(gm, false);
 
             // doubleScoreActive 분기
@@ -65,7 +66,7 @@ class GameManagerRenderTest {
             java.lang.reflect.Field doubleEndField = GameManager.class.getDeclaredField("doubleScoreTime");
             doubleEndField.setAccessible(true);
             doubleEndField.set(gm, System.currentTimeMillis() + 5000);
-            gm.renderHUD(g2, 10, 20, 300);
+            HudRenderer.render(g2, gm, 10, 20, 300);
             doubleField.set(gm, false);
         }
         
@@ -75,7 +76,7 @@ class GameManagerRenderTest {
         BufferedImage img = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2 = img.createGraphics();
         // HUD 렌더링이 예외 없이 동작하는지 확인
-        assertDoesNotThrow(() -> gm.renderHUD(g2, 10, 20, 200));
+        assertDoesNotThrow(() -> HudRenderer.render(g2, gm, 10, 20, 200));
     }
 
                     @Test
@@ -94,7 +95,7 @@ class GameManagerRenderTest {
                         java.lang.reflect.Field diffField = GameManager.class.getDeclaredField("difficulty");
                         diffField.setAccessible(true);
                         diffField.set(gm, se.tetris.team3.core.Settings.Difficulty.HARD);
-                        gm.renderHUD(g2, 10, 20, 300);
+                        HudRenderer.render(g2, gm, 10, 20, 300);
                         int blockSize = 20;
                         int padding = 10;
                         int hudX = padding + blockSize * 10 + 16;
@@ -124,7 +125,7 @@ class GameManagerRenderTest {
                         java.lang.reflect.Field slowEndField = GameManager.class.getDeclaredField("slowModeEndTime");
                         slowEndField.setAccessible(true);
                         slowEndField.set(gm, System.currentTimeMillis() + 5000);
-                        gm.renderHUD(g2, 10, 20, 300);
+                        HudRenderer.render(g2, gm, 10, 20, 300);
                         int slowY = scoreY + 200;
                         boolean foundSlowText = false;
                         for (int y = slowY - 2; y <= slowY + 2; y++) {
@@ -148,7 +149,7 @@ class GameManagerRenderTest {
                         java.lang.reflect.Field iOnlyEndField = GameManager.class.getDeclaredField("iOnlyModeEndMillis");
                         iOnlyEndField.setAccessible(true);
                         iOnlyEndField.set(gm, System.currentTimeMillis() + 5000);
-                        gm.renderHUD(g2, 10, 20, 300);
+                        HudRenderer.render(g2, gm, 10, 20, 300);
                         int iOnlyY = slowField.getBoolean(gm) ? scoreY + 230 : scoreY + 200;
                         boolean foundIOnlyText = false;
                         for (int y = iOnlyY - 2; y <= iOnlyY + 2; y++) {
@@ -172,7 +173,7 @@ class GameManagerRenderTest {
                         java.lang.reflect.Field doubleEndField = GameManager.class.getDeclaredField("doubleScoreTime");
                         doubleEndField.setAccessible(true);
                         doubleEndField.set(gm, System.currentTimeMillis() + 5000);
-                        gm.renderHUD(g2, 10, 20, 300);
+                        HudRenderer.render(g2, gm, 10, 20, 300);
                         int doubleY = scoreY + 200;
                         if (slowField.getBoolean(gm)) doubleY += 30;
                         if (iOnlyField.getBoolean(gm)) doubleY += 30;
@@ -198,9 +199,9 @@ class GameManagerRenderTest {
         Graphics2D g2 = img.createGraphics();
         // drawStringEllipsis가 예외 없이 동작하는지 확인
         assertDoesNotThrow(() -> {
-            java.lang.reflect.Method m = GameManager.class.getDeclaredMethod("drawStringEllipsis", Graphics2D.class, String.class, int.class, int.class, int.class);
+            java.lang.reflect.Method m = HudRenderer.class.getDeclaredMethod("drawStringEllipsis", Graphics2D.class, String.class, int.class, int.class, int.class);
             m.setAccessible(true);
-            m.invoke(gm, g2, "테스트 문자열", 0, 20, 80);
+            m.invoke(null, g2, "테스트 문자열", 0, 20, 80);
         });
     }
 }
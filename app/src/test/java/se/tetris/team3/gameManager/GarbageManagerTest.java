@@ -2,6 +2,7 @@ package se.tetris.team3.gameManager;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import se.tetris.team3.engine.BitBoard;
 import static org.junit.jupiter.api.Assertions.*;
 
 class GarbageManagerTest {
@@ -17,16 +18,16 @@ class GarbageManagerTest {
         int blockY = gm.getBlockY();
         // 필드에 블록 모양대로 채움 (reflection 사용)
         try {
-            java.lang.reflect.Field fieldArr = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field fieldArr = GameManager.class.getDeclaredField("board");
             fieldArr.setAccessible(true);
-            int[][] field = (int[][]) fieldArr.get(gm);
+            BitBoard field = (BitBoard) fieldArr.get(gm);
             for (int r = 0; r < shape.length; r++) {
                 for (int c = 0; c < shape[r].length; c++) {
                     if (shape[r][c] != 0) {
                         int fy = blockY + r;
                         int fx = blockX + c;
-                        if (fy >= 0 && fy < field.length && fx >= 0 && fx < field[0].length) {
-                            field[fy][fx] = 1;
+                        if (fy >= 0 && fy < field.height() && fx >= 0 && fx < field.width()) {
+                            field.set(fy, fx, true);
                         }
                     }
                 }
@@ -202,4 +203,16 @@ class GarbageManagerTest {
                 (i + 1) + "번째 줄의 " + i + "번 위치는 빈칸");
         }
     }
+
+    @Test
+    @DisplayName("미리보기는 복사본: 이후 큐가 바뀌어도 이미 받은 목록은 그대로")
+    void testPendingGarbagePreviewIsCopy() {
+        GameManager gm = new GameManager();
+        gm.enqueueGarbage(new boolean[][]{new boolean[10], new boolean[10]});
+        java.util.List<boolean[]> preview = gm.getPendingGarbagePreview();
+
+        gm.enqueueGarbage(new boolean[][]{new boolean[10]});
+        assertEquals(2, preview.size());
+        assertEquals(3, gm.getPendingGarbagePreview().size());
+    }
 }
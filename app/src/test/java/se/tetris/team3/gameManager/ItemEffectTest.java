@@ -2,6 +2,7 @@ package se.tetris.team3.gameManager;
 
 import org.junit.jupiter.api.Test;
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,22 +73,27 @@ class ItemEffectTest {
 
     // 헬퍼: 특정 열에 블록 배치
     private void fillColumn(GameManager gm, int col, int... rows) {
-        try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
-            f.setAccessible(true);
-            int[][] field = (int[][]) f.get(gm);
-            for (int r : rows) {
-                field[r][col] = 1;
-            }
-        } catch (Exception e) { throw new RuntimeException(e); }
+        BitBoard board = getBoard(gm);
+        for (int r : rows) {
+            board.set(r, col, true);
+        }
     }
 
-    // 헬퍼: 필드 반환
+    // 헬퍼: 필드 반환 (비트보드 스냅샷)
     private int[][] getField(GameManager gm) {
+        BitBoard board = getBoard(gm);
+        int[][] field = new int[board.height()][board.width()];
+        for (int r = 0; r < board.height(); r++)
+            for (int c = 0; c < board.width(); c++)
+                field[r][c] = board.get(r, c);
+        return field;
+    }
+
+    private BitBoard getBoard(GameManager gm) {
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            return (int[][]) f.get(gm);
+            return (BitBoard) f.get(gm);
         } catch (Exception e) { throw new RuntimeException(e); }
     }
 
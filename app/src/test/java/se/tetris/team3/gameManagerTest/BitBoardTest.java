@@ -0,0 +1,128 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.blocks.IBlock;
+import se.tetris.team3.blocks.JBlock;
+import se.tetris.team3.blocks.OBlock;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.ui.render.GhostBlockRenderer;
+
+/**
+ * 비트보드 충돌/줄 판정 테스트
+ */
+@DisplayName("비트보드 테스트")
+class BitBoardTest {
+
+    private BitBoard board;
+
+    @BeforeEach
+    void setup() {
+        board = new BitBoard(10, 20);
+    }
+
+    @Test
+    @DisplayName("블록 행 마스크는 shape의 열 비트와 일치")
+    void testRowMasks() {
+        Block j = new JBlock(); // {{1,1,1},{0,0,1}}
+        assertArrayEquals(new int[]{0b111, 0b100}, j.getRowMasks());
+        j.rotate();
+        int[][] s = j.getShape();
+        int[] masks = j.getRowMasks();
+        for (int r = 0; r < s.length; r++) {
+            int m = 0;
+            for (int c = 0; c < s[r].length; c++) if (s[r][c] != 0) m |= 1 << c;
+            assertEquals(m, masks[r], "회전 후 마스크 재계산 (row=" + r + ")");
+        }
+    }
+
+    @Test
+    @DisplayName("벽/바닥/천장 밖은 충돌")
+    void testWallCollision() {
+        int[] i = new IBlock().getRowMasks();
+        assertFalse(board.collides(i, 0, 0));
+        assertFalse(board.collides(i, 6, 19));
+        assertTrue(board.collides(i, -1, 0), "왼쪽 벽");
+        assertTrue(board.collides(i, 7, 0), "오른쪽 벽");
+        assertTrue(board.collides(i, 0, 20), "바닥");
+        assertTrue(board.collides(i, 0, -1), "천장");
+        assertTrue(board.collides(i, 40, 0), "큰 시프트");
+        assertTrue(board.collides(i, -40, 0), "큰 음수 시프트");
+    }
+
+    @Test
+    @DisplayName("기존 블록과 겹치면 충돌")
+    void testCellCollision() {
+        int[] o = new OBlock().getRowMasks();
+        board.set(10, 4, true);
+        assertTrue(board.collides(o, 3, 9));
+        assertTrue(board.collides(o, 4, 10));
+        assertFalse(board.collides(o, 5, 9));
+        assertEquals(8, board.dropY(o, 4, 0), "장애물 바로 위에서 멈춤");
+    }
+
+    @Test
+    @DisplayName("가득 찬 줄 수집/삭제/쓰레기 줄 추가")
+    void testFullRowsAndShift() {
+        board.setRowMask(19, board.fullRowMask());
+        board.setRowMask(17, board.fullRowMask());
+        board.set(18, 0, true);
+        int[] out = new int[20];
+        assertEquals(2, board.collectFullRows(out));
+        assertEquals(17, out[0]);
+        assertEquals(19, out[1]);
+
+        board.removeRow(19);
+        assertTrue(board.isRowFull(18), "17번 줄이 한 칸 내려옴");
+        assertEquals(1, board.get(19, 0), "18번 줄이 한 칸 내려옴");
+        assertTrue(board.isRowEmpty(0));
+
+        board.pushRowFromBottom(0b1111111110);
+        assertEquals(0, board.get(19, 0));
+        assertTrue(board.isRowFull(17), "위로 밀림");
+    }
+
+    @Test
+    @DisplayName("바뀐 줄(dirty)만 가득 찬 줄 검사 대상이 되고, 줄 이동 시 함께 이동")
+    void testDirtyRowTracking() {
+        assertFalse(board.hasDirtyRows(), "새 보드는 바뀐 줄 없음");
+        board.setRowMask(19, board.fullRowMask());
+        board.set(5, 3, true);
+        assertEquals((1L << 19) | (1L << 5), board.dirtyRowMask());
+        assertEquals(1, board.rowFillCount(5));
+        assertEquals(10, board.rowFillCount(19));
+
+        int[] out = new int[20];
+        assertEquals(1, board.collectDirtyFullRows(out));
+        assertEquals(19, out[0]);
+
+        board.clearDirtyRows();
+        assertEquals(0, board.collectDirtyFullRows(out), "확인 후에는 검사할 줄 없음");
+        board.set(5, 3, true);
+        assertFalse(board.hasDirtyRows(), "값이 그대로면 dirty 아님");
+
+        // 5번 줄 dirty → 19번 줄 삭제 후에는 6번 줄로 이동, 맨 윗줄도 바뀐 줄
+        board.set(5, 4, true);
+        board.removeRow(19);
+        assertEquals((1L << 6) | 1L, board.dirtyRowMask());
+
+        // 아래에서 쓰레기 줄이 올라오면 한 칸씩 위로
+        board.clearDirtyRows();
+        board.set(10, 0, true);
+        board.pushRowFromBottom(0b1);
+        assertEquals((1L << 9) | (1L << 19), board.dirtyRowMask());
+    }
+
+    @Test
+    @DisplayName("GameManager 고스트 위치와 렌더러 계산 결과가 같음")
+    void testGhostMatchesRenderer() {
+        GameManager gm = new GameManager();
+        gm.getBoard().setRowMask(15, 0b0000111100);
+        int expected = GhostBlockRenderer.calculateGhostY(gm.getCurrentBlock(), gm.getBlockX(), gm.getBlockY(),
+                20, 10, gm::getFieldValue);
+        assertEquals(expected, gm.getGhostY());
+    }
+}
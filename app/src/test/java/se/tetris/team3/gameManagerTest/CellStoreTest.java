@@ -0,0 +1,85 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.CellStore;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+
+import java.lang.reflect.Method;
+
+/**
+ * 칸 정보 묶음 저장소 테스트
+ */
+@DisplayName("칸 정보 저장소 테스트")
+class CellStoreTest {
+
+    @Test
+    @DisplayName("칸 값 묶기/풀기")
+    void testPackUnpack() {
+        int cell = CellStore.pack(true, 7, 'L', false);
+        assertTrue(CellStore.isOccupied(cell));
+        assertFalse(CellStore.isGarbage(cell));
+        assertEquals(7, CellStore.palette(cell));
+        assertEquals('L', CellStore.item(cell));
+
+        int garbage = CellStore.pack(true, PieceType.PALETTE_GARBAGE, (char) 0, true);
+        assertTrue(CellStore.isGarbage(garbage));
+        assertEquals(PieceType.PALETTE_GARBAGE, CellStore.palette(garbage));
+        assertEquals(0, CellStore.item(garbage));
+    }
+
+    @Test
+    @DisplayName("줄 삭제 시 위쪽 줄이 한 칸씩 내려오고 맨 윗줄은 비워진다")
+    void testRemoveRow() {
+        CellStore store = new CellStore(4, 5);
+        for (int y = 0; y < 5; y++) store.set(y, 0, CellStore.pack(true, y + 1, (char) 0, false));
+
+        store.removeRow(3);
+        assertEquals(CellStore.EMPTY, store.get(0, 0));
+        assertEquals(1, store.getPalette(1, 0));
+        assertEquals(2, store.getPalette(2, 0));
+        assertEquals(3, store.getPalette(3, 0));
+        assertEquals(5, store.getPalette(4, 0), "삭제 줄 아래는 그대로");
+    }
+
+    @Test
+    @DisplayName("아래에서 줄 추가 시 전체가 한 칸씩 올라가고 맨 아래는 비워진다")
+    void testPushRowFromBottom() {
+        CellStore store = new CellStore(4, 3);
+        for (int y = 0; y < 3; y++) store.set(y, 1, CellStore.pack(true, y + 1, 'T', false));
+
+        store.pushRowFromBottom();
+        assertEquals(2, store.getPalette(0, 1));
+        assertEquals(3, store.getPalette(1, 1));
+        assertEquals(CellStore.EMPTY, store.get(2, 1));
+        assertEquals('T', store.getItem(0, 1));
+    }
+
+    @Test
+    @DisplayName("줄 삭제 후에도 아이템/공격 줄 정보가 보드와 함께 움직인다")
+    void testGameManagerKeepsCellsAlignedWithBoard() throws Exception {
+        GameManager gm = new GameManager(GameMode.ITEM, new TickClock(), 11L);
+        Method addGarbage = GameManager.class.getDeclaredMethod("addGarbageRowToField", boolean[].class);
+        addGarbage.setAccessible(true);
+        boolean[] pattern = new boolean[10];
+        for (int x = 1; x < pattern.length; x++) pattern[x] = true;
+        addGarbage.invoke(gm, (Object) pattern);
+
+        int bottom = 19;
+        assertTrue(gm.isGarbage(bottom, 1));
+        assertFalse(gm.isGarbage(bottom, 0), "구멍 칸은 공격 블록이 아님");
+        assertEquals(PieceType.PALETTE_GARBAGE, gm.getCellPalette(bottom, 1));
+
+        addGarbage.invoke(gm, (Object) pattern);
+        assertTrue(gm.isGarbage(bottom - 1, 1), "먼저 들어온 줄은 한 칸 위로 이동");
+
+        gm.resetGame();
+        assertFalse(gm.isGarbage(bottom, 1));
+        assertEquals(PieceType.PALETTE_EMPTY, gm.getCellPalette(bottom, 1));
+    }
+}
@@ -3,10 +3,12 @@ package se.tetris.team3.gameManagerTest;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import se.tetris.team3.blocks.PieceType;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.CellStore;
 import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.ui.render.BlockPalette;
 
-import java.awt.Color;
 import java.lang.reflect.Field;
 
 /**
@@ -26,21 +28,22 @@ class ColorFieldCopyTest {
     }
     
     @Test
-    @DisplayName("colorField 필드 존재 확인")
+    @DisplayName("칸 정보 저장소(cells) 존재 확인")
     void testColorFieldExists() throws Exception {
-        Field colorFieldField = GameManager.class.getDeclaredField("colorField");
-        colorFieldField.setAccessible(true);
-        Color[][] colorField = (Color[][]) colorFieldField.get(manager);
+        Field cellsField = GameManager.class.getDeclaredField("cells");
+        cellsField.setAccessible(true);
+        // 색상은 팔레트 번호로 칸 int 안에 묶여 저장됨
+        CellStore cells = (CellStore) cellsField.get(manager);
         
-        assertNotNull(colorField);
-        assertEquals(20, colorField.length);
-        assertEquals(10, colorField[0].length);
+        assertNotNull(cells);
+        assertEquals(20, cells.height());
+        assertEquals(10, cells.width());
     }
     
     @Test
-    @DisplayName("블록 색상 메서드 동작")
+    @DisplayName("빈 칸의 팔레트 번호는 0이고 화면 색은 렌더러에서 조회")
     void testGetBlockColor() {
-        Color color = manager.getBlockColor(19, 5);
-        assertTrue(color == null || color instanceof Color);
+        assertEquals(PieceType.PALETTE_EMPTY, manager.getCellPalette(19, 5));
+        assertNull(BlockPalette.color(manager.getCellPalette(19, 5)));
     }
 }
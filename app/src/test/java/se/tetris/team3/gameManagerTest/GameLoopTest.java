@@ -0,0 +1,168 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.engine.GameLoop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 고정 간격 게임 루프 테스트
+ */
+@DisplayName("게임 루프 테스트")
+class GameLoopTest {
+
+    private GameLoop loop;
+
+    @AfterEach
+    void tearDown() {
+        if (loop != null) loop.stop();
+    }
+
+    @Test
+    @DisplayName("루프가 돌지 않을 때 submit은 바로 실행된다")
+    void testSubmitRunsInlineWhenStopped() {
+        AtomicInteger count = new AtomicInteger();
+        loop = new GameLoop("test-loop", count::incrementAndGet, null);
+        List<String> log = new ArrayList<>();
+        loop.submit(() -> log.add("cmd"));
+        assertEquals(Collections.singletonList("cmd"), log);
+        assertEquals(0, count.get(), "step은 실행되지 않아야 함");
+    }
+
+    @Test
+    @DisplayName("runOnce는 명령 → step → frame 순서로 실행된다")
+    void testRunOnceOrder() {
+        List<String> log = new ArrayList<>();
+        loop = new GameLoop("test-loop", () -> log.add("step"), () -> log.add("frame"));
+        loop.runOnce();
+        assertEquals(java.util.Arrays.asList("step", "frame"), log);
+
+        loop.setPaused(true);
+        log.clear();
+        loop.runOnce();
+        assertEquals(Collections.singletonList("frame"), log, "일시정지 중에는 step 생략");
+    }
+
+    @Test
+    @DisplayName("명령과 step은 모두 루프 스레드 하나에서 실행된다")
+    void testCommandsRunOnLoopThread() throws Exception {
+        AtomicReference<Thread> stepThread = new AtomicReference<>();
+        loop = new GameLoop("test-loop", 200, () -> stepThread.set(Thread.currentThread()), null);
+        loop.start();
+
+        final int COMMANDS = 200;
+        CountDownLatch done = new CountDownLatch(COMMANDS);
+        List<Thread> commandThreads = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < COMMANDS; i++) {
+            loop.submit(() -> {
+                commandThreads.add(Thread.currentThread());
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(2, TimeUnit.SECONDS), "모든 명령이 처리되어야 함");
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (stepThread.get() == null && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertNotNull(stepThread.get());
+        for (Thread t : commandThreads) assertSame(stepThread.get(), t);
+        assertNotSame(Thread.currentThread(), stepThread.get());
+    }
+
+    @Test
+    @DisplayName("step 속도는 지정한 tick rate를 따른다")
+    void testFixedTimestepRate() throws Exception {
+        AtomicInteger steps = new AtomicInteger();
+        loop = new GameLoop("test-loop", 100, steps::incrementAndGet, null);
+        loop.start();
+        Thread.sleep(500);
+        loop.stop();
+        // 100 step/s × 0.5s ≈ 50 (스케줄링 여유 포함)
+        int n = steps.get();
+        assertTrue(n >= 30 && n <= 60, "step 수가 예상 범위여야 함, 실제: " + n);
+        assertFalse(loop.isRunning());
+    }
+
+    @Test
+    @DisplayName("step에서 예외가 나도 루프는 계속 돈다")
+    void testStepExceptionDoesNotKillLoop() throws Exception {
+        AtomicInteger steps = new AtomicInteger();
+        loop = new GameLoop("test-loop", 200, () -> {
+            if (steps.incrementAndGet() == 1) throw new IllegalStateException("boom");
+        }, null);
+        loop.start();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (steps.get() < 5 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertTrue(steps.get() >= 5);
+        assertTrue(loop.isRunning());
+    }
+
+    @Test
+    @DisplayName("stateLock을 잡고 읽으면 step 도중의 상태를 보지 않는다")
+    void testStateLockExcludesStep() throws Exception {
+        int[] pair = new int[2];
+        loop = new GameLoop("test-loop", 1000, () -> {
+            pair[0]++;
+            Thread.yield();
+            pair[1]++;
+        }, null);
+        loop.start();
+        long deadline = System.currentTimeMillis() + 300;
+        int reads = 0;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (loop.stateLock()) {
+                assertEquals(pair[0], pair[1]);
+            }
+            reads++;
+        }
+        assertTrue(reads > 0 && loop.getStepCount() > 0);
+    }
+
+    @Test
+    @DisplayName("stop()이 기다리다 포기한 예전 스레드는 다시 start()한 뒤 step을 더 돌리지 않는다")
+    void testRestartAfterSlowStopLeavesOneLoop() throws Exception {
+        CountDownLatch inSlowStep = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> stepThreads = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger calls = new AtomicInteger();
+        loop = new GameLoop("test-loop", 200, () -> {
+            stepThreads.add(Thread.currentThread());
+            if (calls.incrementAndGet() == 1) {
+                inSlowStep.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, null);
+        loop.start();
+        assertTrue(inSlowStep.await(2, TimeUnit.SECONDS));
+        Thread old = stepThreads.get(0);
+
+        loop.stop(); // 1초 기다리다 포기 (예전 스레드는 아직 step 안)
+        assertTrue(old.isAlive());
+        loop.start();
+        release.countDown();
+        old.join(2000);
+        assertFalse(old.isAlive(), "예전 스레드는 느린 step이 끝나면 바로 끝나야 함");
+
+        int before = stepThreads.size();
+        Thread.sleep(100);
+        List<Thread> later;
+        synchronized (stepThreads) {
+            later = new ArrayList<>(stepThreads.subList(before, stepThreads.size()));
+        }
+        assertFalse(later.isEmpty());
+        for (Thread t : later) assertNotSame(old, t);
+    }
+}
@@ -0,0 +1,154 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameRandom;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.RollbackSession;
+
+/**
+ * 롤백용 GameManager 스냅샷 저장/복원, 상태 해시/직렬화 테스트
+ */
+@DisplayName("GameManager 스냅샷 테스트")
+class GameManagerSnapshotTest {
+
+    // 시드 고정 입력으로 frames 프레임 진행
+    private static void play(GameManager gm, TickClock clock, int startFrame, int frames, long inputSeed) {
+        GameRandom input = new GameRandom(inputSeed);
+        for (int f = startFrame; f < startFrame + frames && !gm.isGameOver(); f++) {
+            clock.set(RollbackSession.frameMillis(f));
+            int v = input.nextInt(12);
+            int bits = v < 5 ? (1 << v) : 0;
+            RollbackSession.applyInput(gm, bits);
+            if (v == 6) gm.enqueueGarbage(new boolean[][]{{true, true, false, true, true, true, true, true, true, true}});
+            gm.tick();
+            gm.autoCheckLines();
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷으로 되돌린 뒤 같은 입력을 넣으면 결과가 완전히 같다")
+    void testRestoreThenReplayIsDeterministic() {
+        for (GameMode mode : new GameMode[]{GameMode.CLASSIC, GameMode.ITEM}) {
+            TickClock clock = new TickClock();
+            GameManager gm = new GameManager(mode, clock, 99L);
+            gm.setGravityEnabled(true);
+            play(gm, clock, 0, 600, 1L);
+
+            GameManager.Snapshot snap = gm.saveState();
+            long atSnapshot = gm.stateHash();
+
+            play(gm, clock, 600, 900, 2L);
+            long first = gm.stateHash();
+
+            // 다른 입력으로 한참 진행해서 상태를 흩뜨린 뒤 복원
+            play(gm, clock, 1500, 300, 3L);
+            gm.restoreState(snap);
+            assertEquals(atSnapshot, gm.stateHash(), mode + " 복원 직후");
+
+            play(gm, clock, 600, 900, 2L);
+            assertEquals(first, gm.stateHash(), mode + " 복원 후 재실행");
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷 객체를 재사용해도 이전 저장 내용이 남지 않는다")
+    void testSnapshotReuse() {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock, 5L);
+        gm.enqueueGarbage(new boolean[][]{new boolean[10], new boolean[10]});
+        GameManager.Snapshot snap = gm.saveState();
+
+        gm.hardDrop();
+        gm.hardDrop();
+        long later = gm.stateHash();
+        assertEquals(0, gm.getPendingGarbagePreview().size());
+
+        gm.saveState(snap);
+        gm.resetGame();
+        gm.restoreState(snap);
+        assertEquals(later, gm.stateHash());
+        assertEquals(0, gm.getPendingGarbagePreview().size());
+    }
+
+    @Test
+    @DisplayName("직렬화한 스냅샷을 다른 게임에 복원하면 상태 해시와 이후 진행이 같다")
+    void testSerializedSnapshotMatchesHash() throws Exception {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.ITEM, clock, 7L);
+        gm.setGravityEnabled(true);
+        play(gm, clock, 0, 800, 4L);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        gm.saveState().writeTo(new DataOutputStream(bytes));
+
+        TickClock otherClock = new TickClock();
+        GameManager other = new GameManager(GameMode.ITEM, otherClock, 123L);
+        other.setGravityEnabled(true);
+        assertNotEquals(gm.stateHash(), other.stateHash());
+
+        GameManager.Snapshot snap = other.saveState();
+        snap.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        other.restoreState(snap);
+        assertEquals(gm.stateHash(), other.stateHash());
+
+        play(gm, clock, 800, 400, 5L);
+        play(other, otherClock, 800, 400, 5L);
+        assertEquals(gm.stateHash(), other.stateHash());
+
+        // 한 칸만 달라도 해시가 달라짐
+        other.enqueueGarbage(new boolean[][]{new boolean[10]});
+        assertNotEquals(gm.stateHash(), other.stateHash());
+    }
+
+    @Test
+    @DisplayName("손상된 스냅샷(범위 밖 블록 종류/회전/아이템 칸/난이도)은 IOException으로 거부한다")
+    void testMalformedSnapshotRejected() throws Exception {
+        GameManager gm = new GameManager(GameMode.CLASSIC, new TickClock(), 9L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        gm.saveState().writeTo(new DataOutputStream(bytes));
+        byte[] valid = bytes.toByteArray();
+
+        // 보드 80 + 변경 줄 8 + 칸 800 + 삭제 예약 수 1 + 공격 줄 수 1 (새 게임이라 둘 다 0)
+        int piece = 20 * 4 + 8 + 20 * 10 * 4 + 1 + 1;
+        // 블록 둘(종류/회전/아이템/행/열 = 6바이트씩) + 위치/점수 등 28바이트 뒤가 난이도
+        int difficulty = piece + 12 + 28;
+        assertEquals(Settings.Difficulty.NORMAL.ordinal(), valid[difficulty]);
+
+        int[][] corruptions = {
+            {piece, PieceType.values().length},    // 없는 블록 종류
+            {piece, -5},
+            {piece + 6, 100},                      // 다음 블록 종류
+            {piece + 1, 4},                        // 회전
+            {piece + 4, 7},                        // 아이템 행 (블록 밖)
+            {difficulty, Settings.Difficulty.values().length},
+        };
+        for (int[] c : corruptions) {
+            byte[] bad = valid.clone();
+            bad[c[0]] = (byte) c[1];
+            GameManager.Snapshot snap = new GameManager().saveState();
+            assertThrows(IOException.class,
+                () -> snap.readFrom(new DataInputStream(new ByteArrayInputStream(bad))),
+                "offset " + c[0] + " = " + c[1]);
+        }
+
+        // 원본은 그대로 읽힘
+        GameManager.Snapshot ok = new GameManager().saveState();
+        ok.readFrom(new DataInputStream(new ByteArrayInputStream(valid)));
+        GameManager other = new GameManager(GameMode.CLASSIC, new TickClock(), 1L);
+        other.restoreState(ok);
+        assertEquals(gm.stateHash(), other.stateHash());
+    }
+}
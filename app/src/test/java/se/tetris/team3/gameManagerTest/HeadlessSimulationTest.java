@@ -0,0 +1,104 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.GameRandom;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+
+/**
+ * 시계/난수 주입 시뮬레이션 테스트 (sleep 없이 tick으로 진행)
+ */
+@DisplayName("헤드리스 시뮬레이션 테스트")
+class HeadlessSimulationTest {
+
+    private static final int TICKS = 20000;
+    private static final int TICK_MILLIS = 16;
+
+    // 같은 시드의 입력을 넣으며 TICKS번 진행한 뒤 보드 행 마스크 + 점수를 반환
+    private long[] simulate(GameMode mode, long seed) {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(mode, clock, seed);
+        gm.setGravityEnabled(true);
+        GameRandom input = new GameRandom(seed ^ 0x5DEECE66DL);
+
+        for (int i = 0; i < TICKS && !gm.isGameOver(); i++) {
+            switch (input.nextInt(8)) {
+                case 0: gm.tryMove(gm.getBlockX() - 1, gm.getBlockY()); break;
+                case 1: gm.tryMove(gm.getBlockX() + 1, gm.getBlockY()); break;
+                case 2: gm.rotateBlock(); break;
+                case 3: if (input.nextInt(8) == 0) gm.hardDrop(); break;
+                default: break;
+            }
+            clock.advance(TICK_MILLIS);
+            gm.tick();
+        }
+
+        int h = gm.getBoard().height();
+        long[] snapshot = new long[h + 2];
+        for (int r = 0; r < h; r++) snapshot[r] = gm.getBoard().getRowMask(r);
+        snapshot[h] = gm.getScore();
+        snapshot[h + 1] = clock.millis();
+        return snapshot;
+    }
+
+    @Test
+    @DisplayName("같은 시드와 입력이면 결과가 완전히 같다")
+    void testSameSeedIsDeterministic() {
+        for (GameMode mode : new GameMode[]{GameMode.CLASSIC, GameMode.ITEM}) {
+            assertArrayEquals(simulate(mode, 2024L), simulate(mode, 2024L), mode + " 결정성");
+        }
+    }
+
+    @Test
+    @DisplayName("시드가 다르면 블록 순서가 달라진다")
+    void testDifferentSeedDiffers() {
+        GameManager a = new GameManager(GameMode.CLASSIC, new TickClock(), 1L);
+        GameManager b = new GameManager(GameMode.CLASSIC, new TickClock(), 2L);
+        boolean differs = false;
+        for (int i = 0; i < 50 && !differs; i++) {
+            differs = a.getNextBlock().getType() != b.getNextBlock().getType();
+            a.hardDrop();
+            b.hardDrop();
+            a.resetGame();
+            b.resetGame();
+        }
+        assertTrue(differs, "다른 시드는 다른 블록 순서를 만들어야 함");
+    }
+
+    @Test
+    @DisplayName("자동 낙하는 주입한 시계 기준으로 진행된다")
+    void testGravityFollowsInjectedClock() {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock, 7L);
+        gm.setGravityEnabled(true);
+        int startY = gm.getBlockY();
+
+        // 시간이 흐르지 않으면 몇 번을 tick해도 내려가지 않음
+        for (int i = 0; i < 1000; i++) gm.tick();
+        assertEquals(startY, gm.getBlockY());
+
+        clock.advance(gm.getGameTimerDelay());
+        gm.tick();
+        assertEquals(startY + 1, gm.getBlockY());
+    }
+
+    @Test
+    @DisplayName("아이템 지속 시간은 주입한 시계로 만료된다")
+    void testItemTimersUseInjectedClock() {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.ITEM, clock, 3L);
+        gm.activateDoubleScoreItem();
+        gm.activateIOnlyMode(5000);
+        assertTrue(gm.isDoubleScoreActive());
+        assertTrue(gm.isIOnlyModeActive());
+
+        clock.advance(20000);
+        gm.tick();
+        assertFalse(gm.isDoubleScoreActive(), "시간이 지나면 2배 점수 종료");
+        assertEquals(0, gm.getIOnlyModeRemainingMillis());
+    }
+}
@@ -0,0 +1,103 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 시뮬레이션 코어(GameManager, Block, engine)가 AWT/Swing/UI 클래스 없이 돌아가는지 확인.
+ * java.awt, javax.swing, se.tetris.team3.ui 클래스를 찾으면 실패하는 클래스 로더로 게임 코어를 따로 올려 진행하고,
+ * 코어 패키지(gameManager, blocks, engine) 클래스에는 실행 중에 쓰지 않은 메서드까지 포함해 그 이름이 없는지 봅니다.
+ * (core.Settings는 창 크기용 Dimension을 함께 들고 있는 설정 클래스라 정적 검사에서는 제외, 실행 중 로드 검사만 적용)
+ */
+@DisplayName("시뮬레이션 코어 분리 테스트")
+class SimulationCoreIsolationTest {
+
+    // 게임 클래스는 직접 정의하고, 화면 관련 클래스는 찾지 못하게 막는 로더
+    private static final class CoreOnlyLoader extends ClassLoader {
+        final List<String> blocked = new CopyOnWriteArrayList<>();
+        // 상수 풀에 화면 클래스 이름이 들어 있는 코어 패키지 클래스 (호출되지 않은 메서드의 참조도 잡힘)
+        final List<String> referencing = new CopyOnWriteArrayList<>();
+
+        CoreOnlyLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                if (name.startsWith("java.awt.") || name.startsWith("javax.swing.")
+                        || name.startsWith("se.tetris.team3.ui.")) {
+                    blocked.add(name);
+                    throw new ClassNotFoundException(name);
+                }
+                if (!name.startsWith("se.tetris.team3.")) return super.loadClass(name, resolve);
+                Class<?> c = findLoadedClass(name);
+                if (c == null) {
+                    byte[] bytes = read(name);
+                    String text = new String(bytes, StandardCharsets.ISO_8859_1);
+                    if (isCorePackage(name) && (text.contains("java/awt/") || text.contains("javax/swing/") || text.contains("se/tetris/team3/ui/"))) {
+                        referencing.add(name);
+                    }
+                    c = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) resolveClass(c);
+                return c;
+            }
+        }
+
+        private static boolean isCorePackage(String name) {
+            return name.startsWith("se.tetris.team3.gameManager.") || name.startsWith("se.tetris.team3.blocks.")
+                    || name.startsWith("se.tetris.team3.engine.");
+        }
+
+        private byte[] read(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) throw new ClassNotFoundException(name);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buf = new byte[8192];
+                for (int n; (n = in.read(buf)) > 0; ) out.write(buf, 0, n);
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("AWT/UI 클래스를 하나도 올리지 않고 GameManager로 한 판을 진행한다")
+    void testEngineRunsWithoutAwt() throws Exception {
+        CoreOnlyLoader loader = new CoreOnlyLoader(getClass().getClassLoader());
+        Class<?> modeClass = loader.loadClass("se.tetris.team3.core.GameMode");
+        Class<?> clockClass = loader.loadClass("se.tetris.team3.engine.GameClock");
+        Class<?> gmClass = loader.loadClass("se.tetris.team3.gameManager.GameManager");
+        assertSame(loader, gmClass.getClassLoader());
+
+        for (String modeName : new String[]{"CLASSIC", "ITEM"}) {
+            Object mode = modeClass.getMethod("valueOf", String.class).invoke(null, modeName);
+            Object gm = gmClass.getConstructor(modeClass, clockClass, long.class).newInstance(mode, null, 11L);
+            Method tick = gmClass.getMethod("tick");
+            Method hardDrop = gmClass.getMethod("hardDrop");
+            Method rotate = gmClass.getMethod("rotateBlock");
+            Method autoCheck = gmClass.getMethod("autoCheckLines");
+            Method isGameOver = gmClass.getMethod("isGameOver");
+            for (int i = 0; i < 2000 && !(Boolean) isGameOver.invoke(gm); i++) {
+                if (i % 3 == 0) rotate.invoke(gm);
+                if (i % 7 == 0) hardDrop.invoke(gm);
+                tick.invoke(gm);
+                autoCheck.invoke(gm);
+            }
+            gmClass.getMethod("stateHash").invoke(gm);
+        }
+        assertTrue(loader.blocked.isEmpty(), "코어가 화면 클래스를 올림: " + loader.blocked);
+        assertTrue(loader.referencing.isEmpty(), "코어 클래스에 화면 클래스 참조가 있음: " + loader.referencing);
+    }
+}
@@ -0,0 +1,136 @@
+package se.tetris.team3.gameManagerTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.GameRandom;
+import se.tetris.team3.engine.SurfaceMetrics;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+
+/**
+ * 표면 지표(높이/구멍/우물/울퉁불퉁함) 증분 갱신 테스트
+ */
+@DisplayName("표면 지표 테스트")
+class SurfaceMetricsTest {
+
+    // 보드를 처음부터 훑어 계산한 값 [높이합, 구멍, 우물합, 울퉁불퉁함, 최대높이]
+    private int[] bruteForce(BitBoard b) {
+        int w = b.width(), h = b.height();
+        int[] heights = new int[w];
+        int holes = 0;
+        for (int x = 0; x < w; x++) {
+            boolean seen = false;
+            for (int y = 0; y < h; y++) {
+                if (b.isOccupied(y, x)) {
+                    if (!seen) heights[x] = h - y;
+                    seen = true;
+                } else if (seen) {
+                    holes++;
+                }
+            }
+        }
+        int agg = 0, wells = 0, bump = 0, max = 0;
+        for (int x = 0; x < w; x++) {
+            agg += heights[x];
+            max = Math.max(max, heights[x]);
+            int left = x == 0 ? h : heights[x - 1];
+            int right = x == w - 1 ? h : heights[x + 1];
+            wells += Math.max(0, Math.min(left, right) - heights[x]);
+            if (x > 0) bump += Math.abs(heights[x] - heights[x - 1]);
+        }
+        return new int[]{agg, holes, wells, bump, max};
+    }
+
+    private int[] incremental(SurfaceMetrics m) {
+        return new int[]{m.getAggregateHeight(), m.getHoles(), m.getTotalWellDepth(), m.getBumpiness(), m.getMaxHeight()};
+    }
+
+    @Test
+    @DisplayName("빈 보드 지표")
+    void testEmptyBoard() {
+        SurfaceMetrics m = new SurfaceMetrics(new BitBoard());
+        assertEquals(0, m.getAggregateHeight());
+        assertEquals(0, m.getHoles());
+        assertEquals(0, m.getBumpiness());
+        // 벽 옆 열도 반대쪽 이웃 높이가 0이라 우물 깊이 0
+        assertEquals(0, m.getWellDepth(0));
+        assertEquals(0, m.getTotalWellDepth());
+    }
+
+    @Test
+    @DisplayName("칸/줄 변경이 바뀐 열만 반영된다")
+    void testManualEdits() {
+        BitBoard b = new BitBoard();
+        SurfaceMetrics m = new SurfaceMetrics(b);
+
+        b.set(19, 0, true);
+        b.set(17, 0, true);   // 0번 열: 높이 3, 구멍 1
+        b.set(19, 2, true);
+        assertEquals(3, m.getColumnHeight(0));
+        assertEquals(1, m.getColumnHoles(0));
+        assertEquals(1, m.getHoles());
+        assertEquals(1, m.getWellDepth(1), "1번 열은 양옆(3, 1) 중 낮은 쪽 기준 깊이 1");
+        assertArrayEquals(bruteForce(b), incremental(m));
+
+        b.removeRow(19);      // 아래 줄 삭제 → 0번 열 높이 2, 구멍 그대로
+        assertEquals(2, m.getColumnHeight(0));
+        assertArrayEquals(bruteForce(b), incremental(m));
+
+        b.pushRowFromBottom(0b1111111110);
+        assertEquals(3, m.getColumnHeight(0));
+        assertArrayEquals(bruteForce(b), incremental(m));
+
+        b.setRowMask(5, 0b1);
+        assertArrayEquals(bruteForce(b), incremental(m));
+        b.clear();
+        assertArrayEquals(bruteForce(b), incremental(m));
+    }
+
+    @Test
+    @DisplayName("게임 진행 중 지표가 매번 전체 계산 결과와 같다")
+    void testMatchesBruteForceDuringPlay() {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock, 99L);
+        GameRandom input = new GameRandom(5L);
+        SurfaceMetrics m = gm.getSurface();
+
+        for (int i = 0; i < 400 && !gm.isGameOver(); i++) {
+            int dx = input.nextInt(10) - gm.getBlockX();
+            for (int k = 0; k < Math.abs(dx); k++) gm.tryMove(gm.getBlockX() + Integer.signum(dx), gm.getBlockY());
+            if (input.nextInt(2) == 0) gm.rotateBlock();
+            gm.hardDrop();
+            clock.advance(1000);
+            gm.tick();
+            if (input.nextInt(6) == 0) {
+                boolean[][] garbage = {new boolean[10]};
+                for (int x = 0; x < 10; x++) garbage[0][x] = x != input.nextInt(10);
+                gm.enqueueGarbage(garbage);
+            }
+            assertArrayEquals(bruteForce(gm.getBoard()), incremental(m), "step " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("열 마스크 기반 낙하 위치가 한 줄씩 내려본 결과와 같다")
+    void testGhostMatchesRowScan() {
+        GameRandom rnd = new GameRandom(42L);
+        int[][] pieces = {{0b1111}, {0b11, 0b11}, {0b010, 0b111}, {0b001, 0b111}, {0b11, 0b01, 0b01}};
+        for (int trial = 0; trial < 300; trial++) {
+            BitBoard b = new BitBoard();
+            for (int y = 6; y < 20; y++) b.setRowMask(y, rnd.nextInt(1 << 10) & rnd.nextInt(1 << 10));
+            SurfaceMetrics m = new SurfaceMetrics(b);
+            int[] piece = pieces[rnd.nextInt(pieces.length)];
+            for (int x = -1; x < 10; x++) {
+                for (int y = -1; y < 12; y++) {
+                    int expected = y;
+                    while (!b.collides(piece, x, expected + 1)) expected++;
+                    assertEquals(expected, m.ghostY(piece, x, y), "x=" + x + " y=" + y);
+                }
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
 import se.tetris.team3.gameManager.GameManager;
 import se.tetris.team3.blocks.OBlock;
 
@@ -26,12 +27,12 @@ public class LineClearItemTest {
     @Test
     public void testApplyLineClearRemovesFullRowAndAwardsScore() throws Exception {
         // 내부 필드에 접근하여 특정 행을 모두 채워 '가득 찬 행'으로 만듦
-        Field fieldF = GameManager.class.getDeclaredField("field");
+        Field fieldF = GameManager.class.getDeclaredField("board");
         fieldF.setAccessible(true);
-        int[][] field = (int[][]) fieldF.get(manager);
+        BitBoard field = (BitBoard) fieldF.get(manager);
 
         final int targetRow = 15; // 테스트용 행
-        for (int c = 0; c < field[targetRow].length; c++) field[targetRow][c] = 1;
+        for (int c = 0; c < field.width(); c++) field.set(targetRow, c, true);
 
         // 현재 점수 저장
         int beforeScore = manager.getScore();
@@ -55,7 +56,7 @@ public class LineClearItemTest {
         manager.applyLineClearItem();
 
         // 해당 행이 모두 0으로 비워졌는지 확인
-        for (int c = 0; c < field[targetRow].length; c++) {
+        for (int c = 0; c < field.width(); c++) {
             assertEquals(0, manager.getFieldValue(targetRow, c), "줄삭제 후 해당 칸은 0이어야 함 (col=" + c + ")");
         }
 
@@ -0,0 +1,110 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.InboundMailbox;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.StateDeltaEncoder;
+import se.tetris.team3.ui.screen.P2PBattleScreen;
+
+/**
+ * 받는 쪽 우편함 테스트.
+ * 밀린 STATE는 하나로 합쳐지고, 제어 메시지는 순서대로 빠짐없이 전달되며, EDT 작업은 한 번만 예약되는지 확인합니다.
+ */
+public class InboundMailboxTest {
+
+    @Test
+    void testSchedulesOneDrainAndKeepsControlOrder() {
+        InboundMailbox box = new InboundMailbox();
+        assertTrue(box.put(P2PMessage.emptyState()), "첫 메시지는 EDT 작업 예약");
+        assertFalse(box.put(P2PMessage.emptyState()), "이미 예약됨");
+        box.put(P2PMessage.attack(new boolean[][]{{true}}));
+        box.put(P2PMessage.emptyState());
+        box.put(P2PMessage.emptyState());
+        box.put(P2PMessage.pauseState(true));
+        box.put(P2PMessage.disconnect("bye"));
+
+        List<P2PMessage> out = new ArrayList<>();
+        box.drainTo(out);
+        assertEquals(5, out.size());
+        assertEquals(P2PMessage.Type.STATE, out.get(0).type);
+        assertEquals(P2PMessage.Type.ATTACK, out.get(1).type);
+        assertEquals(P2PMessage.Type.STATE, out.get(2).type);
+        assertEquals(P2PMessage.Type.PAUSE_STATE, out.get(3).type);
+        assertEquals(P2PMessage.Type.DISCONNECT, out.get(4).type);
+        assertEquals(2, box.getCoalescedStates());
+
+        assertTrue(box.put(P2PMessage.emptyState()), "비운 뒤에는 다시 예약");
+    }
+
+    @Test
+    void testMergedDeltasMatchSequentialApply() {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock, 3L);
+        StateDeltaEncoder enc = new StateDeltaEncoder(1000);
+
+        // 키프레임 한 번 전달
+        int[][] board = apply(null, enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+
+        // 델타 여러 개가 밀려서 한꺼번에 들어옴
+        InboundMailbox box = new InboundMailbox();
+        for (int i = 0; i < 6; i++) {
+            for (int k = 0; k < i % 4; k++) gm.tryMove(gm.getBlockX() + 1, gm.getBlockY());
+            gm.hardDrop();
+            clock.advance(1000);
+            gm.tick();
+            box.put(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+        }
+        List<P2PMessage> out = new ArrayList<>();
+        box.drainTo(out);
+        assertEquals(1, out.size(), "연속된 STATE는 하나로");
+        P2PMessage merged = out.get(0);
+        assertTrue(merged.delta);
+
+        board = apply(board, merged);
+        for (int r = 0; r < 20; r++) {
+            for (int c = 0; c < 10; c++) {
+                assertEquals(gm.getFieldValue(r, c), board[r][c], "(" + r + "," + c + ")");
+            }
+        }
+        assertEquals(gm.getScore(), merged.myScore);
+        assertEquals(gm.getBlockX(), merged.curX);
+    }
+
+    @Test
+    void testKeyframeAbsorbsFollowingDelta() {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.CLASSIC, clock, 5L);
+        StateDeltaEncoder enc = new StateDeltaEncoder(1000);
+
+        InboundMailbox box = new InboundMailbox();
+        box.put(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+        gm.hardDrop();
+        clock.advance(1000);
+        gm.tick();
+        box.put(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+
+        List<P2PMessage> out = new ArrayList<>();
+        box.drainTo(out);
+        assertEquals(1, out.size());
+        assertFalse(out.get(0).delta, "키프레임 + 델타 = 최신 키프레임");
+        int[][] board = apply(null, out.get(0));
+        for (int r = 0; r < 20; r++) {
+            for (int c = 0; c < 10; c++) assertEquals(gm.getFieldValue(r, c), board[r][c]);
+        }
+    }
+
+    // 받는 쪽 반영 규칙과 같은 방식으로 보드만 적용
+    private static int[][] apply(int[][] board, P2PMessage m) {
+        if (!m.delta) return m.field;
+        for (int i = 0; i < m.changedRows.length; i++) board[m.changedRows[i]] = m.field[i];
+        return board;
+    }
+}
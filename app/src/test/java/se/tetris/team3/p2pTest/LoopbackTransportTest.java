@@ -0,0 +1,108 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import se.tetris.team3.net.LoopbackTransport;
+import se.tetris.team3.net.P2PTransport;
+
+/**
+ * 소켓 없는 전송 계층 테스트.
+ * 없는 포트로 접속하면 바로 실패하는지, 쓴 바이트가 순서대로 도착하는지,
+ * 한쪽이 닫으면 상대가 EOFException을 받는지 확인합니다.
+ */
+public class LoopbackTransportTest {
+
+    private final LoopbackTransport transport = new LoopbackTransport();
+
+    @AfterEach
+    void closeTransport() {
+        transport.close();
+    }
+
+    // 이벤트를 기록만 하는 Handler
+    private static class Recorder implements P2PTransport.Handler {
+        final CompletableFuture<P2PTransport.Link> link = new CompletableFuture<>();
+        final CompletableFuture<IOException> failure = new CompletableFuture<>();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final CountDownLatch received;
+
+        Recorder(int expectedBytes) {
+            received = new CountDownLatch(expectedBytes);
+        }
+
+        @Override public void opened(P2PTransport.Link l) { link.complete(l); }
+        @Override public void received(ByteBuffer buf) {
+            while (buf.hasRemaining()) {
+                bytes.write(buf.get());
+                received.countDown();
+            }
+        }
+        @Override public void writable() {}
+        @Override public void tick(long nowMillis) {}
+        @Override public void failed(IOException e) { failure.complete(e); }
+    }
+
+    @Test
+    @DisplayName("대기 중인 포트가 없으면 접속은 바로 ConnectException으로 실패한다")
+    void connectToUnknownPortFails() throws Exception {
+        Recorder client = new Recorder(0);
+        transport.connect("127.0.0.1", 5555, client);
+        IOException e = client.failure.get(1, TimeUnit.SECONDS);
+        assertTrue(e instanceof ConnectException);
+        assertFalse(client.link.isDone());
+    }
+
+    @Test
+    @DisplayName("쓴 바이트는 순서대로 도착하고, 닫으면 상대는 남은 데이터를 받은 뒤 EOF를 받는다")
+    void bytesArriveInOrderThenEof() throws Exception {
+        int total = 1000;
+        Recorder server = new Recorder(total);
+        Recorder client = new Recorder(0);
+        transport.execute(() -> {
+            try {
+                transport.listen(5555, server);
+            } catch (IOException e) {
+                server.failure.complete(e);
+            }
+        });
+        transport.connect("127.0.0.1", 5555, client);
+        P2PTransport.Link c = client.link.get(1, TimeUnit.SECONDS);
+        server.link.get(1, TimeUnit.SECONDS);
+
+        // 같은 포트로 두 번째 접속은 받지 않음
+        Recorder second = new Recorder(0);
+        transport.connect("127.0.0.1", 5555, second);
+        assertTrue(second.failure.get(1, TimeUnit.SECONDS) instanceof ConnectException);
+
+        transport.execute(() -> {
+            try {
+                byte[] chunk = new byte[10];
+                for (int i = 0; i < total; i += chunk.length) {
+                    for (int j = 0; j < chunk.length; j++) chunk[j] = (byte) (i + j);
+                    assertEquals(chunk.length, c.write(chunk, 0, chunk.length));
+                }
+            } catch (IOException e) {
+                client.failure.complete(e);
+            }
+            c.close();
+        });
+
+        assertTrue(server.received.await(1, TimeUnit.SECONDS));
+        byte[] got = server.bytes.toByteArray();
+        for (int i = 0; i < total; i++) assertEquals((byte) i, got[i], "바이트 " + i);
+        assertTrue(server.failure.get(1, TimeUnit.SECONDS) instanceof EOFException);
+        assertFalse(client.failure.isDone(), "닫은 쪽에는 실패를 알리지 않음");
+    }
+}
@@ -0,0 +1,63 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import se.tetris.team3.net.OutboundQueue;
+import se.tetris.team3.net.P2PMessage;
+
+/**
+ * P2PConnection 송신 대기열 테스트.
+ * STATE는 최신 것만 남고, ATTACK/PAUSE_STATE 등은 순서대로 STATE보다 먼저 나가며 버려지지 않는지 확인합니다.
+ */
+public class OutboundQueueTest {
+
+    private static P2PMessage state(int score) {
+        P2PMessage m = P2PMessage.emptyState();
+        m.myScore = score;
+        return m;
+    }
+
+    @Test
+    void testKeepsOnlyLatestStateAndControlFirst() throws Exception {
+        OutboundQueue q = new OutboundQueue();
+        q.offer(state(1));
+        q.offer(P2PMessage.attack(new boolean[][]{{true}}));
+        q.offer(state(2));
+        q.offer(P2PMessage.pauseState(true));
+        q.offer(state(3));
+
+        List<P2PMessage> batch = new ArrayList<>();
+        assertTrue(q.poll(batch));
+        assertEquals(3, batch.size(), "제어 메시지 2개 + 최신 STATE 하나를 한 번에");
+        assertEquals(P2PMessage.Type.ATTACK, batch.get(0).type);
+        assertEquals(P2PMessage.Type.PAUSE_STATE, batch.get(1).type);
+        assertEquals(P2PMessage.Type.STATE, batch.get(2).type);
+        assertEquals(3, batch.get(2).myScore);
+        assertEquals(2, q.getCoalescedStates());
+        assertFalse(q.hasPendingState());
+        assertFalse(q.poll(batch), "보낼 것이 없으면 기다리지 않고 false");
+    }
+
+    @Test
+    void testControlIsBoundedButNeverDropped() throws Exception {
+        OutboundQueue q = new OutboundQueue(2);
+        assertTrue(q.offer(P2PMessage.ready(true)));
+        assertTrue(q.offer(P2PMessage.gameStart()));
+        assertFalse(q.offer(P2PMessage.attack(new boolean[][]{{true}})), "가득 차면 거부 (조용히 버리지 않음)");
+        assertTrue(q.offer(state(1)), "STATE는 칸을 덮어쓰므로 항상 들어감");
+
+        // 닫은 뒤에도 남은 제어 메시지는 내보내고, STATE는 버림
+        q.close();
+        assertFalse(q.offer(P2PMessage.ready(false)));
+        List<P2PMessage> batch = new ArrayList<>();
+        assertTrue(q.poll(batch));
+        assertEquals(2, batch.size());
+        assertEquals(P2PMessage.Type.READY_STATE, batch.get(0).type);
+        assertEquals(P2PMessage.Type.GAME_START, batch.get(1).type);
+        assertFalse(q.poll(batch));
+    }
+}
@@ -0,0 +1,271 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import se.tetris.team3.net.AttackLedger;
+import se.tetris.team3.net.LoopbackTransport;
+import se.tetris.team3.net.P2PCodec;
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PConnectionListener;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.P2PTransport;
+
+import static se.tetris.team3.p2pTest.P2PTestSupport.waitFor;
+
+/**
+ * ATTACK 번호/확인 응답 테스트 (LoopbackTransport).
+ * 번호 순서대로 도착해 모두 확인되는지, 중복은 버리고 순서가 바뀐 것은 다시 맞추는지,
+ * 확인이 없으면 같은 번호로 다시 보내는지 확인합니다.
+ */
+public class P2PAttackDeliveryTest {
+
+    private final LoopbackTransport transport = new LoopbackTransport();
+
+    @AfterEach
+    void closeTransport() {
+        transport.close();
+    }
+
+    private static P2PConnectionListener collecting(CountDownLatch listening, CountDownLatch connected,
+                                                    List<P2PMessage> attacks) {
+        return new P2PConnectionListener() {
+            int calls = 0;
+            // 서버는 첫 번째가 대기 시작, 두 번째가 실제 연결
+            @Override public void onConnected(boolean asServer) {
+                if (asServer && ++calls == 1) listening.countDown();
+                else connected.countDown();
+            }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) {
+                if (msg.type == P2PMessage.Type.ATTACK) attacks.add(msg);
+            }
+            @Override public void onNetworkError(Exception e) { fail("Network error: " + e); }
+        };
+    }
+
+    // 코덱을 직접 쓰는 상대 (받은 바이트는 모아 두고 나중에 해석)
+    private static class RawPeer implements P2PTransport.Handler {
+        final CompletableFuture<P2PTransport.Link> link = new CompletableFuture<>();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override public void opened(P2PTransport.Link l) { link.complete(l); }
+        @Override public synchronized void received(ByteBuffer buf) { while (buf.hasRemaining()) bytes.write(buf.get()); }
+        @Override public void writable() {}
+        @Override public void tick(long nowMillis) {}
+        @Override public void failed(IOException e) {}
+
+        void write(LoopbackTransport transport, P2PMessage... msgs) throws Exception {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (P2PMessage m : msgs) P2PCodec.writeFrame(out, m);
+            byte[] b = out.toByteArray();
+            P2PTransport.Link l = link.get(1, TimeUnit.SECONDS);
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            transport.execute(() -> {
+                try {
+                    l.write(b, 0, b.length);
+                    done.complete(null);
+                } catch (IOException e) {
+                    done.completeExceptionally(e);
+                }
+            });
+            done.get(1, TimeUnit.SECONDS);
+        }
+
+        // 지금까지 받은 메시지 (헤더 다음부터)
+        synchronized List<P2PMessage> messages() throws IOException {
+            List<P2PMessage> out = new ArrayList<>();
+            InputStream in = new ByteArrayInputStream(bytes.toByteArray());
+            P2PCodec.readHeader(in);
+            try {
+                while (true) out.add(P2PCodec.readFrame(in));
+            } catch (EOFException end) {
+                return out;
+            }
+        }
+    }
+
+    private static P2PMessage attack(int id, int rows) {
+        P2PMessage m = P2PMessage.attack(new boolean[rows][10]);
+        m.attackId = id;
+        m.attackSentMillis = 1000L + id;
+        return m;
+    }
+
+    private P2PConnection serveRaw(RawPeer peer, List<P2PMessage> attacks) throws Exception {
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(1);
+        P2PConnection server = new P2PConnection(collecting(listening, connected, attacks), transport);
+        server.startServer();
+        assertTrue(listening.await(2, TimeUnit.SECONDS));
+        transport.connect("127.0.0.1", P2PConnection.DEFAULT_PORT, peer);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        P2PCodec.writeHeader(header);
+        P2PTransport.Link l = peer.link.get(1, TimeUnit.SECONDS);
+        byte[] h = header.toByteArray();
+        transport.execute(() -> {
+            try { l.write(h, 0, h.length); } catch (IOException ignore) {}
+        });
+        assertTrue(connected.await(2, TimeUnit.SECONDS));
+        return server;
+    }
+
+    @Test
+    @DisplayName("ATTACK은 1부터 번호가 붙어 순서대로 도착하고, 보낸 쪽 장부에서 모두 확인된다")
+    void attacksArriveNumberedAndAcked() throws Exception {
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(2);
+        List<P2PMessage> serverGot = new CopyOnWriteArrayList<>();
+        P2PConnection server = new P2PConnection(collecting(listening, connected, serverGot), transport);
+        P2PConnection client = new P2PConnection(collecting(listening, connected, new ArrayList<>()), transport);
+        try {
+            server.startServer();
+            assertTrue(listening.await(2, TimeUnit.SECONDS));
+            client.connectTo("127.0.0.1");
+            assertTrue(connected.await(2, TimeUnit.SECONDS));
+
+            long before = System.currentTimeMillis();
+            int total = 20, rows = 0;
+            for (int i = 0; i < total; i++) {
+                client.send(P2PMessage.attack(new boolean[i % 4 + 1][10]));
+                rows += i % 4 + 1;
+            }
+            AttackLedger sent = client.getAttackLedger();
+            // 확인 응답은 I/O 스레드에서, 리스너 전달은 EDT에서
+            waitFor(() -> sent.counts().acked == total && serverGot.size() == total, 2000);
+
+            assertEquals(total, serverGot.size());
+            for (int i = 0; i < total; i++) {
+                P2PMessage m = serverGot.get(i);
+                assertEquals(i + 1, m.attackId);
+                assertEquals(i % 4 + 1, m.garbageRows.length);
+                assertTrue(m.attackSentMillis >= before);
+                server.getAttackLedger().markApplied(m.garbageRows.length);
+            }
+
+            AttackLedger.Counts c = sent.counts();
+            assertEquals(total, c.sent);
+            assertEquals(rows, c.sentRows);
+            assertEquals(total, c.acked);
+            assertEquals(rows, c.ackedRows);
+            assertEquals(0, sent.getUnackedCount());
+
+            AttackLedger.Counts s = server.getAttackLedger().counts();
+            assertEquals(total, s.received);
+            assertEquals(rows, s.receivedRows);
+            assertEquals(total, s.applied);
+            assertEquals(rows, s.appliedRows);
+            assertEquals(0, s.sent);
+        } finally {
+            client.close();
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("중복 ATTACK은 버리고, 순서가 바뀌어 온 것은 번호 순서대로 넘기며 받은 데까지 확인한다")
+    void duplicatesDroppedAndOrderRestored() throws Exception {
+        RawPeer peer = new RawPeer();
+        List<P2PMessage> got = new CopyOnWriteArrayList<>();
+        P2PConnection server = serveRaw(peer, got);
+        try {
+            peer.write(transport, attack(1, 1), attack(1, 1), attack(3, 3));
+            // 2번을 기다리는 동안 3번은 넘기지 않음
+            waitFor(() -> got.size() >= 1, 1000);
+            Thread.sleep(50);
+            assertEquals(1, got.size());
+
+            peer.write(transport, attack(2, 2), attack(3, 3));
+            waitFor(() -> got.size() >= 3, 1000);
+            Thread.sleep(50);
+            assertEquals(3, got.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(i + 1, got.get(i).attackId);
+                assertEquals(i + 1, got.get(i).garbageRows.length);
+                assertEquals(1001L + i, got.get(i).attackSentMillis);
+            }
+            assertEquals(2, server.getAttackLedger().getDuplicatesDropped());
+            assertEquals(6, server.getAttackLedger().counts().receivedRows);
+
+            // 확인 응답은 "여기까지 모두 받음": 3번 전에는 1, 그 뒤로는 3
+            waitFor(() -> {
+                try {
+                    List<P2PMessage> ms = peer.messages();
+                    return !ms.isEmpty() && lastAck(ms) == 3;
+                } catch (IOException e) {
+                    return false;
+                }
+            }, 1000);
+            List<Integer> acks = new ArrayList<>();
+            for (P2PMessage m : peer.messages()) {
+                if (m.type == P2PMessage.Type.ATTACK_ACK) acks.add(m.attackId);
+            }
+            assertEquals(java.util.Arrays.asList(1, 1, 1, 3, 3), acks);
+        } finally {
+            server.close();
+        }
+    }
+
+    private static int lastAck(List<P2PMessage> ms) {
+        int last = -1;
+        for (P2PMessage m : ms) if (m.type == P2PMessage.Type.ATTACK_ACK) last = m.attackId;
+        return last;
+    }
+
+    @Test
+    @DisplayName("확인이 없으면 같은 번호로 다시 보내고, 확인을 받으면 멈춘다")
+    void unackedAttackIsResentWithSameId() throws Exception {
+        RawPeer peer = new RawPeer();
+        P2PConnection server = serveRaw(peer, new ArrayList<>());
+        try {
+            server.send(P2PMessage.attack(new boolean[2][10]));
+            waitFor(() -> server.getAttackLedger().getResent() > 0, P2PConnection.ATTACK_RESEND_MILLIS * 3);
+            assertTrue(server.getAttackLedger().getResent() > 0, "확인이 없으면 다시 보내야 함");
+            assertEquals(1, server.getAttackLedger().getUnackedCount());
+
+            waitFor(() -> {
+                try {
+                    return countAttacks(peer.messages()) >= 2;
+                } catch (IOException e) {
+                    return false;
+                }
+            }, 1000);
+            List<P2PMessage> attacks = new ArrayList<>();
+            for (P2PMessage m : peer.messages()) if (m.type == P2PMessage.Type.ATTACK) attacks.add(m);
+            assertTrue(attacks.size() >= 2);
+            for (P2PMessage m : attacks) {
+                assertEquals(1, m.attackId);
+                assertEquals(attacks.get(0).attackSentMillis, m.attackSentMillis, "다시 보내도 처음 보낸 시각 그대로");
+            }
+
+            peer.write(transport, P2PMessage.attackAck(1));
+            waitFor(() -> server.getAttackLedger().getUnackedCount() == 0, 1000);
+            assertEquals(0, server.getAttackLedger().getUnackedCount());
+            assertEquals(1, server.getAttackLedger().counts().acked);
+            assertEquals(2, server.getAttackLedger().counts().ackedRows);
+        } finally {
+            server.close();
+        }
+    }
+
+    private static int countAttacks(List<P2PMessage> ms) {
+        int n = 0;
+        for (P2PMessage m : ms) if (m.type == P2PMessage.Type.ATTACK) n++;
+        return n;
+    }
+}
@@ -0,0 +1,174 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.P2PCodec;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.ui.render.BlockPalette;
+import se.tetris.team3.ui.screen.P2PBattleScreen;
+
+/**
+ * P2PCodec 바이너리 인코딩/디코딩 테스트.
+ * 모든 메시지 종류가 그대로 복원되는지, STATE가 작게 인코딩되는지, 버전이 다르면 거부하는지 확인합니다.
+ */
+public class P2PCodecTest {
+
+    private static P2PMessage roundTrip(P2PMessage m) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        P2PCodec.writeFrame(bytes, m);
+        return P2PCodec.readFrame(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    void testLobbyMessagesRoundTrip() throws IOException {
+        P2PMessage hello = roundTrip(P2PMessage.hello());
+        assertEquals(P2PMessage.Type.HELLO, hello.type);
+        assertEquals(P2PMessage.hello().text, hello.text);
+
+        P2PMessage mode = roundTrip(P2PMessage.modeInfo(GameMode.BATTLE_TIME, 120));
+        assertEquals(GameMode.BATTLE_TIME, mode.gameMode);
+        assertEquals(120, mode.timeLimitSeconds);
+        assertEquals(0L, mode.seed);
+        assertEquals(-8_123_456_789L, roundTrip(P2PMessage.modeInfo(GameMode.CLASSIC, 0, -8_123_456_789L)).seed);
+        assertNull(mode.difficulty);
+        assertEquals(Settings.Difficulty.HARD,
+                roundTrip(P2PMessage.modeInfo(GameMode.BATTLE_NORMAL, 0, 5L, Settings.Difficulty.HARD)).difficulty);
+        assertTrue(mode.rollbackSync);
+        assertFalse(roundTrip(P2PMessage.modeInfo(GameMode.BATTLE_NORMAL, 0, 0L, null, false)).rollbackSync);
+
+        assertTrue(roundTrip(P2PMessage.ready(true)).ready);
+        assertTrue(roundTrip(P2PMessage.pauseState(true)).paused);
+        assertNull(roundTrip(P2PMessage.gameStart()).text);
+
+        // 롤백 대전 입력은 몇 바이트
+        P2PMessage input = roundTrip(P2PMessage.input(7200, 0x11));
+        assertEquals(P2PMessage.Type.INPUT, input.type);
+        assertEquals(7200, input.inputFrame);
+        assertEquals(0x11, input.inputBits);
+        assertTrue(P2PCodec.encode(P2PMessage.input(7200, 0x11)).length <= 5);
+
+        // 상태 해시: 확인용은 프레임별 목록 없이, 어긋났을 때만 목록 포함
+        P2PMessage check = roundTrip(P2PMessage.stateHash(600, 0x8000_0000_1234_5678L, 2, null));
+        assertEquals(P2PMessage.Type.STATE_HASH, check.type);
+        assertEquals(600, check.syncFrame);
+        assertEquals(2, check.syncEpoch);
+        assertEquals(0x8000_0000_1234_5678L, check.stateHash);
+        assertNull(check.hashHistory);
+        long[] history = {1L, -2L, Long.MAX_VALUE};
+        assertArrayEquals(history, roundTrip(P2PMessage.stateHash(600, 3L, 2, history)).hashHistory);
+
+        byte[] state = {1, 2, 3, -4};
+        P2PMessage resync = roundTrip(P2PMessage.resync(598, 3, state));
+        assertEquals(P2PMessage.Type.RESYNC, resync.type);
+        assertEquals(598, resync.syncFrame);
+        assertEquals(3, resync.syncEpoch);
+        assertArrayEquals(state, resync.resyncData);
+
+        P2PMessage offer = roundTrip(P2PMessage.udpOffer(51234));
+        assertEquals(P2PMessage.Type.UDP_OFFER, offer.type);
+        assertEquals(51234, offer.udpPort);
+
+        // 한글 텍스트도 그대로
+        assertEquals("상대방 종료", roundTrip(P2PMessage.disconnect("상대방 종료")).text);
+    }
+
+    @Test
+    void testAttackRowsRoundTrip() throws IOException {
+        boolean[][] rows = new boolean[3][10];
+        for (int c = 0; c < 10; c++) {
+            rows[0][c] = c != 4;
+            rows[1][c] = c % 2 == 0;
+        }
+        P2PMessage m = roundTrip(P2PMessage.attack(rows));
+        assertEquals(P2PMessage.Type.ATTACK, m.type);
+        assertEquals(3, m.garbageRows.length);
+        for (int r = 0; r < 3; r++) assertArrayEquals(rows[r], m.garbageRows[r]);
+
+        // 번호와 보낸 시각
+        P2PMessage numbered = P2PMessage.attack(rows);
+        numbered.attackId = 300;
+        numbered.attackSentMillis = 1_700_000_000_123L;
+        m = roundTrip(numbered);
+        assertEquals(300, m.attackId);
+        assertEquals(1_700_000_000_123L, m.attackSentMillis);
+
+        P2PMessage ack = roundTrip(P2PMessage.attackAck(300));
+        assertEquals(P2PMessage.Type.ATTACK_ACK, ack.type);
+        assertEquals(300, ack.attackId);
+
+        assertNull(roundTrip(P2PMessage.attack(null)).garbageRows);
+    }
+
+    @Test
+    void testStateRoundTripIsCompact() throws IOException {
+        TickClock clock = new TickClock();
+        GameManager gm = new GameManager(GameMode.ITEM, clock, 11L);
+        for (int i = 0; i < 10 && !gm.isGameOver(); i++) {
+            for (int k = 0; k < i % 5; k++) gm.tryMove(gm.getBlockX() - 1, gm.getBlockY());
+            gm.hardDrop();
+            clock.advance(1000);
+            gm.tick();
+        }
+        P2PMessage src = P2PBattleScreen.buildStateSnapshot(gm);
+        src.colorField[0][0] = new Color(1, 2, 3); // 팔레트에 없는 색
+        P2PMessage m = roundTrip(src);
+
+        assertEquals(src.myScore, m.myScore);
+        assertEquals(src.myLevel, m.myLevel);
+        assertEquals(src.gameOver, m.gameOver);
+        for (int r = 0; r < src.field.length; r++) {
+            assertArrayEquals(src.field[r], m.field[r]);
+            assertArrayEquals(src.itemField[r], m.itemField[r]);
+            assertArrayEquals(src.colorField[r], m.colorField[r]);
+            assertArrayEquals(src.garbageMark[r], m.garbageMark[r]);
+        }
+        for (int r = 0; r < src.curShape.length; r++) assertArrayEquals(src.curShape[r], m.curShape[r]);
+        assertEquals(src.curColor, m.curColor);
+        assertEquals(src.curX, m.curX);
+        assertEquals(src.curY, m.curY);
+        assertEquals(src.nextColor, m.nextColor);
+
+        // 팔레트 색은 같은 Color 객체로 복원
+        if (BlockPalette.indexOf(src.curColor) > 0) assertSame(src.curColor, m.curColor);
+
+        int size = P2PCodec.encode(src).length;
+        assertTrue(size < 200, "STATE는 수십 바이트 수준이어야 함: " + size);
+    }
+
+    @Test
+    void testHeaderVersionMismatchRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        P2PCodec.writeHeader(bytes);
+        P2PCodec.readHeader(new ByteArrayInputStream(bytes.toByteArray()));
+
+        byte[] header = bytes.toByteArray();
+        header[header.length - 1] = (byte) (P2PCodec.VERSION + 1);
+        assertThrows(IOException.class, () -> P2PCodec.readHeader(new ByteArrayInputStream(header)));
+        // 예전 Java 직렬화 스트림 헤더(0xACED)도 거부
+        assertThrows(IOException.class,
+            () -> P2PCodec.readHeader(new ByteArrayInputStream(new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5, 0})));
+    }
+
+    @Test
+    void testTruncatedFrameRejected() {
+        byte[] body = P2PCodec.encode(P2PMessage.modeInfo(GameMode.ITEM, 0));
+        assertThrows(IOException.class, () -> P2PCodec.decode(body, 0, body.length - 1));
+    }
+
+    @Test
+    void testNegativeStringLengthRejected() {
+        // 문자열 길이 varint가 음수로 풀리는 손상된 프레임도 IOException으로만 나와야 함
+        byte[] body = {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0, 0, 0, 0};
+        assertThrows(IOException.class, () -> P2PCodec.decode(body, 0, body.length));
+    }
+}
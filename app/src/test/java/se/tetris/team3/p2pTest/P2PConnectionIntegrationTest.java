@@ -1,10 +1,12 @@
 package se.tetris.team3.p2pTest;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
 import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.LoopbackTransport;
 import se.tetris.team3.net.P2PConnectionListener;
 import se.tetris.team3.net.P2PMessage;
 
@@ -15,20 +17,26 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * 실제 소켓을 사용하여 P2PConnection의 서버-클라이언트 연결 플로우를 통합 테스트합니다.
- * 이 테스트는 로컬 환경에서 포트 바인딩/접속이 가능한지 확인하고,
+ * P2PConnection의 서버-클라이언트 연결 플로우를 통합 테스트합니다.
+ * 소켓 대신 LoopbackTransport로 연결하므로 포트 바인딩 없이 밀리초 단위로 끝나고,
  * P2PConnection이 등록된 리스너의 `onConnected` 콜백을 호출하는지 검증합니다.
- *
- * 주의: 환경에 따라 포트 충돌이나 방화벽에 의해 실패할 수 있습니다.
+ * (실제 TCP 경로는 P2PNioTransportTest, P2PPingTest에서 확인)
  */
 public class P2PConnectionIntegrationTest {
 
+    private final LoopbackTransport transport = new LoopbackTransport();
+
+    @AfterEach
+    void closeTransport() {
+        transport.close();
+    }
+
     @Test
     @DisplayName("서버와 클라이언트 연결 시 onConnected 콜백 호출")
     void serverAndClient_connectAndInvokeOnConnected() throws Exception {
         // 서버/클라이언트 인스턴스 생성
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
 
         CountDownLatch serverReadyLatch = new CountDownLatch(1);
         CountDownLatch serverConnectedLatch = new CountDownLatch(1);
@@ -79,8 +87,8 @@ public class P2PConnectionIntegrationTest {
     @Test
     @DisplayName("서버 연결 시 isServer 파라미터가 true")
     void serverConnection_hasCorrectServerFlag() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch serverConnectedLatch = new CountDownLatch(1);
         AtomicBoolean serverFlag = new AtomicBoolean(false);
@@ -117,8 +125,8 @@ public class P2PConnectionIntegrationTest {
     @Test
     @DisplayName("클라이언트 연결 시 isServer 파라미터가 false")
     void clientConnection_hasCorrectServerFlag() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch serverReadyLatch = new CountDownLatch(1);
         CountDownLatch clientConnectedLatch = new CountDownLatch(1);
@@ -161,8 +169,8 @@ public class P2PConnectionIntegrationTest {
     @Test
     @DisplayName("클라이언트 종료 시 서버에서 onDisconnected 호출")
     void clientDisconnects_serverReceivesDisconnectCallback() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch serverReadyLatch = new CountDownLatch(1);
         CountDownLatch serverConnectedLatch = new CountDownLatch(1);
@@ -219,8 +227,8 @@ public class P2PConnectionIntegrationTest {
     @Test
     @DisplayName("메시지 전송 후 상대방이 수신")
     void messageSent_receivedByPeer() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch connectedLatch = new CountDownLatch(2);
         CountDownLatch messageLatch = new CountDownLatch(1);
@@ -265,8 +273,8 @@ public class P2PConnectionIntegrationTest {
     @Test
     @DisplayName("서버 IP 주소 캐싱 - 연결 종료 후에도 유지")
     void serverIPAddress_cachedAfterDisconnect() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch connectedLatch = new CountDownLatch(2);
         
@@ -0,0 +1,202 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.NetworkFaultProxy;
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PConnectionListener;
+import se.tetris.team3.net.P2PMessage;
+
+import static se.tetris.team3.p2pTest.P2PTestSupport.snapshot;
+import static se.tetris.team3.p2pTest.P2PTestSupport.waitFor;
+
+/**
+ * NetworkFaultProxy로 재현하는 네트워크 장애 시나리오 (실제 TCP/UDP, 127.0.0.1).
+ * 150ms 왕복 지연에서 RTT 측정과 STATE 간격, UDP 손실/순서 뒤바뀜, 먹통일 때의 지연 경고와
+ * 응답 없음 판정, 강제 끊김을 확인합니다.
+ *
+ * 주의: 서버는 기본 포트를 사용하므로 환경에 따라 포트 충돌로 실패할 수 있습니다.
+ */
+public class P2PFaultProxyTest {
+
+    private NetworkFaultProxy proxy;
+    private P2PConnection server;
+    private P2PConnection client;
+
+    // 받은 것 기록
+    private final List<P2PMessage> clientStates = new CopyOnWriteArrayList<>();
+    private final List<Long> clientStateTimes = new CopyOnWriteArrayList<>();
+    private final List<String> clientLagWarnings = new CopyOnWriteArrayList<>();
+    private final AtomicReference<String> clientDisconnect = new AtomicReference<>();
+    private final AtomicReference<String> serverDisconnect = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) client.close();
+        if (server != null) server.close();
+        if (proxy != null) proxy.close();
+    }
+
+    // 서버는 DEFAULT_PORT에서 대기, 클라이언트는 프록시를 거쳐 접속
+    private void connectThroughProxy(boolean udp) throws Exception {
+        proxy = new NetworkFaultProxy(P2PConnection.DEFAULT_PORT);
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(2);
+        server = new P2PConnection(new P2PConnectionListener() {
+            int calls = 0;
+            @Override public void onConnected(boolean asServer) {
+                if (++calls == 1) listening.countDown();
+                else connected.countDown();
+            }
+            @Override public void onDisconnected(String reason) { serverDisconnect.compareAndSet(null, reason); }
+            @Override public void onMessageReceived(P2PMessage msg) {}
+            @Override public void onNetworkError(Exception e) {}
+        });
+        client = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) { connected.countDown(); }
+            @Override public void onDisconnected(String reason) { clientDisconnect.compareAndSet(null, reason); }
+            @Override public void onMessageReceived(P2PMessage msg) {
+                if (msg.type == P2PMessage.Type.STATE) {
+                    clientStates.add(msg);
+                    clientStateTimes.add(System.nanoTime());
+                } else if (msg.type == P2PMessage.Type.LAG_WARNING) {
+                    clientLagWarnings.add(msg.text);
+                }
+            }
+            @Override public void onNetworkError(Exception e) {}
+        });
+        server.setUdpEnabled(udp);
+        client.setUdpEnabled(udp);
+        server.startServer();
+        assertTrue(listening.await(3, TimeUnit.SECONDS));
+        client.connectTo("127.0.0.1:" + proxy.getPort());
+        assertTrue(connected.await(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("왕복 150ms: RTT가 150ms 근처로 측정되고, 100ms마다 보낸 STATE가 고르게 도착하며 ATTACK은 모두 확인된다")
+    void wan150msRoundTrip() throws Exception {
+        connectThroughProxy(false);
+        proxy.play(new NetworkFaultProxy.Scenario()
+                .at(0, p -> p.setLatency(75))
+                .at(0, p -> p.setJitter(10))).get(1, TimeUnit.SECONDS);
+
+        GameManager gm = new GameManager(GameMode.CLASSIC, null, 3L);
+        int frames = 30;
+        for (int i = 0; i < frames; i++) {
+            if (i % 3 == 0) gm.hardDrop();
+            server.send(snapshot(gm, i));
+            if (i % 5 == 0) server.send(P2PMessage.attack(new boolean[1][10]));
+            Thread.sleep(100);
+        }
+        waitFor(() -> server.getAttackLedger().getUnackedCount() == 0 && client.getRttStats().getCount() >= 4, 2000);
+
+        // PING/PONG 왕복이 프록시 지연을 그대로 반영
+        double p50 = client.getRttStats().getP50Millis();
+        assertTrue(p50 >= 145 && p50 < 260, "RTT p50: " + p50);
+        assertEquals(0, server.getAttackLedger().getUnackedCount());
+        assertEquals(6, server.getAttackLedger().counts().acked);
+        assertTrue(server.getAttackLedger().getMaxAckMillis() >= 145);
+
+        // 지연은 있어도 간격은 고름 (보낸 간격 100ms + 지터 10ms 안팎)
+        assertTrue(clientStates.size() >= frames * 8 / 10, "받은 STATE: " + clientStates.size());
+        List<Long> gaps = new ArrayList<>();
+        for (int i = 1; i < clientStateTimes.size(); i++) {
+            gaps.add((clientStateTimes.get(i) - clientStateTimes.get(i - 1)) / 1_000_000L);
+        }
+        Collections.sort(gaps);
+        long p95 = gaps.get((int) Math.ceil(gaps.size() * 0.95) - 1);
+        assertTrue(p95 < 200, "STATE 간격 p95: " + p95 + "ms " + gaps);
+        int last = -1;
+        for (P2PMessage m : clientStates) {
+            assertTrue(m.myScore > last);
+            last = m.myScore;
+        }
+        assertTrue(proxy.getTcpFrames() > frames);
+    }
+
+    @Test
+    @DisplayName("UDP도 프록시를 거치고, 손실/순서 뒤바뀜 속에서도 STATE는 순서대로만 반영된다")
+    void udpLossAndReorderThroughProxy() throws Exception {
+        connectThroughProxy(true);
+        proxy.setLatency(10);
+        proxy.setJitter(10);
+        proxy.setUdpLoss(0.2);
+        proxy.setReorder(0.2);
+        waitFor(() -> server.isUdpActive() && client.isUdpActive(), 5000);
+        assertTrue(server.isUdpActive() && client.isUdpActive(), "UDP_OFFER를 바꿔 넘겨 프록시를 거쳐 경로가 확인되어야 함");
+
+        GameManager gm = new GameManager(GameMode.CLASSIC, null, 4L);
+        GameManager other = new GameManager(GameMode.CLASSIC, null, 5L);
+        for (int i = 0; i < 200; i++) {
+            if (i % 4 == 0) gm.hardDrop();
+            server.send(snapshot(gm, i));
+            client.send(snapshot(other, i)); // 확인 응답이 서버로 가도록
+            Thread.sleep(5);
+        }
+        Thread.sleep(200);
+
+        assertTrue(proxy.getUdpForwarded() > 100);
+        assertTrue(proxy.getUdpDropped() > 0);
+        assertTrue(proxy.getUdpReordered() > 0);
+        assertTrue(client.getUdpStaleDropped() > 0, "순서가 바뀐 데이터그램은 늦게 온 것으로 버려야 함");
+        assertFalse(clientStates.isEmpty());
+        int last = -1;
+        for (P2PMessage m : clientStates) {
+            assertFalse(m.delta);
+            assertTrue(m.myScore > last, "오래된 STATE가 새 것 뒤에 오면 안 됨");
+            last = m.myScore;
+        }
+    }
+
+    @Test
+    @DisplayName("먹통이 되면 '네트워크 지연' 경고 뒤 응답 없음으로 끊기고, 판정 시간은 측정한 RTT로 줄어든다")
+    void blackholeRaisesLagWarningThenTimeout() throws Exception {
+        connectThroughProxy(false);
+        // RTT 표본이 모이면 판정 시간이 DISCONNECT_TIMEOUT에서 MIN_DISCONNECT_TIMEOUT 쪽으로
+        waitFor(() -> client.getRttStats().getCount() >= 4, 4000);
+        long timeout = client.getDisconnectTimeoutMillis();
+        assertTrue(timeout < P2PConnection.DISCONNECT_TIMEOUT, "판정 시간: " + timeout);
+
+        AtomicLong start = new AtomicLong();
+        proxy.play(new NetworkFaultProxy.Scenario()
+                .at(0, p -> {
+                    start.set(System.currentTimeMillis());
+                    p.setBlackhole(true);
+                })).get(1, TimeUnit.SECONDS);
+
+        waitFor(() -> clientDisconnect.get() != null && serverDisconnect.get() != null, timeout + 3000);
+        long elapsed = System.currentTimeMillis() - start.get();
+        assertEquals("상대방 응답 없음", clientDisconnect.get());
+        assertEquals("상대방 응답 없음", serverDisconnect.get());
+        assertTrue(elapsed >= timeout - 100 && elapsed < timeout + 2000, "끊김까지: " + elapsed + "ms (판정 " + timeout + "ms)");
+        assertFalse(clientLagWarnings.isEmpty(), "끊기기 전에 지연 경고가 와야 함");
+        assertTrue(clientLagWarnings.get(0).startsWith("네트워크 지연"), clientLagWarnings.get(0));
+    }
+
+    @Test
+    @DisplayName("프록시가 연결을 끊으면 양쪽 모두 곧바로 끊김을 받는다")
+    void proxyDisconnectReachesBothSides() throws Exception {
+        connectThroughProxy(false);
+        proxy.setLatency(20);
+        proxy.play(new NetworkFaultProxy.Scenario().at(300, NetworkFaultProxy::disconnect)).get(2, TimeUnit.SECONDS);
+        waitFor(() -> clientDisconnect.get() != null && serverDisconnect.get() != null, 1000);
+        assertNotNull(clientDisconnect.get());
+        assertNotNull(serverDisconnect.get());
+        assertNotEquals("상대방 응답 없음", clientDisconnect.get(), "타임아웃이 아니라 바로 끊김이어야 함");
+    }
+}
@@ -1,10 +1,12 @@
 package se.tetris.team3.p2pTest;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
 import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.LoopbackTransport;
 import se.tetris.team3.net.P2PConnectionListener;
 import se.tetris.team3.net.P2PMessage;
 import se.tetris.team3.gameManager.BattleGameManager;
@@ -23,16 +25,23 @@ import java.util.concurrent.atomic.AtomicLong;
  * 요구사항: 동일 로컬 네트워크 상에서 연결되었을 때 
  * 키 입력과 화면 표시 지연 200ms 이하
  * 
- * 이 테스트는 로컬호스트 환경에서 메시지 왕복 시간(RTT)을 측정하여
- * 200ms 이하 성능을 보장하는지 검증합니다.
+ * 이 테스트는 LoopbackTransport로 연결해 코덱/송신 대기열/EDT 전달까지 포함한
+ * 메시지 왕복 시간(RTT)을 측정하여 200ms 이하 성능을 보장하는지 검증합니다. (포트 바인딩 없음)
  */
 public class P2PLatencyTest {
 
+    private final LoopbackTransport transport = new LoopbackTransport();
+
+    @AfterEach
+    void closeTransport() {
+        transport.close();
+    }
+
     @Test
     @DisplayName("로컬 네트워크에서 메시지 왕복 시간(RTT) 200ms 이하")
     void localNetwork_messageRoundTripTime_under200ms() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch serverReadyLatch = new CountDownLatch(1);
         CountDownLatch serverConnectedLatch = new CountDownLatch(1);
@@ -108,8 +117,8 @@ public class P2PLatencyTest {
     @Test
     @DisplayName("공격 메시지 전송 지연시간 200ms 이하")
     void attackMessage_latency_under200ms() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch serverReadyLatch = new CountDownLatch(1);
         CountDownLatch serverConnectedLatch = new CountDownLatch(1);
@@ -180,8 +189,8 @@ public class P2PLatencyTest {
     @Test
     @DisplayName("연속 메시지 전송 시 모든 메시지 지연시간 200ms 이하")
     void continuousMessages_averageLatency_under200ms() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch connectedLatch = new CountDownLatch(2);
         final int MESSAGE_COUNT = 10;
@@ -252,8 +261,8 @@ public class P2PLatencyTest {
     @Test
     @DisplayName("게임 시작 메시지 전송 지연시간 200ms 이하")
     void gameStartMessage_latency_under200ms() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch connectedLatch = new CountDownLatch(2);
         CountDownLatch gameStartLatch = new CountDownLatch(1);
@@ -310,8 +319,8 @@ public class P2PLatencyTest {
     @Test
     @DisplayName("키 입력부터 상대 화면 반영까지 지연시간 200ms 이하")
     void keyInputToScreenUpdate_latency_under200ms() throws Exception {
-        P2PConnection server = new P2PConnection(null);
-        P2PConnection client = new P2PConnection(null);
+        P2PConnection server = new P2PConnection(null, transport);
+        P2PConnection client = new P2PConnection(null, transport);
         
         CountDownLatch connectedLatch = new CountDownLatch(2);
         CountDownLatch screenUpdateLatch = new CountDownLatch(1);
@@ -377,8 +386,8 @@ public class P2PLatencyTest {
     @Test
     @DisplayName("키 입력부터 상대방 화면 렌더링까지 전체 지연시간 200ms 이하")
     void keyInput_toRemoteScreenRender_under200ms() throws Exception {
-        P2PConnection player1Conn = new P2PConnection(null);
-        P2PConnection player2Conn = new P2PConnection(null);
+        P2PConnection player1Conn = new P2PConnection(null, transport);
+        P2PConnection player2Conn = new P2PConnection(null, transport);
         
         CountDownLatch serverReadyLatch = new CountDownLatch(1);
         CountDownLatch serverConnectedLatch = new CountDownLatch(1);
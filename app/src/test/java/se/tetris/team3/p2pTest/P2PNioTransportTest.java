@@ -0,0 +1,146 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.net.P2PCodec;
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PConnectionListener;
+import se.tetris.team3.net.P2PMessage;
+
+/**
+ * NIO 셀렉터 기반 P2PConnection 테스트.
+ * 일반 소켓 상대와 바이트 단위로 쪼개진 프레임을 주고받고, 연결마다 스레드를 만들지 않는지 확인합니다.
+ *
+ * 주의: 기본 포트를 사용하므로 환경에 따라 포트 충돌로 실패할 수 있습니다.
+ */
+public class P2PNioTransportTest {
+
+    // 연결 중에는 PING이 주기적으로 끼어들 수 있으므로 건너뜀
+    private static P2PMessage readSkippingPing(InputStream in) throws IOException {
+        while (true) {
+            P2PMessage m = P2PCodec.readFrame(in);
+            if (m.type != P2PMessage.Type.PING && m.type != P2PMessage.Type.PONG) return m;
+        }
+    }
+
+    @Test
+    @DisplayName("쪼개져 도착한 프레임도 하나의 메시지로 받고, send()한 메시지는 상대 소켓에 그대로 도착")
+    void fragmentedFramesAndSend() throws Exception {
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(1);
+        AtomicReference<P2PMessage> got = new AtomicReference<>();
+        int[] connectCount = {0};
+
+        P2PConnection server = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) {
+                if (++connectCount[0] == 1) listening.countDown();
+                else connected.countDown();
+            }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) {
+                got.set(msg);
+                received.countDown();
+            }
+            @Override public void onNetworkError(Exception e) {}
+        });
+
+        server.startServer();
+        assertTrue(listening.await(2, TimeUnit.SECONDS));
+
+        try (Socket peer = new Socket("127.0.0.1", P2PConnection.DEFAULT_PORT)) {
+            peer.setSoTimeout(3000);
+            peer.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(peer.getInputStream());
+            OutputStream out = peer.getOutputStream();
+
+            // 헤더 교환
+            P2PCodec.readHeader(in);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            P2PCodec.writeHeader(bytes);
+            P2PCodec.writeFrame(bytes, P2PMessage.modeInfo(GameMode.BATTLE_TIME, 90));
+            for (byte b : bytes.toByteArray()) {
+                out.write(b);
+                out.flush();
+                Thread.sleep(2);
+            }
+
+            assertTrue(connected.await(2, TimeUnit.SECONDS), "상대 헤더 확인 후 onConnected");
+            assertTrue(received.await(2, TimeUnit.SECONDS));
+            assertEquals(P2PMessage.Type.MODE_INFO, got.get().type);
+            assertEquals(GameMode.BATTLE_TIME, got.get().gameMode);
+            assertEquals(90, got.get().timeLimitSeconds);
+
+            server.send(P2PMessage.ready(true));
+            server.send(P2PMessage.pauseState(true));
+            P2PMessage first = readSkippingPing(in);
+            P2PMessage second = readSkippingPing(in);
+            assertEquals(P2PMessage.Type.READY_STATE, first.type);
+            assertTrue(first.ready);
+            assertEquals(P2PMessage.Type.PAUSE_STATE, second.type);
+
+            // 연결마다 읽기/쓰기 스레드를 만들지 않음
+            for (Thread t : Thread.getAllStackTraces().keySet()) {
+                assertFalse(t.getName().startsWith("P2P-ReadLoop") || t.getName().startsWith("P2P-Writer"),
+                    "소켓별 스레드가 없어야 함: " + t.getName());
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("손상된 프레임을 받으면 그 연결만 끊기고 셀렉터 스레드는 살아 있다")
+    void corruptFrameFailsOnlyThatConnection() throws Exception {
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch disconnected = new CountDownLatch(1);
+        int[] connectCount = {0};
+
+        P2PConnection server = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) {
+                if (++connectCount[0] == 1) listening.countDown();
+            }
+            @Override public void onDisconnected(String reason) { disconnected.countDown(); }
+            @Override public void onMessageReceived(P2PMessage msg) {}
+            @Override public void onNetworkError(Exception e) {}
+        });
+
+        server.startServer();
+        assertTrue(listening.await(2, TimeUnit.SECONDS));
+
+        try (Socket peer = new Socket("127.0.0.1", P2PConnection.DEFAULT_PORT)) {
+            peer.setSoTimeout(3000);
+            InputStream in = new BufferedInputStream(peer.getInputStream());
+            OutputStream out = peer.getOutputStream();
+            P2PCodec.readHeader(in);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            P2PCodec.writeHeader(bytes);
+            // 길이 10 + 문자열 길이가 음수로 풀리는 본문
+            bytes.write(new byte[]{10, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0, 0, 0, 0});
+            out.write(bytes.toByteArray());
+            out.flush();
+
+            assertTrue(disconnected.await(3, TimeUnit.SECONDS), "손상된 메시지면 연결을 끊어야 함");
+            boolean selectorAlive = false;
+            for (Thread t : Thread.getAllStackTraces().keySet()) {
+                if (t.getName().startsWith("P2P-Selector") && t.isAlive()) selectorAlive = true;
+            }
+            assertTrue(selectorAlive, "다른 연결이 쓰는 셀렉터 스레드는 계속 돌아야 함");
+        } finally {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PConnectionListener;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.RttStats;
+
+/**
+ * PING/PONG 왕복 시간 측정 테스트.
+ * RTT 백분위/지터 계산과, 실제 연결에서 PING이 오가며 판정 시간이 RTT에 맞춰지는지 확인합니다.
+ *
+ * 주의: 기본 포트를 사용하므로 환경에 따라 포트 충돌로 실패할 수 있습니다.
+ */
+public class P2PPingTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("RTT 백분위와 지터 계산")
+    void rttPercentilesAndJitter() {
+        RttStats rtt = new RttStats();
+        assertEquals(-1, rtt.getP50Millis());
+
+        for (int i = 1; i <= 100; i++) rtt.record(i * MS);
+        assertEquals(50, rtt.getP50Millis(), 0.001);
+        assertEquals(95, rtt.getP95Millis(), 0.001);
+        assertEquals(99, rtt.getP99Millis(), 0.001);
+        assertEquals(100, rtt.getLastMillis(), 0.001);
+        assertTrue(rtt.getJitterMillis() > 0.5 && rtt.getJitterMillis() <= 1.0, "1ms씩 변하면 지터는 1ms로 수렴");
+
+        // 창(WINDOW)보다 많으면 오래된 표본은 빠짐
+        for (int i = 0; i < RttStats.WINDOW; i++) rtt.record(10 * MS);
+        assertEquals(10, rtt.getP99Millis(), 0.001);
+        assertEquals(RttStats.WINDOW, rtt.getCount());
+    }
+
+    @Test
+    @DisplayName("연결 중 PING/PONG으로 RTT를 재고, 판정 시간을 RTT에 맞춤 (PING은 리스너로 오지 않음)")
+    void pingPongOverConnection() throws Exception {
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(2);
+        List<P2PMessage.Type> delivered = new CopyOnWriteArrayList<>();
+        int[] serverConnects = {0};
+
+        P2PConnection server = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) {
+                if (++serverConnects[0] == 1) listening.countDown();
+                else connected.countDown();
+            }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) { delivered.add(msg.type); }
+            @Override public void onNetworkError(Exception e) {}
+        });
+        P2PConnection client = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) { connected.countDown(); }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) { delivered.add(msg.type); }
+            @Override public void onNetworkError(Exception e) {}
+        });
+
+        try {
+            server.startServer();
+            assertTrue(listening.await(2, TimeUnit.SECONDS));
+            client.connectTo("127.0.0.1");
+            assertTrue(connected.await(5, TimeUnit.SECONDS));
+            assertEquals(P2PConnection.DISCONNECT_TIMEOUT, client.getDisconnectTimeoutMillis(), "측정 전에는 기본값");
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while ((client.getRttStats().getCount() < 5 || server.getRttStats().getCount() < 5)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(client.getRttStats().getCount() >= 5);
+            assertTrue(server.getRttStats().getCount() >= 5);
+            assertTrue(client.getRttStats().getP50Millis() < 200, "로컬 RTT");
+
+            long timeout = client.getDisconnectTimeoutMillis();
+            assertTrue(timeout >= P2PConnection.MIN_DISCONNECT_TIMEOUT && timeout < P2PConnection.DISCONNECT_TIMEOUT,
+                "로컬에서는 기본값보다 짧아야 함: " + timeout);
+
+            assertFalse(delivered.contains(P2PMessage.Type.PING));
+            assertFalse(delivered.contains(P2PMessage.Type.PONG));
+        } finally {
+            client.close();
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package se.tetris.team3.p2pTest;
+
+import java.util.function.BooleanSupplier;
+
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.ui.screen.P2PBattleScreen;
+
+/**
+ * 실제 연결을 쓰는 P2P 테스트들이 함께 쓰는 도우미.
+ */
+final class P2PTestSupport {
+
+    private P2PTestSupport() {}
+
+    /** 조건이 참이 되거나 millis가 지날 때까지 기다림 (결과는 호출한 쪽에서 확인) */
+    static void waitFor(BooleanSupplier cond, long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (!cond.getAsBoolean() && System.currentTimeMillis() < deadline) Thread.sleep(5);
+    }
+
+    /** 전체 STATE 스냅샷 (myScore에 보낸 것과 받은 것을 짝짓는 번호를 넣음) */
+    static P2PMessage snapshot(GameManager gm, int marker) {
+        P2PMessage m = P2PBattleScreen.buildStateSnapshot(gm);
+        m.myScore = marker;
+        return m;
+    }
+}
@@ -0,0 +1,127 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PConnectionListener;
+import se.tetris.team3.net.P2PMessage;
+
+import static se.tetris.team3.p2pTest.P2PTestSupport.snapshot;
+import static se.tetris.team3.p2pTest.P2PTestSupport.waitFor;
+
+/**
+ * UDP 상태 채널 테스트 (127.0.0.1, 손실 흉내).
+ * 받은 데이터그램의 30%를 버려도 STATE는 순서대로 전체 보드로 복원되고,
+ * ATTACK은 TCP로 하나도 빠짐없이 순서대로 도착하는지 확인합니다.
+ *
+ * 주의: 기본 포트를 사용하므로 환경에 따라 포트 충돌로 실패할 수 있습니다.
+ */
+public class P2PUdpStateTest {
+
+    private static int[][] copy(int[][] field) {
+        int[][] out = new int[field.length][];
+        for (int r = 0; r < field.length; r++) out[r] = field[r].clone();
+        return out;
+    }
+
+    @Test
+    @DisplayName("UDP 손실 중에도 STATE는 복원되고 오래된 것은 버려지며, ATTACK은 TCP로 모두 도착한다")
+    void stateSurvivesLossAttackStaysReliable() throws Exception {
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(2);
+        List<P2PMessage> clientStates = new CopyOnWriteArrayList<>();
+        List<Integer> clientAttacks = new CopyOnWriteArrayList<>();
+        int[] serverConnects = {0};
+
+        P2PConnection server = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) {
+                if (++serverConnects[0] == 1) listening.countDown();
+                else connected.countDown();
+            }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) {}
+            @Override public void onNetworkError(Exception e) { fail("Server network error: " + e); }
+        });
+        P2PConnection client = new P2PConnection(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) { connected.countDown(); }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) {
+                if (msg.type == P2PMessage.Type.STATE) clientStates.add(msg);
+                if (msg.type == P2PMessage.Type.ATTACK) clientAttacks.add(msg.garbageRows.length);
+            }
+            @Override public void onNetworkError(Exception e) { fail("Client network error: " + e); }
+        });
+        server.setUdpEnabled(true);
+        client.setUdpEnabled(true);
+        server.setSimulatedUdpLoss(0.3);
+        client.setSimulatedUdpLoss(0.3);
+
+        try {
+            server.startServer();
+            assertTrue(listening.await(3, TimeUnit.SECONDS));
+            client.connectTo("127.0.0.1");
+            assertTrue(connected.await(3, TimeUnit.SECONDS));
+
+            // 양쪽 경로 확인 대기 (손실이 있어도 PING 몇 번이면 됨)
+            waitFor(() -> server.isUdpActive() && client.isUdpActive(), 5000);
+            assertTrue(server.isUdpActive() && client.isUdpActive(), "UDP 경로가 확인되어야 함");
+
+            GameManager gm = new GameManager(GameMode.CLASSIC, null, 5L);
+            GameManager other = new GameManager(GameMode.CLASSIC, null, 6L);
+            Map<Integer, int[][]> sentFields = new ConcurrentHashMap<>();
+            int frames = 200;
+            int attacks = 0;
+            for (int i = 0; i < frames; i++) {
+                if (i % 4 == 0) gm.hardDrop();
+                P2PMessage snap = snapshot(gm, i);
+                sentFields.put(i, copy(snap.field));
+                server.send(snap);
+                // 클라이언트도 STATE를 보내야 확인 응답이 서버로 감
+                client.send(snapshot(other, i));
+                if (i % 10 == 0) {
+                    server.send(P2PMessage.attack(new boolean[attacks % 3 + 1][10]));
+                    attacks++;
+                }
+                Thread.sleep(2);
+            }
+
+            int sentAttacks = attacks;
+            waitFor(() -> clientAttacks.size() >= sentAttacks, 3000);
+            List<Integer> expected = new ArrayList<>();
+            for (int a = 0; a < attacks; a++) expected.add(a % 3 + 1);
+            assertEquals(expected, clientAttacks, "ATTACK은 손실 없이 순서대로");
+
+            assertTrue(client.getUdpSimulatedLost() > 0, "손실 흉내가 동작해야 함");
+            assertTrue(client.getUdpDatagramsReceived() > frames / 3);
+            assertFalse(clientStates.isEmpty());
+
+            // 받은 STATE는 모두 전체 보드이고 순서가 거꾸로 가지 않으며, 보낸 보드와 같음
+            int last = -1;
+            for (P2PMessage m : clientStates) {
+                assertFalse(m.delta);
+                assertTrue(m.myScore > last, "오래된 STATE가 새 것 뒤에 오면 안 됨: " + m.myScore + " <= " + last);
+                last = m.myScore;
+                int[][] want = sentFields.get(m.myScore);
+                for (int r = 0; r < want.length; r++) {
+                    assertTrue(Arrays.equals(want[r], m.field[r]), "STATE " + m.myScore + " 줄 " + r);
+                }
+            }
+        } finally {
+            client.close();
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.ui.render.RemotePiecePredictor;
+
+/**
+ * 상대 현재 블록 낙하 예측/보간 테스트.
+ * STATE 사이에 낙하 간격만큼 내려가는지, 쌓인 블록 아래로는 안 내려가는지, 화면 위치가 부드럽게 따라가는지 확인합니다.
+ */
+public class RemotePiecePredictorTest {
+
+    private static final int[][] O_SHAPE = {{1, 1}, {1, 1}};
+
+    @Test
+    @DisplayName("마지막 STATE 이후 낙하 간격마다 한 칸씩 예측하고, 예측 시간은 제한된다")
+    void testExtrapolatesGravity() {
+        RemotePiecePredictor p = new RemotePiecePredictor();
+        p.onState(O_SHAPE, 4, 2, 300, 1000L);
+
+        assertEquals(2, p.predictRow(1299L, null));
+        assertEquals(3, p.predictRow(1300L, null));
+        assertEquals(4, p.predictRow(1650L, null));
+        // STATE가 끊기면 MAX_EXTRAPOLATION_MILLIS 이후로는 더 내려가지 않음
+        assertEquals(2 + RemotePiecePredictor.MAX_EXTRAPOLATION_MILLIS / 300, p.predictRow(60_000L, null));
+
+        // 레벨이 오르면 간격이 짧아짐
+        assertTrue(GameManager.fallDelayFor(1000, Settings.Difficulty.NORMAL, 5)
+                < GameManager.fallDelayFor(1000, Settings.Difficulty.NORMAL, 1));
+    }
+
+    @Test
+    @DisplayName("쌓인 블록이나 바닥 아래로는 예측하지 않는다")
+    void testStopsAtStack() {
+        int[][] field = new int[20][10];
+        for (int c = 0; c < 10; c++) field[12][c] = 1;
+
+        RemotePiecePredictor p = new RemotePiecePredictor();
+        p.onState(O_SHAPE, 4, 5, 50, 0L);
+        assertEquals(10, p.predictRow(1000L, field), "12번 줄 위(10~11행)에서 멈춤");
+        assertEquals(18, p.predictRow(1000L, null), "보드가 없으면 바닥까지");
+    }
+
+    @Test
+    @DisplayName("화면 위치는 예측 위치를 향해 부드럽게 이동하고, 새 블록이면 바로 맞춘다")
+    void testSmoothsTowardPrediction() {
+        RemotePiecePredictor p = new RemotePiecePredictor();
+        p.onState(O_SHAPE, 4, 2, 1000, 0L);
+        p.update(0L, null);
+        assertEquals(2.0, p.getShownY(), 1e-9);
+
+        // 상대가 옆으로 한 칸 옮긴 STATE: 한 프레임(16ms)에 다 가지 않고 중간쯤
+        p.onState(O_SHAPE, 5, 2, 1000, 100L);
+        p.update(116L, null);
+        assertTrue(p.getShownX() > 4.0 && p.getShownX() < 5.0, "x=" + p.getShownX());
+
+        // 시간이 지나면 예측 위치에 수렴 (1초 후 한 칸 내려감)
+        for (long t = 132; t <= 1390; t += 16) p.update(t, null);
+        assertEquals(5.0, p.getShownX(), 1e-3);
+        assertEquals(3.0, p.getShownY(), 1e-3);
+
+        // 위쪽에 새 블록이 나오면 보간 없이 바로 그 위치
+        p.onState(O_SHAPE, 3, 0, 1000, 1400L);
+        p.update(1416L, null);
+        assertEquals(3.0, p.getShownX(), 1e-9);
+        assertEquals(0.0, p.getShownY(), 1e-9);
+    }
+}
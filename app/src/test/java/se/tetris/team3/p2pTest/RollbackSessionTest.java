@@ -0,0 +1,290 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.GameRandom;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.RollbackSession;
+
+/**
+ * 입력 교환 + 롤백 대전 시뮬레이션 테스트.
+ * 지연이 있어도 양쪽이 같은 결과로 수렴하는지, 예측 한도를 넘으면 멈추는지,
+ * 상태가 어긋나면 처음 어긋난 프레임을 알리고 재동기화되는지 확인합니다. (네트워크 없이 큐로 전달)
+ */
+public class RollbackSessionTest {
+
+    private static final long SEED = 20241203L;
+    private static final int FRAMES = 1800;
+
+    // 플레이어/프레임마다 정해진 입력 (양쪽과 기준 시뮬레이션이 같은 값을 씀)
+    private static int inputAt(int player, int frame) {
+        GameRandom r = new GameRandom(player * 1_000_003L + frame);
+        int v = r.nextInt(10);
+        if (v == 4) return r.nextInt(4) == 0 ? RollbackSession.INPUT_HARD_DROP : 0;
+        return v < 4 ? (1 << v) : 0;
+    }
+
+    // 도착 시각이 붙은 입력 (순서는 보장: TCP처럼 앞 메시지보다 먼저 도착하지 않음)
+    private static final class Pipe {
+        final ArrayDeque<long[]> queue = new ArrayDeque<>();
+        final GameRandom jitter;
+        long lastArrival = 0;
+
+        Pipe(long seed) { jitter = new GameRandom(seed); }
+
+        void send(long now, int frame, int bits) {
+            lastArrival = Math.max(lastArrival, now + 1 + jitter.nextInt(8));
+            queue.add(new long[]{lastArrival, frame, bits});
+        }
+
+        void deliver(long now, RollbackSession to) {
+            while (!queue.isEmpty() && queue.peek()[0] <= now) {
+                long[] m = queue.poll();
+                to.addRemoteInput((int) m[1], (int) m[2]);
+            }
+        }
+    }
+
+    // 세션이 보내는 메시지를 그대로 지연 전달 (INPUT/STATE_HASH/RESYNC 모두)
+    private static final class MessagePipe {
+        final ArrayDeque<Object[]> queue = new ArrayDeque<>();
+        final GameRandom jitter;
+        long now = 0;
+        long lastArrival = 0;
+
+        MessagePipe(long seed) { jitter = new GameRandom(seed); }
+
+        void send(P2PMessage msg) {
+            lastArrival = Math.max(lastArrival, now + 1 + jitter.nextInt(8));
+            queue.add(new Object[]{lastArrival, msg});
+        }
+
+        void deliver(long until, RollbackSession to) {
+            now = until;
+            while (!queue.isEmpty() && (Long) queue.peek()[0] <= until) {
+                to.receive((P2PMessage) queue.poll()[1]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("지연된 입력으로 롤백이 일어나도 양쪽 보드가 지연 없는 기준 결과와 같아진다")
+    void testPeersConvergeUnderLatency() {
+        RollbackSession server = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        RollbackSession client = new RollbackSession(GameMode.CLASSIC, SEED, false);
+        Pipe toClient = new Pipe(1L);
+        Pipe toServer = new Pipe(2L);
+
+        for (long now = 0; server.getFrame() < FRAMES || client.getFrame() < FRAMES; now++) {
+            toServer.deliver(now, server);
+            toClient.deliver(now, client);
+            if (server.getFrame() < FRAMES && server.canAdvance()) {
+                int f = server.getFrame();
+                server.advance(inputAt(0, f));
+                toClient.send(now, f, inputAt(0, f));
+            }
+            if (client.getFrame() < FRAMES && client.canAdvance()) {
+                int f = client.getFrame();
+                client.advance(inputAt(1, f));
+                toServer.send(now, f, inputAt(1, f));
+            }
+            assertTrue(now < FRAMES * 4, "예측 한도에서 서로 기다리다 멈추면 안 됨");
+        }
+        toServer.deliver(Long.MAX_VALUE, server);
+        toClient.deliver(Long.MAX_VALUE, client);
+        server.rollbackIfNeeded();
+        client.rollbackIfNeeded();
+        assertTrue(server.isSettled() && client.isSettled());
+
+        // 기준: 상대 입력을 항상 미리 알고 진행 (예측/롤백 없음)
+        RollbackSession reference = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        for (int f = 0; f < FRAMES; f++) {
+            reference.addRemoteInput(f, inputAt(1, f));
+            reference.advance(inputAt(0, f));
+        }
+        assertEquals(0, reference.getRollbackCount());
+        assertTrue(server.getRollbackCount() > 0 && client.getRollbackCount() > 0, "지연이 있으면 롤백이 일어나야 함");
+
+        for (int p = 0; p < 2; p++) {
+            long expected = reference.getPlayer(p).stateHash();
+            assertEquals(expected, server.getPlayer(p).stateHash(), "서버 쪽 보드 " + p);
+            assertEquals(expected, client.getPlayer(p).stateHash(), "클라이언트 쪽 보드 " + p);
+        }
+        assertSame(server.getLocal(), server.getPlayer(0));
+        assertSame(client.getLocal(), client.getPlayer(1));
+    }
+
+    @Test
+    @DisplayName("한쪽 상태가 어긋나면 처음 어긋난 프레임을 알리고, 서버 상태로 재동기화되어 기준 결과와 같아진다")
+    void testDesyncIsReportedAndResynced() {
+        RollbackSession server = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        RollbackSession client = new RollbackSession(GameMode.CLASSIC, SEED, false);
+        MessagePipe toClient = new MessagePipe(3L);
+        MessagePipe toServer = new MessagePipe(4L);
+        server.setSender(toClient::send);
+        client.setSender(toServer::send);
+        List<int[]> serverReports = new ArrayList<>();
+        List<int[]> clientReports = new ArrayList<>();
+        server.setDesyncListener((first, check) -> serverReports.add(new int[]{first, check}));
+        client.setDesyncListener((first, check) -> clientReports.add(new int[]{first, check}));
+
+        int frames = 900;
+        int corruptedAt = -1;
+        for (long now = 0; server.getFrame() < frames || client.getFrame() < frames; now++) {
+            toServer.deliver(now, server);
+            toClient.deliver(now, client);
+            if (server.getFrame() < frames && server.canAdvance()) {
+                server.advance(inputAt(0, server.getFrame()));
+            }
+            // 200프레임에서 입력이 모두 확정될 때까지 기다렸다가 클라이언트 쪽 서버 보드만 몰래 바꿈 (롤백으로 지워지지 않음)
+            boolean holding = corruptedAt < 0 && client.getFrame() >= 200;
+            if (holding) {
+                client.rollbackIfNeeded();
+                if (client.isSettled()) {
+                    corruptedAt = client.getFrame();
+                    client.getPlayer(0).enqueueGarbage(new boolean[][]{{true, false, true, true, true, true, true, true, true, true}});
+                }
+            }
+            if (!holding && client.getFrame() < frames && client.canAdvance()) {
+                client.advance(inputAt(1, client.getFrame()));
+            }
+            assertTrue(now < frames * 4, "진행이 멈추면 안 됨");
+        }
+        for (int i = 0; i < 4; i++) {
+            toServer.deliver(Long.MAX_VALUE, server);
+            toClient.deliver(Long.MAX_VALUE, client);
+            server.rollbackIfNeeded();
+            client.rollbackIfNeeded();
+        }
+        assertTrue(corruptedAt > 0);
+
+        // 양쪽 모두 같은 첫 어긋난 프레임을 알림
+        assertEquals(1, serverReports.size());
+        assertEquals(1, clientReports.size());
+        assertEquals(corruptedAt, serverReports.get(0)[0]);
+        assertEquals(corruptedAt, clientReports.get(0)[0]);
+        assertTrue(serverReports.get(0)[1] >= corruptedAt);
+        assertEquals(1, server.getResyncCount());
+        assertEquals(1, client.getResyncCount());
+
+        RollbackSession reference = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        for (int f = 0; f < frames; f++) {
+            reference.addRemoteInput(f, inputAt(1, f));
+            reference.advance(inputAt(0, f));
+        }
+        for (int p = 0; p < 2; p++) {
+            long expected = reference.getPlayer(p).stateHash();
+            assertEquals(expected, server.getPlayer(p).stateHash(), "서버 쪽 보드 " + p);
+            assertEquals(expected, client.getPlayer(p).stateHash(), "클라이언트 쪽 보드 " + p);
+        }
+        assertEquals(reference.getPlayer(0).stateHash(), client.getPlayer(0).stateHash());
+    }
+
+    // 승패가 날 때까지 양쪽을 돌림 (클라이언트는 startDelay만큼 늦게 시작, 판정 뒤에는 그쪽만 멈춤)
+    private static void playUntilDecided(RollbackSession server, RollbackSession client,
+                                         int startDelay, int[][] inputs) {
+        MessagePipe toClient = new MessagePipe(5L);
+        MessagePipe toServer = new MessagePipe(6L);
+        server.setSender(toClient::send);
+        client.setSender(toServer::send);
+        for (long now = 0; server.getOutcome() == RollbackSession.OUTCOME_PENDING
+                || client.getOutcome() == RollbackSession.OUTCOME_PENDING; now++) {
+            toServer.now = now;
+            toClient.now = now;
+            toServer.deliver(now, server);
+            toClient.deliver(now, client);
+            // 화면처럼 승패가 나면 그쪽은 더 진행하지 않음
+            if (server.getOutcome() == RollbackSession.OUTCOME_PENDING && server.canAdvance()) {
+                server.advance(inputs[0][server.getFrame() % inputs[0].length]);
+            }
+            if (now >= startDelay && client.getOutcome() == RollbackSession.OUTCOME_PENDING && client.canAdvance()) {
+                client.advance(inputs[1][client.getFrame() % inputs[1].length]);
+            }
+            assertTrue(now < 20_000, "한쪽이 먼저 끝나도 다른 쪽이 멈추면 안 됨 (server "
+                    + server.getFrame() + ", client " + client.getFrame() + ")");
+        }
+    }
+
+    @Test
+    @DisplayName("지연이 있고 클라이언트가 늦게 시작해도, 게임 오버 승패를 양쪽이 같은 프레임에서 같게 정한다")
+    void testGameOverDecidedOnSameBoundary() {
+        RollbackSession server = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        RollbackSession client = new RollbackSession(GameMode.CLASSIC, SEED, false);
+        // 서버는 매 프레임 하드 드롭으로 금방 쌓여 지고, 클라이언트는 가만히 있음
+        playUntilDecided(server, client, 3, new int[][]{{RollbackSession.INPUT_HARD_DROP}, {0}});
+
+        assertEquals(1, server.getOutcome(), "서버가 먼저 게임 오버 → 보드 1 승");
+        assertEquals(server.getOutcome(), client.getOutcome());
+        assertEquals(server.getOutcomeFrame(), client.getOutcomeFrame());
+        assertTrue(server.getPlayer(0).isGameOver() && client.getPlayer(0).isGameOver());
+    }
+
+    @Test
+    @DisplayName("시간제한은 각자 시계가 아니라 정한 프레임 경계의 점수로 양쪽이 같게 끝난다")
+    void testTimeLimitEndsOnFrameBoundary() {
+        int limit = 3 * RollbackSession.TICKS_PER_SECOND;
+        RollbackSession server = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        RollbackSession client = new RollbackSession(GameMode.CLASSIC, SEED, false);
+        server.setTimeLimitFrames(limit);
+        client.setTimeLimitFrames(limit);
+        int[] drops = new int[40];
+        drops[0] = RollbackSession.INPUT_HARD_DROP;
+        playUntilDecided(server, client, 3, new int[][]{drops, {0}});
+
+        assertEquals(limit, server.getOutcomeFrame());
+        assertEquals(limit, client.getOutcomeFrame());
+        assertEquals(server.getOutcome(), client.getOutcome());
+        assertEquals(0, server.getOutcome(), "하드 드롭으로 점수를 낸 보드 0 승");
+    }
+
+    @Test
+    @DisplayName("상대 입력이 오지 않으면 예측 한도까지만 진행하고 멈춘다")
+    void testStallsAtPredictionLimit() {
+        RollbackSession s = new RollbackSession(GameMode.CLASSIC, SEED, true);
+        int advanced = 0;
+        while (s.advance(0) && advanced < 100) advanced++;
+        assertEquals(RollbackSession.MAX_PREDICTION_FRAMES, advanced);
+        assertFalse(s.canAdvance());
+        assertFalse(s.isSettled());
+
+        // 예측과 다른 입력이 오면 다음 진행 때 되돌아가 다시 계산
+        s.addRemoteInput(0, RollbackSession.INPUT_HARD_DROP);
+        assertTrue(s.canAdvance());
+        assertTrue(s.advance(0));
+        assertEquals(1, s.getRollbackCount());
+        assertEquals(RollbackSession.MAX_PREDICTION_FRAMES, s.getMaxRollbackFrames());
+        assertNotEquals(0, s.getRemote().getBoard().getRowMask(19), "상대 보드에 하드 드롭한 블록이 쌓여 있어야 함");
+        assertEquals(0, s.getLocal().getBoard().getRowMask(19));
+    }
+
+    @Test
+    @DisplayName("서버가 보낸 난이도를 두 보드에 똑같이 적용하고 양쪽 시뮬레이션이 일치한다")
+    void testDifficultyAppliedToBothBoards() {
+        RollbackSession server = new RollbackSession(GameMode.CLASSIC, SEED, true, Settings.Difficulty.HARD);
+        RollbackSession client = new RollbackSession(GameMode.CLASSIC, SEED, false, Settings.Difficulty.HARD);
+        for (RollbackSession s : new RollbackSession[]{server, client}) {
+            assertEquals(Settings.Difficulty.HARD, s.getLocal().getDifficulty());
+            assertEquals(Settings.Difficulty.HARD, s.getRemote().getDifficulty());
+        }
+        assertEquals(Settings.Difficulty.NORMAL, new RollbackSession(GameMode.CLASSIC, SEED, true).getLocal().getDifficulty());
+
+        GameRandom rnd = new GameRandom(3L);
+        for (int f = 0; f < 300; f++) {
+            int a = rnd.nextInt(32), b = rnd.nextInt(32);
+            server.addRemoteInput(f, b);
+            client.addRemoteInput(f, a);
+            server.advance(a);
+            client.advance(b);
+        }
+        assertEquals(server.getLocal().stateHash(), client.getRemote().stateHash());
+        assertEquals(server.getRemote().stateHash(), client.getLocal().stateHash());
+    }
+}
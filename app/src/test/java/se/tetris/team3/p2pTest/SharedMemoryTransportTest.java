@@ -0,0 +1,241 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PConnectionListener;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.P2PTransport;
+import se.tetris.team3.net.SharedMemoryTransport;
+
+/**
+ * 공유 메모리 전송 계층 테스트.
+ * 두 프로세스 대신 같은 폴더를 쓰는 전송 계층 두 개로, 링을 여러 번 돌아도 바이트 순서가 맞는지,
+ * 같은 코덱으로 P2PConnection끼리 메시지를 주고받는지, 끊김과 접속 거부가 전달되는지 확인합니다.
+ */
+public class SharedMemoryTransportTest {
+
+    private static final int PORT = 45678;
+
+    @TempDir
+    File dir;
+
+    private SharedMemoryTransport serverSide;
+    private SharedMemoryTransport clientSide;
+
+    private void open() {
+        serverSide = new SharedMemoryTransport(dir);
+        clientSide = new SharedMemoryTransport(dir);
+    }
+
+    @AfterEach
+    void closeTransports() {
+        if (serverSide != null) serverSide.close();
+        if (clientSide != null) clientSide.close();
+    }
+
+    // 이벤트를 기록하는 Handler (받은 바이트는 큐에)
+    private static class Recorder implements P2PTransport.Handler {
+        final CompletableFuture<P2PTransport.Link> link = new CompletableFuture<>();
+        final CompletableFuture<IOException> failure = new CompletableFuture<>();
+        final BlockingQueue<Byte> bytes = new LinkedBlockingQueue<>();
+        volatile int writableCalls = 0;
+        volatile Runnable onWritable;
+
+        @Override public void opened(P2PTransport.Link l) { link.complete(l); }
+        @Override public void received(ByteBuffer buf) { while (buf.hasRemaining()) bytes.add(buf.get()); }
+        @Override public void writable() {
+            writableCalls++;
+            if (onWritable != null) onWritable.run();
+        }
+        @Override public void tick(long nowMillis) {}
+        @Override public void failed(IOException e) { failure.complete(e); }
+    }
+
+    private Recorder listen(SharedMemoryTransport t) throws Exception {
+        Recorder r = new Recorder();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        t.execute(() -> {
+            try {
+                t.listen(PORT, r);
+                done.complete(null);
+            } catch (IOException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        done.get(1, TimeUnit.SECONDS);
+        return r;
+    }
+
+    @Test
+    @DisplayName("링 크기보다 많은 바이트도 순서대로 전달되고, 가득 차면 writable로 이어 쓴다")
+    void bytesWrapAroundRingInOrder() throws Exception {
+        open();
+        Recorder server = listen(serverSide);
+        Recorder client = new Recorder();
+        clientSide.connect("127.0.0.1", PORT, client);
+        P2PTransport.Link c = client.link.get(1, TimeUnit.SECONDS);
+        server.link.get(1, TimeUnit.SECONDS);
+
+        int total = SharedMemoryTransport.RING_SIZE * 3 + 123;
+        byte[] chunk = new byte[7000];
+        CountDownLatch written = new CountDownLatch(1);
+        Runnable writer = new Runnable() {
+            int sent = 0;
+
+            @Override
+            public void run() {
+                try {
+                    // 링이 가득 차면 멈추고 writable()에서 이어 씀 (P2PConnection과 같은 방식)
+                    while (sent < total) {
+                        int len = Math.min(chunk.length, total - sent);
+                        for (int j = 0; j < len; j++) chunk[j] = (byte) ((sent + j) * 31);
+                        int n = c.write(chunk, 0, len);
+                        sent += n;
+                        if (n < len) return;
+                    }
+                } catch (IOException e) {
+                    client.failure.complete(e);
+                }
+                written.countDown();
+            }
+        };
+        client.onWritable = writer;
+        clientSide.execute(writer);
+
+        for (int i = 0; i < total; i++) {
+            Byte b = server.bytes.poll(2, TimeUnit.SECONDS);
+            assertNotNull(b, "바이트 " + i + " 도착 안 함");
+            assertEquals((byte) (i * 31), b.byteValue(), "바이트 " + i);
+        }
+        assertTrue(written.await(2, TimeUnit.SECONDS));
+        assertTrue(client.writableCalls > 0, "가득 찬 뒤 빈 자리가 생기면 writable을 불러야 함");
+        assertFalse(client.failure.isDone());
+    }
+
+    @Test
+    @DisplayName("P2PConnection끼리 같은 코덱으로 메시지를 주고받고, 닫으면 상대가 끊김을 받는다")
+    void connectionsExchangeMessagesAndSeeDisconnect() throws Exception {
+        open();
+        BlockingQueue<P2PMessage> serverInbox = new LinkedBlockingQueue<>();
+        BlockingQueue<P2PMessage> clientInbox = new LinkedBlockingQueue<>();
+        CountDownLatch listening = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(2);
+        CountDownLatch disconnected = new CountDownLatch(1);
+
+        P2PConnection server = new P2PConnection(null, serverSide);
+        P2PConnection client = new P2PConnection(null, clientSide);
+        server.setListener(new P2PConnectionListener() {
+            int calls = 0;
+            // 첫 번째는 대기 시작, 두 번째가 실제 연결
+            @Override public void onConnected(boolean asServer) {
+                if (++calls == 1) listening.countDown();
+                else connected.countDown();
+            }
+            @Override public void onDisconnected(String reason) { disconnected.countDown(); }
+            @Override public void onMessageReceived(P2PMessage msg) { serverInbox.add(msg); }
+            @Override public void onNetworkError(Exception e) { fail("Server network error: " + e); }
+        });
+        client.setListener(new P2PConnectionListener() {
+            @Override public void onConnected(boolean asServer) { connected.countDown(); }
+            @Override public void onDisconnected(String reason) {}
+            @Override public void onMessageReceived(P2PMessage msg) { clientInbox.add(msg); }
+            @Override public void onNetworkError(Exception e) { fail("Client network error: " + e); }
+        });
+        try {
+            server.startServer();
+            assertTrue(listening.await(2, TimeUnit.SECONDS));
+            client.connectTo("127.0.0.1:" + P2PConnection.DEFAULT_PORT);
+            assertTrue(connected.await(2, TimeUnit.SECONDS));
+
+            // 왕복: 클라이언트 → 서버 ATTACK, 서버 → 클라이언트 ATTACK
+            long[] rtts = new long[50];
+            for (int i = 0; i < rtts.length; i++) {
+                boolean[][] rows = new boolean[1][10];
+                Arrays.fill(rows[0], true);
+                rows[0][i % 10] = false;
+                long start = System.nanoTime();
+                client.send(P2PMessage.attack(rows));
+                P2PMessage got = serverInbox.poll(2, TimeUnit.SECONDS);
+                assertNotNull(got);
+                assertEquals(P2PMessage.Type.ATTACK, got.type);
+                assertArrayEquals(rows[0], got.garbageRows[0]);
+                server.send(P2PMessage.attack(rows));
+                assertNotNull(clientInbox.poll(2, TimeUnit.SECONDS));
+                rtts[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(rtts);
+            // EDT 전달까지 포함한 왕복이므로 넉넉하게 (전송 자체는 1ms 미만)
+            assertTrue(rtts[rtts.length / 2] < 50_000_000L, "중앙값 RTT: " + rtts[rtts.length / 2] / 1000 + "us");
+
+            client.close();
+            assertTrue(disconnected.await(2, TimeUnit.SECONDS), "상대가 닫으면 끊김을 받아야 함");
+        } finally {
+            client.close();
+            server.close();
+        }
+        assertFalse(new File(dir, "se-tetris-p2p-" + P2PConnection.DEFAULT_PORT + ".shm").exists(),
+                "서버가 닫히면 링 파일을 지워야 함");
+    }
+
+    @Test
+    @DisplayName("서버가 없거나 이미 상대가 있으면 접속을 거부하고, 같은 포트로 두 번 대기할 수 없다")
+    void refusesWithoutLiveServerOrWhenTaken() throws Exception {
+        open();
+        // 파일이 없음
+        Recorder none = new Recorder();
+        clientSide.connect("127.0.0.1", PORT, none);
+        assertTrue(none.failure.get(1, TimeUnit.SECONDS) instanceof ConnectException);
+
+        // 죽은 서버가 남긴 파일 (잠금을 잡은 프로세스가 없음)
+        File stale = new File(dir, "se-tetris-p2p-" + PORT + ".shm");
+        try (RandomAccessFile raf = new RandomAccessFile(stale, "rw")) {
+            raf.setLength(4096 + 2L * SharedMemoryTransport.RING_SIZE);
+        }
+        Recorder staleClient = new Recorder();
+        clientSide.connect("127.0.0.1", PORT, staleClient);
+        assertTrue(staleClient.failure.get(1, TimeUnit.SECONDS) instanceof ConnectException);
+
+        Recorder server = listen(serverSide);
+        CompletableFuture<Throwable> second = new CompletableFuture<>();
+        serverSide.execute(() -> {
+            try {
+                serverSide.listen(PORT, new Recorder());
+                second.complete(null);
+            } catch (IOException e) {
+                second.complete(e);
+            }
+        });
+        assertTrue(second.get(1, TimeUnit.SECONDS) instanceof BindException);
+
+        Recorder first = new Recorder();
+        clientSide.connect("127.0.0.1", PORT, first);
+        first.link.get(1, TimeUnit.SECONDS);
+        server.link.get(1, TimeUnit.SECONDS);
+        Recorder late = new Recorder();
+        clientSide.connect("127.0.0.1", PORT, late);
+        assertTrue(late.failure.get(1, TimeUnit.SECONDS) instanceof ConnectException);
+
+        // 클라이언트 쪽 전송 계층이 통째로 닫혀도 서버는 끊김을 받음
+        clientSide.close();
+        assertTrue(server.failure.get(2, TimeUnit.SECONDS) instanceof EOFException);
+    }
+}
@@ -0,0 +1,164 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.P2PCodec;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.SpectatorHub;
+import se.tetris.team3.ui.screen.P2PBattleScreen;
+
+/**
+ * 관전자 중계 테스트.
+ * 여러 관전자가 같은 STATE 흐름을 받는지, 인코딩은 관전자 수와 상관없이 한 번인지,
+ * 읽지 않는 관전자가 있어도 publish가 막히지 않고 그 관전자 몫만 버려지는지 확인합니다. (빈 포트 사용)
+ */
+public class SpectatorHubTest {
+
+    private static Socket connect(SpectatorHub hub) throws Exception {
+        Socket s = new Socket();
+        s.connect(new InetSocketAddress("127.0.0.1", hub.getPort()), 2000);
+        s.setSoTimeout(3000);
+        return s;
+    }
+
+    private static void awaitSpectators(SpectatorHub hub, int n) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (hub.getSpectatorCount() < n && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(n, hub.getSpectatorCount());
+    }
+
+    private static List<P2PMessage> read(InputStream in, int count) throws Exception {
+        List<P2PMessage> out = new ArrayList<>();
+        for (int i = 0; i < count; i++) out.add(P2PCodec.readFrame(in));
+        return out;
+    }
+
+    @Test
+    @DisplayName("모든 관전자가 두 플레이어의 STATE를 받고, 프레임은 한 번만 인코딩된다")
+    void fanOutEncodesOnce() throws Exception {
+        GameManager p0 = new GameManager(GameMode.CLASSIC, null, 1L);
+        GameManager p1 = new GameManager(GameMode.CLASSIC, null, 2L);
+        SpectatorHub hub = new SpectatorHub(0);
+        List<Socket> sockets = new ArrayList<>();
+        try {
+            hub.start();
+            // 관전자가 없을 때는 인코딩하지 않음
+            hub.publish(0, P2PBattleScreen.buildStateSnapshot(p0));
+            assertEquals(0, hub.getFramesEncoded());
+
+            for (int i = 0; i < 3; i++) sockets.add(connect(hub));
+            awaitSpectators(hub, 3);
+
+            int rounds = 5;
+            for (int i = 0; i < rounds; i++) {
+                p0.hardDrop();
+                hub.publish(0, P2PBattleScreen.buildStateSnapshot(p0));
+                hub.publish(1, P2PBattleScreen.buildStateSnapshot(p1));
+            }
+            assertEquals(rounds * 2, hub.getFramesEncoded(), "관전자 수만큼 인코딩하지 않음");
+
+            for (Socket s : sockets) {
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                P2PCodec.readHeader(in);
+                List<P2PMessage> msgs = read(in, rounds * 2);
+                for (int i = 0; i < msgs.size(); i++) {
+                    P2PMessage m = msgs.get(i);
+                    assertEquals(P2PMessage.Type.SPECTATE, m.type);
+                    assertEquals(i % 2, m.spectatePlayer);
+                    // 처음 받는 프레임은 플레이어별로 키프레임, 그 뒤는 델타
+                    assertEquals(i >= 2, m.delta, "프레임 " + i);
+                }
+                assertEquals(p0.getScore(), msgs.get(msgs.size() - 2).myScore);
+            }
+
+            // 중간에 들어온 관전자도 키프레임부터 받음
+            Socket late = connect(hub);
+            sockets.add(late);
+            awaitSpectators(hub, 4);
+            hub.publish(0, P2PBattleScreen.buildStateSnapshot(p0));
+            InputStream in = new BufferedInputStream(late.getInputStream());
+            P2PCodec.readHeader(in);
+            P2PMessage first = P2PCodec.readFrame(in);
+            assertFalse(first.delta);
+            assertNotNull(first.field);
+        } finally {
+            for (Socket s : sockets) s.close();
+            hub.close();
+        }
+    }
+
+    @Test
+    @DisplayName("읽지 않는 관전자가 있어도 publish는 막히지 않고, 그 관전자 몫만 버린다")
+    void slowSpectatorDoesNotBlock() throws Exception {
+        GameManager p0 = new GameManager(GameMode.ITEM, null, 3L);
+        SpectatorHub hub = new SpectatorHub(0);
+        Socket slow = new Socket();
+        Socket fast = null;
+        try {
+            hub.start();
+            slow.setReceiveBufferSize(4096);
+            slow.connect(new InetSocketAddress("127.0.0.1", hub.getPort()), 2000);
+            fast = connect(hub);
+            awaitSpectators(hub, 2);
+
+            InputStream fastIn = new BufferedInputStream(fast.getInputStream());
+            P2PCodec.readHeader(fastIn);
+
+            long start = System.nanoTime();
+            int frames = 3000;
+            for (int i = 0; i < frames; i++) {
+                if (i % 40 == 0) p0.hardDrop();
+                P2PMessage snap = P2PBattleScreen.buildStateSnapshot(p0);
+                // 매번 모든 줄이 바뀌어 큰 델타가 되도록
+                snap.myScore = i;
+                for (int r = 0; r < 20; r++) snap.field[r][(i + r) % 10] ^= 1;
+                hub.publish(0, snap);
+                // 빠른 관전자는 꾸준히 읽음
+                assertEquals(i, P2PCodec.readFrame(fastIn).myScore);
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(millis < 10_000, "publish가 느린 관전자를 기다리면 안 됨: " + millis + "ms");
+            assertTrue(hub.getFramesDropped() > 0, "읽지 않는 관전자 몫은 버려야 함");
+            assertEquals(frames, hub.getFramesEncoded());
+            assertEquals(2, hub.getSpectatorCount());
+
+            // 느린 관전자가 다시 읽기 시작하면: 프레임 경계가 맞고, 버려진 뒤에는 키프레임부터 이어짐
+            for (int i = frames; i < frames + 2 * SpectatorHub.KEYFRAME_INTERVAL; i++) {
+                P2PMessage snap = P2PBattleScreen.buildStateSnapshot(p0);
+                snap.myScore = i;
+                hub.publish(0, snap);
+            }
+            slow.setSoTimeout(3000);
+            InputStream slowIn = new BufferedInputStream(slow.getInputStream());
+            P2PCodec.readHeader(slowIn);
+            int lastSeq = -1;
+            int gaps = 0;
+            P2PMessage m;
+            do {
+                m = P2PCodec.readFrame(slowIn);
+                if (m.delta) {
+                    assertEquals(lastSeq, m.baseSeq, "델타는 바로 앞 프레임을 기준으로 해야 함");
+                } else if (lastSeq >= 0 && m.stateSeq != lastSeq + 1) {
+                    gaps++;
+                }
+                lastSeq = m.stateSeq;
+            } while (m.myScore != frames + 2 * SpectatorHub.KEYFRAME_INTERVAL - 1);
+            assertTrue(gaps > 0);
+        } finally {
+            slow.close();
+            if (fast != null) fast.close();
+            hub.close();
+        }
+    }
+}
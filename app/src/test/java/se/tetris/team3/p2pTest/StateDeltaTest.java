@@ -0,0 +1,199 @@
+package se.tetris.team3.p2pTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.P2PCodec;
+import se.tetris.team3.net.P2PConnection;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.net.StateDeltaDecoder;
+import se.tetris.team3.net.StateDeltaEncoder;
+import se.tetris.team3.ui.AppFrame;
+import se.tetris.team3.ui.screen.P2PBattleScreen;
+
+/**
+ * STATE 델타/키프레임 테스트.
+ * - 보내는 쪽: 처음과 주기마다, 요청 시 키프레임을 보내고 그 사이에는 바뀐 줄만 보내는지
+ * - 받는 쪽: 델타를 기존 보드에 반영하고, 기준이 어긋나면 키프레임을 요청하는지
+ * - 확인 응답 방식(UDP): 중간 STATE가 사라지거나 늦게 와도 받은 것만으로 전체 보드를 복원하는지
+ */
+public class StateDeltaTest {
+
+    private static class FakeConnection extends P2PConnection {
+        final List<P2PMessage> sent = new ArrayList<>();
+        FakeConnection() { super(null); }
+        @Override public synchronized void send(P2PMessage msg) { if (msg != null) sent.add(msg); }
+        @Override public void close() {}
+    }
+
+    private TickClock clock;
+    private GameManager gm;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TickClock();
+        gm = new GameManager(GameMode.CLASSIC, clock, 7L);
+    }
+
+    private void dropOne() {
+        gm.hardDrop();
+        clock.advance(1000);
+        gm.tick();
+    }
+
+    private static P2PMessage roundTrip(P2PMessage m) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        P2PCodec.writeFrame(bytes, m);
+        return P2PCodec.readFrame(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    void testKeyframeThenDeltas() throws IOException {
+        StateDeltaEncoder enc = new StateDeltaEncoder(5);
+
+        P2PMessage first = enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        assertFalse(first.delta, "첫 STATE는 키프레임");
+
+        // 아무것도 안 바뀌면 줄 없이 현재 블록만
+        P2PMessage idle = enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        assertTrue(idle.delta);
+        assertEquals(first.stateSeq, idle.baseSeq);
+        assertEquals(0, idle.changedRows.length);
+        assertEquals(0, idle.changedParts);
+        assertNotNull(idle.curShape);
+        int idleSize = P2PCodec.encode(idle).length;
+        assertTrue(idleSize < P2PCodec.encode(first).length);
+        assertTrue(idleSize < 24, "변화 없는 델타는 아주 작아야 함: " + idleSize);
+
+        // 블록 하나를 두면 바닥 쪽 줄만
+        dropOne();
+        P2PMessage d = roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+        assertTrue(d.delta);
+        assertTrue(d.changedRows.length > 0 && d.changedRows.length <= 4);
+        assertEquals(d.changedRows.length, d.field.length);
+        for (int r : d.changedRows) assertTrue(r >= 16, "바닥 줄만 바뀌어야 함: " + r);
+        assertNotEquals(0, d.changedParts & P2PMessage.PART_NEXT, "새 블록이 나왔으니 NEXT도 바뀜");
+
+        // 주기마다 키프레임
+        enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        P2PMessage k = enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        assertFalse(k.delta, "keyframeInterval마다 전체 스냅샷");
+
+        // 요청하면 바로 키프레임
+        assertTrue(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)).delta);
+        enc.requestKeyframe();
+        assertFalse(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)).delta);
+    }
+
+    @Test
+    void testReceiverAppliesDeltaInPlace() throws Exception {
+        FakeConnection conn = new FakeConnection();
+        P2PBattleScreen screen = new P2PBattleScreen(Mockito.mock(AppFrame.class), conn, GameMode.BATTLE_NORMAL, new Settings(), 0, false);
+        StateDeltaEncoder enc = new StateDeltaEncoder();
+
+        screen.onMessageReceived(roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm))));
+        int[][] remoteBefore = (int[][]) get(screen, "remoteField");
+
+        for (int i = 0; i < 3; i++) dropOne();
+        screen.onMessageReceived(roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm))));
+
+        int[][] remote = (int[][]) get(screen, "remoteField");
+        assertSame(remoteBefore, remote, "델타는 기존 보드에 반영");
+        for (int r = 0; r < 20; r++) {
+            for (int c = 0; c < 10; c++) {
+                assertEquals(gm.getFieldValue(r, c), remote[r][c], "(" + r + "," + c + ")");
+            }
+        }
+        assertEquals(gm.getScore(), (int) (Integer) get(screen, "remoteScore"));
+        assertTrue(conn.sent.stream().noneMatch(m -> m.type == P2PMessage.Type.STATE_REQUEST));
+    }
+
+    @Test
+    void testMissingBaseRequestsKeyframe() throws Exception {
+        FakeConnection conn = new FakeConnection();
+        P2PBattleScreen screen = new P2PBattleScreen(Mockito.mock(AppFrame.class), conn, GameMode.BATTLE_NORMAL, new Settings(), 0, false);
+        StateDeltaEncoder enc = new StateDeltaEncoder();
+
+        // 키프레임을 놓치고 델타부터 받음
+        enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        dropOne();
+        screen.onMessageReceived(roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm))));
+        screen.onMessageReceived(roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm))));
+
+        long requests = conn.sent.stream().filter(m -> m.type == P2PMessage.Type.STATE_REQUEST).count();
+        assertEquals(1, requests, "키프레임 요청은 한 번만");
+        assertNull(get(screen, "remoteField"));
+
+        // 요청을 받은 쪽은 다음에 키프레임을 보냄
+        screen.onMessageReceived(P2PMessage.stateRequest());
+        enc.requestKeyframe();
+        P2PMessage k = roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+        assertFalse(k.delta);
+        screen.onMessageReceived(k);
+        assertNotNull(get(screen, "remoteField"));
+    }
+
+    @Test
+    void testAckedDeltasSurviveLossAndReorder() throws IOException {
+        StateDeltaEncoder enc = new StateDeltaEncoder(1000, 32);
+        StateDeltaDecoder dec = new StateDeltaDecoder(32);
+
+        // 확인 응답 전에는 계속 키프레임
+        P2PMessage k1 = enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        P2PMessage k2 = enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        assertFalse(k1.delta);
+        assertFalse(k2.delta);
+
+        int delivered = 0;
+        P2PMessage held = null;
+        for (int i = 0; i < 60; i++) {
+            if (i % 3 == 0) dropOne();
+            P2PMessage m = roundTrip(enc.encode(P2PBattleScreen.buildStateSnapshot(gm)));
+            if (i % 4 == 1) continue;                 // 사라짐
+            if (i % 7 == 2) { held = m; continue; }   // 늦게 도착
+            P2PMessage full = dec.decode(m);
+            if (full == null) continue;
+            delivered++;
+            assertFalse(full.delta);
+            for (int r = 0; r < 20; r++) {
+                for (int c = 0; c < 10; c++) {
+                    assertEquals(gm.getFieldValue(r, c), full.field[r][c], "STATE " + m.stateSeq + " (" + r + "," + c + ")");
+                }
+            }
+            assertEquals(gm.getScore(), full.myScore);
+            // 받은 쪽 확인 응답이 가끔씩만 도착
+            if (i % 5 == 0) enc.acknowledge(dec.getLastSeq());
+            if (held != null) {
+                assertNull(dec.decode(held), "이미 받은 것보다 오래된 STATE는 버림");
+                held = null;
+            }
+        }
+        assertTrue(delivered > 25, "사라진 것 말고는 거의 다 복원: " + delivered);
+
+        // 확인 응답을 받은 뒤에는 그 STATE를 기준으로 델타
+        enc.acknowledge(dec.getLastSeq());
+        P2PMessage d = enc.encode(P2PBattleScreen.buildStateSnapshot(gm));
+        assertTrue(d.delta);
+        assertEquals(dec.getLastSeq(), d.baseSeq);
+    }
+
+    private static Object get(Object target, String name) throws Exception {
+        Field f = P2PBattleScreen.class.getDeclaredField(name);
+        f.setAccessible(true);
+        return f.get(target);
+    }
+}
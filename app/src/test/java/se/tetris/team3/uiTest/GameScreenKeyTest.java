@@ -7,6 +7,7 @@ import se.tetris.team3.ui.screen.GameScreen;
 import se.tetris.team3.ui.screen.MenuScreen;
 import se.tetris.team3.ui.screen.NameInputScreen;
 import se.tetris.team3.core.*;
+import se.tetris.team3.engine.BitBoard;
 import se.tetris.team3.gameManager.GameManager;
 import se.tetris.team3.blocks.Block;
 
@@ -271,22 +272,20 @@ class GameScreenKeyTest {
     // 필드 전체를 0으로 초기화
     private void clearField() {
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            int[][] field = (int[][]) f.get(manager);
-            for (int r = 0; r < field.length; r++)
-                for (int c = 0; c < field[r].length; c++)
-                    field[r][c] = 0;
+            BitBoard field = (BitBoard) f.get(manager);
+            field.clear();
         } catch (Exception e) { throw new RuntimeException(e); }
     }
     // 특정 행에 장애물(블록) 추가
     private void setFieldRow(int row, int value) {
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            int[][] field = (int[][]) f.get(manager);
-            for (int c = 0; c < field[row].length; c++)
-                field[row][c] = value;
+            BitBoard field = (BitBoard) f.get(manager);
+            for (int c = 0; c < field.width(); c++)
+                field.set(row, c, value != 0);
         } catch (Exception e) { throw new RuntimeException(e); }
     }
 
@@ -13,7 +13,6 @@ import se.tetris.team3.ui.screen.Screen;
 
 import java.awt.event.KeyEvent;
 import java.lang.reflect.Field;
-import javax.swing.Timer;
 
 /**
  * GameScreen 일시정지 기능 테스트
@@ -32,7 +31,6 @@ public class GameScreenPauseTest {
         settings.resetDefaults();
         mockApp = new MockAppFrame(settings);
         gameScreen = new GameScreen(mockApp);
-        initializeTimer(gameScreen);
     }
 
     @Test
@@ -142,18 +140,6 @@ public class GameScreenPauseTest {
 
     // ===== Helper Methods =====
 
-    /**
-     * GameScreen의 timer 필드를 더미 타이머로 초기화
-     * onShow()를 호출하지 않고도 updateTimerDelay() NPE를 방지
-     */
-    private void initializeTimer(GameScreen screen) throws Exception {
-        Field timerField = GameScreen.class.getDeclaredField("timer");
-        timerField.setAccessible(true);
-        // 더미 타이머 (실제로 실행되지 않음, delay 설정만 가능)
-        Timer dummyTimer = new Timer(1000, e -> {});
-        timerField.set(screen, dummyTimer);
-    }
-
     private boolean isPaused() throws Exception {
         Field pauseField = GameScreen.class.getDeclaredField("isPaused");
         pauseField.setAccessible(true);
@@ -4,10 +4,12 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.mockito.Mockito;
 import se.tetris.team3.core.Settings;
+import se.tetris.team3.engine.BitBoard;
 import se.tetris.team3.gameManager.GameManager;
 import se.tetris.team3.ui.AppFrame;
 import se.tetris.team3.ui.screen.GameScreen;
 import se.tetris.team3.blocks.Block;
+import se.tetris.team3.blocks.PieceType;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
@@ -44,7 +46,7 @@ class GameScreenTest {
     void testRenderFixedBlockPixel() throws Exception {
         Mockito.doReturn(false).when(manager).isGameOver();
         Mockito.doReturn(1).when(manager).getFieldValue(5, 3);
-        Mockito.doReturn(Color.BLUE).when(manager).getBlockColor(5, 3);
+        Mockito.doReturn(PieceType.J.paletteIndex()).when(manager).getCellPalette(5, 3);
         Mockito.doReturn(false).when(manager).isRowFlashing(5);
         Mockito.doReturn(false).when(manager).isRowFlashing(6);
         Block block = Mockito.mock(Block.class);
@@ -79,7 +81,7 @@ class GameScreenTest {
     void testRenderFlashingRowPixel() throws Exception {
         Mockito.doReturn(false).when(manager).isGameOver();
         Mockito.doReturn(1).when(manager).getFieldValue(6, 3);
-        Mockito.doReturn(Color.BLUE).when(manager).getBlockColor(6, 3);
+        Mockito.doReturn(PieceType.J.paletteIndex()).when(manager).getCellPalette(6, 3);
         Mockito.doReturn(true).when(manager).isRowFlashing(6);
         Block block = Mockito.mock(Block.class);
         Mockito.when(manager.getCurrentBlock()).thenReturn(null);
@@ -113,7 +115,7 @@ class GameScreenTest {
     void testRenderItemCharPixel() throws Exception {
         Mockito.doReturn(false).when(manager).isGameOver();
         Mockito.doReturn(1).when(manager).getFieldValue(5, 3);
-        Mockito.doReturn(Color.BLUE).when(manager).getBlockColor(5, 3);
+        Mockito.doReturn(PieceType.J.paletteIndex()).when(manager).getCellPalette(5, 3);
         Mockito.doReturn(false).when(manager).isRowFlashing(5);
         Mockito.doReturn(true).when(manager).hasItem(5, 3);
         Mockito.doReturn('L').when(manager).getItemType(5, 3);
@@ -395,15 +397,15 @@ class GameScreenTest {
         KeyEvent hardDrop = new KeyEvent(new java.awt.Component(){}, 0, 0, 0, settings.getKeymap().get(Settings.Action.HARD_DROP), ' ');
         screen.onKeyPressed(hardDrop);
         // field 배열의 바닥에 블록이 고정됐는지 확인
-        int[][] field;
+        BitBoard field;
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            field = (int[][]) f.get(manager);
+            field = (BitBoard) f.get(manager);
         } catch (Exception e) { throw new RuntimeException(e); }
         boolean blockAtBottom = false;
-        for (int x = 0; x < field[0].length; x++) {
-            if (field[bottomY][x] == 1) {
+        for (int x = 0; x < field.width(); x++) {
+            if (field.get(bottomY, x) == 1) {
                 blockAtBottom = true;
                 break;
             }
@@ -418,8 +420,8 @@ class GameScreenTest {
         int padding = 18, blockSize = settings.resolveBlockSize(), blockSizeH = (int)(blockSize * 1.15);
         // 바닥(19번째 줄)에서 블록이 있는 모든 칸을 스캔
         boolean found = false;
-        for (int col = 0; col < field[0].length; col++) {
-            if (field[bottomY][col] == 1) {
+        for (int col = 0; col < field.width(); col++) {
+            if (field.get(bottomY, col) == 1) {
                 int x = padding + col * blockSize;
                 int y = padding + bottomY * blockSizeH;
                 for (int dx = 0; dx < blockSize; dx++) {
@@ -462,18 +464,18 @@ class GameScreenTest {
         int bx = manager.getBlockX();
         int by = manager.getBlockY();
         int[][] shape = rotatedBlock.getShape();
-        int[][] field;
+        BitBoard field;
         try {
-            java.lang.reflect.Field f = GameManager.class.getDeclaredField("field");
+            java.lang.reflect.Field f = GameManager.class.getDeclaredField("board");
             f.setAccessible(true);
-            field = (int[][]) f.get(manager);
+            field = (BitBoard) f.get(manager);
         } catch (Exception e) { throw new RuntimeException(e); }
         
         // 회전된 블록을 field에 배치
         for (int r = 0; r < shape.length; r++) {
             for (int c = 0; c < shape[r].length; c++) {
-                if (shape[r][c] != 0 && by + r >= 0 && by + r < field.length && bx + c >= 0 && bx + c < field[0].length) {
-                    field[by + r][bx + c] = 1;
+                if (shape[r][c] != 0 && by + r >= 0 && by + r < field.height() && bx + c >= 0 && bx + c < field.width()) {
+                    field.set(by + r, bx + c, true);
                 }
             }
         }
@@ -6,7 +6,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
 
 import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.TickClock;
 import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.ui.render.ParticleSystem;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -24,11 +27,16 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class ParticleThreadSafetyTest {
 
+    private TickClock clock;
     private GameManager manager;
+    private ParticleSystem particleSystem;
 
     @BeforeEach
     public void setUp() {
-        manager = new GameManager(GameMode.CLASSIC);
+        clock = new TickClock();
+        manager = new GameManager(GameMode.CLASSIC, clock);
+        particleSystem = new ParticleSystem();
+        manager.setBlockBreakListener(particleSystem);
     }
 
     /**
@@ -36,27 +44,27 @@ public class ParticleThreadSafetyTest {
      */
     @SuppressWarnings("unchecked")
     private List<Object> getParticles() throws Exception {
-        Field particlesField = GameManager.class.getDeclaredField("particles");
+        Field particlesField = ParticleSystem.class.getDeclaredField("particles");
         particlesField.setAccessible(true);
-        return (List<Object>) particlesField.get(manager);
+        return (List<Object>) particlesField.get(particleSystem);
     }
 
     /**
      * addBreakEffect 메서드 호출 (private 메서드)
      */
     private void addBreakEffect(int gridX, int gridY) throws Exception {
-        Method addBreakEffectMethod = GameManager.class.getDeclaredMethod("addBreakEffect", int.class, int.class);
+        Method addBreakEffectMethod = ParticleSystem.class.getDeclaredMethod("addBreakEffect", int.class, int.class);
         addBreakEffectMethod.setAccessible(true);
-        addBreakEffectMethod.invoke(manager, gridX, gridY);
+        addBreakEffectMethod.invoke(particleSystem, gridX, gridY);
     }
 
     /**
      * field 가져오기
      */
-    private int[][] getField() throws Exception {
-        Field fieldField = GameManager.class.getDeclaredField("field");
+    private BitBoard getField() throws Exception {
+        Field fieldField = GameManager.class.getDeclaredField("board");
         fieldField.setAccessible(true);
-        return (int[][]) fieldField.get(manager);
+        return (BitBoard) fieldField.get(manager);
     }
 
     @Test
@@ -137,7 +145,7 @@ public class ParticleThreadSafetyTest {
             executor.submit(() -> {
                 try {
                     for (int j = 0; j < ITERATIONS; j++) {
-                        manager.updateParticles();
+                        particleSystem.update();
                         Thread.sleep(1);
                     }
                 } catch (Exception e) {
@@ -204,7 +212,7 @@ public class ParticleThreadSafetyTest {
             executor.submit(() -> {
                 try {
                     for (int j = 0; j < ITERATIONS; j++) {
-                        manager.updateParticles();
+                        particleSystem.update();
                         Thread.sleep(1);
                     }
                 } catch (Exception e) {
@@ -227,12 +235,12 @@ public class ParticleThreadSafetyTest {
     @RepeatedTest(5)
     @DisplayName("clearLines와 updateParticles가 동시에 실행되어도 안전하다 (반복 테스트)")
     public void testClearLinesWithUpdateParticles() throws Exception {
-        int[][] field = getField();
+        BitBoard field = getField();
         
         // 여러 줄을 가득 채움
         for (int row = 15; row < 20; row++) {
             for (int col = 0; col < 10; col++) {
-                field[row][col] = 1;
+                field.set(row, col, true);
             }
         }
 
@@ -244,7 +252,8 @@ public class ParticleThreadSafetyTest {
         executor.submit(() -> {
             try {
                 manager.clearLines(true);
-                Thread.sleep(200); // 플래시 완료까지 대기
+                clock.advance(200); // 플래시 완료
+                manager.tick();
             } catch (Exception e) {
                 if (!(e instanceof InterruptedException)) {
                     exceptionOccurred.set(true);
@@ -259,7 +268,7 @@ public class ParticleThreadSafetyTest {
         executor.submit(() -> {
             try {
                 for (int i = 0; i < 50; i++) {
-                    manager.updateParticles();
+                    particleSystem.update();
                     Thread.sleep(5);
                 }
             } catch (Exception e) {
@@ -318,7 +327,7 @@ public class ParticleThreadSafetyTest {
         executor.submit(() -> {
             try {
                 for (int i = 0; i < UPDATE_COUNT; i++) {
-                    manager.updateParticles();
+                    particleSystem.update();
                     Thread.sleep(1);
                 }
             } catch (Exception e) {
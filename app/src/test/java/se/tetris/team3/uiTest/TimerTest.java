@@ -3,12 +3,12 @@ package se.tetris.team3.uiTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import se.tetris.team3.engine.GameLoop;
 import se.tetris.team3.gameManager.GameManager;
 import se.tetris.team3.ui.AppFrame;
 import se.tetris.team3.ui.screen.GameScreen;
 
 import static org.junit.jupiter.api.Assertions.*;
-import javax.swing.Timer;
 
 public class TimerTest {
     private GameScreen gameScreen;
@@ -24,19 +24,19 @@ public class TimerTest {
     @Test
     public void testTimerStartsOnShow() throws Exception {
         gameScreen.onShow();
-        java.lang.reflect.Field f = GameScreen.class.getDeclaredField("timer");
+        java.lang.reflect.Field f = GameScreen.class.getDeclaredField("loop");
         f.setAccessible(true);
-        Timer timer = (Timer) f.get(gameScreen);
-        assertNotNull(timer, "Timer should be initialized on onShow()");
+        GameLoop timer = (GameLoop) f.get(gameScreen);
+        assertNotNull(timer, "Game loop should be initialized");
         assertTrue(timer.isRunning(), "Timer should be running after onShow()");
     }
 
     @Test
     public void testTimerStopsOnHide() throws Exception {
         gameScreen.onShow();
-        java.lang.reflect.Field f = GameScreen.class.getDeclaredField("timer");
+        java.lang.reflect.Field f = GameScreen.class.getDeclaredField("loop");
         f.setAccessible(true);
-        Timer timer = (Timer) f.get(gameScreen);
+        GameLoop timer = (GameLoop) f.get(gameScreen);
         assertTrue(timer.isRunning(), "Timer should be running after onShow()");
         gameScreen.onHide();
         assertFalse(timer.isRunning(), "Timer should stop after onHide()");
@@ -46,21 +46,22 @@ public class TimerTest {
         @Test
         public void testTimerPauseAndResumeWithKey() throws Exception {
         gameScreen.onShow();
-        java.lang.reflect.Field f = GameScreen.class.getDeclaredField("timer");
+        java.lang.reflect.Field f = GameScreen.class.getDeclaredField("loop");
         f.setAccessible(true);
-        Timer timer = (Timer) f.get(gameScreen);
+        GameLoop timer = (GameLoop) f.get(gameScreen);
         assertTrue(timer.isRunning(), "Timer should be running after onShow()");
 
         // PAUSE 키 이벤트 생성
         int pauseKeyCode = app.getSettings().getKeymap().get(se.tetris.team3.core.Settings.Action.PAUSE);
         java.awt.event.KeyEvent pauseEvent = new java.awt.event.KeyEvent(app, java.awt.event.KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, pauseKeyCode, java.awt.event.KeyEvent.CHAR_UNDEFINED);
         gameScreen.onKeyPressed(pauseEvent);
-        timer = (Timer) f.get(gameScreen);
-        assertFalse(timer.isRunning(), "Timer should stop after PAUSE key pressed");
+        timer = (GameLoop) f.get(gameScreen);
+        assertTrue(timer.isPaused(), "Game loop should pause after PAUSE key pressed");
 
         // 다시 PAUSE 키 입력 (재개)
         gameScreen.onKeyPressed(pauseEvent);
-        timer = (Timer) f.get(gameScreen);
-        assertTrue(timer.isRunning(), "Timer should resume after PAUSE key pressed again");
+        timer = (GameLoop) f.get(gameScreen);
+        assertFalse(timer.isPaused(), "Game loop should resume after PAUSE key pressed again");
+        assertTrue(timer.isRunning(), "Game loop should keep running");
         }
 }
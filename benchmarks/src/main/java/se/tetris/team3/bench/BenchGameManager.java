@@ -0,0 +1,20 @@
+package se.tetris.team3.bench;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.GameClock;
+import se.tetris.team3.gameManager.GameManager;
+
+/**
+ * 벤치마크용 GameManager (protected 메서드 노출)
+ */
+class BenchGameManager extends GameManager {
+
+    BenchGameManager(GameMode mode, GameClock clock, long seed) {
+        super(mode, clock, seed);
+    }
+
+    Block nextRandomBlock() {
+        return makeRandomBlock();
+    }
+}
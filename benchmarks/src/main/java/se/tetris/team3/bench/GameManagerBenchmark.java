@@ -0,0 +1,92 @@
+package se.tetris.team3.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.TickClock;
+
+/**
+ * GameManager 핵심 로직 벤치마크 (주입 시계라 sleep/벽시계 영향 없음)
+ * - stepDownOrFix / hardDrop: 게임 오버되면 그 자리에서 초기화하고 계속
+ * - clearLines: 아래 4줄을 채운 뒤 삭제 예약 → 플래시 시간 경과 → 실제 삭제까지
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameManagerBenchmark {
+
+    @Param({"CLASSIC", "ITEM"})
+    public String mode;
+
+    private TickClock clock;
+    private BenchGameManager gm;
+
+    @Setup
+    public void setup() {
+        clock = new TickClock();
+        gm = new BenchGameManager(GameMode.valueOf(mode), clock, 42L);
+    }
+
+    // 쌓이다 게임 오버되면 초기화 (측정값에 드물게 섞임)
+    private void restartIfOver() {
+        if (gm.isGameOver()) gm.resetGame();
+    }
+
+    @Benchmark
+    public int stepDownOrFix() {
+        restartIfOver();
+        gm.stepDownOrFix();
+        return gm.getBlockY();
+    }
+
+    @Benchmark
+    public int hardDrop() {
+        restartIfOver();
+        gm.hardDrop();
+        // 무게추/플래시 진행
+        clock.advance(1000);
+        gm.tick();
+        return gm.getScore();
+    }
+
+    @Benchmark
+    public int clearLines() {
+        BitBoard board = gm.getBoard();
+        int full = board.fullRowMask();
+        for (int y = board.height() - 4; y < board.height(); y++) board.setRowMask(y, full);
+        gm.clearLines(true);
+        clock.advance(1000);
+        gm.tick();
+        return gm.getScore();
+    }
+
+    @Benchmark
+    public void clearLinesNoChange() {
+        // 바뀐 줄이 없는 프레임 (대부분의 프레임)
+        gm.clearLines(true);
+    }
+
+    @Benchmark
+    public void makeRandomBlock(Blackhole bh) {
+        Block b = gm.nextRandomBlock();
+        bh.consume(b);
+    }
+}
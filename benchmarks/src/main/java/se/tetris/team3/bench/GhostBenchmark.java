@@ -0,0 +1,69 @@
+package se.tetris.team3.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.blocks.PieceGenerator;
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.engine.BitBoard;
+import se.tetris.team3.engine.GameRandom;
+import se.tetris.team3.engine.SurfaceMetrics;
+import se.tetris.team3.ui.render.GhostBlockRenderer;
+
+/**
+ * 고스트 블록 낙하 위치 계산 벤치마크
+ * - fieldProvider: 칸 조회 함수로 보드를 읽는 기존 경로 (매 프레임 필드 전체 스캔)
+ * - bitBoard / surface: 열 마스크 기반 경로
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GhostBenchmark {
+
+    private BitBoard board;
+    private SurfaceMetrics surface;
+    private GhostBlockRenderer.FieldValueProvider provider;
+    private Block block;
+
+    @Setup
+    public void setup() {
+        // 아래 절반이 듬성듬성 찬 중반 보드
+        board = new BitBoard();
+        GameRandom rnd = new GameRandom(7L);
+        for (int y = 10; y < board.height(); y++) {
+            board.setRowMask(y, rnd.nextInt(1 << board.width()) | rnd.nextInt(1 << board.width()));
+        }
+        surface = new SurfaceMetrics(board);
+        provider = board::get;
+        block = PieceGenerator.create(PieceType.T);
+    }
+
+    @Benchmark
+    public int fieldProvider() {
+        return GhostBlockRenderer.calculateGhostY(block, 4, 0, board.height(), board.width(), provider);
+    }
+
+    @Benchmark
+    public int bitBoard() {
+        return GhostBlockRenderer.calculateGhostY(block, 4, 0, board);
+    }
+
+    @Benchmark
+    public int surface() {
+        return GhostBlockRenderer.calculateGhostY(block, 4, 0, surface);
+    }
+}
@@ -0,0 +1,116 @@
+package se.tetris.team3.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.tetris.team3.core.GameMode;
+import se.tetris.team3.engine.TickClock;
+import se.tetris.team3.gameManager.GameManager;
+import se.tetris.team3.net.P2PCodec;
+import se.tetris.team3.net.P2PMessage;
+import se.tetris.team3.ui.screen.P2PBattleScreen;
+
+/**
+ * 네트워크 송신 경로 벤치마크
+ * - snapshot: P2PBattleScreen이 매 전송마다 만드는 STATE 메시지 생성
+ * - codecEncode / codecDecode: P2PConnection이 쓰는 바이너리 코덱
+ * - serializeStream: 예전 방식 비교용, 하나의 ObjectOutputStream에 계속 쓰기 (메시지마다 reset)
+ * - serializeFresh: 예전 방식 비교용, 메시지마다 새 ObjectOutputStream (클래스 설명자까지 매번 기록)
+ * - snapshotAndSend: 생성 + 코덱 인코딩 (실제 STATE 전송 한 번)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class NetBenchmark {
+
+    private GameManager gm;
+    private P2PMessage message;
+    private CountingOutputStream sink;
+    private ObjectOutputStream out;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        TickClock clock = new TickClock();
+        gm = new GameManager(GameMode.ITEM, clock, 11L);
+        // 보드가 어느 정도 쌓인 상태로 만들기
+        for (int i = 0; i < 12 && !gm.isGameOver(); i++) {
+            for (int k = 0; k < i % 5; k++) gm.tryMove(gm.getBlockX() - 1, gm.getBlockY());
+            gm.hardDrop();
+            clock.advance(1000);
+            gm.tick();
+        }
+        message = P2PBattleScreen.buildStateSnapshot(gm);
+        sink = new CountingOutputStream();
+        out = new ObjectOutputStream(sink);
+        out.flush();
+        encoded = P2PCodec.encode(message);
+    }
+
+    @Benchmark
+    public P2PMessage snapshot() {
+        return P2PBattleScreen.buildStateSnapshot(gm);
+    }
+
+    @Benchmark
+    public long codecEncode() throws IOException {
+        P2PCodec.writeFrame(sink, message);
+        return sink.count;
+    }
+
+    @Benchmark
+    public P2PMessage codecDecode() throws IOException {
+        return P2PCodec.decode(encoded, 0, encoded.length);
+    }
+
+    @Benchmark
+    public long serializeStream() throws IOException {
+        out.reset();
+        out.writeObject(message);
+        out.flush();
+        return sink.count;
+    }
+
+    @Benchmark
+    public int serializeFresh() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        ObjectOutputStream o = new ObjectOutputStream(bytes);
+        o.writeObject(message);
+        o.flush();
+        return bytes.size();
+    }
+
+    @Benchmark
+    public long snapshotAndSend() throws IOException {
+        P2PCodec.writeFrame(sink, P2PBattleScreen.buildStateSnapshot(gm));
+        return sink.count;
+    }
+
+    // 쓴 바이트 수만 세는 출력 스트림
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) { count++; }
+
+        @Override
+        public void write(byte[] b, int off, int len) { count += len; }
+    }
+}
@@ -0,0 +1,77 @@
+package se.tetris.team3.bench;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.tetris.team3.blocks.Block;
+import se.tetris.team3.blocks.PieceGenerator;
+import se.tetris.team3.blocks.PieceType;
+import se.tetris.team3.ui.render.BlockPalette;
+import se.tetris.team3.ui.render.PatternPainter;
+
+/**
+ * 칸 그리기 벤치마크 (화면 없이 BufferedImage에 그림)
+ * - board: 10x20 보드 전체를 그리는 한 프레임 분량
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    private static final int CELL = 24;
+
+    @Param({"false", "true"})
+    public boolean colorBlind;
+
+    private BufferedImage image;
+    private Graphics2D g2;
+    private Block block;
+    private Color color;
+
+    @Setup
+    public void setup() {
+        image = new BufferedImage(CELL * 10, CELL * 20, BufferedImage.TYPE_INT_ARGB);
+        g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        block = PieceGenerator.create(PieceType.S);
+        color = BlockPalette.colorOf(PieceType.S);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public void drawCell() {
+        PatternPainter.drawCell(g2, CELL, CELL, CELL, color, block, colorBlind);
+    }
+
+    @Benchmark
+    public void board() {
+        for (int r = 0; r < 20; r++) {
+            for (int c = 0; c < 10; c++) {
+                PatternPainter.drawCell(g2, c * CELL, r * CELL, CELL, color, block, colorBlind);
+            }
+        }
+    }
+}